@@ -0,0 +1,101 @@
+package com.preetinest.catalog;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Rough retained-size estimate for a {@link CatalogSnapshot}, assuming a 64-bit JVM with compressed
+ * oops and compact strings. Good enough to spot a catalog that is outgrowing the heap; use a heap
+ * dump when an exact number matters.
+ */
+public final class CatalogFootprint {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int HASH_MAP_ENTRY = 32;
+    private static final int BOXED = 16;
+    private static final int LOCAL_DATE_TIME = 72; // LocalDateTime + LocalDate + LocalTime
+
+    private CatalogFootprint() {
+    }
+
+    public static long estimateBytes(CatalogSnapshot snapshot) {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytes = 0;
+        bytes += sizeOfList(snapshot.getCategories(), seen);
+        bytes += sizeOfList(snapshot.getSubCategories(), seen);
+        bytes += sizeOfList(snapshot.getServices(), seen);
+        bytes += sizeOfList(snapshot.getMenuServices(), seen);
+        bytes += sizeOfList(snapshot.getBlogs(), seen);
+        bytes += sizeOfList(snapshot.getClients(), seen);
+        for (var service : snapshot.getServices()) {
+            bytes += HASH_MAP_ENTRY + sizeOfList(snapshot.getServiceDetails(service.getId()), seen);
+            bytes += HASH_MAP_ENTRY + sizeOfList(snapshot.getServiceFAQs(service.getId()), seen);
+        }
+        // id, uuid and slug indexes over services, blogs and clients
+        int indexed = snapshot.getServices().size() + snapshot.getBlogs().size() + snapshot.getClients().size();
+        bytes += 3L * indexed * (HASH_MAP_ENTRY + 2 * REFERENCE);
+        return bytes;
+    }
+
+    private static long sizeOfList(List<?> list, Set<Object> seen) {
+        long bytes = align(OBJECT_HEADER + 4 + (long) REFERENCE * list.size());
+        for (Object element : list) {
+            bytes += sizeOf(element, seen);
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(Object value, Set<Object> seen) {
+        if (value == null || !seen.add(value)) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return align(OBJECT_HEADER + 12) + align(16 + (long) s.length());
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return BOXED;
+        }
+        if (value instanceof LocalDateTime) {
+            return LOCAL_DATE_TIME;
+        }
+        if (value instanceof List<?> list) {
+            return sizeOfList(list, seen);
+        }
+
+        long shallow = OBJECT_HEADER;
+        long deep = 0;
+        for (Class<?> type = value.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Class<?> fieldType = field.getType();
+                if (fieldType == long.class || fieldType == double.class) {
+                    shallow += 8;
+                } else if (fieldType == int.class || fieldType == float.class) {
+                    shallow += 4;
+                } else if (fieldType == boolean.class || fieldType == byte.class) {
+                    shallow += 1;
+                } else if (fieldType.isPrimitive()) {
+                    shallow += 2;
+                } else {
+                    shallow += REFERENCE;
+                    try {
+                        field.setAccessible(true);
+                        deep += sizeOf(field.get(value), seen);
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        // Inaccessible field: count the reference only
+                    }
+                }
+            }
+        }
+        return align(shallow) + deep;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,146 @@
+package com.preetinest.catalog;
+
+import com.preetinest.dto.response.*;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Immutable read model of everything the public site can see: active categories and subcategories,
+ * visible services with their details and FAQs, visible blogs and visible clients.
+ *
+ * A snapshot is built off the request path and published as a whole, so readers never see a
+ * half-updated catalog. The DTOs it hands out are shared between requests and must not be mutated.
+ *
+ * Subcategory, service, blog and client lists are kept newest first so keyset pages can be sliced
+ * straight out of them. The menu's services are kept apart: it lists every active service, displayed
+ * or not, in id order.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final Instant builtAt;
+    private final long buildMillis;
+
+    private final List<CategoryResponseDTO> categories;
+    private final List<SubCategoryResponseDTO> subCategories;
+    private final List<ServiceResponseDTO> services;
+    private final List<ServiceResponseDTO> menuServices;
+    private final List<BlogResponseDTO> blogs;
+    private final List<ClientResponseDTO> clients;
+
+    private final Map<Long, ServiceResponseDTO> servicesById;
+    private final Map<String, ServiceResponseDTO> servicesByUuid;
+    private final Map<String, ServiceResponseDTO> servicesBySlug;
+    private final Map<Long, List<ServiceDetailResponseDTO>> detailsByServiceId;
+    private final Map<Long, List<ServiceFAQResponseDTO>> faqsByServiceId;
+
+    private final Map<Long, BlogResponseDTO> blogsById;
+    private final Map<String, BlogResponseDTO> blogsByUuid;
+    private final Map<String, BlogResponseDTO> blogsBySlug;
+
+    private final Map<Long, ClientResponseDTO> clientsById;
+    private final Map<String, ClientResponseDTO> clientsByUuid;
+    private final Map<String, ClientResponseDTO> clientsBySlug;
+
+    public CatalogSnapshot(long version,
+                           Instant builtAt,
+                           long buildMillis,
+                           List<CategoryResponseDTO> categories,
+                           List<SubCategoryResponseDTO> subCategories,
+                           List<ServiceResponseDTO> services,
+                           List<ServiceResponseDTO> menuServices,
+                           Map<Long, List<ServiceDetailResponseDTO>> detailsByServiceId,
+                           Map<Long, List<ServiceFAQResponseDTO>> faqsByServiceId,
+                           List<BlogResponseDTO> blogs,
+                           List<ClientResponseDTO> clients) {
+        this.version = version;
+        this.builtAt = builtAt;
+        this.buildMillis = buildMillis;
+        this.categories = List.copyOf(categories);
+        this.subCategories = List.copyOf(subCategories);
+        this.services = List.copyOf(services);
+        this.menuServices = List.copyOf(menuServices);
+        this.blogs = List.copyOf(blogs);
+        this.clients = List.copyOf(clients);
+
+        Map<Long, List<ServiceDetailResponseDTO>> details = new HashMap<>();
+        detailsByServiceId.forEach((id, list) -> details.put(id, List.copyOf(list)));
+        this.detailsByServiceId = Map.copyOf(details);
+
+        Map<Long, List<ServiceFAQResponseDTO>> faqs = new HashMap<>();
+        faqsByServiceId.forEach((id, list) -> faqs.put(id, List.copyOf(list)));
+        this.faqsByServiceId = Map.copyOf(faqs);
+
+        this.servicesById = index(this.services, ServiceResponseDTO::getId);
+        this.servicesByUuid = index(this.services, ServiceResponseDTO::getUuid);
+        this.servicesBySlug = index(this.services, service -> slugKey(service.getSlug()));
+        this.blogsById = index(this.blogs, BlogResponseDTO::getId);
+        this.blogsByUuid = index(this.blogs, BlogResponseDTO::getUuid);
+        this.blogsBySlug = index(this.blogs, blog -> slugKey(blog.getSlug()));
+        this.clientsById = index(this.clients, ClientResponseDTO::getId);
+        this.clientsByUuid = index(this.clients, ClientResponseDTO::getUuid);
+        this.clientsBySlug = index(this.clients, client -> slugKey(client.getSlug()));
+    }
+
+    // First row wins on duplicate keys, matching the order the repository returned them in
+    private static <K, V> Map<K, V> index(List<V> values, Function<V, K> key) {
+        Map<K, V> map = new HashMap<>(values.size() * 2);
+        for (V value : values) {
+            K k = key.apply(value);
+            if (k != null) {
+                map.putIfAbsent(k, value);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    // MySQL's default collation compares slugs case-insensitively, so the slug maps do too
+    private static String slugKey(String slug) {
+        return slug == null ? null : slug.toLowerCase(Locale.ROOT);
+    }
+
+    public long getVersion() { return version; }
+    public Instant getBuiltAt() { return builtAt; }
+    public long getBuildMillis() { return buildMillis; }
+
+    public List<CategoryResponseDTO> getCategories() { return categories; }
+    public List<SubCategoryResponseDTO> getSubCategories() { return subCategories; }
+    public List<ServiceResponseDTO> getServices() { return services; }
+    public List<ServiceResponseDTO> getMenuServices() { return menuServices; }
+    public List<BlogResponseDTO> getBlogs() { return blogs; }
+    public List<ClientResponseDTO> getClients() { return clients; }
+
+    public Optional<ServiceResponseDTO> findServiceById(Long id) { return Optional.ofNullable(servicesById.get(id)); }
+    public Optional<ServiceResponseDTO> findServiceByUuid(String uuid) { return Optional.ofNullable(servicesByUuid.get(uuid)); }
+    public Optional<ServiceResponseDTO> findServiceBySlug(String slug) { return Optional.ofNullable(servicesBySlug.get(slugKey(slug))); }
+
+    public List<ServiceDetailResponseDTO> getServiceDetails(Long serviceId) {
+        return detailsByServiceId.getOrDefault(serviceId, List.of());
+    }
+
+    public List<ServiceFAQResponseDTO> getServiceFAQs(Long serviceId) {
+        return faqsByServiceId.getOrDefault(serviceId, List.of());
+    }
+
+    public Optional<BlogResponseDTO> findBlogById(Long id) { return Optional.ofNullable(blogsById.get(id)); }
+    public Optional<BlogResponseDTO> findBlogByUuid(String uuid) { return Optional.ofNullable(blogsByUuid.get(uuid)); }
+    public Optional<BlogResponseDTO> findBlogBySlug(String slug) { return Optional.ofNullable(blogsBySlug.get(slugKey(slug))); }
+
+    public List<BlogResponseDTO> getBlogsByServiceId(Long serviceId) {
+        return blogs.stream().filter(b -> serviceId.equals(b.getServiceId())).toList();
+    }
+
+    public Optional<ClientResponseDTO> findClientById(Long id) { return Optional.ofNullable(clientsById.get(id)); }
+    public Optional<ClientResponseDTO> findClientByUuid(String uuid) { return Optional.ofNullable(clientsByUuid.get(uuid)); }
+    public Optional<ClientResponseDTO> findClientBySlug(String slug) { return Optional.ofNullable(clientsBySlug.get(slugKey(slug))); }
+
+    public int getServiceDetailCount() {
+        return detailsByServiceId.values().stream().mapToInt(List::size).sum();
+    }
+
+    public int getServiceFAQCount() {
+        return faqsByServiceId.values().stream().mapToInt(List::size).sum();
+    }
+}
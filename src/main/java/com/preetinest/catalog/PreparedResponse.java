@@ -0,0 +1,88 @@
+package com.preetinest.catalog;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Locale;
+
+/**
+ * A JSON body serialized once and written verbatim on every request, optionally with a gzip variant.
+ * The ETag is derived from the bytes, so it stays stable across snapshot rebuilds that do not change the content.
+ */
+public final class PreparedResponse {
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+
+    PreparedResponse(byte[] json, byte[] gzip, String etag) {
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = etag;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public int getSize() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+
+    public ResponseEntity<byte[]> toResponseEntity(WebRequest request) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        String[] acceptEncoding = request.getHeaderValues(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip != null && acceptEncoding != null && acceptsGzip(String.join(",", acceptEncoding))) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+        }
+        return builder.body(json);
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip: a {@code gzip} (or {@code x-gzip}) coding decides,
+     * otherwise {@code *} does, and {@code q=0} refuses. A malformed q-value counts as a refusal.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality == null ? 0 : gzipQuality, quality(parts));
+            } else if (coding.equals("*")) {
+                anyQuality = quality(parts);
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return anyQuality != null && anyQuality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    double q = Double.parseDouble(parameter.substring(2).trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.preetinest.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized public responses, keyed by catalog snapshot version.
+ * Each body is built and serialized at most once per version; older versions are dropped as soon as a newer one is seen.
+ */
+@Component
+public class PreparedResponseCache {
+
+    // Below this size gzip saves less than the extra header costs
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, PreparedResponse> entries = new ConcurrentHashMap<>();
+    private volatile long version = -1;
+
+    public PreparedResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the prepared body for {@code key} in this snapshot, building it with {@code body} on first use.
+     * Missing bodies (404s) are not cached.
+     */
+    public Optional<PreparedResponse> get(CatalogSnapshot snapshot, String key, Supplier<Optional<?>> body) {
+        long snapshotVersion = snapshot.getVersion();
+        if (snapshotVersion > version) {
+            advanceTo(snapshotVersion);
+        }
+
+        String versionedKey = snapshotVersion + ":" + key;
+        PreparedResponse cached = entries.get(versionedKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<PreparedResponse> prepared = body.get().map(this::prepare);
+        prepared.ifPresent(p -> {
+            if (snapshotVersion == version) {
+                entries.putIfAbsent(versionedKey, p);
+            }
+        });
+        return prepared;
+    }
+
+    public PreparedResponse prepare(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = json.length >= GZIP_MIN_BYTES ? gzip(json) : null;
+            return new PreparedResponse(json, gzip, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private synchronized void advanceTo(long snapshotVersion) {
+        if (snapshotVersion > version) {
+            version = snapshotVersion;
+            String prefix = snapshotVersion + ":";
+            entries.keySet().removeIf(key -> !key.startsWith(prefix));
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,28 @@
+package com.preetinest.catalog;
+
+/**
+ * One live (not deleted) row that owns a slug.
+ */
+public final class SlugEntry {
+
+    private final SlugType type;
+    private final Long id;
+    private final String name;
+    private final boolean visible;
+
+    public SlugEntry(SlugType type, Long id, String name, boolean visible) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.visible = visible;
+    }
+
+    public SlugType getType() { return type; }
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public boolean isVisible() { return visible; }
+
+    boolean isOwnedBy(SlugType type, Long id) {
+        return this.type == type && this.id.equals(id);
+    }
+}
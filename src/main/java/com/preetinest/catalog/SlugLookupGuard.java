@@ -0,0 +1,114 @@
+package com.preetinest.catalog;
+
+import com.preetinest.service.CatalogSnapshotService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Fast path for public by-slug reads. A slug that no visible row of the requested type owns is
+ * answered from the {@link SlugRegistry} without touching the snapshot or the connection pool.
+ *
+ * The registry is exact, so it already does the job a Bloom filter would, without false positives
+ * of its own. A slug can still pass the registry and find nothing, for example while the snapshot
+ * is catching up with a write. Those misses are remembered for a short TTL, and only while neither
+ * the registry nor the snapshot has changed.
+ *
+ * Outcomes are counted in {@code catalog.slug.lookups}, tagged by type and outcome:
+ * {@code hit}, {@code miss}, {@code negative_cached} or {@code false_positive}.
+ */
+@Component
+public class SlugLookupGuard {
+
+    private static final int MAX_NEGATIVE_ENTRIES = 10_000;
+
+    private final SlugRegistry slugRegistry;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final long negativeTtlNanos;
+
+    private final ConcurrentHashMap<String, NegativeEntry> negatives = new ConcurrentHashMap<>();
+    private final Map<SlugType, Counter> hits = new EnumMap<>(SlugType.class);
+    private final Map<SlugType, Counter> misses = new EnumMap<>(SlugType.class);
+    private final Map<SlugType, Counter> negativeHits = new EnumMap<>(SlugType.class);
+    private final Map<SlugType, Counter> falsePositives = new EnumMap<>(SlugType.class);
+
+    public SlugLookupGuard(SlugRegistry slugRegistry,
+                           CatalogSnapshotService catalogSnapshotService,
+                           MeterRegistry meterRegistry,
+                           @Value("${catalog.slug.negative-ttl:30s}") Duration negativeTtl) {
+        this.slugRegistry = slugRegistry;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        for (SlugType type : SlugType.values()) {
+            hits.put(type, counter(meterRegistry, type, "hit"));
+            misses.put(type, counter(meterRegistry, type, "miss"));
+            negativeHits.put(type, counter(meterRegistry, type, "negative_cached"));
+            falsePositives.put(type, counter(meterRegistry, type, "false_positive"));
+        }
+    }
+
+    public <T> Optional<T> lookup(SlugType type, String slug, Supplier<Optional<T>> loader) {
+        if (slug == null || slugRegistry.resolve(slug, EnumSet.of(type)).isEmpty()) {
+            misses.get(type).increment();
+            return Optional.empty();
+        }
+
+        String key = type.name() + ':' + slug.toLowerCase(Locale.ROOT);
+        long registryVersion = slugRegistry.getVersion();
+        long snapshotVersion = catalogSnapshotService.current().map(CatalogSnapshot::getVersion).orElse(-1L);
+        NegativeEntry negative = negatives.get(key);
+        if (negative != null && negative.isValid(registryVersion, snapshotVersion, System.nanoTime())) {
+            negativeHits.get(type).increment();
+            return Optional.empty();
+        }
+
+        Optional<T> result = loader.get();
+        if (result.isPresent()) {
+            hits.get(type).increment();
+            return result;
+        }
+
+        falsePositives.get(type).increment();
+        if (negatives.size() >= MAX_NEGATIVE_ENTRIES) {
+            negatives.clear();
+        }
+        negatives.put(key, new NegativeEntry(registryVersion, snapshotVersion, System.nanoTime() + negativeTtlNanos));
+        return result;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, SlugType type, String outcome) {
+        return Counter.builder("catalog.slug.lookups")
+                .description("Public by-slug lookups by outcome")
+                .tag("type", type.getLabel())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class NegativeEntry {
+        private final long registryVersion;
+        private final long snapshotVersion;
+        private final long expiresAtNanos;
+
+        private NegativeEntry(long registryVersion, long snapshotVersion, long expiresAtNanos) {
+            this.registryVersion = registryVersion;
+            this.snapshotVersion = snapshotVersion;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isValid(long registryVersion, long snapshotVersion, long now) {
+            return this.registryVersion == registryVersion
+                    && this.snapshotVersion == snapshotVersion
+                    && now - expiresAtNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.preetinest.catalog;
+
+import com.preetinest.repository.*;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of every live slug across services, blogs, clients, categories and subcategories.
+ * Resolving a slug or checking that it is free is a single hash lookup instead of one query per type.
+ *
+ * The index is loaded from the database on first use and then kept current by the write paths, which
+ * call {@link #register} after saving and {@link #remove} after soft-deleting. Writes are serialized
+ * on this object; reads are lock-free.
+ */
+@Component
+public class SlugRegistry {
+
+    private final ServiceRepository serviceRepository;
+    private final BlogRepository blogRepository;
+    private final ClientRepository clientRepository;
+    private final CategoryRepository categoryRepository;
+    private final SubCategoryRepository subCategoryRepository;
+
+    // Lists are immutable, ordered by SlugType, and usually hold a single entry
+    private final ConcurrentHashMap<String, List<SlugEntry>> entriesBySlug = new ConcurrentHashMap<>();
+    private final Map<SlugType, Map<Long, String>> slugsByOwner = new EnumMap<>(SlugType.class);
+    private volatile boolean loaded;
+    private volatile long version;
+
+    public SlugRegistry(ServiceRepository serviceRepository,
+                        BlogRepository blogRepository,
+                        ClientRepository clientRepository,
+                        CategoryRepository categoryRepository,
+                        SubCategoryRepository subCategoryRepository) {
+        this.serviceRepository = serviceRepository;
+        this.blogRepository = blogRepository;
+        this.clientRepository = clientRepository;
+        this.categoryRepository = categoryRepository;
+        this.subCategoryRepository = subCategoryRepository;
+        for (SlugType type : SlugType.values()) {
+            slugsByOwner.put(type, new HashMap<>());
+        }
+    }
+
+    /**
+     * First visible owner of {@code slug} among {@code types}, in {@link SlugType} order.
+     */
+    public Optional<SlugEntry> resolve(String slug, Set<SlugType> types) {
+        return entries(slug).stream()
+                .filter(e -> e.isVisible() && types.contains(e.getType()))
+                .findFirst();
+    }
+
+    /**
+     * Rejects {@code slug} when any other live row of any type already owns it. A row may always keep
+     * the slug it already has, so rows that collided before this check existed stay editable.
+     */
+    public void checkAvailable(String slug, SlugType type, Long id) {
+        if (slug == null || slug.isBlank()) {
+            return;
+        }
+        List<SlugEntry> owners = entries(slug);
+        if (id != null && owners.stream().anyMatch(e -> e.isOwnedBy(type, id))) {
+            return;
+        }
+        owners.stream()
+                .filter(e -> !e.isOwnedBy(type, id))
+                .findFirst()
+                .ifPresent(owner -> {
+                    throw new IllegalArgumentException("Slug '" + slug + "' is already used by a " + owner.getType().getLabel());
+                });
+    }
+
+    public synchronized void register(SlugType type, Long id, String slug, String name, boolean visible) {
+        if (!loaded) {
+            // The initial load will read this row from the database
+            return;
+        }
+        unlink(type, id);
+        link(slug, new SlugEntry(type, id, name, visible));
+        version++;
+    }
+
+    public synchronized void remove(SlugType type, Long id) {
+        if (loaded) {
+            unlink(type, id);
+            version++;
+        }
+    }
+
+    /**
+     * Bumped on every change, so anything derived from the registry can tell when it is stale.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        ensureLoaded();
+        return entriesBySlug.size();
+    }
+
+    private List<SlugEntry> entries(String slug) {
+        if (slug == null) {
+            return List.of();
+        }
+        ensureLoaded();
+        return entriesBySlug.getOrDefault(key(slug), List.of());
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        linkAll(SlugType.SERVICE, serviceRepository.findLiveSlugs());
+        linkAll(SlugType.BLOG, blogRepository.findLiveSlugs());
+        linkAll(SlugType.CLIENT, clientRepository.findLiveSlugs());
+        linkAll(SlugType.CATEGORY, categoryRepository.findLiveSlugs());
+        linkAll(SlugType.SUBCATEGORY, subCategoryRepository.findLiveSlugs());
+        loaded = true;
+    }
+
+    private void linkAll(SlugType type, List<SlugView> rows) {
+        for (SlugView row : rows) {
+            link(row.getSlug(), new SlugEntry(type, row.getId(), row.getName(), row.isVisible()));
+        }
+    }
+
+    private void link(String slug, SlugEntry entry) {
+        if (slug == null || slug.isBlank()) {
+            return;
+        }
+        String key = key(slug);
+        slugsByOwner.get(entry.getType()).put(entry.getId(), key);
+        entriesBySlug.compute(key, (k, current) -> {
+            if (current == null) {
+                return List.of(entry);
+            }
+            List<SlugEntry> merged = new ArrayList<>(current);
+            merged.add(entry);
+            merged.sort(Comparator.comparing(SlugEntry::getType));
+            return List.copyOf(merged);
+        });
+    }
+
+    private void unlink(SlugType type, Long id) {
+        String key = slugsByOwner.get(type).remove(id);
+        if (key == null) {
+            return;
+        }
+        entriesBySlug.computeIfPresent(key, (k, current) -> {
+            List<SlugEntry> remaining = current.stream().filter(e -> !e.isOwnedBy(type, id)).toList();
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    // MySQL's default collation compares slugs case-insensitively, so the index does too
+    private static String key(String slug) {
+        return slug.toLowerCase(Locale.ROOT);
+    }
+}
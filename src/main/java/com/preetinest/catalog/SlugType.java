@@ -0,0 +1,23 @@
+package com.preetinest.catalog;
+
+/**
+ * Entity types that own a public slug. Declaration order is the resolution order when the same slug
+ * is live on more than one type.
+ */
+public enum SlugType {
+    SERVICE("service"),
+    BLOG("blog"),
+    CLIENT("client"),
+    CATEGORY("category"),
+    SUBCATEGORY("subcategory");
+
+    private final String label;
+
+    SlugType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,160 @@
+package com.preetinest.config;
+
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * A base64 image as sent by the admin UI, either a bare payload or a {@code data:image/...;base64,}
+ * URL. The payload is decoded straight out of the request string as a stream, so no second copy of
+ * the image is ever held in memory.
+ *
+ * {@link #parse} checks the whole payload up front: it must decode cleanly and start with the magic
+ * bytes of a supported {@link ImageFormat}. The same pass computes the SHA-256 of the decoded bytes.
+ * The exact decoded size is known from the encoded length, which lets the upload start without
+ * buffering, and lets an oversized payload be rejected before any of it is decoded.
+ */
+public final class DataUrlImage {
+
+    private final String source;
+    private final int payloadStart;
+    private final int payloadEnd;
+    private final ImageFormat format;
+    private final long contentLength;
+    private final String sha256;
+
+    private DataUrlImage(String source, int payloadStart, int payloadEnd, ImageFormat format, long contentLength,
+                         String sha256) {
+        this.source = source;
+        this.payloadStart = payloadStart;
+        this.payloadEnd = payloadEnd;
+        this.format = format;
+        this.contentLength = contentLength;
+        this.sha256 = sha256;
+    }
+
+    public static DataUrlImage parse(String source) {
+        return parse(source, null);
+    }
+
+    /**
+     * Same as {@link #parse(String)}, rejecting images that decode to more than {@code maxSize}.
+     */
+    public static DataUrlImage parse(String source, DataSize maxSize) {
+        if (source == null || source.isBlank()) {
+            throw new InvalidImageException("Image data is empty");
+        }
+        int payloadStart = source.indexOf(',') + 1;
+        int payloadEnd = source.length();
+        while (payloadEnd > payloadStart && Character.isWhitespace(source.charAt(payloadEnd - 1))) {
+            payloadEnd--;
+        }
+        long contentLength = decodedLength(source, payloadStart, payloadEnd);
+        if (maxSize != null && contentLength > maxSize.toBytes()) {
+            throw new InvalidImageException("Uploaded image is larger than " + maxSize);
+        }
+
+        MessageDigest digest = sha256Digest();
+        byte[] buffer = new byte[8192];
+        ImageFormat format = null;
+        long decoded = 0;
+        try (InputStream in = Base64.getDecoder().wrap(new AsciiInputStream(source, payloadStart, payloadEnd))) {
+            for (int n; (n = in.readNBytes(buffer, 0, buffer.length)) > 0; ) {
+                if (format == null) {
+                    format = ImageFormat.sniff(buffer, n)
+                            .orElseThrow(() -> new InvalidImageException("Unsupported image format; expected PNG, JPEG, GIF or WebP"));
+                }
+                digest.update(buffer, 0, n);
+                decoded += n;
+            }
+        } catch (IOException e) {
+            throw new InvalidImageException("Image data is not valid base64", e);
+        }
+        if (format == null || decoded != contentLength) {
+            throw new InvalidImageException("Image data is not valid base64");
+        }
+        return new DataUrlImage(source, payloadStart, payloadEnd, format, contentLength,
+                HexFormat.of().formatHex(digest.digest()));
+    }
+
+    static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public ImageFormat getFormat() { return format; }
+
+    public long getContentLength() { return contentLength; }
+
+    /** Hex SHA-256 of the decoded image bytes. */
+    public String getSha256() { return sha256; }
+
+    /**
+     * A fresh stream of the decoded image bytes; the payload was validated by {@link #parse}.
+     */
+    public InputStream openStream() {
+        return Base64.getDecoder().wrap(new AsciiInputStream(source, payloadStart, payloadEnd));
+    }
+
+    private static long decodedLength(String source, int start, int end) {
+        int padding = 0;
+        while (padding < 2 && end - padding > start && source.charAt(end - padding - 1) == '=') {
+            padding++;
+        }
+        long length = end - start;
+        if (length % 4 == 1) {
+            throw new InvalidImageException("Image data is not valid base64");
+        }
+        long full = length / 4 * 3;
+        long partial = length % 4 == 0 ? 0 : length % 4 - 1;
+        return full + partial - padding;
+    }
+
+    /**
+     * Reads a range of a string as ASCII bytes. Anything outside ASCII is passed on as an invalid
+     * byte so the base64 decoder rejects it.
+     */
+    private static final class AsciiInputStream extends InputStream {
+        private final String source;
+        private final int end;
+        private int position;
+
+        private AsciiInputStream(String source, int start, int end) {
+            this.source = source;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() {
+            return position < end ? ascii(source.charAt(position++)) : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            int count = Math.min(length, end - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) ascii(source.charAt(position++));
+            }
+            return count;
+        }
+
+        private static int ascii(char c) {
+            return c < 0x80 ? c : '?';
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.preetinest.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Second-level cache for the small reference tables (categories, subcategories and roles) and for
+ * the queries that list them. Every write to these tables goes through the entity manager, so
+ * Hibernate evicts the entity and bumps the table's update timestamp, which invalidates the cached
+ * query results, on the same transaction commit.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String CATEGORY_REGION = "reference.category";
+    public static final String SUB_CATEGORY_REGION = "reference.sub-category";
+    public static final String ROLE_REGION = "reference.role";
+    public static final String QUERY_REGION = "reference.queries";
+
+    // Hibernate's own regions; the timestamps region must outlive every cached query result
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final List<String> REPORTED_REGIONS = List.of(CATEGORY_REGION, SUB_CATEGORY_REGION, ROLE_REGION, QUERY_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A private manager per application context, so test contexts never share cached rows
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(CATEGORY_REGION, bounded(1_000, Duration.ofHours(1)));
+        cacheManager.createCache(SUB_CATEGORY_REGION, bounded(1_000, Duration.ofHours(1)));
+        cacheManager.createCache(ROLE_REGION, bounded(100, Duration.ofHours(1)));
+        cacheManager.createCache(QUERY_REGION, bounded(500, Duration.ofHours(1)));
+        cacheManager.createCache(DEFAULT_QUERY_REGION, bounded(500, Duration.ofMinutes(10)));
+        cacheManager.createCache(TIMESTAMPS_REGION, byReference());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * Hit ratio per reference region, next to the raw hit and miss counts Spring Boot already
+     * publishes as {@code hibernate.second.level.cache.requests}.
+     */
+    @Bean
+    public MeterBinder referenceCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> REPORTED_REGIONS.forEach(region ->
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                        .description("Share of second-level cache lookups answered from the cache")
+                        .tag("region", region)
+                        .register(registry));
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+        if (stats == null) {
+            return 0;
+        }
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        return lookups == 0 ? 0 : (double) stats.getHitCount() / lookups;
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = byReference();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        return configuration;
+    }
+
+    // Hibernate already stores disassembled state, so the JCache default of copying every entry is wasted work
+    private static CaffeineConfiguration<Object, Object> byReference() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
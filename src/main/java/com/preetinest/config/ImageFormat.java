@@ -0,0 +1,78 @@
+package com.preetinest.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Image formats accepted for upload, recognised from their leading magic bytes rather than from
+ * whatever the client wrote in the data URL prefix.
+ */
+public enum ImageFormat {
+
+    PNG("png", "image/png"),
+    JPEG("jpg", "image/jpeg"),
+    GIF("gif", "image/gif"),
+    WEBP("webp", "image/webp");
+
+    /** Bytes needed to tell every supported format apart. */
+    public static final int HEADER_LENGTH = 12;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] GIF_SIGNATURE = "GIF8".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP_FOURCC = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    private final String extension;
+    private final String contentType;
+
+    ImageFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() { return extension; }
+
+    public String getContentType() { return contentType; }
+
+    public static Optional<ImageFormat> fromContentType(String contentType) {
+        return Arrays.stream(values())
+                .filter(f -> f.contentType.equalsIgnoreCase(contentType))
+                .findFirst();
+    }
+
+    public static Optional<ImageFormat> fromExtension(String extension) {
+        return Arrays.stream(values())
+                .filter(f -> f.extension.equals(extension))
+                .findFirst();
+    }
+
+    public static Optional<ImageFormat> sniff(byte[] header, int length) {
+        if (startsWith(header, length, 0, PNG_SIGNATURE)) {
+            return Optional.of(PNG);
+        }
+        if (startsWith(header, length, 0, JPEG_SIGNATURE)) {
+            return Optional.of(JPEG);
+        }
+        if (startsWith(header, length, 0, GIF_SIGNATURE)) {
+            return Optional.of(GIF);
+        }
+        if (startsWith(header, length, 0, RIFF) && startsWith(header, length, 8, WEBP_FOURCC)) {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<ImageFormat> sniff(InputStream in) throws IOException {
+        byte[] header = in.readNBytes(HEADER_LENGTH);
+        return sniff(header, header.length);
+    }
+
+    private static boolean startsWith(byte[] header, int length, int offset, byte[] signature) {
+        return length >= offset + signature.length
+                && Arrays.equals(header, offset, offset + signature.length, signature, 0, signature.length);
+    }
+}
@@ -0,0 +1,19 @@
+package com.preetinest.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Uploaded image data is not valid base64 or not a supported image format.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImageException extends IllegalArgumentException {
+
+    public InvalidImageException(String message) {
+        super(message);
+    }
+
+    public InvalidImageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.preetinest.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Replaces reflective getter calls with generated lambdas when serializing the response DTOs.
+    // Spring Boot registers every Module bean on the auto-configured ObjectMapper.
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,30 @@
+package com.preetinest.config;
+
+import com.preetinest.media.LocalBlobStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Serves objects of the local blob store under {@code /media}, matching its default base URL, so
+ * image URLs in API responses resolve during local development. When the media proxy is enabled it
+ * serves {@code /media} itself, for either store.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+@ConditionalOnProperty(name = "app.media.proxy.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalMediaConfig implements WebMvcConfigurer {
+
+    private final LocalBlobStore localBlobStore;
+
+    public LocalMediaConfig(LocalBlobStore localBlobStore) {
+        this.localBlobStore = localBlobStore;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/media/**")
+                .addResourceLocations(localBlobStore.getRoot().toUri().toString());
+    }
+}
@@ -1,83 +1,525 @@
 package com.preetinest.config;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.preetinest.entity.ImageMetadata;
+import com.preetinest.media.BlobStore;
+import com.preetinest.media.BlobStoreUnavailableException;
+import com.preetinest.media.BlobSummary;
+import com.preetinest.media.DeferredUploads;
+import com.preetinest.media.ImageDerivativeService;
+import com.preetinest.media.ImageVariant;
+import com.preetinest.media.ImageVariantRecorder;
+import com.preetinest.media.PresignedUpload;
+import com.preetinest.media.UploadedImage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
 
-import jakarta.annotation.PostConstruct;
-import com.amazonaws.auth.AWSCredentials;
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.regions.Regions;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
-
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
-import java.util.Base64;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Image uploads run in the background on a small bounded pool and are written to the configured
+ * {@link BlobStore} (S3 unless {@code app.storage.type=local}). Callers get the object key back as
+ * soon as the image has been validated, and can persist it without waiting on storage; the object
+ * appears once the upload finishes. When the pool's queue is full the upload runs on the calling
+ * thread instead, which slows producers down rather than dropping images. PNG and JPEG uploads also
+ * get resized variants, rendered by {@link ImageDerivativeService}. Once they are stored, the widths
+ * that made it are recorded on the rows using the image by {@link ImageVariantRecorder}, and only
+ * those are advertised by {@link #getVariantUrls}. Images the render pool turns away are queued and
+ * rendered from the stored original every {@code app.images.render-retry-interval}, which also
+ * retries recording widths whose row had not been saved yet when the render finished. Both queues
+ * live in memory, so anything still in them at shutdown is left for the derivative backfill.
+ *
+ * Each accepted image comes back with its pixel size and a BlurHash placeholder, read while it is
+ * validated, for the caller to store next to the key.
+ *
+ * Objects are keyed by the SHA-256 of their content. Before uploading, the background task touches
+ * that key and skips the write when it already exists, so re-sending an unchanged image costs a few
+ * small requests instead of a new object, and resets the object's age for the orphan collector. Its
+ * variants are touched one by one, and any that are missing are rendered again.
+ *
+ * An upload the store does not take, for instance while the S3 circuit breaker is open, is handed to
+ * {@link DeferredUploads}, which keeps a copy on local disk and retries it later. The key has already
+ * been returned and saved either way; the object appears once the store recovers.
+ *
+ * Clients can also upload straight to the store: {@link #presignImageUpload} hands out a short-lived
+ * URL for a fresh key, and {@link #attachUploadedImage} checks the object before a row may use it.
+ * Those objects never pass through this application; they are keyed by a random UUID instead of
+ * their hash, since nothing here has seen their content when the key is chosen.
+ *
+ * Metrics: {@code s3.uploads} (by outcome), {@code s3.uploads.queue}, {@code s3.uploads.inline} and
+ * {@code image.derivatives.queued}.
+ */
 @Service
 public class S3Service {
 
-    @Value("${aws.bucket.name}")
-    private String bucketName;
+    private static final Logger log = LoggerFactory.getLogger(S3Service.class);
+
+    // Keys handed out by presignImageUpload
+    private static final Pattern PRESIGNED_KEY =
+            Pattern.compile("[0-9a-f]{8}(?:-[0-9a-f]{4}){3}-[0-9a-f]{12}\\.([a-z]+)");
+
+    // Beyond this many queued renders, further rejected images are left for the backfill
+    private static final int MAX_QUEUED_RENDERS = 10_000;
+
+    // How long stored widths are kept for a row that has not been saved yet
+    private static final Duration UNRECORDED_TTL = Duration.ofMinutes(10);
+
+    @Value("${app.s3.upload.threads:4}")
+    private int uploadThreads;
+
+    @Value("${app.s3.upload.queue-capacity:64}")
+    private int uploadQueueCapacity;
+
+    @Value("${app.images.presign-ttl:10m}")
+    private Duration presignTtl;
+
+    @Value("${spring.servlet.multipart.max-file-size:10MB}")
+    private DataSize maxImageSize;
+
+    @Value("${app.media.proxy.enabled:false}")
+    private boolean mediaProxyEnabled;
+
+    @Value("${app.media.proxy.base-url:/media}")
+    private String mediaProxyBaseUrl;
+
+    @Autowired
+    private BlobStore blobStore;
 
-    @Value("${app.s3.base-url}")
-    private String baseUrl;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
-    @Value("${aws.accessKey:}")
-    private String accessKey;
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
 
-    @Value("${aws.secretKey:}")
-    private String secretKey;
+    @Autowired
+    private DeferredUploads deferredUploads;
 
-    private AmazonS3 s3Client;
+    @Autowired
+    private ImageVariantRecorder imageVariantRecorder;
+
+    // Images the render pool turned away, retried from the stored original
+    private final Map<String, ImageFormat> queuedRenders = new ConcurrentHashMap<>();
+
+    // Stored widths no row picked up, because the row using the image was not saved yet when they were
+    private final Map<String, UnrecordedWidths> unrecordedWidths = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor uploadExecutor;
+    private Counter completedUploads;
+    private Counter failedUploads;
+    private Counter deferredUploadCount;
+    private Counter deduplicatedUploads;
+    private Counter inlineUploads;
 
     @PostConstruct
     public void init() {
-        AWSCredentials credentials = new BasicAWSCredentials(accessKey, secretKey);
-        s3Client = AmazonS3ClientBuilder.standard()
-                .withRegion(Regions.CA_CENTRAL_1)
-                .withCredentials(new AWSStaticCredentialsProvider(credentials))
-                .build();
+        AtomicInteger threadNumber = new AtomicInteger();
+        uploadExecutor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(uploadQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "s3-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> {
+                    inlineUploads.increment();
+                    if (!executor.isShutdown()) {
+                        runnable.run();
+                    }
+                });
+
+        completedUploads = uploadCounter("completed");
+        failedUploads = uploadCounter("failed");
+        deferredUploadCount = uploadCounter("deferred");
+        deduplicatedUploads = uploadCounter("deduplicated");
+        inlineUploads = Counter.builder("s3.uploads.inline")
+                .description("Uploads run on the calling thread because the upload queue was full")
+                .register(meterRegistry);
+        Gauge.builder("s3.uploads.queue", uploadExecutor, e -> e.getQueue().size())
+                .description("Uploads waiting for an upload thread")
+                .register(meterRegistry);
+        Gauge.builder("image.derivatives.queued", queuedRenders, Map::size)
+                .description("Images the render pool turned away, waiting for a retry")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Let queued uploads finish so saved rows do not point at objects that never arrive
+        uploadExecutor.shutdown();
+        if (!uploadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} image uploads were still pending at shutdown", uploadExecutor.getQueue().size());
+        }
     }
 
     /**
-     * Uploads image directly to root of bucket
-     * Returns only filename (e.g., abc123.png)
+     * Validates the image and starts uploading it to the root of the store. The key is only the file
+     * name (e.g. abc123.png), with the extension taken from the image's magic bytes. Inside a
+     * transaction the upload starts after commit, so a rolled-back write leaves nothing behind.
      */
-    public String uploadBase64Image(String base64Image) {
+    public UploadedImage uploadBase64Image(String base64Image) {
         if (base64Image == null || base64Image.trim().isEmpty()) return null;
 
+        DataUrlImage image = DataUrlImage.parse(base64Image, maxImageSize);
+        String fileName = image.getSha256() + "." + image.getFormat().getExtension();
+        ImageMetadata metadata = describe(fileName, image::openStream);
+
+        afterCommit(() -> storeIfAbsent(fileName, image.getFormat(), image::openStream,
+                () -> store(fileName, image.getContentLength(), () -> blobStore.put(fileName, image.openStream(),
+                        image.getContentLength(), image.getFormat().getContentType()), image::openStream),
+                () -> { }), () -> { });
+        return new UploadedImage(fileName, metadata); // e.g., "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.png"
+    }
+
+    /**
+     * Same as {@link #uploadBase64Image} for a multipart file part. The part is already on disk; it is
+     * moved to a staging file that outlives the request and is deleted once the original and its
+     * variants have been uploaded.
+     */
+    public UploadedImage uploadImage(MultipartFile file) {
+        if (file == null || file.isEmpty()) return null;
+
+        ImageFormat format;
+        MessageDigest digest = DataUrlImage.sha256Digest();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            format = ImageFormat.sniff(in)
+                    .orElseThrow(() -> new InvalidImageException("Unsupported image format; expected PNG, JPEG, GIF or WebP"));
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read uploaded image", e);
+        }
+        String fileName = HexFormat.of().formatHex(digest.digest()) + "." + format.getExtension();
+
+        Path staged;
         try {
-            String base64Data = base64Image.split(",")[1];
-            byte[] imageBytes = Base64.getDecoder().decode(base64Data);
+            staged = Files.createTempFile("s3-upload-", "." + format.getExtension());
+            file.transferTo(staged);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stage uploaded image", e);
+        }
+        ImageMetadata metadata = describe(fileName, () -> Files.newInputStream(staged));
+        afterCommit(() -> storeIfAbsent(fileName, format, () -> Files.newInputStream(staged),
+                () -> store(fileName, file.getSize(), () -> blobStore.put(fileName, staged, format.getContentType()),
+                        () -> Files.newInputStream(staged)),
+                () -> deleteStaged(staged)), () -> deleteStaged(staged));
+        return new UploadedImage(fileName, metadata);
+    }
 
-            String extension = base64Image.contains("png") ? "png" :
-                    base64Image.contains("jpeg") || base64Image.contains("jpg") ? "jpg" : "webp";
+    /**
+     * A presigned PUT for a new image of the given content type. The client uploads the bytes itself
+     * and then passes the key to one of the attach endpoints.
+     */
+    public PresignedUpload presignImageUpload(String contentType) {
+        ImageFormat format = ImageFormat.fromContentType(contentType)
+                .orElseThrow(() -> new InvalidImageException("Unsupported image type " + contentType + "; expected PNG, JPEG, GIF or WebP"));
+        String key = UUID.randomUUID() + "." + format.getExtension();
+        return blobStore.presignPut(key, format.getContentType(), presignTtl);
+    }
 
-            // Generate clean filename — direct in root
-            String fileName = UUID.randomUUID().toString() + "." + extension;
+    /**
+     * Checks that a presigned upload arrived, is within the size limit and really is the image format
+     * its key says, and returns the key for the caller to save. Resized variants are rendered from the
+     * stored object in the background, after commit.
+     */
+    public UploadedImage attachUploadedImage(String key) {
+        ImageFormat format = presignedKeyFormat(key)
+                .orElseThrow(() -> new InvalidImageException("Not an upload key: " + key));
 
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(imageBytes.length);
-            metadata.setContentType("image/" + extension);
+        ImageMetadata metadata;
+        try {
+            BlobSummary object = blobStore.stat(key)
+                    .orElseThrow(() -> new InvalidImageException("Nothing has been uploaded to " + key));
+            if (object.getSize() > maxImageSize.toBytes()) {
+                throw new InvalidImageException("Uploaded image is larger than " + maxImageSize);
+            }
+            try (InputStream in = new BufferedInputStream(blobStore.open(key))) {
+                in.mark(ImageFormat.HEADER_LENGTH);
+                if (ImageFormat.sniff(in).filter(format::equals).isEmpty()) {
+                    throw new InvalidImageException("Uploaded object is not a valid " + format.getExtension() + " image");
+                }
+                in.reset();
+                metadata = describe(key, () -> in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not check uploaded image " + key, e);
+        }
 
-            s3Client.putObject(new PutObjectRequest(bucketName, fileName,
-                    new ByteArrayInputStream(imageBytes), metadata)
-                    .withCannedAcl(CannedAccessControlList.PublicRead));
+        afterCommit(() -> storeVariants(key, format, () -> blobStore.open(key), List.of(), () -> { }), () -> { });
+        return new UploadedImage(key, metadata);
+    }
 
-            return fileName; // e.g., "a1b2c3d4-e5f6-7890-g1h2-i3j4k5l6m7n8.png"
+    /**
+     * Full URLs of the stored resized variants of {@code key} by width, for building a {@code srcset}.
+     * Only the widths recorded in {@code metadata} are included, so every URL points at an object.
+     */
+    public Map<Integer, String> getVariantUrls(String key, ImageMetadata metadata) {
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        if (key == null || key.isEmpty() || metadata == null) {
+            return urls;
+        }
+        for (int width : ImageVariantRecorder.parse(metadata.getVariantWidths())) {
+            urls.put(width, getFullUrl(ImageDerivativeService.variantKey(key, width)));
+        }
+        return urls;
+    }
+
+    /**
+     * Renders the images the render pool turned away, from their stored originals, until the pool
+     * is saturated again.
+     */
+    @Scheduled(fixedDelayString = "${app.images.render-retry-interval:1m}",
+            initialDelayString = "${app.images.render-retry-interval:1m}")
+    public void retryQueuedRenders() {
+        retryUnrecordedWidths();
+        for (String key : List.copyOf(queuedRenders.keySet())) {
+            ImageFormat format = queuedRenders.remove(key);
+            if (format != null && !submitVariants(key, format, () -> blobStore.open(key), List.of(), () -> { })) {
+                queuedRenders.putIfAbsent(key, format);
+                return;
+            }
+        }
+    }
+
+    // Size and placeholder are a bonus; an image the JDK cannot decode is still stored without them
+    private ImageMetadata describe(String key, ImageDerivativeService.ImageSource source) {
+        try (InputStream in = source.open()) {
+            return imageDerivativeService.describe(in).orElse(null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read the size of image {}; storing it without one", key, e);
+            return null;
+        }
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to upload image to S3", e);
+    private static Optional<ImageFormat> presignedKeyFormat(String key) {
+        if (key == null) {
+            return Optional.empty();
         }
+        Matcher matcher = PRESIGNED_KEY.matcher(key);
+        return matcher.matches() ? ImageFormat.fromExtension(matcher.group(1)) : Optional.empty();
+    }
+
+    private void afterCommit(Runnable upload, Runnable discard) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            upload.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    upload.run();
+                } else {
+                    discard.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Stores the original unless its key already exists, then its variants. A deduplicated original
+     * may have lost variants, or never had them rendered, so each variant key is checked on its own.
+     * Objects that already exist are touched, so the orphan collector sees them as recent again.
+     * {@code done} runs once {@code source} is no longer needed.
+     */
+    private void storeIfAbsent(String key, ImageFormat format, ImageDerivativeService.ImageSource source,
+                               Runnable store, Runnable done) {
+        uploadExecutor.execute(() -> {
+            if (touch(key)) {
+                deduplicatedUploads.increment();
+                storeMissingVariants(key, format, source, done);
+            } else {
+                store.run();
+                storeVariants(key, format, source, List.of(), done);
+            }
+        });
+    }
+
+    private void storeMissingVariants(String fileName, ImageFormat format, ImageDerivativeService.ImageSource source, Runnable done) {
+        Map<Integer, String> variantKeys = imageDerivativeService.variantKeys(fileName);
+        List<Integer> present = new ArrayList<>();
+        variantKeys.forEach((width, key) -> {
+            if (touch(key)) {
+                present.add(width);
+            }
+        });
+        if (present.size() < variantKeys.size()) {
+            storeVariants(fileName, format, source, present, done);
+            return;
+        }
+        // The row using this upload may not carry the widths yet
+        recordWidths(fileName, present, System.nanoTime() + UNRECORDED_TTL.toNanos());
+        done.run();
+    }
+
+    // Touching rather than only checking restarts the orphan collector's grace period for a reused object
+    private boolean touch(String key) {
+        try {
+            return blobStore.touch(key);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not check whether {} is already stored; uploading it again", key, e);
+            return false;
+        }
+    }
+
+    private void storeVariants(String fileName, ImageFormat format, ImageDerivativeService.ImageSource source,
+                               List<Integer> present, Runnable done) {
+        if (!submitVariants(fileName, format, source, present, done)) {
+            if (queuedRenders.size() < MAX_QUEUED_RENDERS) {
+                queuedRenders.putIfAbsent(fileName, format);
+            } else {
+                log.warn("Render retry queue is full; variants of {} are left for the backfill", fileName);
+            }
+        }
+    }
+
+    private boolean submitVariants(String fileName, ImageFormat format, ImageDerivativeService.ImageSource source,
+                                   List<Integer> present, Runnable done) {
+        return imageDerivativeService.submit(fileName, format, source,
+                variants -> uploadExecutor.execute(() -> storeRendered(fileName, variants, present)), done);
+    }
+
+    // Variants that could not be stored right away are deferred like originals, but not advertised
+    private void storeRendered(String fileName, List<ImageVariant> variants, List<Integer> present) {
+        Map<String, Integer> widthsByKey = new HashMap<>();
+        imageDerivativeService.variantKeys(fileName).forEach((width, key) -> widthsByKey.put(key, width));
+        List<Integer> stored = new ArrayList<>(present);
+        for (ImageVariant variant : variants) {
+            if (present.contains(widthsByKey.get(variant.getKey()))) {
+                continue;
+            }
+            boolean written = store(variant.getKey(), variant.getBytes().length, () -> blobStore.put(variant.getKey(),
+                    new ByteArrayInputStream(variant.getBytes()), variant.getBytes().length,
+                    variant.getContentType()), () -> new ByteArrayInputStream(variant.getBytes()));
+            if (written && widthsByKey.containsKey(variant.getKey())) {
+                stored.add(widthsByKey.get(variant.getKey()));
+            }
+        }
+        recordWidths(fileName, stored, System.nanoTime() + UNRECORDED_TTL.toNanos());
+    }
+
+    // Uploads are stored before the caller saves its row, so a render can finish first
+    private void recordWidths(String fileName, List<Integer> widths, long deadline) {
+        if (widths.isEmpty()) {
+            return;
+        }
+        try {
+            if (imageVariantRecorder.record(fileName, widths) > 0) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not record the stored variants of image {}", fileName, e);
+        }
+        if (System.nanoTime() - deadline < 0 && unrecordedWidths.size() < MAX_QUEUED_RENDERS) {
+            unrecordedWidths.put(fileName, new UnrecordedWidths(widths, deadline));
+        }
+    }
+
+    private void retryUnrecordedWidths() {
+        for (String key : List.copyOf(unrecordedWidths.keySet())) {
+            UnrecordedWidths pending = unrecordedWidths.remove(key);
+            if (pending != null) {
+                recordWidths(key, pending.widths, pending.deadline);
+            }
+        }
+    }
+
+    /**
+     * @return whether the object was written now, rather than deferred or lost
+     */
+    private boolean store(String key, long size, BlobWrite write, ImageDerivativeService.ImageSource content) {
+        try {
+            write.run();
+            completedUploads.increment();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            try {
+                deferredUploads.defer(key, content);
+            } catch (IOException | RuntimeException deferFailure) {
+                e.addSuppressed(deferFailure);
+                failedUploads.increment();
+                log.error("Upload of image {} ({} bytes) failed and could not be deferred", key, size, e);
+                return false;
+            }
+            deferredUploadCount.increment();
+            if (e instanceof BlobStoreUnavailableException) {
+                log.warn("Upload of image {} deferred: {}", key, e.getMessage());
+            } else {
+                log.warn("Upload of image {} ({} bytes) failed; deferred for a later retry", key, size, e);
+            }
+            return false;
+        }
+    }
+
+    private static void deleteStaged(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException e) {
+            log.warn("Could not delete staged upload {}", staged, e);
+        }
+    }
+
+    private Counter uploadCounter(String outcome) {
+        return Counter.builder("s3.uploads")
+                .description("Background image uploads by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     public String getFullUrl(String key) {
         if (key == null || key.isEmpty()) return null;
-        return baseUrl + "/" + key; // → https://preetinest.s3.../abc123.png
+        // With the media proxy on, browsers fetch images from this node's cache instead of the bucket
+        return mediaProxyEnabled ? mediaProxyBaseUrl + "/" + key : blobStore.getUrl(key);
+    }
+
+    @FunctionalInterface
+    private interface BlobWrite {
+        void run() throws IOException;
+    }
+
+    private static class UnrecordedWidths {
+
+        final List<Integer> widths;
+        final long deadline;
+
+        UnrecordedWidths(List<Integer> widths, long deadline) {
+            this.widths = widths;
+            this.deadline = deadline;
+        }
     }
-}
\ No newline at end of file
+}
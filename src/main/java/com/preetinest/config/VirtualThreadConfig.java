@@ -0,0 +1,38 @@
+package com.preetinest.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Opt-in virtual-thread mode. With {@code spring.threads.virtual.enabled=true} on a Java 21 runtime,
+ * Spring Boot serves requests and runs the application task executor on virtual threads; on Java 17
+ * the setting is ignored and this configuration stays off.
+ *
+ * Virtual threads remove the Tomcat thread cap, so nothing upstream limits how many requests reach
+ * the connection pool at once any more. The Hikari pool is therefore fronted by a semaphore with one
+ * permit per pooled connection, and waiters time out after the pool's own connection timeout.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionPermitDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionPermitDataSource(hikari, hikari.getMaximumPoolSize(),
+                            Duration.ofMillis(hikari.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+}
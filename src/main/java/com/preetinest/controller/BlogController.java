@@ -1,18 +1,25 @@
 package com.preetinest.controller;
 
+import com.preetinest.dto.request.AttachImageRequestDTO;
 import com.preetinest.dto.request.BlogRequestDTO;
+import com.preetinest.dto.response.BlogResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
 import com.preetinest.service.BlogService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/blogs")
@@ -33,10 +40,26 @@ public class BlogController {
             @ApiResponse(responseCode = "400", description = "Invalid blog data or userId"),
             @ApiResponse(responseCode = "404", description = "User, category, subcategory, or service not found")
     })
-    public ResponseEntity<Map<String, Object>> createBlog(
+    public ResponseEntity<BlogResponseDTO> createBlog(
             @Valid @RequestBody BlogRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = blogService.createBlog(requestDTO, userId);
+        BlogResponseDTO response = blogService.createBlog(requestDTO, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Create a new blog with an uploaded thumbnail image", description = "Multipart variant of create: the blog as a JSON part named 'data' and the thumbnail image as an optional file part named 'thumbnail', instead of base64 in the JSON body")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Blog created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid blog data or userId"),
+            @ApiResponse(responseCode = "404", description = "User, category, subcategory, or service not found"),
+            @ApiResponse(responseCode = "413", description = "Upload exceeds the size limit")
+    })
+    public ResponseEntity<BlogResponseDTO> createBlog(
+            @Valid @RequestPart("data") BlogRequestDTO requestDTO,
+            @RequestPart(value = "thumbnail", required = false) MultipartFile thumbnail,
+            @RequestParam(required = false) Long userId) {
+        BlogResponseDTO response = blogService.createBlog(requestDTO, thumbnail, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -46,7 +69,7 @@ public class BlogController {
             @ApiResponse(responseCode = "200", description = "Blog found"),
             @ApiResponse(responseCode = "404", description = "Blog not found")
     })
-    public ResponseEntity<Map<String, Object>> getBlogById(@PathVariable Long id) {
+    public ResponseEntity<BlogResponseDTO> getBlogById(@PathVariable Long id) {
         return blogService.getBlogById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -58,7 +81,7 @@ public class BlogController {
             @ApiResponse(responseCode = "200", description = "Blog found"),
             @ApiResponse(responseCode = "404", description = "Blog not found")
     })
-    public ResponseEntity<Map<String, Object>> getBlogByUuid(@PathVariable String uuid) {
+    public ResponseEntity<BlogResponseDTO> getBlogByUuid(@PathVariable String uuid) {
         return blogService.getBlogByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -67,12 +90,15 @@ public class BlogController {
     @GetMapping("/slug/{slug}")
     @Operation(summary = "Get blog by slug", description = "Retrieves a blog by its slug if not deleted")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Blog found"),
+            @ApiResponse(responseCode = "200", description = "Blog found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(type = "object"))),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Blog not found")
     })
-    public ResponseEntity<Map<String, Object>> getBlogBySlug(@PathVariable String slug) {
-        return blogService.getBlogBySlug(slug)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<byte[]> getBlogBySlug(@PathVariable String slug, WebRequest request) {
+        // Body is serialized once per catalog version and written as-is
+        return blogService.getPreparedBlogBySlug(slug)
+                .map(prepared -> prepared.toResponseEntity(request))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -81,17 +107,30 @@ public class BlogController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of active blogs")
     })
-    public ResponseEntity<List<Map<String, Object>>> getAllActiveBlogs() {
+    public ResponseEntity<List<BlogResponseDTO>> getAllActiveBlogs() {
         return ResponseEntity.ok(blogService.getAllActiveBlogs());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Page through active blogs", description = "Returns active blogs newest first. Pass nextCursor from the previous page as cursor; size defaults to 20 (max 100). The total is only counted when includeTotal=true")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "One page of active blogs"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    })
+    public ResponseEntity<PageResponseDTO<BlogResponseDTO>> getActiveBlogPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(blogService.getActiveBlogPage(cursor, size, includeTotal));
+    }
+
     @GetMapping("/service/{serviceId}")
     @Operation(summary = "Get blogs by service ID", description = "Retrieves all active blogs for a given service ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of blogs found"),
             @ApiResponse(responseCode = "404", description = "Service not found")
     })
-    public ResponseEntity<List<Map<String, Object>>> getBlogsByServiceId(@PathVariable Long serviceId) {
+    public ResponseEntity<List<BlogResponseDTO>> getBlogsByServiceId(@PathVariable Long serviceId) {
         return ResponseEntity.ok(blogService.getBlogsByServiceId(serviceId));
     }
 
@@ -102,14 +141,45 @@ public class BlogController {
             @ApiResponse(responseCode = "404", description = "Blog, user, category, subcategory, or service not found"),
             @ApiResponse(responseCode = "400", description = "Invalid blog data or userId")
     })
-    public ResponseEntity<Map<String, Object>> updateBlog(
+    public ResponseEntity<BlogResponseDTO> updateBlog(
             @PathVariable Long id,
             @Valid @RequestBody BlogRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = blogService.updateBlog(id, requestDTO, userId);
+        BlogResponseDTO response = blogService.updateBlog(id, requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Update a blog with an uploaded thumbnail image", description = "Multipart variant of update: the blog as a JSON part named 'data' and an optional replacement thumbnail image as a file part named 'thumbnail'")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Blog updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Blog, user, category, subcategory, or service not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid blog data or userId"),
+            @ApiResponse(responseCode = "413", description = "Upload exceeds the size limit")
+    })
+    public ResponseEntity<BlogResponseDTO> updateBlog(
+            @PathVariable Long id,
+            @Valid @RequestPart("data") BlogRequestDTO requestDTO,
+            @RequestPart(value = "thumbnail", required = false) MultipartFile thumbnail,
+            @RequestParam(required = false) Long userId) {
+        BlogResponseDTO response = blogService.updateBlog(id, requestDTO, thumbnail, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/{id}/thumbnail")
+    @Operation(summary = "Attach a directly uploaded thumbnail", description = "Sets the blog's thumbnail to an image uploaded through POST /api/media/uploads, after checking that the object exists and is a valid image; userId is optional for ADMIN role")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Blog thumbnail updated"),
+            @ApiResponse(responseCode = "400", description = "Unknown key, missing or invalid upload, or invalid userId"),
+            @ApiResponse(responseCode = "404", description = "Blog not found")
+    })
+    public ResponseEntity<BlogResponseDTO> attachThumbnail(
+            @PathVariable Long id,
+            @Valid @RequestBody AttachImageRequestDTO requestDTO,
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(blogService.attachThumbnail(id, requestDTO.getKey(), userId));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Soft delete a blog", description = "Marks a blog as deleted by ID")
     @ApiResponses({
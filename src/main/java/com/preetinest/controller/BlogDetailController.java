@@ -1,6 +1,8 @@
 package com.preetinest.controller;
 
+import com.preetinest.dto.request.AttachImageRequestDTO;
 import com.preetinest.dto.request.BlogDetailRequestDTO;
+import com.preetinest.dto.response.BlogDetailResponseDTO;
 import com.preetinest.service.BlogDetailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,11 +10,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/blog-details")
@@ -33,10 +36,26 @@ public class BlogDetailController {
             @ApiResponse(responseCode = "400", description = "Invalid blog detail data or userId"),
             @ApiResponse(responseCode = "404", description = "User or blog not found")
     })
-    public ResponseEntity<Map<String, Object>> createBlogDetail(
+    public ResponseEntity<BlogDetailResponseDTO> createBlogDetail(
             @Valid @RequestBody BlogDetailRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = blogDetailService.createBlogDetail(requestDTO, userId);
+        BlogDetailResponseDTO response = blogDetailService.createBlogDetail(requestDTO, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Create a new blog detail with an uploaded image", description = "Multipart variant of create: the blog detail as a JSON part named 'data' and the image as an optional file part named 'image', instead of base64 in the JSON body")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Blog detail created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid blog detail data or userId"),
+            @ApiResponse(responseCode = "404", description = "User or blog not found"),
+            @ApiResponse(responseCode = "413", description = "Upload exceeds the size limit")
+    })
+    public ResponseEntity<BlogDetailResponseDTO> createBlogDetail(
+            @Valid @RequestPart("data") BlogDetailRequestDTO requestDTO,
+            @RequestPart(value = "image", required = false) MultipartFile image,
+            @RequestParam(required = false) Long userId) {
+        BlogDetailResponseDTO response = blogDetailService.createBlogDetail(requestDTO, image, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -46,7 +65,7 @@ public class BlogDetailController {
             @ApiResponse(responseCode = "200", description = "Blog detail found"),
             @ApiResponse(responseCode = "404", description = "Blog detail not found")
     })
-    public ResponseEntity<Map<String, Object>> getBlogDetailById(@PathVariable Long id) {
+    public ResponseEntity<BlogDetailResponseDTO> getBlogDetailById(@PathVariable Long id) {
         return blogDetailService.getBlogDetailById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -58,7 +77,7 @@ public class BlogDetailController {
             @ApiResponse(responseCode = "200", description = "Blog detail found"),
             @ApiResponse(responseCode = "404", description = "Blog detail not found")
     })
-    public ResponseEntity<Map<String, Object>> getBlogDetailByUuid(@PathVariable String uuid) {
+    public ResponseEntity<BlogDetailResponseDTO> getBlogDetailByUuid(@PathVariable String uuid) {
         return blogDetailService.getBlogDetailByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -70,7 +89,7 @@ public class BlogDetailController {
             @ApiResponse(responseCode = "200", description = "List of blog details found"),
             @ApiResponse(responseCode = "404", description = "Blog not found")
     })
-    public ResponseEntity<List<Map<String, Object>>> getBlogDetailsByBlogId(@PathVariable Long blogId) {
+    public ResponseEntity<List<BlogDetailResponseDTO>> getBlogDetailsByBlogId(@PathVariable Long blogId) {
         return ResponseEntity.ok(blogDetailService.getBlogDetailsByBlogId(blogId));
     }
 
@@ -81,14 +100,45 @@ public class BlogDetailController {
             @ApiResponse(responseCode = "404", description = "Blog detail or user not found"),
             @ApiResponse(responseCode = "400", description = "Invalid blog detail data or userId")
     })
-    public ResponseEntity<Map<String, Object>> updateBlogDetail(
+    public ResponseEntity<BlogDetailResponseDTO> updateBlogDetail(
             @PathVariable Long id,
             @Valid @RequestBody BlogDetailRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = blogDetailService.updateBlogDetail(id, requestDTO, userId);
+        BlogDetailResponseDTO response = blogDetailService.updateBlogDetail(id, requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Update a blog detail with an uploaded image", description = "Multipart variant of update: the blog detail as a JSON part named 'data' and an optional replacement image as a file part named 'image'")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Blog detail updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Blog detail or user not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid blog detail data or userId"),
+            @ApiResponse(responseCode = "413", description = "Upload exceeds the size limit")
+    })
+    public ResponseEntity<BlogDetailResponseDTO> updateBlogDetail(
+            @PathVariable Long id,
+            @Valid @RequestPart("data") BlogDetailRequestDTO requestDTO,
+            @RequestPart(value = "image", required = false) MultipartFile image,
+            @RequestParam(required = false) Long userId) {
+        BlogDetailResponseDTO response = blogDetailService.updateBlogDetail(id, requestDTO, image, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/{id}/image")
+    @Operation(summary = "Attach a directly uploaded image", description = "Sets the blog detail's image to an image uploaded through POST /api/media/uploads, after checking that the object exists and is a valid image; userId is optional for ADMIN role")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Blog detail image updated"),
+            @ApiResponse(responseCode = "400", description = "Unknown key, missing or invalid upload, or invalid userId"),
+            @ApiResponse(responseCode = "404", description = "Blog detail not found")
+    })
+    public ResponseEntity<BlogDetailResponseDTO> attachImage(
+            @PathVariable Long id,
+            @Valid @RequestBody AttachImageRequestDTO requestDTO,
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(blogDetailService.attachImage(id, requestDTO.getKey(), userId));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Soft delete a blog detail", description = "Marks a blog detail as deleted by ID")
     @ApiResponses({
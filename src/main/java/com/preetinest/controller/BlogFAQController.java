@@ -1,6 +1,7 @@
 package com.preetinest.controller;
 
 import com.preetinest.dto.request.BlogFAQRequestDTO;
+import com.preetinest.dto.response.BlogFAQResponseDTO;
 import com.preetinest.service.BlogFAQService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,7 +13,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/blog-faqs")
@@ -33,10 +33,10 @@ public class BlogFAQController {
             @ApiResponse(responseCode = "400", description = "Invalid FAQ data or userId"),
             @ApiResponse(responseCode = "404", description = "User or blog not found")
     })
-    public ResponseEntity<Map<String, Object>> createBlogFAQ(
+    public ResponseEntity<BlogFAQResponseDTO> createBlogFAQ(
             @Valid @RequestBody BlogFAQRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = blogFAQService.createBlogFAQ(requestDTO, userId);
+        BlogFAQResponseDTO response = blogFAQService.createBlogFAQ(requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -46,7 +46,7 @@ public class BlogFAQController {
             @ApiResponse(responseCode = "200", description = "Blog FAQ found"),
             @ApiResponse(responseCode = "404", description = "Blog FAQ not found")
     })
-    public ResponseEntity<Map<String, Object>> getBlogFAQById(@PathVariable Long id) {
+    public ResponseEntity<BlogFAQResponseDTO> getBlogFAQById(@PathVariable Long id) {
         return blogFAQService.getBlogFAQById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -58,7 +58,7 @@ public class BlogFAQController {
             @ApiResponse(responseCode = "200", description = "Blog FAQ found"),
             @ApiResponse(responseCode = "404", description = "Blog FAQ not found")
     })
-    public ResponseEntity<Map<String, Object>> getBlogFAQByUuid(@PathVariable String uuid) {
+    public ResponseEntity<BlogFAQResponseDTO> getBlogFAQByUuid(@PathVariable String uuid) {
         return blogFAQService.getBlogFAQByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -70,7 +70,7 @@ public class BlogFAQController {
             @ApiResponse(responseCode = "200", description = "List of blog FAQs found"),
             @ApiResponse(responseCode = "404", description = "Blog not found")
     })
-    public ResponseEntity<List<Map<String, Object>>> getBlogFAQsByBlogId(@PathVariable Long blogId) {
+    public ResponseEntity<List<BlogFAQResponseDTO>> getBlogFAQsByBlogId(@PathVariable Long blogId) {
         return ResponseEntity.ok(blogFAQService.getBlogFAQsByBlogId(blogId));
     }
 
@@ -81,11 +81,11 @@ public class BlogFAQController {
             @ApiResponse(responseCode = "404", description = "Blog FAQ or user not found"),
             @ApiResponse(responseCode = "400", description = "Invalid FAQ data or userId")
     })
-    public ResponseEntity<Map<String, Object>> updateBlogFAQ(
+    public ResponseEntity<BlogFAQResponseDTO> updateBlogFAQ(
             @PathVariable Long id,
             @Valid @RequestBody BlogFAQRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = blogFAQService.updateBlogFAQ(id, requestDTO, userId);
+        BlogFAQResponseDTO response = blogFAQService.updateBlogFAQ(id, requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,76 @@
+package com.preetinest.controller;
+
+import com.preetinest.catalog.SlugRegistry;
+import com.preetinest.catalog.SlugType;
+import com.preetinest.dto.response.SlugResponseDTO;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
+import com.preetinest.service.CatalogSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumSet;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/catalog")
+@Tag(name = "Catalog Snapshot", description = "Diagnostics for the in-memory public catalog in PreetiNest Global Connect")
+public class CatalogController {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final SlugRegistry slugRegistry;
+    private final AuthorizationService authorizationService;
+
+    @Autowired
+    public CatalogController(CatalogSnapshotService catalogSnapshotService,
+                             SlugRegistry slugRegistry,
+                             AuthorizationService authorizationService) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.slugRegistry = slugRegistry;
+        this.authorizationService = authorizationService;
+    }
+
+    @GetMapping("/slug/{slug}")
+    @Operation(summary = "Resolve a slug", description = "Returns which visible service, blog, client, category or subcategory owns the slug, for routing")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Slug resolved"),
+            @ApiResponse(responseCode = "404", description = "No visible page owns this slug")
+    })
+    public ResponseEntity<SlugResponseDTO> resolveSlug(@PathVariable String slug) {
+        return slugRegistry.resolve(slug, EnumSet.allOf(SlugType.class))
+                .map(entry -> new SlugResponseDTO(slug, entry.getType().name(), entry.getId(), entry.getName()))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Catalog snapshot stats", description = "Returns the current snapshot version, row counts, build time and estimated heap footprint")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Snapshot stats")
+    })
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(catalogSnapshotService.getStats());
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Rebuild catalog snapshot", description = "Schedules a background rebuild of the public catalog snapshot; requires an ADMIN userId")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Rebuild scheduled"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<Void> refresh(@RequestParam Long userId) {
+        authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can rebuild the catalog");
+        catalogSnapshotService.requestRefresh();
+        return ResponseEntity.accepted().build();
+    }
+}
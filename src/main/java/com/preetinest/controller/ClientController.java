@@ -1,6 +1,9 @@
 package com.preetinest.controller;
 
+import com.preetinest.dto.request.AttachImageRequestDTO;
 import com.preetinest.dto.request.ClientRequestDTO;
+import com.preetinest.dto.response.ClientResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
 import com.preetinest.service.ClientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,11 +11,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/clients")
@@ -33,10 +37,26 @@ public class ClientController {
             @ApiResponse(responseCode = "400", description = "Invalid client data or userId"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<Map<String, Object>> createClient(
+    public ResponseEntity<ClientResponseDTO> createClient(
             @Valid @RequestBody ClientRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = clientService.createClient(requestDTO, userId);
+        ClientResponseDTO response = clientService.createClient(requestDTO, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Create a new client with an uploaded logo", description = "Multipart variant of create: the client as a JSON part named 'data' and the logo as an optional file part named 'logo', instead of base64 in the JSON body")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Client created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid client data or userId"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "413", description = "Upload exceeds the size limit")
+    })
+    public ResponseEntity<ClientResponseDTO> createClient(
+            @Valid @RequestPart("data") ClientRequestDTO requestDTO,
+            @RequestPart(value = "logo", required = false) MultipartFile logo,
+            @RequestParam(required = false) Long userId) {
+        ClientResponseDTO response = clientService.createClient(requestDTO, logo, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -46,7 +66,7 @@ public class ClientController {
             @ApiResponse(responseCode = "200", description = "Client found"),
             @ApiResponse(responseCode = "404", description = "Client not found")
     })
-    public ResponseEntity<Map<String, Object>> getClientById(@PathVariable Long id) {
+    public ResponseEntity<ClientResponseDTO> getClientById(@PathVariable Long id) {
         return clientService.getClientById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -58,7 +78,7 @@ public class ClientController {
             @ApiResponse(responseCode = "200", description = "Client found"),
             @ApiResponse(responseCode = "404", description = "Client not found")
     })
-    public ResponseEntity<Map<String, Object>> getClientByUuid(@PathVariable String uuid) {
+    public ResponseEntity<ClientResponseDTO> getClientByUuid(@PathVariable String uuid) {
         return clientService.getClientByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -70,7 +90,7 @@ public class ClientController {
             @ApiResponse(responseCode = "200", description = "Client found"),
             @ApiResponse(responseCode = "404", description = "Client not found")
     })
-    public ResponseEntity<Map<String, Object>> getClientBySlug(@PathVariable String slug) {
+    public ResponseEntity<ClientResponseDTO> getClientBySlug(@PathVariable String slug) {
         return clientService.getClientBySlug(slug)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -81,10 +101,23 @@ public class ClientController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of active clients")
     })
-    public ResponseEntity<List<Map<String, Object>>> getAllActiveClients() {
+    public ResponseEntity<List<ClientResponseDTO>> getAllActiveClients() {
         return ResponseEntity.ok(clientService.getAllActiveClients());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Page through active clients", description = "Returns active clients newest first. Pass nextCursor from the previous page as cursor; size defaults to 20 (max 100). The total is only counted when includeTotal=true")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "One page of active clients"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    })
+    public ResponseEntity<PageResponseDTO<ClientResponseDTO>> getActiveClientPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(clientService.getActiveClientPage(cursor, size, includeTotal));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a client", description = "Updates an existing client by ID; userId is optional for ADMIN role")
     @ApiResponses({
@@ -92,14 +125,45 @@ public class ClientController {
             @ApiResponse(responseCode = "404", description = "Client or user not found"),
             @ApiResponse(responseCode = "400", description = "Invalid client data or userId")
     })
-    public ResponseEntity<Map<String, Object>> updateClient(
+    public ResponseEntity<ClientResponseDTO> updateClient(
             @PathVariable Long id,
             @Valid @RequestBody ClientRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = clientService.updateClient(id, requestDTO, userId);
+        ClientResponseDTO response = clientService.updateClient(id, requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Update a client with an uploaded logo", description = "Multipart variant of update: the client as a JSON part named 'data' and an optional replacement logo as a file part named 'logo'")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Client updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Client or user not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid client data or userId"),
+            @ApiResponse(responseCode = "413", description = "Upload exceeds the size limit")
+    })
+    public ResponseEntity<ClientResponseDTO> updateClient(
+            @PathVariable Long id,
+            @Valid @RequestPart("data") ClientRequestDTO requestDTO,
+            @RequestPart(value = "logo", required = false) MultipartFile logo,
+            @RequestParam(required = false) Long userId) {
+        ClientResponseDTO response = clientService.updateClient(id, requestDTO, logo, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/{id}/logo")
+    @Operation(summary = "Attach a directly uploaded logo", description = "Sets the client's logo to an image uploaded through POST /api/media/uploads, after checking that the object exists and is a valid image; userId is optional for ADMIN role")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Client logo updated"),
+            @ApiResponse(responseCode = "400", description = "Unknown key, missing or invalid upload, or invalid userId"),
+            @ApiResponse(responseCode = "404", description = "Client not found")
+    })
+    public ResponseEntity<ClientResponseDTO> attachLogo(
+            @PathVariable Long id,
+            @Valid @RequestBody AttachImageRequestDTO requestDTO,
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(clientService.attachLogo(id, requestDTO.getKey(), userId));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Soft delete a client", description = "Marks a client as deleted by ID")
     @ApiResponses({
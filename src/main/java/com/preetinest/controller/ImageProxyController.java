@@ -0,0 +1,196 @@
+package com.preetinest.controller;
+
+import com.preetinest.media.CachedImage;
+import com.preetinest.media.ImageCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves stored images from the node's {@link ImageCache} under {@code /media/{key}}, enabled with
+ * {@code app.media.proxy.enabled=true}. Image URLs in API responses then point here instead of at
+ * the bucket.
+ *
+ * Keys never change content, so responses carry a strong ETag and an immutable Cache-Control.
+ * Single byte ranges are honoured; other Range headers get the whole image. With
+ * {@code app.media.proxy.webp-negotiation=true} a PNG or JPEG is swapped for a WebP rendition stored
+ * next to it ({@code abc.webp} for {@code abc.png}) when the client lists {@code image/webp} in
+ * Accept and such an object exists. Nothing writes those renditions yet, so it is off by default:
+ * otherwise every browser miss would first look for an object that cannot exist.
+ *
+ * The cached file is opened before any header is written and the body is copied from that channel
+ * with {@link FileChannel#transferTo}, so a concurrent eviction cannot take the file away from a
+ * response that has already promised its length. Tomcat's sendfile is not used for that reason: it
+ * opens the file by name only after the handler has returned.
+ */
+@Hidden
+@RestController
+@ConditionalOnProperty(name = "app.media.proxy.enabled", havingValue = "true")
+public class ImageProxyController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final Pattern WEBP_SOURCE = Pattern.compile("(.+)\\.(png|jpg)");
+
+    private final ImageCache imageCache;
+    private final boolean webpNegotiation;
+    private final Counter served;
+    private final Counter notModified;
+    private final Counter notFound;
+
+    public ImageProxyController(ImageCache imageCache,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.media.proxy.webp-negotiation:false}") boolean webpNegotiation) {
+        this.imageCache = imageCache;
+        this.webpNegotiation = webpNegotiation;
+        this.served = counter(meterRegistry, "served");
+        this.notModified = counter(meterRegistry, "not_modified");
+        this.notFound = counter(meterRegistry, "not_found");
+    }
+
+    @RequestMapping(value = "/media/{key}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Matcher webpSource = WEBP_SOURCE.matcher(key);
+        boolean negotiable = webpNegotiation && webpSource.matches();
+        Optional<CachedImage> found = Optional.empty();
+        if (negotiable && acceptsWebp(request.getHeader(HttpHeaders.ACCEPT))) {
+            found = imageCache.get(webpSource.group(1) + ".webp");
+        }
+        if (found.isEmpty()) {
+            found = imageCache.get(key);
+        }
+        if (found.isEmpty()) {
+            notFound.increment();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        CachedImage image = found.get();
+        FileChannel file;
+        try {
+            file = FileChannel.open(image.getFile(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // Evicted between the lookup and the open; looking it up again downloads it afresh
+            imageCache.invalidate(image);
+            image = imageCache.get(image.getKey()).orElse(null);
+            if (image == null) {
+                notFound.increment();
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            file = FileChannel.open(image.getFile(), StandardOpenOption.READ);
+        }
+        try (FileChannel channel = file) {
+            send(image, channel, negotiable, request, response);
+        }
+    }
+
+    private void send(CachedImage image, FileChannel file, boolean negotiable,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, image.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (negotiable) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), image.getEtag())) {
+            notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = image.getSize();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(image.getEtag()))) {
+            Matcher matcher = SINGLE_RANGE.matcher(range.trim());
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                if (matcher.group(1).isEmpty()) {
+                    start = Math.max(0, length - parse(matcher.group(2)));
+                } else {
+                    start = parse(matcher.group(1));
+                    end = matcher.group(2).isEmpty() ? length - 1 : Math.min(parse(matcher.group(2)), length - 1);
+                }
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        served.increment();
+        long count = end - start + 1;
+        response.setContentType(image.getContentType());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long sent = 0;
+        while (sent < count) {
+            sent += file.transferTo(start + sent, count - sent, out);
+        }
+    }
+
+    // Only an explicit image/webp counts; */* says nothing about what the client can decode
+    static boolean acceptsWebp(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(m -> "image".equals(m.getType()) && "webp".equals(m.getSubtype()) && m.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    private static long parse(String digits) {
+        // Anything too long for a long is past the end of any image
+        return digits.length() > 18 ? Long.MAX_VALUE : Long.parseLong(digits);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("media.proxy.requests")
+                .description("Image proxy requests by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,6 +1,8 @@
 package com.preetinest.controller;
 
 import com.preetinest.dto.request.InquiryRequestDTO;
+import com.preetinest.dto.response.InquiryResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
 import com.preetinest.service.InquiryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -19,20 +21,20 @@ public class InquiryController {
     private InquiryService inquiryService;
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createInquiry(@RequestBody InquiryRequestDTO requestDTO) {
-        Map<String, Object> response = inquiryService.createInquiry(requestDTO);
+    public ResponseEntity<InquiryResponseDTO> createInquiry(@RequestBody InquiryRequestDTO requestDTO) {
+        InquiryResponseDTO response = inquiryService.createInquiry(requestDTO);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getInquiryById(@PathVariable Long id) {
+    public ResponseEntity<InquiryResponseDTO> getInquiryById(@PathVariable Long id) {
         return inquiryService.getInquiryById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/uuid/{uuid}")
-    public ResponseEntity<Map<String, Object>> getInquiryByUuid(@PathVariable String uuid) {
+    public ResponseEntity<InquiryResponseDTO> getInquiryByUuid(@PathVariable String uuid) {
         return inquiryService.getInquiryByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -48,9 +50,18 @@ public class InquiryController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<PageResponseDTO<InquiryResponseDTO>> getActiveInquiryPage(
+            @RequestParam Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(inquiryService.getActiveInquiryPage(userId, cursor, size, includeTotal));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateInquiry(@PathVariable Long id, @RequestBody InquiryRequestDTO requestDTO, @RequestParam Long userId) {
-        Map<String, Object> response = inquiryService.updateInquiry(id, requestDTO, userId);
+    public ResponseEntity<InquiryResponseDTO> updateInquiry(@PathVariable Long id, @RequestBody InquiryRequestDTO requestDTO, @RequestParam Long userId) {
+        InquiryResponseDTO response = inquiryService.updateInquiry(id, requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
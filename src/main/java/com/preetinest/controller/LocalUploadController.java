@@ -0,0 +1,45 @@
+package com.preetinest.controller;
+
+import com.preetinest.media.LocalBlobStore;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Stand-in for the bucket's presigned PUT when images are kept in the local blob store, so the
+ * direct upload flow works in development and tests without S3.
+ */
+@Hidden
+@RestController
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalUploadController {
+
+    private final LocalBlobStore localBlobStore;
+
+    public LocalUploadController(LocalBlobStore localBlobStore) {
+        this.localBlobStore = localBlobStore;
+    }
+
+    @PutMapping("/media/upload/{key}")
+    public ResponseEntity<Void> upload(@PathVariable String key,
+                                       @RequestParam long expires,
+                                       @RequestParam String signature,
+                                       @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                       HttpServletRequest request) throws IOException {
+        if (!localBlobStore.verifyUpload(key, contentType, expires, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0) {
+            return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED).build();
+        }
+        localBlobStore.put(key, request.getInputStream(), contentLength, contentType);
+        return ResponseEntity.ok().build();
+    }
+}
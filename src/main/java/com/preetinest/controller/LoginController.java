@@ -1,6 +1,7 @@
 package com.preetinest.controller;
 
 import com.preetinest.dto.request.LoginRequestDTO;
+import com.preetinest.dto.response.LoginResponseDTO;
 import com.preetinest.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,7 +15,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/login")
@@ -29,14 +29,16 @@ public class LoginController {
     }
 
     @PostMapping
-    @Operation(summary = "User login", description = "Authenticates a user with email and password")
+    @Operation(summary = "User login", description = "Authenticates a user with email and password and returns a signed session token; " +
+            "send it as 'Authorization: Bearer <token>' instead of a userId on later calls")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Login successful"),
             @ApiResponse(responseCode = "401", description = "Invalid email or password"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "503", description = "Password hashing is saturated; retry shortly")
     })
-    public ResponseEntity<Map<String, Object>> login(@Valid @RequestBody LoginRequestDTO requestDTO) {
-        Map<String, Object> response = userService.login(requestDTO);
+    public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody LoginRequestDTO requestDTO) {
+        LoginResponseDTO response = userService.login(requestDTO);
         return ResponseEntity.ok(response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.preetinest.controller;
+
+import com.preetinest.dto.request.ImageUploadRequestDTO;
+import com.preetinest.dto.response.ImageUploadResponseDTO;
+import com.preetinest.service.MediaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/media")
+@Tag(name = "Media", description = "Direct image uploads to storage for PreetiNest Global Connect")
+public class MediaController {
+
+    private final MediaService mediaService;
+
+    @Autowired
+    public MediaController(MediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
+    @PostMapping("/uploads")
+    @Operation(summary = "Start a direct image upload", description = "Returns a short-lived URL to PUT the image to, with the headers to send and the object key. Once uploaded, attach the key with PUT /api/blogs/{id}/thumbnail, /api/clients/{id}/logo or /api/blog-details/{id}/image; userId is optional for ADMIN role")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Upload URL issued"),
+            @ApiResponse(responseCode = "400", description = "Unsupported content type or invalid userId")
+    })
+    public ResponseEntity<ImageUploadResponseDTO> createImageUpload(
+            @Valid @RequestBody ImageUploadRequestDTO requestDTO,
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(mediaService.createImageUpload(requestDTO, userId));
+    }
+}
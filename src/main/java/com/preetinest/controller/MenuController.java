@@ -2,6 +2,8 @@ package com.preetinest.controller;
 
 import com.preetinest.service.MenuService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,8 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.Map;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/menus")
@@ -28,11 +29,13 @@ public class MenuController {
     @GetMapping("/fetch")
     @Operation(summary = "Fetch all menu items", description = "Retrieves active services, blogs, clients, and who we are details for menu display")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Menu items fetched successfully"),
+            @ApiResponse(responseCode = "200", description = "Menu items fetched successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(type = "object"))),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "No menu items found")
     })
-    public ResponseEntity<Map<String, Object>> fetchAllMenuItems() {
-        Map<String, Object> response = menuService.fetchAllMenuItems();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> fetchAllMenuItems(WebRequest request) {
+        // Body is serialized once per catalog version and written as-is
+        return menuService.fetchPreparedMenuItems().toResponseEntity(request);
     }
 }
\ No newline at end of file
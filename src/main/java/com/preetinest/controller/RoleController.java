@@ -1,5 +1,6 @@
 package com.preetinest.controller;
 
+import com.preetinest.dto.response.RoleResponseDTO;
 import com.preetinest.service.RoleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,7 +11,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -27,7 +27,7 @@ public class RoleController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public List<Map<String, Object>> getAllRoles() {
+    public List<RoleResponseDTO> getAllRoles() {
         return roleService.getAllRoles();
     }
 
@@ -38,8 +38,8 @@ public class RoleController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{uuid}")
-    public ResponseEntity<Map<String, Object>> getRoleByUuid(@PathVariable String uuid) {
-        Optional<Map<String, Object>> role = roleService.getRoleByUuid(uuid);
+    public ResponseEntity<RoleResponseDTO> getRoleByUuid(@PathVariable String uuid) {
+        Optional<RoleResponseDTO> role = roleService.getRoleByUuid(uuid);
         return role.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -51,11 +51,11 @@ public class RoleController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createRole(@RequestParam String name) {
+    public ResponseEntity<RoleResponseDTO> createRole(@RequestParam String name) {
         if (name == null || name.trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
-        Map<String, Object> savedRole = roleService.createRole(name);
+        RoleResponseDTO savedRole = roleService.createRole(name);
         return ResponseEntity.status(201).body(savedRole);
     }
 
@@ -67,9 +67,9 @@ public class RoleController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/{uuid}")
-    public ResponseEntity<Map<String, Object>> updateRole(@PathVariable String uuid, @RequestParam String name) {
+    public ResponseEntity<RoleResponseDTO> updateRole(@PathVariable String uuid, @RequestParam String name) {
         try {
-            Map<String, Object> updatedRole = roleService.updateRole(uuid, name);
+            RoleResponseDTO updatedRole = roleService.updateRole(uuid, name);
             return ResponseEntity.ok(updatedRole);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
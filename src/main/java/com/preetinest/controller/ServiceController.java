@@ -2,8 +2,12 @@ package com.preetinest.controller;
 
 import com.preetinest.dto.ServiceFullResponseDTO;
 import com.preetinest.dto.ServiceRequestDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+import com.preetinest.dto.response.ServiceResponseDTO;
 import com.preetinest.service.ServiceService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,9 +15,9 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/services")
@@ -34,10 +38,10 @@ public class ServiceController {
             @ApiResponse(responseCode = "400", description = "Invalid service data or userId"),
             @ApiResponse(responseCode = "404", description = "User or subcategory not found")
     })
-    public ResponseEntity<Map<String, Object>> createService(
+    public ResponseEntity<ServiceResponseDTO> createService(
             @Valid @RequestBody ServiceRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = serviceService.createService(requestDTO, userId);
+        ServiceResponseDTO response = serviceService.createService(requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -47,7 +51,7 @@ public class ServiceController {
             @ApiResponse(responseCode = "200", description = "Service found"),
             @ApiResponse(responseCode = "404", description = "Service not found")
     })
-    public ResponseEntity<Map<String, Object>> getServiceById(@PathVariable Long id) {
+    public ResponseEntity<ServiceResponseDTO> getServiceById(@PathVariable Long id) {
         return serviceService.getServiceById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -59,7 +63,7 @@ public class ServiceController {
             @ApiResponse(responseCode = "200", description = "Service found"),
             @ApiResponse(responseCode = "404", description = "Service not found")
     })
-    public ResponseEntity<Map<String, Object>> getServiceByUuid(@PathVariable String uuid) {
+    public ResponseEntity<ServiceResponseDTO> getServiceByUuid(@PathVariable String uuid) {
         return serviceService.getServiceByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -71,7 +75,7 @@ public class ServiceController {
             @ApiResponse(responseCode = "200", description = "Service found"),
             @ApiResponse(responseCode = "404", description = "Service not found")
     })
-    public ResponseEntity<Map<String, Object>> getServiceBySlug(@PathVariable String slug) {
+    public ResponseEntity<ServiceResponseDTO> getServiceBySlug(@PathVariable String slug) {
         return serviceService.getServiceBySlug(slug)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -82,17 +86,30 @@ public class ServiceController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of active services")
     })
-    public ResponseEntity<List<Map<String, Object>>> getAllActiveServices() {
+    public ResponseEntity<List<ServiceResponseDTO>> getAllActiveServices() {
         return ResponseEntity.ok(serviceService.getAllActiveServices());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Page through active services", description = "Returns active services newest first. Pass nextCursor from the previous page as cursor; size defaults to 20 (max 100). The total is only counted when includeTotal=true")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "One page of active services"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    })
+    public ResponseEntity<PageResponseDTO<ServiceResponseDTO>> getActiveServicePage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(serviceService.getActiveServicePage(cursor, size, includeTotal));
+    }
+
     @GetMapping("/{id}/details")
     @Operation(summary = "Get service with details by ID", description = "Retrieves a service and its associated service details by service ID if not deleted")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Service and details found"),
             @ApiResponse(responseCode = "404", description = "Service not found")
     })
-    public ResponseEntity<Map<String, Object>> getServiceWithDetailsById(@PathVariable Long id) {
+    public ResponseEntity<ServiceResponseDTO> getServiceWithDetailsById(@PathVariable Long id) {
         return serviceService.getServiceWithDetailsById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -105,11 +122,11 @@ public class ServiceController {
             @ApiResponse(responseCode = "404", description = "Service or user not found"),
             @ApiResponse(responseCode = "400", description = "Invalid service data or userId")
     })
-    public ResponseEntity<Map<String, Object>> updateService(
+    public ResponseEntity<ServiceResponseDTO> updateService(
             @PathVariable Long id,
             @Valid @RequestBody ServiceRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = serviceService.updateService(id, requestDTO, userId);
+        ServiceResponseDTO response = serviceService.updateService(id, requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -133,12 +150,15 @@ public class ServiceController {
                     "Details and FAQs are sorted by displayOrder."
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Full service data"),
+            @ApiResponse(responseCode = "200", description = "Full service data",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceFullResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Service not found or not visible")
     })
-    public ResponseEntity<ServiceFullResponseDTO> getFullServiceBySlug(@PathVariable String slug) {
-        return serviceService.getFullServiceBySlug(slug)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<byte[]> getFullServiceBySlug(@PathVariable String slug, WebRequest request) {
+        // Body is serialized once per catalog version and written as-is
+        return serviceService.getPreparedFullServiceBySlug(slug)
+                .map(prepared -> prepared.toResponseEntity(request))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.preetinest.controller;
 
 import com.preetinest.dto.request.ServiceDetailRequestDTO;
+import com.preetinest.dto.response.ServiceDetailResponseDTO;
 import com.preetinest.service.ServiceDetailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,7 +13,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/service-details")
@@ -33,10 +33,10 @@ public class ServiceDetailController {
             @ApiResponse(responseCode = "400", description = "Invalid service detail data or userId"),
             @ApiResponse(responseCode = "404", description = "User or service not found")
     })
-    public ResponseEntity<Map<String, Object>> createServiceDetail(
+    public ResponseEntity<ServiceDetailResponseDTO> createServiceDetail(
             @Valid @RequestBody ServiceDetailRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = serviceDetailService.createServiceDetail(requestDTO, userId);
+        ServiceDetailResponseDTO response = serviceDetailService.createServiceDetail(requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -46,7 +46,7 @@ public class ServiceDetailController {
             @ApiResponse(responseCode = "200", description = "Service detail found"),
             @ApiResponse(responseCode = "404", description = "Service detail not found")
     })
-    public ResponseEntity<Map<String, Object>> getServiceDetailById(@PathVariable Long id) {
+    public ResponseEntity<ServiceDetailResponseDTO> getServiceDetailById(@PathVariable Long id) {
         return serviceDetailService.getServiceDetailById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -58,7 +58,7 @@ public class ServiceDetailController {
             @ApiResponse(responseCode = "200", description = "Service detail found"),
             @ApiResponse(responseCode = "404", description = "Service detail not found")
     })
-    public ResponseEntity<Map<String, Object>> getServiceDetailByUuid(@PathVariable String uuid) {
+    public ResponseEntity<ServiceDetailResponseDTO> getServiceDetailByUuid(@PathVariable String uuid) {
         return serviceDetailService.getServiceDetailByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -70,7 +70,7 @@ public class ServiceDetailController {
             @ApiResponse(responseCode = "200", description = "List of service details found"),
             @ApiResponse(responseCode = "404", description = "Service not found")
     })
-    public ResponseEntity<List<Map<String, Object>>> getServiceDetailsByServiceId(@PathVariable Long serviceId) {
+    public ResponseEntity<List<ServiceDetailResponseDTO>> getServiceDetailsByServiceId(@PathVariable Long serviceId) {
         return ResponseEntity.ok(serviceDetailService.getServiceDetailsByServiceId(serviceId));
     }
 
@@ -81,11 +81,11 @@ public class ServiceDetailController {
             @ApiResponse(responseCode = "404", description = "Service detail or user not found"),
             @ApiResponse(responseCode = "400", description = "Invalid service detail data or userId")
     })
-    public ResponseEntity<Map<String, Object>> updateServiceDetail(
+    public ResponseEntity<ServiceDetailResponseDTO> updateServiceDetail(
             @PathVariable Long id,
             @Valid @RequestBody ServiceDetailRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = serviceDetailService.updateServiceDetail(id, requestDTO, userId);
+        ServiceDetailResponseDTO response = serviceDetailService.updateServiceDetail(id, requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
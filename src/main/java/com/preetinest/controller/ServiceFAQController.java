@@ -1,6 +1,7 @@
 package com.preetinest.controller;
 
 import com.preetinest.dto.request.ServiceFAQRequestDTO;
+import com.preetinest.dto.response.ServiceFAQResponseDTO;
 import com.preetinest.service.ServiceFAQService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,7 +13,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/service-faqs")
@@ -33,10 +33,10 @@ public class ServiceFAQController {
             @ApiResponse(responseCode = "400", description = "Invalid FAQ data or userId"),
             @ApiResponse(responseCode = "404", description = "User or service not found")
     })
-    public ResponseEntity<Map<String, Object>> createServiceFAQ(
+    public ResponseEntity<ServiceFAQResponseDTO> createServiceFAQ(
             @Valid @RequestBody ServiceFAQRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = serviceFAQService.createServiceFAQ(requestDTO, userId);
+        ServiceFAQResponseDTO response = serviceFAQService.createServiceFAQ(requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -46,7 +46,7 @@ public class ServiceFAQController {
             @ApiResponse(responseCode = "200", description = "Service FAQ found"),
             @ApiResponse(responseCode = "404", description = "Service FAQ not found")
     })
-    public ResponseEntity<Map<String, Object>> getServiceFAQById(@PathVariable Long id) {
+    public ResponseEntity<ServiceFAQResponseDTO> getServiceFAQById(@PathVariable Long id) {
         return serviceFAQService.getServiceFAQById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -58,7 +58,7 @@ public class ServiceFAQController {
             @ApiResponse(responseCode = "200", description = "Service FAQ found"),
             @ApiResponse(responseCode = "404", description = "Service FAQ not found")
     })
-    public ResponseEntity<Map<String, Object>> getServiceFAQByUuid(@PathVariable String uuid) {
+    public ResponseEntity<ServiceFAQResponseDTO> getServiceFAQByUuid(@PathVariable String uuid) {
         return serviceFAQService.getServiceFAQByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -70,7 +70,7 @@ public class ServiceFAQController {
             @ApiResponse(responseCode = "200", description = "List of service FAQs found"),
             @ApiResponse(responseCode = "404", description = "Service not found")
     })
-    public ResponseEntity<List<Map<String, Object>>> getServiceFAQsByServiceId(@PathVariable Long serviceId) {
+    public ResponseEntity<List<ServiceFAQResponseDTO>> getServiceFAQsByServiceId(@PathVariable Long serviceId) {
         return ResponseEntity.ok(serviceFAQService.getServiceFAQsByServiceId(serviceId));
     }
 
@@ -81,11 +81,11 @@ public class ServiceFAQController {
             @ApiResponse(responseCode = "404", description = "Service FAQ or user not found"),
             @ApiResponse(responseCode = "400", description = "Invalid FAQ data or userId")
     })
-    public ResponseEntity<Map<String, Object>> updateServiceFAQ(
+    public ResponseEntity<ServiceFAQResponseDTO> updateServiceFAQ(
             @PathVariable Long id,
             @Valid @RequestBody ServiceFAQRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = serviceFAQService.updateServiceFAQ(id, requestDTO, userId);
+        ServiceFAQResponseDTO response = serviceFAQService.updateServiceFAQ(id, requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -1,6 +1,8 @@
 package com.preetinest.controller;
 
 import com.preetinest.dto.SubCategoryRequestDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+import com.preetinest.dto.response.SubCategoryResponseDTO;
 import com.preetinest.service.SubCategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,7 +14,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/subcategories")
@@ -33,10 +34,10 @@ public class SubCategoryController {
             @ApiResponse(responseCode = "400", description = "Invalid subcategory data or userId"),
             @ApiResponse(responseCode = "404", description = "User or category not found")
     })
-    public ResponseEntity<Map<String, Object>> createSubCategory(
+    public ResponseEntity<SubCategoryResponseDTO> createSubCategory(
             @Valid @RequestBody SubCategoryRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = subCategoryService.createSubCategory(requestDTO, userId);
+        SubCategoryResponseDTO response = subCategoryService.createSubCategory(requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -46,7 +47,7 @@ public class SubCategoryController {
             @ApiResponse(responseCode = "200", description = "Subcategory found"),
             @ApiResponse(responseCode = "404", description = "Subcategory not found")
     })
-    public ResponseEntity<Map<String, Object>> getSubCategoryById(@PathVariable Long id) {
+    public ResponseEntity<SubCategoryResponseDTO> getSubCategoryById(@PathVariable Long id) {
         return subCategoryService.getSubCategoryById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -58,7 +59,7 @@ public class SubCategoryController {
             @ApiResponse(responseCode = "200", description = "Subcategory found"),
             @ApiResponse(responseCode = "404", description = "Subcategory not found")
     })
-    public ResponseEntity<Map<String, Object>> getSubCategoryByUuid(@PathVariable String uuid) {
+    public ResponseEntity<SubCategoryResponseDTO> getSubCategoryByUuid(@PathVariable String uuid) {
         return subCategoryService.getSubCategoryByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -70,7 +71,7 @@ public class SubCategoryController {
             @ApiResponse(responseCode = "200", description = "Subcategory found"),
             @ApiResponse(responseCode = "404", description = "Subcategory not found")
     })
-    public ResponseEntity<Map<String, Object>> getSubCategoryBySlug(@PathVariable String slug) {
+    public ResponseEntity<SubCategoryResponseDTO> getSubCategoryBySlug(@PathVariable String slug) {
         return subCategoryService.getSubCategoryBySlug(slug)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -81,10 +82,23 @@ public class SubCategoryController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of active subcategories")
     })
-    public ResponseEntity<List<Map<String, Object>>> getAllActiveSubCategories() {
+    public ResponseEntity<List<SubCategoryResponseDTO>> getAllActiveSubCategories() {
         return ResponseEntity.ok(subCategoryService.getAllActiveSubCategories());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Page through active subcategories", description = "Returns active subcategories newest first. Pass nextCursor from the previous page as cursor; size defaults to 20 (max 100). The total is only counted when includeTotal=true")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "One page of active subcategories"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    })
+    public ResponseEntity<PageResponseDTO<SubCategoryResponseDTO>> getActiveSubCategoryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(subCategoryService.getActiveSubCategoryPage(cursor, size, includeTotal));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a subcategory", description = "Updates an existing subcategory by ID; userId is optional for ADMIN role")
     @ApiResponses({
@@ -92,11 +106,11 @@ public class SubCategoryController {
             @ApiResponse(responseCode = "404", description = "Subcategory or user not found"),
             @ApiResponse(responseCode = "400", description = "Invalid subcategory data or userId")
     })
-    public ResponseEntity<Map<String, Object>> updateSubCategory(
+    public ResponseEntity<SubCategoryResponseDTO> updateSubCategory(
             @PathVariable Long id,
             @Valid @RequestBody SubCategoryRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = subCategoryService.updateSubCategory(id, requestDTO, userId);
+        SubCategoryResponseDTO response = subCategoryService.updateSubCategory(id, requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -1,18 +1,21 @@
 package com.preetinest.controller;
 
 import com.preetinest.dto.request.UserRequestDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+import com.preetinest.dto.response.UserResponseDTO;
 import com.preetinest.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -31,12 +34,13 @@ public class UserController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "User created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid user data or userId"),
-            @ApiResponse(responseCode = "404", description = "Role or userId not found")
+            @ApiResponse(responseCode = "404", description = "Role or userId not found"),
+            @ApiResponse(responseCode = "503", description = "Password hashing is saturated; retry shortly")
     })
-    public ResponseEntity<Map<String, Object>> createUser(
-            @Valid @RequestBody UserRequestDTO requestDTO,
+    public ResponseEntity<UserResponseDTO> createUser(
+            @Validated({Default.class, UserRequestDTO.Create.class}) @RequestBody UserRequestDTO requestDTO,
             @RequestParam(required = false) Long userId) {
-        Map<String, Object> response = userService.createUser(requestDTO, userId);
+        UserResponseDTO response = userService.createUser(requestDTO, userId);
         return ResponseEntity.ok(response);
     }
 
@@ -46,7 +50,7 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "User found"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<Map<String, Object>> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
         return userService.getUserById(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -58,7 +62,7 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "User found"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<Map<String, Object>> getUserByUuid(@PathVariable String uuid) {
+    public ResponseEntity<UserResponseDTO> getUserByUuid(@PathVariable String uuid) {
         return userService.getUserByUuid(uuid)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -69,19 +73,33 @@ public class UserController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of active users")
     })
-    public ResponseEntity<List<Map<String, Object>>> getAllActiveUsers() {
+    public ResponseEntity<List<UserResponseDTO>> getAllActiveUsers() {
         return ResponseEntity.ok(userService.getAllActiveUsers());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Page through active users", description = "Returns active users newest first. Pass nextCursor from the previous page as cursor; size defaults to 20 (max 100). The total is only counted when includeTotal=true")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "One page of active users"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    })
+    public ResponseEntity<PageResponseDTO<UserResponseDTO>> getActiveUserPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(userService.getActiveUserPage(cursor, size, includeTotal));
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update a user", description = "Updates an existing user by ID")
+    @Operation(summary = "Update a user", description = "Updates an existing user by ID; omit password to keep the current one")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "User updated successfully"),
             @ApiResponse(responseCode = "404", description = "User or role not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid user data")
+            @ApiResponse(responseCode = "400", description = "Invalid user data"),
+            @ApiResponse(responseCode = "503", description = "Password hashing is saturated; retry shortly")
     })
-    public ResponseEntity<Map<String, Object>> updateUser(@PathVariable Long id, @Valid @RequestBody UserRequestDTO requestDTO) {
-        Map<String, Object> response = userService.updateUser(id, requestDTO);
+    public ResponseEntity<UserResponseDTO> updateUser(@PathVariable Long id, @Valid @RequestBody UserRequestDTO requestDTO) {
+        UserResponseDTO response = userService.updateUser(id, requestDTO);
         return ResponseEntity.ok(response);
     }
 
@@ -1,6 +1,7 @@
 package com.preetinest.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
@@ -14,7 +15,7 @@ public class ServiceRequestDTO {
     @NotBlank(message = "Description is required")
     private String description;
 
-    @NotBlank(message = "Subcategory ID is required")
+    @NotNull(message = "Subcategory ID is required")
     private Long subCategoryId;
 
     @Size(max = 255, message = "Icon URL must not exceed 255 characters")
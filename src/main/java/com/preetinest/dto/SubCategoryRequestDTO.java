@@ -2,6 +2,7 @@ package com.preetinest.dto;
 
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
@@ -36,6 +37,6 @@ public class SubCategoryRequestDTO {
 
     private boolean displayStatus = true;
 
-    @NotBlank(message = "Category ID is required")
+    @NotNull(message = "Category ID is required")
     private Long categoryId;
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.preetinest.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class AttachImageRequestDTO {
+
+    @NotBlank(message = "Key cannot be blank")
+    private String key; // As returned by POST /api/media/uploads
+}
@@ -0,0 +1,11 @@
+package com.preetinest.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class ImageUploadRequestDTO {
+
+    @NotBlank(message = "Content type cannot be blank")
+    private String contentType; // image/png, image/jpeg, image/gif or image/webp
+}
@@ -17,7 +17,8 @@ public class UserRequestDTO {
     @Size(max = 100, message = "Email must not exceed 100 characters")
     private String email;
 
-    @NotBlank(message = "Password is required")
+    // Required on create; leave it out on update to keep the current password
+    @NotBlank(groups = Create.class, message = "Password is required")
     @Size(min = 6, max = 255, message = "Password must be between 6 and 255 characters")
     private String password;
 
@@ -37,4 +38,10 @@ public class UserRequestDTO {
     private String metaDescription;
 
     private Long roleId;
+
+    /**
+     * Validation group for constraints that only apply when creating a user.
+     */
+    public interface Create {
+    }
 }
\ No newline at end of file
@@ -11,6 +11,9 @@ public class BlogDetailResponseDTO {
     private String heading;
     private String content;
     private String imageUrl;
+    private Integer imageWidth;
+    private Integer imageHeight;
+    private String imagePlaceholder; // BlurHash
     private Integer displayOrder;
     private Long blogId;
     private boolean active;
@@ -3,6 +3,7 @@ package com.preetinest.dto.response;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 public class BlogResponseDTO {
@@ -15,6 +16,10 @@ public class BlogResponseDTO {
     private String metaDescription;
     private String slug;
     private String thumbnailUrl;
+    private Map<Integer, String> thumbnailVariants;
+    private Integer thumbnailWidth;
+    private Integer thumbnailHeight;
+    private String thumbnailPlaceholder; // BlurHash
     private boolean active;
     private boolean displayStatus;
     private boolean showOnHome;
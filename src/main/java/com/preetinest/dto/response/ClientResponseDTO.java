@@ -3,6 +3,7 @@ package com.preetinest.dto.response;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 public class ClientResponseDTO {
@@ -14,6 +15,10 @@ public class ClientResponseDTO {
     private String contactEmail;
     private String contactPhone;
     private String logoUrl;
+    private Map<Integer, String> logoVariants;
+    private Integer logoWidth;
+    private Integer logoHeight;
+    private String logoPlaceholder; // BlurHash
     private String metaTitle;
     private String metaKeyword;
     private String metaDescription;
@@ -0,0 +1,20 @@
+package com.preetinest.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUploadResponseDTO {
+    private String key;
+    private String uploadUrl;
+    private String method;
+    // Send exactly these headers with the upload; they are part of the signature
+    private Map<String, String> headers;
+    private Instant expiresAt;
+}
@@ -0,0 +1,16 @@
+package com.preetinest.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class LoginResponseDTO {
+    // Flattened so the user fields stay where existing clients read them
+    @JsonUnwrapped
+    private UserResponseDTO user;
+    private String token;
+    private String tokenType = "Bearer";
+    private Instant tokenExpiresAt;
+}
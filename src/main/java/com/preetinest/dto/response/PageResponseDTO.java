@@ -0,0 +1,21 @@
+package com.preetinest.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponseDTO<T> {
+    private List<T> items;
+    // Pass back as ?cursor= to get the next page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+    // Only filled when the caller asked for includeTotal
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalItems;
+}
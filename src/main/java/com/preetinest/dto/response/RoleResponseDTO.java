@@ -0,0 +1,18 @@
+package com.preetinest.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class RoleResponseDTO {
+    private Long id;
+    private String name;
+    private String uuid;
+    @JsonProperty("isEnable")
+    private boolean enable;
+    private int deleteStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,9 +1,11 @@
 package com.preetinest.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -21,6 +23,10 @@ public class ServiceResponseDTO {
     private String categoryName;
     private String iconUrl;
     private String image;
+    private Map<Integer, String> imageVariants;
+    private Integer imageWidth;
+    private Integer imageHeight;
+    private String imagePlaceholder; // BlurHash
     private String metaTitle;
     private String metaKeyword;
     private String metaDescription;
@@ -31,5 +37,7 @@ public class ServiceResponseDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Long createdById;
+    // Only the with-details and full reads attach these; listings leave them out
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<ServiceDetailResponseDTO> serviceDetails;
 }
\ No newline at end of file
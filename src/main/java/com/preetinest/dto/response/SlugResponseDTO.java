@@ -0,0 +1,16 @@
+package com.preetinest.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlugResponseDTO {
+    private String slug;
+    // SERVICE, BLOG, CLIENT, CATEGORY or SUBCATEGORY
+    private String type;
+    private Long id;
+    private String name;
+}
@@ -0,0 +1,23 @@
+package com.preetinest.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SubCategoryResponseDTO {
+    private Long id;
+    private String uuid;
+    private String name;
+    private String description;
+    private String metaTitle;
+    private String metaKeyword;
+    private String metaDescription;
+    private String slug;
+    private boolean active;
+    private boolean displayStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long createdById;
+    private Long categoryId;
+}
@@ -0,0 +1,28 @@
+package com.preetinest.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class UserResponseDTO {
+    private Long id;
+    private String uuid;
+    private String name;
+    private String email;
+    private String mobile;
+    private String facebook;
+    private String linkedin;
+    private String twitter;
+    private String metaTitle;
+    private String metaKeyword;
+    private String metaDescription;
+    private Long roleId;
+    @JsonProperty("isEnable")
+    private boolean enable;
+    private int deleteStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long createdById;
+}
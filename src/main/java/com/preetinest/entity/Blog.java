@@ -14,7 +14,12 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "blogs", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid", "slug"}))
+@Table(name = "blogs",
+        indexes = {
+                @Index(name = "idx_blogs_slug", columnList = "slug"),
+                @Index(name = "idx_blogs_visible", columnList = "delete_status, active, display_status, created_at, id"),
+                @Index(name = "idx_blogs_service_visible", columnList = "service_id, delete_status, active, display_status, created_at, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -49,6 +54,13 @@ public class Blog {
     @Column(length = 255)
     private String thumbnailUrl;
 
+    @Embedded
+    @AttributeOverride(name = "width", column = @Column(name = "thumbnail_width"))
+    @AttributeOverride(name = "height", column = @Column(name = "thumbnail_height"))
+    @AttributeOverride(name = "placeholder", column = @Column(name = "thumbnail_placeholder", length = 64))
+    @AttributeOverride(name = "variantWidths", column = @Column(name = "thumbnail_variant_widths", length = 64))
+    private ImageMetadata thumbnailMetadata;
+
     @Column(nullable = false, columnDefinition = "boolean default true")
     private boolean active = true;
 
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "blog_details", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}))
+@Table(name = "blog_details", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}),
+        indexes = @Index(name = "idx_blog_details_visible", columnList = "blog_id, delete_status, active, display_status, display_order, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +36,13 @@ public class BlogDetail {
     @Column(length = 255)
     private String imageUrl;
 
+    @Embedded
+    @AttributeOverride(name = "width", column = @Column(name = "image_width"))
+    @AttributeOverride(name = "height", column = @Column(name = "image_height"))
+    @AttributeOverride(name = "placeholder", column = @Column(name = "image_placeholder", length = 64))
+    @AttributeOverride(name = "variantWidths", column = @Column(name = "image_variant_widths", length = 64))
+    private ImageMetadata imageMetadata;
+
     @Column(nullable = false)
     private Integer displayOrder;
 
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "blog_faqs", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}))
+@Table(name = "blog_faqs", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}),
+        indexes = @Index(name = "idx_blog_faqs_visible", columnList = "blog_id, delete_status, active, display_status, display_order, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
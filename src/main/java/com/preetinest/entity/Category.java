@@ -1,6 +1,8 @@
 package com.preetinest.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,7 +16,12 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "categories", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid", "slug"}))
+@Table(name = "categories",
+        indexes = {
+                @Index(name = "idx_categories_slug", columnList = "slug"),
+                @Index(name = "idx_categories_active", columnList = "delete_status, active")
+        })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.category")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
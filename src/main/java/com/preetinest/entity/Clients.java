@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "clients", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid", "slug"}))
+@Table(name = "clients",
+        indexes = {
+                @Index(name = "idx_clients_slug", columnList = "slug"),
+                @Index(name = "idx_clients_visible", columnList = "delete_status, active, display_status, created_at, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,6 +48,13 @@ public class Clients {
     @Column(length = 255)
     private String logoUrl;
 
+    @Embedded
+    @AttributeOverride(name = "width", column = @Column(name = "logo_width"))
+    @AttributeOverride(name = "height", column = @Column(name = "logo_height"))
+    @AttributeOverride(name = "placeholder", column = @Column(name = "logo_placeholder", length = 64))
+    @AttributeOverride(name = "variantWidths", column = @Column(name = "logo_variant_widths", length = 64))
+    private ImageMetadata logoMetadata;
+
     @Column(length = 255, nullable = false)
     private String metaTitle;
 
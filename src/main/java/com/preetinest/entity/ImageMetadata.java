@@ -0,0 +1,34 @@
+package com.preetinest.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pixel size and a BlurHash placeholder of a stored image, kept next to its key so pages can reserve
+ * the image's box and paint a preview before the image itself loads, and the widths of the resized
+ * variants that have actually been stored. Each owning entity maps the columns under its own prefix.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageMetadata {
+
+    private Integer width;
+
+    private Integer height;
+
+    @Column(length = 64)
+    private String placeholder;
+
+    // Comma-separated, e.g. "320,640,1280"; null until the variants have been stored
+    @Column(length = 64)
+    private String variantWidths;
+
+    public ImageMetadata(Integer width, Integer height, String placeholder) {
+        this(width, height, placeholder, null);
+    }
+}
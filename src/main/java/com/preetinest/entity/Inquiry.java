@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "inquiries", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}))
+@Table(name = "inquiries", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}),
+        indexes = @Index(name = "idx_inquiries_visible", columnList = "delete_status, active, display_status, created_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
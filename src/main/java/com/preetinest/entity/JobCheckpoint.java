@@ -0,0 +1,34 @@
+package com.preetinest.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a resumable background job, one row per job. The lease columns make sure only one
+ * instance works on a job at a time; a lease that is not renewed expires, so a crashed instance
+ * never blocks the job for good.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+public class JobCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "last_key")
+    private String lastKey; // Position to resume after; null when the next run starts from the beginning
+
+    private LocalDateTime lastCompletedAt;
+
+    @Column(length = 100)
+    private String leaseOwner;
+
+    private LocalDateTime leaseUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
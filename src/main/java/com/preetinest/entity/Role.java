@@ -1,6 +1,8 @@
 package com.preetinest.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -12,7 +14,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "roles", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}))
+@Table(name = "roles", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}),
+        indexes = @Index(name = "idx_roles_name", columnList = "name"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.role")
 @Data
 @EntityListeners(AuditingEntityListener.class)
 public class Role {
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "service_faqs", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}))
+@Table(name = "service_faqs", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid"}),
+        indexes = @Index(name = "idx_service_faqs_visible", columnList = "service_id, delete_status, active, display_status, display_order, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
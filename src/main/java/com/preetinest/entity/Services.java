@@ -12,13 +12,26 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "services", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid", "slug"}))
+@NamedEntityGraph(
+        name = Services.WITH_CATEGORY,
+        attributeNodes = @NamedAttributeNode(value = "subCategory", subgraph = "subCategory"),
+        subgraphs = @NamedSubgraph(name = "subCategory", attributeNodes = @NamedAttributeNode("category"))
+)
+@Table(name = "services",
+        indexes = {
+                @Index(name = "idx_services_slug", columnList = "slug"),
+                @Index(name = "idx_services_subcategory", columnList = "subcategory_id"),
+                @Index(name = "idx_services_visible", columnList = "delete_status, active, display_status, created_at, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Services {
 
+    // subCategory -> category, everything a ServiceResponseDTO reads besides the row itself
+    public static final String WITH_CATEGORY = "Services.withCategory";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -42,6 +55,13 @@ public class Services {
     @Column(length = 255)
     private String image;
 
+    @Embedded
+    @AttributeOverride(name = "width", column = @Column(name = "image_width"))
+    @AttributeOverride(name = "height", column = @Column(name = "image_height"))
+    @AttributeOverride(name = "placeholder", column = @Column(name = "image_placeholder", length = 64))
+    @AttributeOverride(name = "variantWidths", column = @Column(name = "image_variant_widths", length = 64))
+    private ImageMetadata imageMetadata;
+
     @Column(length = 255, nullable = false)
     private String metaTitle;
 
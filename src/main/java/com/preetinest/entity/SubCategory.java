@@ -1,6 +1,8 @@
 package com.preetinest.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,7 +14,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "sub_categories", uniqueConstraints = @UniqueConstraint(columnNames = {"uuid", "slug"}))
+@Table(name = "sub_categories",
+        indexes = {
+                @Index(name = "idx_sub_categories_slug", columnList = "slug"),
+                @Index(name = "idx_sub_categories_category", columnList = "category_id"),
+                @Index(name = "idx_sub_categories_active", columnList = "delete_status, active, created_at, id")
+        })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.sub-category")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
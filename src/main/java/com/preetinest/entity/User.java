@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        indexes = @Index(name = "idx_users_active", columnList = "delete_status, is_enable, created_at, id"))
 @Data
 @EntityListeners(AuditingEntityListener.class)
 public class User {
@@ -5,18 +5,20 @@ import com.preetinest.dto.request.BlogDetailRequestDTO;
 import com.preetinest.dto.response.BlogDetailResponseDTO;
 import com.preetinest.entity.Blog;
 import com.preetinest.entity.BlogDetail;
+import com.preetinest.entity.ImageMetadata;
 import com.preetinest.entity.User;
+import com.preetinest.media.UploadedImage;
 import com.preetinest.repository.BlogDetailRepository;
 import com.preetinest.repository.BlogRepository;
-import com.preetinest.repository.UserRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
 import com.preetinest.service.BlogDetailService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,7 +28,7 @@ public class BlogDetailServiceImpl implements BlogDetailService {
 
     private final BlogDetailRepository blogDetailRepository;
     private final BlogRepository blogRepository;
-    private final UserRepository userRepository;
+    private final AuthorizationService authorizationService;
 
     @Autowired
     private S3Service s3Service;
@@ -34,18 +36,22 @@ public class BlogDetailServiceImpl implements BlogDetailService {
     @Autowired
     public BlogDetailServiceImpl(BlogDetailRepository blogDetailRepository,
                                  BlogRepository blogRepository,
-                                 UserRepository userRepository) {
+                                 AuthorizationService authorizationService) {
         this.blogDetailRepository = blogDetailRepository;
         this.blogRepository = blogRepository;
-        this.userRepository = userRepository;
+        this.authorizationService = authorizationService;
     }
 
     @Override
-    public Map<String, Object> createBlogDetail(BlogDetailRequestDTO requestDTO, Long userId) {
+    public BlogDetailResponseDTO createBlogDetail(BlogDetailRequestDTO requestDTO, Long userId) {
+        return createBlogDetail(requestDTO, null, userId);
+    }
+
+    @Override
+    public BlogDetailResponseDTO createBlogDetail(BlogDetailRequestDTO requestDTO, MultipartFile image, Long userId) {
         User createdBy = getAdminUser(userId);
 
-        Blog blog = blogRepository.findById(requestDTO.getBlogId())
-                .filter(b -> b.getDeleteStatus() == 2 && b.isActive() && b.isDisplayStatus())
+        Blog blog = blogRepository.findVisibleById(requestDTO.getBlogId())
                 .orElseThrow(() -> new EntityNotFoundException("Blog not found"));
 
         BlogDetail blogDetail = new BlogDetail();
@@ -60,25 +66,30 @@ public class BlogDetailServiceImpl implements BlogDetailService {
         blogDetail.setCreatedBy(createdBy);
 
         // Upload image directly to root
-        if (requestDTO.getImageBase64() != null && !requestDTO.getImageBase64().isBlank()) {
-            String fileName = s3Service.uploadBase64Image(requestDTO.getImageBase64());
-            blogDetail.setImageUrl(fileName);
+        if (image != null && !image.isEmpty()) {
+            setImage(blogDetail, s3Service.uploadImage(image));
+        } else if (requestDTO.getImageBase64() != null && !requestDTO.getImageBase64().isBlank()) {
+            setImage(blogDetail, s3Service.uploadBase64Image(requestDTO.getImageBase64()));
         }
 
         BlogDetail saved = blogDetailRepository.save(blogDetail);
-        return mapToResponseMap(saved);
+        return mapToResponseDTO(saved);
+    }
+
+    @Override
+    public BlogDetailResponseDTO updateBlogDetail(Long id, BlogDetailRequestDTO requestDTO, Long userId) {
+        return updateBlogDetail(id, requestDTO, null, userId);
     }
 
     @Override
-    public Map<String, Object> updateBlogDetail(Long id, BlogDetailRequestDTO requestDTO, Long userId) {
+    public BlogDetailResponseDTO updateBlogDetail(Long id, BlogDetailRequestDTO requestDTO, MultipartFile image, Long userId) {
         BlogDetail blogDetail = blogDetailRepository.findById(id)
                 .filter(bd -> bd.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Blog detail not found"));
 
         getAdminUser(userId);
 
-        Blog blog = blogRepository.findById(requestDTO.getBlogId())
-                .filter(b -> b.getDeleteStatus() == 2 && b.isActive() && b.isDisplayStatus())
+        Blog blog = blogRepository.findVisibleById(requestDTO.getBlogId())
                 .orElseThrow(() -> new EntityNotFoundException("Blog not found"));
 
         blogDetail.setHeading(requestDTO.getHeading());
@@ -88,32 +99,43 @@ public class BlogDetailServiceImpl implements BlogDetailService {
         blogDetail.setActive(requestDTO.getActive());
         blogDetail.setDisplayStatus(requestDTO.getActive());
 
-        if (requestDTO.getImageBase64() != null && !requestDTO.getImageBase64().isBlank()) {
-            String fileName = s3Service.uploadBase64Image(requestDTO.getImageBase64());
-            blogDetail.setImageUrl(fileName);
+        if (image != null && !image.isEmpty()) {
+            setImage(blogDetail, s3Service.uploadImage(image));
+        } else if (requestDTO.getImageBase64() != null && !requestDTO.getImageBase64().isBlank()) {
+            setImage(blogDetail, s3Service.uploadBase64Image(requestDTO.getImageBase64()));
         }
 
         BlogDetail updated = blogDetailRepository.save(blogDetail);
-        return mapToResponseMap(updated);
+        return mapToResponseDTO(updated);
+    }
+
+    @Override
+    public BlogDetailResponseDTO attachImage(Long id, String key, Long userId) {
+        BlogDetail blogDetail = blogDetailRepository.findById(id)
+                .filter(bd -> bd.getDeleteStatus() == 2)
+                .orElseThrow(() -> new EntityNotFoundException("Blog detail not found"));
+
+        getAdminUser(userId);
+
+        setImage(blogDetail, s3Service.attachUploadedImage(key));
+        BlogDetail updated = blogDetailRepository.save(blogDetail);
+        return mapToResponseDTO(updated);
     }
 
     // Other methods unchanged...
-    @Override public Optional<Map<String, Object>> getBlogDetailById(Long id) {
-        return blogDetailRepository.findById(id)
-                .filter(bd -> bd.getDeleteStatus() == 2 && bd.isActive() && bd.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    @Override public Optional<BlogDetailResponseDTO> getBlogDetailById(Long id) {
+        return blogDetailRepository.findVisibleById(id)
+                .map(this::mapToResponseDTO);
     }
 
-    @Override public Optional<Map<String, Object>> getBlogDetailByUuid(String uuid) {
-        return blogDetailRepository.findByUuid(uuid)
-                .filter(bd -> bd.getDeleteStatus() == 2 && bd.isActive() && bd.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    @Override public Optional<BlogDetailResponseDTO> getBlogDetailByUuid(String uuid) {
+        return blogDetailRepository.findVisibleByUuid(uuid)
+                .map(this::mapToResponseDTO);
     }
 
-    @Override public List<Map<String, Object>> getBlogDetailsByBlogId(Long blogId) {
-        return blogDetailRepository.findByBlogId(blogId).stream()
-                .filter(bd -> bd.getDeleteStatus() == 2 && bd.isActive() && bd.isDisplayStatus())
-                .map(this::mapToResponseMap)
+    @Override public List<BlogDetailResponseDTO> getBlogDetailsByBlogId(Long blogId) {
+        return blogDetailRepository.findVisibleByBlogId(blogId).stream()
+                .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -126,34 +148,35 @@ public class BlogDetailServiceImpl implements BlogDetailService {
         blogDetailRepository.save(bd);
     }
 
+    private static void setImage(BlogDetail blogDetail, UploadedImage image) {
+        blogDetail.setImageUrl(image.getKey());
+        blogDetail.setImageMetadata(image.getMetadata());
+    }
+
     private User getAdminUser(Long userId) {
         if (userId == null) return null;
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN can perform this action");
-        }
-        return user;
+        return authorizationService.require(userId, Permission.MANAGE_CONTENT, "Only ADMIN can perform this action");
     }
 
-    private Map<String, Object> mapToResponseMap(BlogDetail bd) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", bd.getId());
-        map.put("uuid", bd.getUuid());
-        map.put("heading", bd.getHeading());
-        map.put("content", bd.getContent());
-        map.put("displayOrder", bd.getDisplayOrder());
-        map.put("blogId", bd.getBlog().getId());
-        map.put("active", bd.isActive());
-        map.put("createdAt", bd.getCreatedAt());
-        map.put("updatedAt", bd.getUpdatedAt());
-        map.put("createdById", bd.getCreatedBy() != null ? bd.getCreatedBy().getId() : null);
-
-        // THIS IS WHAT YOU WANT
-        map.put("imageUrl", s3Service.getFullUrl(bd.getImageUrl()));
-        // → https://preetinest.s3.ca-central-1.amazonaws.com/abc123.png
+    private BlogDetailResponseDTO mapToResponseDTO(BlogDetail bd) {
+        BlogDetailResponseDTO dto = new BlogDetailResponseDTO();
+        dto.setId(bd.getId());
+        dto.setUuid(bd.getUuid());
+        dto.setHeading(bd.getHeading());
+        dto.setContent(bd.getContent());
+        dto.setDisplayOrder(bd.getDisplayOrder());
+        dto.setBlogId(bd.getBlog().getId());
+        dto.setActive(bd.isActive());
+        dto.setCreatedAt(bd.getCreatedAt());
+        dto.setUpdatedAt(bd.getUpdatedAt());
+        dto.setCreatedById(bd.getCreatedBy() != null ? bd.getCreatedBy().getId() : null);
 
-        return map;
+        // → https://preetinest.s3.ca-central-1.amazonaws.com/abc123.png
+        dto.setImageUrl(s3Service.getFullUrl(bd.getImageUrl()));
+        ImageMetadata image = bd.getImageMetadata();
+        dto.setImageWidth(image != null ? image.getWidth() : null);
+        dto.setImageHeight(image != null ? image.getHeight() : null);
+        dto.setImagePlaceholder(image != null ? image.getPlaceholder() : null);
+        return dto;
     }
-}
\ No newline at end of file
+}
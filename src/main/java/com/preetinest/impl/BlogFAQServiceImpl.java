@@ -7,15 +7,14 @@ import com.preetinest.entity.BlogFAQ;
 import com.preetinest.entity.User;
 import com.preetinest.repository.BlogFAQRepository;
 import com.preetinest.repository.BlogRepository;
-import com.preetinest.repository.UserRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
 import com.preetinest.service.BlogFAQService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -25,29 +24,23 @@ public class BlogFAQServiceImpl implements BlogFAQService {
 
     private final BlogFAQRepository blogFAQRepository;
     private final BlogRepository blogRepository;
-    private final UserRepository userRepository;
+    private final AuthorizationService authorizationService;
 
     @Autowired
-    public BlogFAQServiceImpl(BlogFAQRepository blogFAQRepository, BlogRepository blogRepository, UserRepository userRepository) {
+    public BlogFAQServiceImpl(BlogFAQRepository blogFAQRepository, BlogRepository blogRepository, AuthorizationService authorizationService) {
         this.blogFAQRepository = blogFAQRepository;
         this.blogRepository = blogRepository;
-        this.userRepository = userRepository;
+        this.authorizationService = authorizationService;
     }
 
     @Override
-    public Map<String, Object> createBlogFAQ(BlogFAQRequestDTO requestDTO, Long userId) {
+    public BlogFAQResponseDTO createBlogFAQ(BlogFAQRequestDTO requestDTO, Long userId) {
         User createdBy = null;
         if (userId != null) {
-            createdBy = userRepository.findById(userId)
-                    .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-            if (!"ADMIN".equalsIgnoreCase(createdBy.getRole().getName())) {
-                throw new IllegalArgumentException("Only ADMIN users can create blog FAQs");
-            }
+            createdBy = authorizationService.require(userId, Permission.MANAGE_CONTENT, "Only ADMIN users can create blog FAQs");
         }
 
-        Blog blog = blogRepository.findById(requestDTO.getBlogId())
-                .filter(b -> b.getDeleteStatus() == 2 && b.isActive() && b.isDisplayStatus())
+        Blog blog = blogRepository.findVisibleById(requestDTO.getBlogId())
                 .orElseThrow(() -> new EntityNotFoundException("Blog not found with id: " + requestDTO.getBlogId()));
 
         BlogFAQ blogFAQ = new BlogFAQ();
@@ -62,50 +55,41 @@ public class BlogFAQServiceImpl implements BlogFAQService {
         blogFAQ.setCreatedBy(createdBy);
 
         BlogFAQ savedBlogFAQ = blogFAQRepository.save(blogFAQ);
-        return mapToResponseMap(savedBlogFAQ);
+        return mapToResponseDTO(savedBlogFAQ);
     }
 
     @Override
-    public Optional<Map<String, Object>> getBlogFAQById(Long id) {
-        return blogFAQRepository.findById(id)
-                .filter(bf -> bf.getDeleteStatus() == 2 && bf.isActive() && bf.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<BlogFAQResponseDTO> getBlogFAQById(Long id) {
+        return blogFAQRepository.findVisibleById(id)
+                .map(this::mapToResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getBlogFAQByUuid(String uuid) {
-        return blogFAQRepository.findByUuid(uuid)
-                .filter(bf -> bf.getDeleteStatus() == 2 && bf.isActive() && bf.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<BlogFAQResponseDTO> getBlogFAQByUuid(String uuid) {
+        return blogFAQRepository.findVisibleByUuid(uuid)
+                .map(this::mapToResponseDTO);
     }
 
     @Override
-    public List<Map<String, Object>> getBlogFAQsByBlogId(Long blogId) {
-        return blogFAQRepository.findByBlogId(blogId)
+    public List<BlogFAQResponseDTO> getBlogFAQsByBlogId(Long blogId) {
+        return blogFAQRepository.findVisibleByBlogId(blogId)
                 .stream()
-                .filter(bf -> bf.getDeleteStatus() == 2 && bf.isActive() && bf.isDisplayStatus())
-                .map(this::mapToResponseMap)
+                .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Map<String, Object> updateBlogFAQ(Long id, BlogFAQRequestDTO requestDTO, Long userId) {
+    public BlogFAQResponseDTO updateBlogFAQ(Long id, BlogFAQRequestDTO requestDTO, Long userId) {
         BlogFAQ blogFAQ = blogFAQRepository.findById(id)
                 .filter(bf -> bf.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Blog FAQ not found with id: " + id));
 
         User createdBy = null;
         if (userId != null) {
-            createdBy = userRepository.findById(userId)
-                    .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-            if (!"ADMIN".equalsIgnoreCase(createdBy.getRole().getName())) {
-                throw new IllegalArgumentException("Only ADMIN users can update blog FAQs");
-            }
+            createdBy = authorizationService.require(userId, Permission.MANAGE_CONTENT, "Only ADMIN users can update blog FAQs");
         }
 
-        Blog blog = blogRepository.findById(requestDTO.getBlogId())
-                .filter(b -> b.getDeleteStatus() == 2 && b.isActive() && b.isDisplayStatus())
+        Blog blog = blogRepository.findVisibleById(requestDTO.getBlogId())
                 .orElseThrow(() -> new EntityNotFoundException("Blog not found with id: " + requestDTO.getBlogId()));
 
         blogFAQ.setQuestion(requestDTO.getQuestion());
@@ -117,7 +101,7 @@ public class BlogFAQServiceImpl implements BlogFAQService {
         blogFAQ.setCreatedBy(createdBy);
 
         BlogFAQ updatedBlogFAQ = blogFAQRepository.save(blogFAQ);
-        return mapToResponseMap(updatedBlogFAQ);
+        return mapToResponseDTO(updatedBlogFAQ);
     }
 
     @Override
@@ -126,13 +110,7 @@ public class BlogFAQServiceImpl implements BlogFAQService {
                 .filter(bf -> bf.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Blog FAQ not found with id: " + id));
 
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN users can delete blog FAQs");
-        }
+        authorizationService.require(userId, Permission.MANAGE_CONTENT, "Only ADMIN users can delete blog FAQs");
 
         blogFAQ.setDeleteStatus(1);
         blogFAQ.setActive(false);
@@ -155,21 +133,4 @@ public class BlogFAQServiceImpl implements BlogFAQService {
         dto.setCreatedById(blogFAQ.getCreatedBy() != null ? blogFAQ.getCreatedBy().getId() : null);
         return dto;
     }
-
-    private Map<String, Object> mapToResponseMap(BlogFAQ blogFAQ) {
-        BlogFAQResponseDTO dto = mapToResponseDTO(blogFAQ);
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", dto.getId());
-        response.put("uuid", dto.getUuid());
-        response.put("question", dto.getQuestion());
-        response.put("answer", dto.getAnswer());
-        response.put("displayOrder", dto.getDisplayOrder());
-        response.put("blogId", dto.getBlogId());
-        response.put("active", dto.isActive());
-        response.put("displayStatus", dto.isDisplayStatus());
-        response.put("createdAt", dto.getCreatedAt());
-        response.put("updatedAt", dto.getUpdatedAt());
-        response.put("createdById", dto.getCreatedById());
-        return response;
-    }
 }
@@ -1,26 +1,37 @@
 package com.preetinest.impl;
 
+import com.preetinest.catalog.CatalogSnapshot;
+import com.preetinest.catalog.PreparedResponse;
+import com.preetinest.catalog.PreparedResponseCache;
+import com.preetinest.catalog.SlugLookupGuard;
+import com.preetinest.catalog.SlugRegistry;
+import com.preetinest.catalog.SlugType;
 import com.preetinest.config.S3Service;
 import com.preetinest.dto.request.BlogRequestDTO;
 import com.preetinest.dto.response.BlogResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
 import com.preetinest.entity.Blog;
 import com.preetinest.entity.Category;
 import com.preetinest.entity.Services;
 import com.preetinest.entity.SubCategory;
 import com.preetinest.entity.User;
+import com.preetinest.media.UploadedImage;
+import com.preetinest.paging.KeysetCursor;
+import com.preetinest.paging.KeysetPage;
 import com.preetinest.repository.BlogRepository;
 import com.preetinest.repository.CategoryRepository;
 import com.preetinest.repository.ServiceRepository;
 import com.preetinest.repository.SubCategoryRepository;
-import com.preetinest.repository.UserRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
 import com.preetinest.service.BlogService;
+import com.preetinest.service.CatalogSnapshotService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,29 +40,50 @@ import java.util.stream.Collectors;
 public class BlogServiceImpl implements BlogService {
 
     private final BlogRepository blogRepository;
-    private final UserRepository userRepository;
+    private final AuthorizationService authorizationService;
     private final CategoryRepository categoryRepository;
     private final SubCategoryRepository subCategoryRepository;
     private final ServiceRepository serviceRepository;
+    private final CatalogMapper catalogMapper;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final PreparedResponseCache preparedResponseCache;
+    private final SlugRegistry slugRegistry;
+    private final SlugLookupGuard slugLookupGuard;
 
     @Autowired
     private S3Service s3Service;
 
     @Autowired
     public BlogServiceImpl(BlogRepository blogRepository,
-                           UserRepository userRepository,
+                           AuthorizationService authorizationService,
                            CategoryRepository categoryRepository,
                            SubCategoryRepository subCategoryRepository,
-                           ServiceRepository serviceRepository) {
+                           ServiceRepository serviceRepository,
+                           CatalogMapper catalogMapper,
+                           CatalogSnapshotService catalogSnapshotService,
+                           PreparedResponseCache preparedResponseCache,
+                           SlugRegistry slugRegistry,
+                           SlugLookupGuard slugLookupGuard) {
         this.blogRepository = blogRepository;
-        this.userRepository = userRepository;
+        this.authorizationService = authorizationService;
         this.categoryRepository = categoryRepository;
         this.subCategoryRepository = subCategoryRepository;
         this.serviceRepository = serviceRepository;
+        this.catalogMapper = catalogMapper;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.preparedResponseCache = preparedResponseCache;
+        this.slugRegistry = slugRegistry;
+        this.slugLookupGuard = slugLookupGuard;
     }
 
     @Override
-    public Map<String, Object> createBlog(BlogRequestDTO requestDTO, Long userId) {
+    public BlogResponseDTO createBlog(BlogRequestDTO requestDTO, Long userId) {
+        return createBlog(requestDTO, null, userId);
+    }
+
+    @Override
+    public BlogResponseDTO createBlog(BlogRequestDTO requestDTO, MultipartFile thumbnail, Long userId) {
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.BLOG, null);
         User createdBy = getAdminUser(userId);
 
         Category category = categoryRepository.findById(requestDTO.getCategoryId())
@@ -67,8 +99,7 @@ public class BlogServiceImpl implements BlogService {
 
         Services service = null;
         if (requestDTO.getServiceId() != null) {
-            service = serviceRepository.findById(requestDTO.getServiceId())
-                    .filter(s -> s.getDeleteStatus() == 2 && s.isActive() && s.isDisplayStatus())
+            service = serviceRepository.findVisibleById(requestDTO.getServiceId())
                     .orElseThrow(() -> new EntityNotFoundException("Service not found"));
         }
 
@@ -90,21 +121,31 @@ public class BlogServiceImpl implements BlogService {
         blog.setService(service);
 
         // Upload thumbnail directly to root (no folder)
-        if (requestDTO.getThumbnailImageBase64() != null && !requestDTO.getThumbnailImageBase64().isBlank()) {
-            String fileName = s3Service.uploadBase64Image(requestDTO.getThumbnailImageBase64());
-            blog.setThumbnailUrl(fileName);
+        if (thumbnail != null && !thumbnail.isEmpty()) {
+            setThumbnail(blog, s3Service.uploadImage(thumbnail));
+        } else if (requestDTO.getThumbnailImageBase64() != null && !requestDTO.getThumbnailImageBase64().isBlank()) {
+            setThumbnail(blog, s3Service.uploadBase64Image(requestDTO.getThumbnailImageBase64()));
         }
 
         Blog savedBlog = blogRepository.save(blog);
-        return mapToResponseMap(savedBlog);
+        slugRegistry.register(SlugType.BLOG, savedBlog.getId(), savedBlog.getSlug(), savedBlog.getTitle(),
+                savedBlog.isActive() && savedBlog.isDisplayStatus());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toBlogResponseDTO(savedBlog);
     }
 
     @Override
-    public Map<String, Object> updateBlog(Long id, BlogRequestDTO requestDTO, Long userId) {
+    public BlogResponseDTO updateBlog(Long id, BlogRequestDTO requestDTO, Long userId) {
+        return updateBlog(id, requestDTO, null, userId);
+    }
+
+    @Override
+    public BlogResponseDTO updateBlog(Long id, BlogRequestDTO requestDTO, MultipartFile thumbnail, Long userId) {
         Blog blog = blogRepository.findById(id)
                 .filter(b -> b.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Blog not found"));
 
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.BLOG, id);
         getAdminUser(userId);
 
         Category category = categoryRepository.findById(requestDTO.getCategoryId())
@@ -120,8 +161,7 @@ public class BlogServiceImpl implements BlogService {
 
         Services service = null;
         if (requestDTO.getServiceId() != null) {
-            service = serviceRepository.findById(requestDTO.getServiceId())
-                    .filter(s -> s.getDeleteStatus() == 2 && s.isActive() && s.isDisplayStatus())
+            service = serviceRepository.findVisibleById(requestDTO.getServiceId())
                     .orElseThrow(() -> new EntityNotFoundException("Service not found"));
         }
 
@@ -138,50 +178,120 @@ public class BlogServiceImpl implements BlogService {
         blog.setSubCategory(subCategory);
         blog.setService(service);
 
-        if (requestDTO.getThumbnailImageBase64() != null && !requestDTO.getThumbnailImageBase64().isBlank()) {
-            String newFileName = s3Service.uploadBase64Image(requestDTO.getThumbnailImageBase64());
-            blog.setThumbnailUrl(newFileName);
+        if (thumbnail != null && !thumbnail.isEmpty()) {
+            setThumbnail(blog, s3Service.uploadImage(thumbnail));
+        } else if (requestDTO.getThumbnailImageBase64() != null && !requestDTO.getThumbnailImageBase64().isBlank()) {
+            setThumbnail(blog, s3Service.uploadBase64Image(requestDTO.getThumbnailImageBase64()));
         }
 
         Blog updatedBlog = blogRepository.save(blog);
-        return mapToResponseMap(updatedBlog);
+        slugRegistry.register(SlugType.BLOG, updatedBlog.getId(), updatedBlog.getSlug(), updatedBlog.getTitle(),
+                updatedBlog.isActive() && updatedBlog.isDisplayStatus());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toBlogResponseDTO(updatedBlog);
+    }
+
+    @Override
+    public BlogResponseDTO attachThumbnail(Long id, String key, Long userId) {
+        Blog blog = blogRepository.findById(id)
+                .filter(b -> b.getDeleteStatus() == 2)
+                .orElseThrow(() -> new EntityNotFoundException("Blog not found"));
+
+        getAdminUser(userId);
+
+        setThumbnail(blog, s3Service.attachUploadedImage(key));
+        Blog updatedBlog = blogRepository.save(blog);
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toBlogResponseDTO(updatedBlog);
+    }
+
+    @Override
+    public Optional<BlogResponseDTO> getBlogById(Long id) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findBlogById(id);
+        }
+        return blogRepository.findVisibleById(id)
+                .map(catalogMapper::toBlogResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getBlogById(Long id) {
-        return blogRepository.findById(id)
-                .filter(b -> b.getDeleteStatus() == 2 && b.isActive() && b.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<BlogResponseDTO> getBlogByUuid(String uuid) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findBlogByUuid(uuid);
+        }
+        return blogRepository.findVisibleByUuid(uuid)
+                .map(catalogMapper::toBlogResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getBlogByUuid(String uuid) {
-        return blogRepository.findByUuid(uuid)
-                .filter(b -> b.getDeleteStatus() == 2 && b.isActive() && b.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<BlogResponseDTO> getBlogBySlug(String slug) {
+        return slugLookupGuard.lookup(SlugType.BLOG, slug, () -> loadBlogBySlug(slug));
+    }
+
+    private Optional<BlogResponseDTO> loadBlogBySlug(String slug) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findBlogBySlug(slug);
+        }
+        return blogRepository.findVisibleBySlug(slug)
+                .map(catalogMapper::toBlogResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getBlogBySlug(String slug) {
-        return blogRepository.findBySlug(slug)
-                .filter(b -> b.getDeleteStatus() == 2 && b.isActive() && b.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<PreparedResponse> getPreparedBlogBySlug(String slug) {
+        return slugLookupGuard.lookup(SlugType.BLOG, slug, () -> {
+            Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+            if (snapshot.isPresent()) {
+                // Keyed by id: slugs resolve regardless of case, and every spelling shares one body
+                return snapshot.get().findBlogBySlug(slug).flatMap(blog ->
+                        preparedResponseCache.get(snapshot.get(), "blog:" + blog.getId(), () -> Optional.of(blog)));
+            }
+            return loadBlogBySlug(slug).map(preparedResponseCache::prepare);
+        });
     }
 
     @Override
-    public List<Map<String, Object>> getAllActiveBlogs() {
+    public List<BlogResponseDTO> getAllActiveBlogs() {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().getBlogs();
+        }
         return blogRepository.findAllActiveBlogs()
                 .stream()
-                .map(this::mapToResponseMap)
+                .map(catalogMapper::toBlogResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponseDTO<BlogResponseDTO> getActiveBlogPage(String cursor, Integer size, boolean includeTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetPage.size(size);
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return KeysetPage.slice(snapshot.get().getBlogs(), after, pageSize,
+                    BlogResponseDTO::getCreatedAt, BlogResponseDTO::getId, includeTotal);
+        }
+        List<BlogResponseDTO> rows = (after == null
+                ? blogRepository.findActiveBlogsNewestFirst(KeysetPage.limit(pageSize))
+                : blogRepository.findActiveBlogsBefore(after.getCreatedAt(), after.getId(), KeysetPage.limit(pageSize)))
+                .stream()
+                .map(catalogMapper::toBlogResponseDTO)
                 .collect(Collectors.toList());
+        return KeysetPage.fromRows(rows, pageSize, BlogResponseDTO::getCreatedAt, BlogResponseDTO::getId,
+                includeTotal ? blogRepository.countActiveBlogs() : null);
     }
 
     @Override
-    public List<Map<String, Object>> getBlogsByServiceId(Long serviceId) {
-        return blogRepository.findByServiceId(serviceId)
+    public List<BlogResponseDTO> getBlogsByServiceId(Long serviceId) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().getBlogsByServiceId(serviceId);
+        }
+        return blogRepository.findVisibleByServiceId(serviceId)
                 .stream()
-                .filter(b -> b.getDeleteStatus() == 2 && b.isActive() && b.isDisplayStatus())
-                .map(this::mapToResponseMap)
+                .map(catalogMapper::toBlogResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -197,43 +307,17 @@ public class BlogServiceImpl implements BlogService {
         blog.setActive(false);
         blog.setDisplayStatus(false);
         blogRepository.save(blog);
+        slugRegistry.remove(SlugType.BLOG, id);
+        catalogSnapshotService.requestRefresh();
+    }
+
+    private static void setThumbnail(Blog blog, UploadedImage image) {
+        blog.setThumbnailUrl(image.getKey());
+        blog.setThumbnailMetadata(image.getMetadata());
     }
 
     private User getAdminUser(Long userId) {
         if (userId == null) return null;
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN can perform this action");
-        }
-        return user;
-    }
-
-    private Map<String, Object> mapToResponseMap(Blog blog) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", blog.getId());
-        response.put("uuid", blog.getUuid());
-        response.put("title", blog.getTitle());
-        response.put("excerpt", blog.getExcerpt());
-        response.put("metaTitle", blog.getMetaTitle());
-        response.put("metaKeyword", blog.getMetaKeyword());
-        response.put("metaDescription", blog.getMetaDescription());
-        response.put("slug", blog.getSlug());
-        response.put("active", blog.isActive());
-        response.put("displayStatus", blog.isDisplayStatus());
-        response.put("showOnHome", blog.isShowOnHome());
-        response.put("createdAt", blog.getCreatedAt());
-        response.put("updatedAt", blog.getUpdatedAt());
-        response.put("createdById", blog.getCreatedBy() != null ? blog.getCreatedBy().getId() : null);
-        response.put("categoryId", blog.getCategory().getId());
-        response.put("subCategoryId", blog.getSubCategory() != null ? blog.getSubCategory().getId() : null);
-        response.put("serviceId", blog.getService() != null ? blog.getService().getId() : null);
-
-        // THIS IS WHAT YOU WANT
-        response.put("thumbnailUrl", s3Service.getFullUrl(blog.getThumbnailUrl()));
-        // Example: https://preetinest.s3.ca-central-1.amazonaws.com/abc123def456.png
-
-        return response;
-    }
-}
\ No newline at end of file
+        return authorizationService.require(userId, Permission.MANAGE_CONTENT, "Only ADMIN can perform this action");
+    }
+}
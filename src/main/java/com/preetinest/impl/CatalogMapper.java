@@ -0,0 +1,191 @@
+package com.preetinest.impl;
+
+import com.preetinest.config.S3Service;
+import com.preetinest.dto.response.*;
+import com.preetinest.entity.*;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Entity → response DTO mapping for the public catalog.
+ * Shared by the service implementations and the catalog snapshot so both produce identical payloads.
+ */
+@Component
+public class CatalogMapper {
+
+    private final S3Service s3Service;
+
+    public CatalogMapper(S3Service s3Service) {
+        this.s3Service = s3Service;
+    }
+
+    public CategoryResponseDTO toCategoryResponseDTO(Category category) {
+        CategoryResponseDTO dto = new CategoryResponseDTO();
+        dto.setId(category.getId());
+        dto.setUuid(category.getUuid());
+        dto.setName(category.getName());
+        dto.setDescription(category.getDescription());
+        dto.setMetaTitle(category.getMetaTitle());
+        dto.setMetaKeyword(category.getMetaKeyword());
+        dto.setMetaDescription(category.getMetaDescription());
+        dto.setSlug(category.getSlug());
+        dto.setActive(category.isActive());
+        dto.setCreatedAt(category.getCreatedAt());
+        dto.setUpdatedAt(category.getUpdatedAt());
+        dto.setCreatedById(category.getCreatedBy() != null ? category.getCreatedBy().getId() : null);
+        return dto;
+    }
+
+    public SubCategoryResponseDTO toSubCategoryResponseDTO(SubCategory subCategory) {
+        SubCategoryResponseDTO dto = new SubCategoryResponseDTO();
+        dto.setId(subCategory.getId());
+        dto.setUuid(subCategory.getUuid());
+        dto.setName(subCategory.getName());
+        dto.setDescription(subCategory.getDescription());
+        dto.setMetaTitle(subCategory.getMetaTitle());
+        dto.setMetaKeyword(subCategory.getMetaKeyword());
+        dto.setMetaDescription(subCategory.getMetaDescription());
+        dto.setSlug(subCategory.getSlug());
+        dto.setActive(subCategory.isActive());
+        dto.setDisplayStatus(subCategory.isDisplayStatus());
+        dto.setCreatedAt(subCategory.getCreatedAt());
+        dto.setUpdatedAt(subCategory.getUpdatedAt());
+        dto.setCreatedById(subCategory.getCreatedBy() != null ? subCategory.getCreatedBy().getId() : null);
+        dto.setCategoryId(subCategory.getCategory().getId());
+        return dto;
+    }
+
+    public ServiceResponseDTO toServiceResponseDTO(Services service) {
+        ServiceResponseDTO dto = new ServiceResponseDTO();
+        dto.setId(service.getId());
+        dto.setUuid(service.getUuid());
+        dto.setName(service.getName());
+        dto.setDescription(service.getDescription());
+        dto.setSubCategoryId(service.getSubCategory().getId());
+        dto.setSubCategoryName(service.getSubCategory().getName());
+        dto.setCategoryId(service.getSubCategory().getCategory().getId());
+        dto.setCategoryName(service.getSubCategory().getCategory().getName());
+
+        dto.setIconUrl(s3Service.getFullUrl(service.getIconUrl()));
+        dto.setImage(s3Service.getFullUrl(service.getImage()));
+        dto.setImageVariants(s3Service.getVariantUrls(service.getImage(), service.getImageMetadata()));
+        ImageMetadata image = service.getImageMetadata();
+        dto.setImageWidth(image != null ? image.getWidth() : null);
+        dto.setImageHeight(image != null ? image.getHeight() : null);
+        dto.setImagePlaceholder(image != null ? image.getPlaceholder() : null);
+
+        dto.setMetaTitle(service.getMetaTitle());
+        dto.setMetaKeyword(service.getMetaKeyword());
+        dto.setMetaDescription(service.getMetaDescription());
+        dto.setSlug(service.getSlug());
+        dto.setActive(service.isActive());
+        dto.setDisplayStatus(service.isDisplayStatus());
+        dto.setShowOnHome(service.isShowOnHome());
+        dto.setCreatedAt(service.getCreatedAt());
+        dto.setUpdatedAt(service.getUpdatedAt());
+        dto.setCreatedById(service.getCreatedBy() != null ? service.getCreatedBy().getId() : null);
+        return dto;
+    }
+
+    // Snapshot DTOs are shared, so attaching details means copying rather than setting
+    public ServiceResponseDTO withServiceDetails(ServiceResponseDTO dto, List<ServiceDetailResponseDTO> details) {
+        return new ServiceResponseDTO(dto.getId(), dto.getUuid(), dto.getName(), dto.getDescription(),
+                dto.getSubCategoryId(), dto.getSubCategoryName(), dto.getCategoryId(), dto.getCategoryName(),
+                dto.getIconUrl(), dto.getImage(), dto.getImageVariants(), dto.getImageWidth(), dto.getImageHeight(), dto.getImagePlaceholder(),
+                dto.getMetaTitle(), dto.getMetaKeyword(), dto.getMetaDescription(),
+                dto.getSlug(), dto.isActive(), dto.isDisplayStatus(), dto.isShowOnHome(),
+                dto.getCreatedAt(), dto.getUpdatedAt(), dto.getCreatedById(), details);
+    }
+
+    public ServiceDetailResponseDTO toServiceDetailResponseDTO(ServiceDetail detail) {
+        ServiceDetailResponseDTO dto = new ServiceDetailResponseDTO();
+        dto.setId(detail.getId());
+        dto.setUuid(detail.getUuid());
+        dto.setHeading(detail.getHeading());
+        dto.setDetails(detail.getDetails());
+        dto.setDisplayOrder(detail.getDisplayOrder());
+        dto.setServiceId(detail.getService().getId());
+        dto.setActive(detail.isActive());
+        dto.setCreatedAt(detail.getCreatedAt());
+        dto.setUpdatedAt(detail.getUpdatedAt());
+        dto.setCreatedById(detail.getCreatedBy() != null ? detail.getCreatedBy().getId() : null);
+        return dto;
+    }
+
+    public ServiceFAQResponseDTO toServiceFAQResponseDTO(ServiceFAQ faq) {
+        ServiceFAQResponseDTO dto = new ServiceFAQResponseDTO();
+        dto.setId(faq.getId());
+        dto.setUuid(faq.getUuid());
+        dto.setQuestion(faq.getQuestion());
+        dto.setAnswer(faq.getAnswer());
+        dto.setDisplayOrder(faq.getDisplayOrder());
+        dto.setServiceId(faq.getService().getId());
+        dto.setActive(faq.isActive());
+        dto.setDisplayStatus(faq.isDisplayStatus());
+        dto.setCreatedAt(faq.getCreatedAt());
+        dto.setUpdatedAt(faq.getUpdatedAt());
+        dto.setCreatedById(faq.getCreatedBy() != null ? faq.getCreatedBy().getId() : null);
+        return dto;
+    }
+
+    public BlogResponseDTO toBlogResponseDTO(Blog blog) {
+        BlogResponseDTO dto = new BlogResponseDTO();
+        dto.setId(blog.getId());
+        dto.setUuid(blog.getUuid());
+        dto.setTitle(blog.getTitle());
+        dto.setExcerpt(blog.getExcerpt());
+        dto.setMetaTitle(blog.getMetaTitle());
+        dto.setMetaKeyword(blog.getMetaKeyword());
+        dto.setMetaDescription(blog.getMetaDescription());
+        dto.setSlug(blog.getSlug());
+        dto.setActive(blog.isActive());
+        dto.setDisplayStatus(blog.isDisplayStatus());
+        dto.setShowOnHome(blog.isShowOnHome());
+        dto.setCreatedAt(blog.getCreatedAt());
+        dto.setUpdatedAt(blog.getUpdatedAt());
+        dto.setCreatedById(blog.getCreatedBy() != null ? blog.getCreatedBy().getId() : null);
+        dto.setCategoryId(blog.getCategory().getId());
+        dto.setSubCategoryId(blog.getSubCategory() != null ? blog.getSubCategory().getId() : null);
+        dto.setServiceId(blog.getService() != null ? blog.getService().getId() : null);
+
+        // Example: https://preetinest.s3.ca-central-1.amazonaws.com/abc123def456.png
+        dto.setThumbnailUrl(s3Service.getFullUrl(blog.getThumbnailUrl()));
+        dto.setThumbnailVariants(s3Service.getVariantUrls(blog.getThumbnailUrl(), blog.getThumbnailMetadata()));
+        ImageMetadata thumbnail = blog.getThumbnailMetadata();
+        dto.setThumbnailWidth(thumbnail != null ? thumbnail.getWidth() : null);
+        dto.setThumbnailHeight(thumbnail != null ? thumbnail.getHeight() : null);
+        dto.setThumbnailPlaceholder(thumbnail != null ? thumbnail.getPlaceholder() : null);
+        return dto;
+    }
+
+    public ClientResponseDTO toClientResponseDTO(Clients client) {
+        ClientResponseDTO dto = new ClientResponseDTO();
+        dto.setId(client.getId());
+        dto.setUuid(client.getUuid());
+        dto.setName(client.getName());
+        dto.setClientType(client.getClientType());
+        dto.setDescription(client.getDescription());
+        dto.setContactEmail(client.getContactEmail());
+        dto.setContactPhone(client.getContactPhone());
+        dto.setMetaTitle(client.getMetaTitle());
+        dto.setMetaKeyword(client.getMetaKeyword());
+        dto.setMetaDescription(client.getMetaDescription());
+        dto.setSlug(client.getSlug());
+        dto.setActive(client.isActive());
+        dto.setDisplayStatus(client.isDisplayStatus());
+        dto.setShowOnHome(client.isShowOnHome());
+        dto.setCreatedAt(client.getCreatedAt());
+        dto.setUpdatedAt(client.getUpdatedAt());
+        dto.setCreatedById(client.getCreatedBy() != null ? client.getCreatedBy().getId() : null);
+
+        // FULL S3 URL (root)
+        dto.setLogoUrl(s3Service.getFullUrl(client.getLogoUrl()));
+        dto.setLogoVariants(s3Service.getVariantUrls(client.getLogoUrl(), client.getLogoMetadata()));
+        ImageMetadata logo = client.getLogoMetadata();
+        dto.setLogoWidth(logo != null ? logo.getWidth() : null);
+        dto.setLogoHeight(logo != null ? logo.getHeight() : null);
+        dto.setLogoPlaceholder(logo != null ? logo.getPlaceholder() : null);
+        return dto;
+    }
+}
@@ -0,0 +1,183 @@
+package com.preetinest.impl;
+
+import com.preetinest.catalog.CatalogFootprint;
+import com.preetinest.catalog.CatalogSnapshot;
+import com.preetinest.dto.response.*;
+import com.preetinest.repository.*;
+import com.preetinest.service.CatalogSnapshotService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+@Service
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotServiceImpl.class);
+
+    private final CategoryRepository categoryRepository;
+    private final SubCategoryRepository subCategoryRepository;
+    private final ServiceRepository serviceRepository;
+    private final ServiceDetailRepository serviceDetailRepository;
+    private final ServiceFAQRepository serviceFAQRepository;
+    private final BlogRepository blogRepository;
+    private final ClientRepository clientRepository;
+    private final CatalogMapper catalogMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong failedBuilds = new AtomicLong();
+
+    // Single worker: rebuilds never overlap and always publish in version order
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public CatalogSnapshotServiceImpl(CategoryRepository categoryRepository,
+                                      SubCategoryRepository subCategoryRepository,
+                                      ServiceRepository serviceRepository,
+                                      ServiceDetailRepository serviceDetailRepository,
+                                      ServiceFAQRepository serviceFAQRepository,
+                                      BlogRepository blogRepository,
+                                      ClientRepository clientRepository,
+                                      CatalogMapper catalogMapper,
+                                      PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.subCategoryRepository = subCategoryRepository;
+        this.serviceRepository = serviceRepository;
+        this.serviceDetailRepository = serviceDetailRepository;
+        this.serviceFAQRepository = serviceFAQRepository;
+        this.blogRepository = blogRepository;
+        this.clientRepository = clientRepository;
+        this.catalogMapper = catalogMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        requestRefresh();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @Override
+    public Optional<CatalogSnapshot> current() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    @Override
+    public void requestRefresh() {
+        // A rebuild that has not started yet will pick up this change too
+        if (refreshQueued.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        CatalogSnapshot current = snapshot.get();
+        stats.put("loaded", current != null);
+        stats.put("refreshQueued", refreshQueued.get());
+        stats.put("failedBuilds", failedBuilds.get());
+        if (current != null) {
+            stats.put("version", current.getVersion());
+            stats.put("builtAt", current.getBuiltAt());
+            stats.put("buildMillis", current.getBuildMillis());
+            stats.put("categories", current.getCategories().size());
+            stats.put("subCategories", current.getSubCategories().size());
+            stats.put("services", current.getServices().size());
+            stats.put("serviceDetails", current.getServiceDetailCount());
+            stats.put("serviceFaqs", current.getServiceFAQCount());
+            stats.put("blogs", current.getBlogs().size());
+            stats.put("clients", current.getClients().size());
+            stats.put("estimatedBytes", CatalogFootprint.estimateBytes(current));
+        }
+        return stats;
+    }
+
+    private void rebuild() {
+        refreshQueued.set(false);
+        try {
+            CatalogSnapshot built = readOnlyTransaction.execute(status -> build());
+            snapshot.set(built);
+            log.info("Catalog snapshot v{} published in {} ms", built.getVersion(), built.getBuildMillis());
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot; the next write schedules another attempt
+            failedBuilds.incrementAndGet();
+            log.error("Catalog snapshot rebuild failed", e);
+        }
+    }
+
+    private CatalogSnapshot build() {
+        long started = System.nanoTime();
+
+        List<CategoryResponseDTO> categories = categoryRepository.findAllActiveCategories()
+                .stream()
+                .map(catalogMapper::toCategoryResponseDTO)
+                .collect(Collectors.toList());
+
+        List<SubCategoryResponseDTO> subCategories = subCategoryRepository.findAllActiveSubCategories()
+                .stream()
+                .map(catalogMapper::toSubCategoryResponseDTO)
+                .collect(Collectors.toList());
+
+        List<ServiceResponseDTO> services = serviceRepository.findAllVisibleServices()
+                .stream()
+                .map(catalogMapper::toServiceResponseDTO)
+                .collect(Collectors.toList());
+
+        List<ServiceResponseDTO> menuServices = serviceRepository.findAllActiveServices()
+                .stream()
+                .map(catalogMapper::toServiceResponseDTO)
+                .collect(Collectors.toList());
+
+        // Repository order is kept: lists come back already visible and sorted
+        Map<Long, List<ServiceDetailResponseDTO>> details = serviceDetailRepository.findAllVisibleDetails()
+                .stream()
+                .map(catalogMapper::toServiceDetailResponseDTO)
+                .collect(Collectors.groupingBy(ServiceDetailResponseDTO::getServiceId));
+
+        Map<Long, List<ServiceFAQResponseDTO>> faqs = serviceFAQRepository.findAllVisibleFAQs()
+                .stream()
+                .map(catalogMapper::toServiceFAQResponseDTO)
+                .collect(Collectors.groupingBy(ServiceFAQResponseDTO::getServiceId));
+
+        List<BlogResponseDTO> blogs = blogRepository.findAllActiveBlogs()
+                .stream()
+                .map(catalogMapper::toBlogResponseDTO)
+                .collect(Collectors.toList());
+
+        List<ClientResponseDTO> clients = clientRepository.findAllActiveClients()
+                .stream()
+                .map(catalogMapper::toClientResponseDTO)
+                .collect(Collectors.toList());
+
+        long buildMillis = (System.nanoTime() - started) / 1_000_000;
+        return new CatalogSnapshot(versions.incrementAndGet(), Instant.now(), buildMillis,
+                categories, subCategories, services, menuServices, details, faqs, blogs, clients);
+    }
+}
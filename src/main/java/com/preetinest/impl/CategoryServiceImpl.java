@@ -1,11 +1,16 @@
 package com.preetinest.impl;
 
+import com.preetinest.catalog.CatalogSnapshot;
+import com.preetinest.catalog.SlugRegistry;
+import com.preetinest.catalog.SlugType;
 import com.preetinest.dto.request.CategoryRequestDTO;
 import com.preetinest.dto.response.CategoryResponseDTO;
 import com.preetinest.entity.Category;
 import com.preetinest.entity.User;
 import com.preetinest.repository.CategoryRepository;
-import com.preetinest.repository.UserRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
+import com.preetinest.service.CatalogSnapshotService;
 import com.preetinest.service.CategoryService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,29 +25,29 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
-    private final UserRepository userRepository;
+    private final AuthorizationService authorizationService;
+    private final CatalogMapper catalogMapper;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final SlugRegistry slugRegistry;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, UserRepository userRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, AuthorizationService authorizationService,
+                               CatalogMapper catalogMapper, CatalogSnapshotService catalogSnapshotService,
+                               SlugRegistry slugRegistry) {
         this.categoryRepository = categoryRepository;
-        this.userRepository = userRepository;
+        this.authorizationService = authorizationService;
+        this.catalogMapper = catalogMapper;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.slugRegistry = slugRegistry;
     }
 
     @Override
     public CategoryResponseDTO createCategory(CategoryRequestDTO requestDTO, Long userId) {
-        Optional<Category> existingCategory = categoryRepository.findBySlug(requestDTO.getSlug());
-        if (existingCategory.isPresent() && existingCategory.get().getDeleteStatus() == 2) {
-            throw new IllegalArgumentException("Category with slug " + requestDTO.getSlug() + " already exists");
-        }
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.CATEGORY, null);
 
         User createdBy = null;
         if (userId != null) {
-            createdBy = userRepository.findById(userId)
-                    .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-            if (!"ADMIN".equalsIgnoreCase(createdBy.getRole().getName())) {
-                throw new IllegalArgumentException("Only ADMIN users can create categories");
-            }
+            createdBy = authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can create categories");
         }
 
         Category category = new Category();
@@ -58,36 +63,38 @@ public class CategoryServiceImpl implements CategoryService {
         category.setCreatedBy(createdBy);
 
         Category savedCategory = categoryRepository.save(category);
-        return mapToResponseDTO(savedCategory);
+        slugRegistry.register(SlugType.CATEGORY, savedCategory.getId(), savedCategory.getSlug(), savedCategory.getName(),
+                savedCategory.isActive());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toCategoryResponseDTO(savedCategory);
     }
 
     @Override
     public Optional<CategoryResponseDTO> getCategoryById(Long id) {
-        return categoryRepository.findById(id)
-                .filter(c -> c.getDeleteStatus() == 2)
-                .map(this::mapToResponseDTO);
+        return categoryRepository.findLiveById(id)
+                .map(catalogMapper::toCategoryResponseDTO);
     }
 
     @Override
     public Optional<CategoryResponseDTO> getCategoryByUuid(String uuid) {
-        return categoryRepository.findByUuid(uuid)
-                .filter(c -> c.getDeleteStatus() == 2)
-                .map(this::mapToResponseDTO);
+        return categoryRepository.findLiveByUuid(uuid)
+                .map(catalogMapper::toCategoryResponseDTO);
     }
 
     @Override
     public Optional<CategoryResponseDTO> getCategoryBySlug(String slug) {
-        return categoryRepository.findBySlug(slug)
-                .filter(c -> c.getDeleteStatus() == 2)
-                .map(this::mapToResponseDTO);
+        return categoryRepository.findLiveBySlug(slug)
+                .map(catalogMapper::toCategoryResponseDTO);
     }
 
     @Override
     public List<CategoryResponseDTO> getAllActiveCategories() {
-        return categoryRepository.findAllActiveCategories()
+        return catalogSnapshotService.current()
+                .map(CatalogSnapshot::getCategories)
+                .orElseGet(() -> categoryRepository.findAllActiveCategories()
                 .stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+                .map(catalogMapper::toCategoryResponseDTO)
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -96,20 +103,11 @@ public class CategoryServiceImpl implements CategoryService {
                 .filter(c -> c.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + id));
 
-        Optional<Category> existingCategory = categoryRepository.findBySlug(requestDTO.getSlug());
-        if (existingCategory.isPresent() && existingCategory.get().getDeleteStatus() == 2 &&
-                !existingCategory.get().getId().equals(id)) {
-            throw new IllegalArgumentException("Slug " + requestDTO.getSlug() + " is already in use by another category");
-        }
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.CATEGORY, id);
 
         User createdBy = null;
         if (userId != null) {
-            createdBy = userRepository.findById(userId)
-                    .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-            if (!"ADMIN".equalsIgnoreCase(createdBy.getRole().getName())) {
-                throw new IllegalArgumentException("Only ADMIN users can update categories");
-            }
+            createdBy = authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can update categories");
         }
 
         category.setName(requestDTO.getName());
@@ -122,7 +120,10 @@ public class CategoryServiceImpl implements CategoryService {
         category.setCreatedBy(createdBy);
 
         Category updatedCategory = categoryRepository.save(category);
-        return mapToResponseDTO(updatedCategory);
+        slugRegistry.register(SlugType.CATEGORY, updatedCategory.getId(), updatedCategory.getSlug(), updatedCategory.getName(),
+                updatedCategory.isActive());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toCategoryResponseDTO(updatedCategory);
     }
 
     @Override
@@ -131,32 +132,12 @@ public class CategoryServiceImpl implements CategoryService {
                 .filter(c -> c.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + id));
 
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN users can delete categories");
-        }
+        authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can delete categories");
 
         category.setDeleteStatus(1);
         category.setActive(false);
         categoryRepository.save(category);
-    }
-
-    private CategoryResponseDTO mapToResponseDTO(Category category) {
-        CategoryResponseDTO responseDTO = new CategoryResponseDTO();
-        responseDTO.setId(category.getId());
-        responseDTO.setUuid(category.getUuid());
-        responseDTO.setName(category.getName());
-        responseDTO.setDescription(category.getDescription());
-        responseDTO.setMetaTitle(category.getMetaTitle());
-        responseDTO.setMetaKeyword(category.getMetaKeyword());
-        responseDTO.setMetaDescription(category.getMetaDescription());
-        responseDTO.setSlug(category.getSlug());
-        responseDTO.setActive(category.isActive());
-        responseDTO.setCreatedAt(category.getCreatedAt());
-        responseDTO.setUpdatedAt(category.getUpdatedAt());
-        responseDTO.setCreatedById(category.getCreatedBy() != null ? category.getCreatedBy().getId() : null);
-        return responseDTO;
+        slugRegistry.remove(SlugType.CATEGORY, id);
+        catalogSnapshotService.requestRefresh();
     }
 }
\ No newline at end of file
@@ -1,20 +1,29 @@
 package com.preetinest.impl;
 
+import com.preetinest.catalog.CatalogSnapshot;
+import com.preetinest.catalog.SlugLookupGuard;
+import com.preetinest.catalog.SlugRegistry;
+import com.preetinest.catalog.SlugType;
 import com.preetinest.config.S3Service;
 import com.preetinest.dto.request.ClientRequestDTO;
 import com.preetinest.dto.response.ClientResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
 import com.preetinest.entity.Clients;
 import com.preetinest.entity.User;
+import com.preetinest.media.UploadedImage;
+import com.preetinest.paging.KeysetCursor;
+import com.preetinest.paging.KeysetPage;
 import com.preetinest.repository.ClientRepository;
-import com.preetinest.repository.UserRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
+import com.preetinest.service.CatalogSnapshotService;
 import com.preetinest.service.ClientService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -23,19 +32,35 @@ import java.util.stream.Collectors;
 public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
-    private final UserRepository userRepository;
+    private final AuthorizationService authorizationService;
+    private final CatalogMapper catalogMapper;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final SlugRegistry slugRegistry;
+    private final SlugLookupGuard slugLookupGuard;
 
     @Autowired
     private S3Service s3Service; // For root S3 upload
 
     @Autowired
-    public ClientServiceImpl(ClientRepository clientRepository, UserRepository userRepository) {
+    public ClientServiceImpl(ClientRepository clientRepository, AuthorizationService authorizationService,
+                             CatalogMapper catalogMapper, CatalogSnapshotService catalogSnapshotService,
+                             SlugRegistry slugRegistry, SlugLookupGuard slugLookupGuard) {
         this.clientRepository = clientRepository;
-        this.userRepository = userRepository;
+        this.authorizationService = authorizationService;
+        this.catalogMapper = catalogMapper;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.slugRegistry = slugRegistry;
+        this.slugLookupGuard = slugLookupGuard;
     }
 
     @Override
-    public Map<String, Object> createClient(ClientRequestDTO requestDTO, Long userId) {
+    public ClientResponseDTO createClient(ClientRequestDTO requestDTO, Long userId) {
+        return createClient(requestDTO, null, userId);
+    }
+
+    @Override
+    public ClientResponseDTO createClient(ClientRequestDTO requestDTO, MultipartFile logo, Long userId) {
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.CLIENT, null);
         User createdBy = getAdminUser(userId);
 
         Clients client = new Clients();
@@ -56,21 +81,31 @@ public class ClientServiceImpl implements ClientService {
         client.setCreatedBy(createdBy);
 
         // Upload logo directly to S3 root (no folder)
-        if (requestDTO.getLogoBase64() != null && !requestDTO.getLogoBase64().isBlank()) {
-            String fileName = s3Service.uploadBase64Image(requestDTO.getLogoBase64());
-            client.setLogoUrl(fileName); // Only filename stored
+        if (logo != null && !logo.isEmpty()) {
+            setLogo(client, s3Service.uploadImage(logo));
+        } else if (requestDTO.getLogoBase64() != null && !requestDTO.getLogoBase64().isBlank()) {
+            setLogo(client, s3Service.uploadBase64Image(requestDTO.getLogoBase64())); // Only filename stored
         }
 
         Clients saved = clientRepository.save(client);
-        return mapToResponseMap(saved);
+        slugRegistry.register(SlugType.CLIENT, saved.getId(), saved.getSlug(), saved.getName(),
+                saved.isActive() && saved.isDisplayStatus());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toClientResponseDTO(saved);
+    }
+
+    @Override
+    public ClientResponseDTO updateClient(Long id, ClientRequestDTO requestDTO, Long userId) {
+        return updateClient(id, requestDTO, null, userId);
     }
 
     @Override
-    public Map<String, Object> updateClient(Long id, ClientRequestDTO requestDTO, Long userId) {
+    public ClientResponseDTO updateClient(Long id, ClientRequestDTO requestDTO, MultipartFile logo, Long userId) {
         Clients client = clientRepository.findById(id)
                 .filter(c -> c.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Client not found"));
 
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.CLIENT, id);
         getAdminUser(userId);
 
         client.setName(requestDTO.getName());
@@ -86,43 +121,95 @@ public class ClientServiceImpl implements ClientService {
         client.setDisplayStatus(requestDTO.isDisplayStatus());
         client.setShowOnHome(requestDTO.isShowOnHome());
 
-        // Only update logo if new base64 is provided
-        if (requestDTO.getLogoBase64() != null && !requestDTO.getLogoBase64().isBlank()) {
-            String fileName = s3Service.uploadBase64Image(requestDTO.getLogoBase64());
-            client.setLogoUrl(fileName);
+        // Only update logo if a new one is provided
+        if (logo != null && !logo.isEmpty()) {
+            setLogo(client, s3Service.uploadImage(logo));
+        } else if (requestDTO.getLogoBase64() != null && !requestDTO.getLogoBase64().isBlank()) {
+            setLogo(client, s3Service.uploadBase64Image(requestDTO.getLogoBase64()));
         }
 
         Clients updated = clientRepository.save(client);
-        return mapToResponseMap(updated);
+        slugRegistry.register(SlugType.CLIENT, updated.getId(), updated.getSlug(), updated.getName(),
+                updated.isActive() && updated.isDisplayStatus());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toClientResponseDTO(updated);
+    }
+
+    @Override
+    public ClientResponseDTO attachLogo(Long id, String key, Long userId) {
+        Clients client = clientRepository.findById(id)
+                .filter(c -> c.getDeleteStatus() == 2)
+                .orElseThrow(() -> new EntityNotFoundException("Client not found"));
+
+        getAdminUser(userId);
+
+        setLogo(client, s3Service.attachUploadedImage(key));
+        Clients updated = clientRepository.save(client);
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toClientResponseDTO(updated);
     }
 
     @Override
-    public Optional<Map<String, Object>> getClientById(Long id) {
-        return clientRepository.findById(id)
-                .filter(c -> c.getDeleteStatus() == 2 && c.isActive() && c.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<ClientResponseDTO> getClientById(Long id) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findClientById(id);
+        }
+        return clientRepository.findVisibleById(id)
+                .map(catalogMapper::toClientResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getClientByUuid(String uuid) {
-        return clientRepository.findByUuid(uuid)
-                .filter(c -> c.getDeleteStatus() == 2 && c.isActive() && c.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<ClientResponseDTO> getClientByUuid(String uuid) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findClientByUuid(uuid);
+        }
+        return clientRepository.findVisibleByUuid(uuid)
+                .map(catalogMapper::toClientResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getClientBySlug(String slug) {
-        return clientRepository.findBySlug(slug)
-                .filter(c -> c.getDeleteStatus() == 2 && c.isActive() && c.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<ClientResponseDTO> getClientBySlug(String slug) {
+        return slugLookupGuard.lookup(SlugType.CLIENT, slug, () -> {
+            Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+            if (snapshot.isPresent()) {
+                return snapshot.get().findClientBySlug(slug);
+            }
+            return clientRepository.findVisibleBySlug(slug)
+                    .map(catalogMapper::toClientResponseDTO);
+        });
     }
 
     @Override
-    public List<Map<String, Object>> getAllActiveClients() {
+    public List<ClientResponseDTO> getAllActiveClients() {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().getClients();
+        }
         return clientRepository.findAllActiveClients()
                 .stream()
-                .map(this::mapToResponseMap)
+                .map(catalogMapper::toClientResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponseDTO<ClientResponseDTO> getActiveClientPage(String cursor, Integer size, boolean includeTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetPage.size(size);
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return KeysetPage.slice(snapshot.get().getClients(), after, pageSize,
+                    ClientResponseDTO::getCreatedAt, ClientResponseDTO::getId, includeTotal);
+        }
+        List<ClientResponseDTO> rows = (after == null
+                ? clientRepository.findActiveClientsNewestFirst(KeysetPage.limit(pageSize))
+                : clientRepository.findActiveClientsBefore(after.getCreatedAt(), after.getId(), KeysetPage.limit(pageSize)))
+                .stream()
+                .map(catalogMapper::toClientResponseDTO)
                 .collect(Collectors.toList());
+        return KeysetPage.fromRows(rows, pageSize, ClientResponseDTO::getCreatedAt, ClientResponseDTO::getId,
+                includeTotal ? clientRepository.countActiveClients() : null);
     }
 
     @Override
@@ -137,68 +224,18 @@ public class ClientServiceImpl implements ClientService {
         client.setActive(false);
         client.setDisplayStatus(false);
         clientRepository.save(client);
+        slugRegistry.remove(SlugType.CLIENT, id);
+        catalogSnapshotService.requestRefresh();
     }
 
     // Helper: Validate admin
-    private User getAdminUser(Long userId) {
-        if (userId == null) return null;
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN can perform this action");
-        }
-        return user;
+    private static void setLogo(Clients client, UploadedImage image) {
+        client.setLogoUrl(image.getKey());
+        client.setLogoMetadata(image.getMetadata());
     }
 
-    // MAPPERS — WITH FULL S3 ROOT URL
-    private ClientResponseDTO mapToResponseDTO(Clients client) {
-        ClientResponseDTO dto = new ClientResponseDTO();
-        dto.setId(client.getId());
-        dto.setUuid(client.getUuid());
-        dto.setName(client.getName());
-        dto.setClientType(client.getClientType());
-        dto.setDescription(client.getDescription());
-        dto.setContactEmail(client.getContactEmail());
-        dto.setContactPhone(client.getContactPhone());
-        dto.setMetaTitle(client.getMetaTitle());
-        dto.setMetaKeyword(client.getMetaKeyword());
-        dto.setMetaDescription(client.getMetaDescription());
-        dto.setSlug(client.getSlug());
-        dto.setActive(client.isActive());
-        dto.setDisplayStatus(client.isDisplayStatus());
-        dto.setShowOnHome(client.isShowOnHome());
-        dto.setCreatedAt(client.getCreatedAt());
-        dto.setUpdatedAt(client.getUpdatedAt());
-        dto.setCreatedById(client.getCreatedBy() != null ? client.getCreatedBy().getId() : null);
-
-        // FULL S3 URL (root)
-        dto.setLogoUrl(s3Service.getFullUrl(client.getLogoUrl()));
-
-        return dto;
-    }
-
-    private Map<String, Object> mapToResponseMap(Clients client) {
-        ClientResponseDTO dto = mapToResponseDTO(client);
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", dto.getId());
-        response.put("uuid", dto.getUuid());
-        response.put("name", dto.getName());
-        response.put("clientType", dto.getClientType());
-        response.put("description", dto.getDescription());
-        response.put("contactEmail", dto.getContactEmail());
-        response.put("contactPhone", dto.getContactPhone());
-        response.put("logoUrl", dto.getLogoUrl());     // https://preetinest.s3.../abc123.png
-        response.put("metaTitle", dto.getMetaTitle());
-        response.put("metaKeyword", dto.getMetaKeyword());
-        response.put("metaDescription", dto.getMetaDescription());
-        response.put("slug", dto.getSlug());
-        response.put("active", dto.isActive());
-        response.put("displayStatus", dto.isDisplayStatus());
-        response.put("showOnHome", dto.isShowOnHome());
-        response.put("createdAt", dto.getCreatedAt());
-        response.put("updatedAt", dto.getUpdatedAt());
-        response.put("createdById", dto.getCreatedById());
-        return response;
+    private User getAdminUser(Long userId) {
+        if (userId == null) return null;
+        return authorizationService.require(userId, Permission.MANAGE_CONTENT, "Only ADMIN can perform this action");
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,18 @@
 package com.preetinest.impl;
 
+import com.preetinest.catalog.SlugEntry;
+import com.preetinest.catalog.SlugRegistry;
+import com.preetinest.catalog.SlugType;
 import com.preetinest.dto.request.InquiryRequestDTO;
 import com.preetinest.dto.response.InquiryResponseDTO;
-import com.preetinest.entity.Blog;
-import com.preetinest.entity.Clients;
+import com.preetinest.dto.response.PageResponseDTO;
 import com.preetinest.entity.Inquiry;
-import com.preetinest.entity.Services;
 import com.preetinest.entity.User;
-import com.preetinest.repository.BlogRepository;
-import com.preetinest.repository.ClientRepository;
+import com.preetinest.paging.KeysetCursor;
+import com.preetinest.paging.KeysetPage;
 import com.preetinest.repository.InquiryRepository;
-import com.preetinest.repository.ServiceRepository;
-import com.preetinest.repository.UserRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
 import com.preetinest.service.InquiryService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,73 +20,45 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class InquiryServiceImpl implements InquiryService {
 
+    private static final Set<SlugType> ATTRIBUTED_TYPES = EnumSet.of(SlugType.SERVICE, SlugType.BLOG, SlugType.CLIENT);
+
     private final InquiryRepository inquiryRepository;
-    private final ServiceRepository serviceRepository;
-    private final BlogRepository blogRepository;
-    private final ClientRepository clientRepository;
-    private final UserRepository userRepository;
+    private final AuthorizationService authorizationService;
+    private final SlugRegistry slugRegistry;
 
     @Autowired
-    public InquiryServiceImpl(InquiryRepository inquiryRepository, ServiceRepository serviceRepository,
-                              BlogRepository blogRepository, ClientRepository clientRepository,
-                              UserRepository userRepository) {
+    public InquiryServiceImpl(InquiryRepository inquiryRepository, AuthorizationService authorizationService,
+                              SlugRegistry slugRegistry) {
         this.inquiryRepository = inquiryRepository;
-        this.serviceRepository = serviceRepository;
-        this.blogRepository = blogRepository;
-        this.clientRepository = clientRepository;
-        this.userRepository = userRepository;
+        this.authorizationService = authorizationService;
+        this.slugRegistry = slugRegistry;
     }
 
     @Override
-    public Map<String, Object> createInquiry(InquiryRequestDTO requestDTO) {
+    public InquiryResponseDTO createInquiry(InquiryRequestDTO requestDTO) {
         String slug = requestDTO.getSlug();
         String pageType = "GENERAL";  // Default for homepage/contact form
         String pageName = "Homepage"; // or "Contact Us", "General Inquiry" – as per your preference
 
         // Only try to resolve slug if it's present and not blank
         if (slug != null && !slug.trim().isEmpty()) {
-            // Check Service
-            Optional<Services> serviceOpt = serviceRepository.findBySlug(slug);
-            if (serviceOpt.isPresent()) {
-                Services service = serviceOpt.get();
-                if (service.getDeleteStatus() == 2 && service.isActive() && service.isDisplayStatus()) {
-                    pageType = "SERVICE";
-                    pageName = service.getName();
-                }
-            }
-
-            // Check Blog if not already matched
-            if ("GENERAL".equals(pageType)) {
-                Optional<Blog> blogOpt = blogRepository.findBySlug(slug);
-                if (blogOpt.isPresent()) {
-                    Blog blog = blogOpt.get();
-                    if (blog.getDeleteStatus() == 2 && blog.isActive() && blog.isDisplayStatus()) {
-                        pageType = "BLOG";
-                        pageName = blog.getTitle();
-                    }
-                }
-            }
-
-            // Check Client if still GENERAL
-            if ("GENERAL".equals(pageType)) {
-                Optional<Clients> clientOpt = clientRepository.findBySlug(slug);
-                if (clientOpt.isPresent()) {
-                    Clients client = clientOpt.get();
-                    if (client.getDeleteStatus() == 2 && client.isActive() && client.isDisplayStatus()) {
-                        pageType = "CLIENT";
-                        pageName = client.getName();
-                    }
-                }
+            // One lookup across services, blogs and clients, in that order
+            Optional<SlugEntry> page = slugRegistry.resolve(slug, ATTRIBUTED_TYPES);
+            if (page.isPresent()) {
+                pageType = page.get().getType().name();
+                pageName = page.get().getName();
             }
 
             // If slug was provided but nothing matched → still allow, but keep as GENERAL with warning?
@@ -115,37 +88,28 @@ public class InquiryServiceImpl implements InquiryService {
         inquiry.setDeleteStatus(2);
 
         Inquiry savedInquiry = inquiryRepository.save(inquiry);
-        return mapToResponseMap(savedInquiry);
+        return mapToResponseDTO(savedInquiry);
     }
     @Override
-    public Optional<Map<String, Object>> getInquiryById(Long id) {
-        return inquiryRepository.findById(id)
-                .filter(i -> i.getDeleteStatus() == 2 && i.isActive() && i.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<InquiryResponseDTO> getInquiryById(Long id) {
+        return inquiryRepository.findVisibleById(id)
+                .map(this::mapToResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getInquiryByUuid(String uuid) {
-        return inquiryRepository.findByUuid(uuid)
-                .filter(i -> i.getDeleteStatus() == 2 && i.isActive() && i.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<InquiryResponseDTO> getInquiryByUuid(String uuid) {
+        return inquiryRepository.findVisibleByUuid(uuid)
+                .map(this::mapToResponseDTO);
     }
 
     @Override
     public Map<String, Object> getAllActiveInquiries(Long userId, Pageable pageable) {
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN users can view inquiries");
-        }
-
+        requireInquiryViewer(userId);
 
         Page<Inquiry> inquiryPage = inquiryRepository.findAllActiveInquiries(pageable);
-        List<Map<String, Object>> inquiries = inquiryPage.getContent()
+        List<InquiryResponseDTO> inquiries = inquiryPage.getContent()
                 .stream()
-                .map(this::mapToResponseMap)
+                .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
 
         Map<String, Object> response = new HashMap<>();
@@ -159,18 +123,28 @@ public class InquiryServiceImpl implements InquiryService {
     }
 
     @Override
-    public Map<String, Object> updateInquiry(Long id, InquiryRequestDTO requestDTO, Long userId) {
+    public PageResponseDTO<InquiryResponseDTO> getActiveInquiryPage(Long userId, String cursor, Integer size, boolean includeTotal) {
+        requireInquiryViewer(userId);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetPage.size(size);
+        List<InquiryResponseDTO> rows = (after == null
+                ? inquiryRepository.findActiveInquiriesNewestFirst(KeysetPage.limit(pageSize))
+                : inquiryRepository.findActiveInquiriesBefore(after.getCreatedAt(), after.getId(), KeysetPage.limit(pageSize)))
+                .stream()
+                .map(this::mapToResponseDTO)
+                .collect(Collectors.toList());
+        return KeysetPage.fromRows(rows, pageSize, InquiryResponseDTO::getCreatedAt, InquiryResponseDTO::getId,
+                includeTotal ? inquiryRepository.countActiveInquiries() : null);
+    }
+
+    @Override
+    public InquiryResponseDTO updateInquiry(Long id, InquiryRequestDTO requestDTO, Long userId) {
         Inquiry inquiry = inquiryRepository.findById(id)
                 .filter(i -> i.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Inquiry not found with id: " + id));
 
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN users can update inquiries");
-        }
+        User user = authorizationService.require(userId, Permission.MANAGE_INQUIRIES, "Only ADMIN users can update inquiries");
 
         // Update fields (slug/pageType/pageName not updated, assuming fixed)
         inquiry.setName(requestDTO.getName());
@@ -183,7 +157,7 @@ public class InquiryServiceImpl implements InquiryService {
         inquiry.setCreatedBy(user);
 
         Inquiry updatedInquiry = inquiryRepository.save(inquiry);
-        return mapToResponseMap(updatedInquiry);
+        return mapToResponseDTO(updatedInquiry);
     }
 
     @Override
@@ -192,13 +166,7 @@ public class InquiryServiceImpl implements InquiryService {
                 .filter(i -> i.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Inquiry not found with id: " + id));
 
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN users can delete inquiries");
-        }
+        authorizationService.require(userId, Permission.MANAGE_INQUIRIES, "Only ADMIN users can delete inquiries");
 
         inquiry.setDeleteStatus(1);
         inquiry.setActive(false);
@@ -206,6 +174,10 @@ public class InquiryServiceImpl implements InquiryService {
         inquiryRepository.save(inquiry);
     }
 
+    private void requireInquiryViewer(Long userId) {
+        authorizationService.require(userId, Permission.MANAGE_INQUIRIES, "Only ADMIN users can view inquiries");
+    }
+
     private InquiryResponseDTO mapToResponseDTO(Inquiry inquiry) {
         InquiryResponseDTO dto = new InquiryResponseDTO();
         dto.setId(inquiry.getId());
@@ -224,24 +196,4 @@ public class InquiryServiceImpl implements InquiryService {
         dto.setCreatedById(inquiry.getCreatedBy() != null ? inquiry.getCreatedBy().getId() : null);
         return dto;
     }
-
-    private Map<String, Object> mapToResponseMap(Inquiry inquiry) {
-        InquiryResponseDTO dto = mapToResponseDTO(inquiry);
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", dto.getId());
-        response.put("uuid", dto.getUuid());
-        response.put("name", dto.getName());
-        response.put("location", dto.getLocation());
-        response.put("message", dto.getMessage());
-        response.put("email", dto.getEmail());
-        response.put("phone", dto.getPhone());
-        response.put("pageName", dto.getPageName());
-        response.put("pageType", dto.getPageType());
-        response.put("slug", dto.getSlug());
-        response.put("active", dto.isActive());
-        response.put("createdAt", dto.getCreatedAt());
-        response.put("updatedAt", dto.getUpdatedAt());
-        response.put("createdById", dto.getCreatedById());
-        return response;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.preetinest.impl;
+
+import com.preetinest.config.S3Service;
+import com.preetinest.dto.request.ImageUploadRequestDTO;
+import com.preetinest.dto.response.ImageUploadResponseDTO;
+import com.preetinest.media.PresignedUpload;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
+import com.preetinest.service.MediaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MediaServiceImpl implements MediaService {
+
+    private final S3Service s3Service;
+    private final AuthorizationService authorizationService;
+
+    @Autowired
+    public MediaServiceImpl(S3Service s3Service, AuthorizationService authorizationService) {
+        this.s3Service = s3Service;
+        this.authorizationService = authorizationService;
+    }
+
+    @Override
+    public ImageUploadResponseDTO createImageUpload(ImageUploadRequestDTO requestDTO, Long userId) {
+        if (userId != null) {
+            authorizationService.require(userId, Permission.MANAGE_CONTENT, "Only ADMIN can perform this action");
+        }
+        PresignedUpload upload = s3Service.presignImageUpload(requestDTO.getContentType());
+        return new ImageUploadResponseDTO(upload.getKey(), upload.getUrl(), "PUT", upload.getHeaders(), upload.getExpiresAt());
+    }
+}
@@ -1,20 +1,29 @@
 package com.preetinest.impl;
 
+import com.preetinest.catalog.CatalogSnapshot;
+import com.preetinest.catalog.PreparedResponse;
+import com.preetinest.catalog.PreparedResponseCache;
+import com.preetinest.dto.response.BlogResponseDTO;
+import com.preetinest.dto.response.ClientResponseDTO;
 import com.preetinest.dto.response.MenuResponseDTO;
+import com.preetinest.dto.response.ServiceResponseDTO;
 import com.preetinest.entity.Blog;
 import com.preetinest.entity.Clients;
 import com.preetinest.entity.Services;
 import com.preetinest.repository.BlogRepository;
 import com.preetinest.repository.ClientRepository;
 import com.preetinest.repository.ServiceRepository;
+import com.preetinest.service.CatalogSnapshotService;
 import com.preetinest.service.MenuService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,20 +32,38 @@ public class MenuServiceImpl implements MenuService {
     private final ServiceRepository serviceRepository;
     private final BlogRepository blogRepository;
     private final ClientRepository clientRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final PreparedResponseCache preparedResponseCache;
 
     @Autowired
     public MenuServiceImpl(ServiceRepository serviceRepository, BlogRepository blogRepository,
-                           ClientRepository clientRepository) {
+                           ClientRepository clientRepository, CatalogSnapshotService catalogSnapshotService,
+                           PreparedResponseCache preparedResponseCache) {
         this.serviceRepository = serviceRepository;
         this.blogRepository = blogRepository;
         this.clientRepository = clientRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.preparedResponseCache = preparedResponseCache;
     }
 
     @Override
     public Map<String, Object> fetchAllMenuItems() {
-        MenuResponseDTO responseDTO = new MenuResponseDTO();
+        // Every list is in id order, whichever order the pages that share these queries use
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return buildMenu(
+                    snapshot.get().getMenuServices().stream().map(this::mapServiceToResponse).collect(Collectors.toList()),
+                    snapshot.get().getBlogs().stream()
+                            .sorted(Comparator.comparing(BlogResponseDTO::getId))
+                            .map(this::mapBlogToResponse)
+                            .collect(Collectors.toList()),
+                    snapshot.get().getClients().stream()
+                            .sorted(Comparator.comparing(ClientResponseDTO::getId))
+                            .map(this::mapClientToResponse)
+                            .collect(Collectors.toList()));
+        }
 
-        // Fetch active services
+        // Fetch active services, displayed or not
         List<Map<String, Object>> serviceItems = serviceRepository.findAllActiveServices()
                 .stream()
                 .map(this::mapServiceToResponse)
@@ -45,15 +72,34 @@ public class MenuServiceImpl implements MenuService {
         // Fetch active blogs
         List<Map<String, Object>> blogItems = blogRepository.findAllActiveBlogs()
                 .stream()
+                .sorted(Comparator.comparing(Blog::getId))
                 .map(this::mapBlogToResponse)
                 .collect(Collectors.toList());
 
         // Fetch active clients
         List<Map<String, Object>> clientItems = clientRepository.findAllActiveClients()
                 .stream()
+                .sorted(Comparator.comparing(Clients::getId))
                 .map(this::mapClientToResponse)
                 .collect(Collectors.toList());
 
+        return buildMenu(serviceItems, blogItems, clientItems);
+    }
+
+    @Override
+    public PreparedResponse fetchPreparedMenuItems() {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return preparedResponseCache.get(snapshot.get(), "menu", () -> Optional.of(fetchAllMenuItems())).orElseThrow();
+        }
+        return preparedResponseCache.prepare(fetchAllMenuItems());
+    }
+
+    private Map<String, Object> buildMenu(List<Map<String, Object>> serviceItems,
+                                          List<Map<String, Object>> blogItems,
+                                          List<Map<String, Object>> clientItems) {
+        MenuResponseDTO responseDTO = new MenuResponseDTO();
+
         // Check if any items are present
         if (serviceItems.isEmpty() && blogItems.isEmpty() && clientItems.isEmpty()) {
             throw new EntityNotFoundException("No menu items found");
@@ -95,5 +141,29 @@ public class MenuServiceImpl implements MenuService {
         return item;
     }
 
+    private Map<String, Object> mapServiceToResponse(ServiceResponseDTO service) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", service.getId());
+        item.put("name", service.getName());
+        item.put("slug", service.getSlug());
+        return item;
+    }
+
+    private Map<String, Object> mapBlogToResponse(BlogResponseDTO blog) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", blog.getId());
+        item.put("title", blog.getTitle());
+        item.put("slug", blog.getSlug());
+        return item;
+    }
+
+    private Map<String, Object> mapClientToResponse(ClientResponseDTO client) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", client.getId());
+        item.put("name", client.getName());
+        item.put("slug", client.getSlug());
+        return item;
+    }
+
 
 }
\ No newline at end of file
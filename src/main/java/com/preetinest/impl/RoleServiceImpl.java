@@ -1,14 +1,14 @@
 package com.preetinest.impl;
 
+import com.preetinest.dto.response.RoleResponseDTO;
 import com.preetinest.entity.Role;
 import com.preetinest.repository.RoleRepository;
+import com.preetinest.security.AuthorizationService;
 import com.preetinest.service.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,8 +18,11 @@ public class RoleServiceImpl implements RoleService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
     @Override
-    public List<Map<String, Object>> getAllRoles() {
+    public List<RoleResponseDTO> getAllRoles() {
         return roleRepository.findAll().stream()
                 .filter(role -> role.getDeleteStatus() == 2)
                 .map(this::mapRoleToResponse)
@@ -27,14 +30,14 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    public Optional<Map<String, Object>> getRoleByUuid(String uuid) {
+    public Optional<RoleResponseDTO> getRoleByUuid(String uuid) {
         return roleRepository.findByUuid(uuid)
                 .filter(role -> role.getDeleteStatus() == 2)
                 .map(this::mapRoleToResponse);
     }
 
     @Override
-    public Map<String, Object> createRole(String name) {
+    public RoleResponseDTO createRole(String name) {
         Role role = new Role();
         role.setName(name);
         role.setDeleteStatus(2);
@@ -45,7 +48,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    public Map<String, Object> updateRole(String uuid, String name) {
+    public RoleResponseDTO updateRole(String uuid, String name) {
         Optional<Role> roleOptional = roleRepository.findByUuid(uuid);
         if (roleOptional.isEmpty() || roleOptional.get().getDeleteStatus() == 1) {
             throw new RuntimeException("Role not found with UUID: " + uuid);
@@ -53,6 +56,7 @@ public class RoleServiceImpl implements RoleService {
         Role role = roleOptional.get();
         role.setName(name);
         Role updatedRole = roleRepository.save(role);
+        authorizationService.evictRole(updatedRole.getId());
         return mapRoleToResponse(updatedRole);
     }
 
@@ -65,17 +69,18 @@ public class RoleServiceImpl implements RoleService {
         Role role = roleOptional.get();
         role.setDeleteStatus(1);
         roleRepository.save(role);
+        authorizationService.evictRole(role.getId());
     }
 
-    private Map<String, Object> mapRoleToResponse(Role role) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", role.getId());
-        response.put("name", role.getName());
-        response.put("uuid", role.getUuid());
-        response.put("isEnable", role.isEnable());
-        response.put("deleteStatus", role.getDeleteStatus());
-        response.put("createdAt", role.getCreatedAt());
-        response.put("updatedAt", role.getUpdatedAt());
-        return response;
+    private RoleResponseDTO mapRoleToResponse(Role role) {
+        RoleResponseDTO dto = new RoleResponseDTO();
+        dto.setId(role.getId());
+        dto.setName(role.getName());
+        dto.setUuid(role.getUuid());
+        dto.setEnable(role.isEnable());
+        dto.setDeleteStatus(role.getDeleteStatus());
+        dto.setCreatedAt(role.getCreatedAt());
+        dto.setUpdatedAt(role.getUpdatedAt());
+        return dto;
     }
-}
\ No newline at end of file
+}
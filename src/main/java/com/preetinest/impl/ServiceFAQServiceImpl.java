@@ -7,15 +7,15 @@ import com.preetinest.entity.Services;
 import com.preetinest.entity.User;
 import com.preetinest.repository.ServiceFAQRepository;
 import com.preetinest.repository.ServiceRepository;
-import com.preetinest.repository.UserRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
+import com.preetinest.service.CatalogSnapshotService;
 import com.preetinest.service.ServiceFAQService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -25,31 +25,31 @@ public class ServiceFAQServiceImpl implements ServiceFAQService {
 
     private final ServiceFAQRepository serviceFAQRepository;
     private final ServiceRepository serviceRepository;
-    private final UserRepository userRepository;
+    private final AuthorizationService authorizationService;
+    private final CatalogMapper catalogMapper;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @Autowired
     public ServiceFAQServiceImpl(ServiceFAQRepository serviceFAQRepository,
                                  ServiceRepository serviceRepository,
-                                 UserRepository userRepository) {
+                                 AuthorizationService authorizationService,
+                                 CatalogMapper catalogMapper,
+                                 CatalogSnapshotService catalogSnapshotService) {
         this.serviceFAQRepository = serviceFAQRepository;
         this.serviceRepository = serviceRepository;
-        this.userRepository = userRepository;
+        this.authorizationService = authorizationService;
+        this.catalogMapper = catalogMapper;
+        this.catalogSnapshotService = catalogSnapshotService;
     }
 
     @Override
-    public Map<String, Object> createServiceFAQ(ServiceFAQRequestDTO requestDTO, Long userId) {
+    public ServiceFAQResponseDTO createServiceFAQ(ServiceFAQRequestDTO requestDTO, Long userId) {
         User createdBy = null;
         if (userId != null) {
-            createdBy = userRepository.findById(userId)
-                    .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-            if (!"ADMIN".equalsIgnoreCase(createdBy.getRole().getName())) {
-                throw new IllegalArgumentException("Only ADMIN users can create service FAQs");
-            }
+            createdBy = authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can create service FAQs");
         }
 
-        Services service = serviceRepository.findById(requestDTO.getServiceId())
-                .filter(s -> s.getDeleteStatus() == 2 && s.isActive() && s.isDisplayStatus())
+        Services service = serviceRepository.findVisibleById(requestDTO.getServiceId())
                 .orElseThrow(() -> new EntityNotFoundException("Service not found with id: " + requestDTO.getServiceId()));
 
         ServiceFAQ serviceFAQ = new ServiceFAQ();
@@ -64,50 +64,42 @@ public class ServiceFAQServiceImpl implements ServiceFAQService {
         serviceFAQ.setCreatedBy(createdBy);
 
         ServiceFAQ savedServiceFAQ = serviceFAQRepository.save(serviceFAQ);
-        return mapToResponseMap(savedServiceFAQ);
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toServiceFAQResponseDTO(savedServiceFAQ);
     }
 
     @Override
-    public Optional<Map<String, Object>> getServiceFAQById(Long id) {
-        return serviceFAQRepository.findById(id)
-                .filter(sf -> sf.getDeleteStatus() == 2 && sf.isActive() && sf.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<ServiceFAQResponseDTO> getServiceFAQById(Long id) {
+        return serviceFAQRepository.findVisibleById(id)
+                .map(catalogMapper::toServiceFAQResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getServiceFAQByUuid(String uuid) {
-        return serviceFAQRepository.findByUuid(uuid)
-                .filter(sf -> sf.getDeleteStatus() == 2 && sf.isActive() && sf.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<ServiceFAQResponseDTO> getServiceFAQByUuid(String uuid) {
+        return serviceFAQRepository.findVisibleByUuid(uuid)
+                .map(catalogMapper::toServiceFAQResponseDTO);
     }
 
     @Override
-    public List<Map<String, Object>> getServiceFAQsByServiceId(Long serviceId) {
-        return serviceFAQRepository.findByServiceId(serviceId)
+    public List<ServiceFAQResponseDTO> getServiceFAQsByServiceId(Long serviceId) {
+        return serviceFAQRepository.findVisibleByServiceId(serviceId)
                 .stream()
-                .filter(sf -> sf.getDeleteStatus() == 2 && sf.isActive() && sf.isDisplayStatus())
-                .map(this::mapToResponseMap)
+                .map(catalogMapper::toServiceFAQResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Map<String, Object> updateServiceFAQ(Long id, ServiceFAQRequestDTO requestDTO, Long userId) {
+    public ServiceFAQResponseDTO updateServiceFAQ(Long id, ServiceFAQRequestDTO requestDTO, Long userId) {
         ServiceFAQ serviceFAQ = serviceFAQRepository.findById(id)
                 .filter(sf -> sf.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Service FAQ not found with id: " + id));
 
         User createdBy = null;
         if (userId != null) {
-            createdBy = userRepository.findById(userId)
-                    .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-            if (!"ADMIN".equalsIgnoreCase(createdBy.getRole().getName())) {
-                throw new IllegalArgumentException("Only ADMIN users can update service FAQs");
-            }
+            createdBy = authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can update service FAQs");
         }
 
-        Services service = serviceRepository.findById(requestDTO.getServiceId())
-                .filter(s -> s.getDeleteStatus() == 2 && s.isActive() && s.isDisplayStatus())
+        Services service = serviceRepository.findVisibleById(requestDTO.getServiceId())
                 .orElseThrow(() -> new EntityNotFoundException("Service not found with id: " + requestDTO.getServiceId()));
 
         serviceFAQ.setQuestion(requestDTO.getQuestion());
@@ -119,7 +111,8 @@ public class ServiceFAQServiceImpl implements ServiceFAQService {
         serviceFAQ.setCreatedBy(createdBy);
 
         ServiceFAQ updatedServiceFAQ = serviceFAQRepository.save(serviceFAQ);
-        return mapToResponseMap(updatedServiceFAQ);
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toServiceFAQResponseDTO(updatedServiceFAQ);
     }
 
     @Override
@@ -128,49 +121,12 @@ public class ServiceFAQServiceImpl implements ServiceFAQService {
                 .filter(sf -> sf.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Service FAQ not found with id: " + id));
 
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN users can delete service FAQs");
-        }
+        authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can delete service FAQs");
 
         serviceFAQ.setDeleteStatus(1);
         serviceFAQ.setActive(false);
         serviceFAQ.setDisplayStatus(false);
         serviceFAQRepository.save(serviceFAQ);
+        catalogSnapshotService.requestRefresh();
     }
-
-    private ServiceFAQResponseDTO mapToResponseDTO(ServiceFAQ serviceFAQ) {
-        ServiceFAQResponseDTO dto = new ServiceFAQResponseDTO();
-        dto.setId(serviceFAQ.getId());
-        dto.setUuid(serviceFAQ.getUuid());
-        dto.setQuestion(serviceFAQ.getQuestion());
-        dto.setAnswer(serviceFAQ.getAnswer());
-        dto.setDisplayOrder(serviceFAQ.getDisplayOrder());
-        dto.setServiceId(serviceFAQ.getService().getId());
-        dto.setActive(serviceFAQ.isActive());
-        dto.setDisplayStatus(serviceFAQ.isDisplayStatus());
-        dto.setCreatedAt(serviceFAQ.getCreatedAt());
-        dto.setUpdatedAt(serviceFAQ.getUpdatedAt());
-        dto.setCreatedById(serviceFAQ.getCreatedBy() != null ? serviceFAQ.getCreatedBy().getId() : null);
-        return dto;
-    }
-
-    private Map<String, Object> mapToResponseMap(ServiceFAQ serviceFAQ) {
-        ServiceFAQResponseDTO dto = mapToResponseDTO(serviceFAQ);
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", dto.getId());
-        response.put("uuid", dto.getUuid());
-        response.put("question", dto.getQuestion());
-        response.put("answer", dto.getAnswer());
-        response.put("displayOrder", dto.getDisplayOrder());
-        response.put("serviceId", dto.getServiceId());
-        response.put("active", dto.isActive());
-        response.put("displayStatus", dto.isDisplayStatus());
-        response.put("createdAt", dto.getCreatedAt());
-        response.put("updatedAt", dto.getUpdatedAt());
-        response.put("createdById", dto.getCreatedById());
-        return response;
-    }
-}
\ No newline at end of file
+}
@@ -1,11 +1,21 @@
 package com.preetinest.impl;
 
-import com.preetinest.config.S3Service;
+import com.preetinest.catalog.CatalogSnapshot;
+import com.preetinest.catalog.PreparedResponse;
+import com.preetinest.catalog.PreparedResponseCache;
+import com.preetinest.catalog.SlugLookupGuard;
+import com.preetinest.catalog.SlugRegistry;
+import com.preetinest.catalog.SlugType;
 import com.preetinest.dto.ServiceFullResponseDTO;
 import com.preetinest.dto.ServiceRequestDTO;
 import com.preetinest.dto.response.*;
 import com.preetinest.entity.*;
+import com.preetinest.paging.KeysetCursor;
+import com.preetinest.paging.KeysetPage;
 import com.preetinest.repository.*;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
+import com.preetinest.service.CatalogSnapshotService;
 import com.preetinest.service.ServiceService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,30 +29,42 @@ public class ServiceServiceImpl implements ServiceService {
 
     private final ServiceRepository serviceRepository;
     private final SubCategoryRepository subCategoryRepository;
-    private final UserRepository userRepository;
+    private final AuthorizationService authorizationService;
     private final ServiceDetailRepository serviceDetailRepository;
     private final ServiceFAQRepository serviceFAQRepository;
-
-    @Autowired
-    private S3Service s3Service;
+    private final CatalogMapper catalogMapper;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final PreparedResponseCache preparedResponseCache;
+    private final SlugRegistry slugRegistry;
+    private final SlugLookupGuard slugLookupGuard;
 
     @Autowired
     public ServiceServiceImpl(
             ServiceRepository serviceRepository,
             SubCategoryRepository subCategoryRepository,
-            UserRepository userRepository,
+            AuthorizationService authorizationService,
             ServiceDetailRepository serviceDetailRepository,
-            ServiceFAQRepository serviceFAQRepository) {
+            ServiceFAQRepository serviceFAQRepository,
+            CatalogMapper catalogMapper,
+            CatalogSnapshotService catalogSnapshotService,
+            PreparedResponseCache preparedResponseCache,
+            SlugRegistry slugRegistry,
+            SlugLookupGuard slugLookupGuard) {
         this.serviceRepository = serviceRepository;
         this.subCategoryRepository = subCategoryRepository;
-        this.userRepository = userRepository;
+        this.authorizationService = authorizationService;
         this.serviceDetailRepository = serviceDetailRepository;
         this.serviceFAQRepository = serviceFAQRepository;
+        this.catalogMapper = catalogMapper;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.preparedResponseCache = preparedResponseCache;
+        this.slugRegistry = slugRegistry;
+        this.slugLookupGuard = slugLookupGuard;
     }
 
     @Override
-    public Map<String, Object> createService(ServiceRequestDTO requestDTO, Long userId) {
-        validateSlug(requestDTO.getSlug(), null);
+    public ServiceResponseDTO createService(ServiceRequestDTO requestDTO, Long userId) {
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.SERVICE, null);
         User createdBy = getAdminUser(userId);
 
         SubCategory subCategory = subCategoryRepository.findById(requestDTO.getSubCategoryId())
@@ -67,16 +89,19 @@ public class ServiceServiceImpl implements ServiceService {
 
 
         Services saved = serviceRepository.save(service);
-        return mapToResponseMap(saved);
+        slugRegistry.register(SlugType.SERVICE, saved.getId(), saved.getSlug(), saved.getName(),
+                saved.isActive() && saved.isDisplayStatus());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toServiceResponseDTO(saved);
     }
 
     @Override
-    public Map<String, Object> updateService(Long id, ServiceRequestDTO requestDTO, Long userId) {
+    public ServiceResponseDTO updateService(Long id, ServiceRequestDTO requestDTO, Long userId) {
         Services service = serviceRepository.findById(id)
                 .filter(s -> s.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Service not found"));
 
-        validateSlug(requestDTO.getSlug(), id);
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.SERVICE, id);
         getAdminUser(userId);
 
         SubCategory subCategory = subCategoryRepository.findById(requestDTO.getSubCategoryId())
@@ -97,107 +122,126 @@ public class ServiceServiceImpl implements ServiceService {
 
 
         Services updated = serviceRepository.save(service);
-        return mapToResponseMap(updated);
+        slugRegistry.register(SlugType.SERVICE, updated.getId(), updated.getSlug(), updated.getName(),
+                updated.isActive() && updated.isDisplayStatus());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toServiceResponseDTO(updated);
     }
 
     @Override
-    public Optional<Map<String, Object>> getServiceById(Long id) {
-        return serviceRepository.findById(id)
-                .filter(s -> s.getDeleteStatus() == 2 && s.isActive() && s.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<ServiceResponseDTO> getServiceById(Long id) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findServiceById(id);
+        }
+        return serviceRepository.findVisibleById(id)
+                .map(catalogMapper::toServiceResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getServiceByUuid(String uuid) {
-        return serviceRepository.findByUuid(uuid)
-                .filter(s -> s.getDeleteStatus() == 2 && s.isActive() && s.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<ServiceResponseDTO> getServiceByUuid(String uuid) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findServiceByUuid(uuid);
+        }
+        return serviceRepository.findVisibleByUuid(uuid)
+                .map(catalogMapper::toServiceResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getServiceBySlug(String slug) {
-        return serviceRepository.findBySlug(slug)
-                .filter(s -> s.getDeleteStatus() == 2 && s.isActive() && s.isDisplayStatus())
-                .map(this::mapToResponseMap);
+    public Optional<ServiceResponseDTO> getServiceBySlug(String slug) {
+        return slugLookupGuard.lookup(SlugType.SERVICE, slug, () -> loadServiceBySlug(slug));
+    }
+
+    private Optional<ServiceResponseDTO> loadServiceBySlug(String slug) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findServiceBySlug(slug);
+        }
+        return serviceRepository.findVisibleBySlug(slug)
+                .map(catalogMapper::toServiceResponseDTO);
+    }
+
+    @Override
+    public List<ServiceResponseDTO> getAllActiveServices() {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().getServices();
+        }
+        return serviceRepository.findAllVisibleServices()
+                .stream()
+                .map(catalogMapper::toServiceResponseDTO)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<Map<String, Object>> getAllActiveServices() {
-        return serviceRepository.findAllActiveServices()
+    public PageResponseDTO<ServiceResponseDTO> getActiveServicePage(String cursor, Integer size, boolean includeTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetPage.size(size);
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return KeysetPage.slice(snapshot.get().getServices(), after, pageSize,
+                    ServiceResponseDTO::getCreatedAt, ServiceResponseDTO::getId, includeTotal);
+        }
+        List<ServiceResponseDTO> rows = (after == null
+                ? serviceRepository.findVisibleServicesNewestFirst(KeysetPage.limit(pageSize))
+                : serviceRepository.findVisibleServicesBefore(after.getCreatedAt(), after.getId(), KeysetPage.limit(pageSize)))
                 .stream()
-                .filter(s -> s.isActive() && s.isDisplayStatus())
-                .map(this::mapToResponseMap)
+                .map(catalogMapper::toServiceResponseDTO)
                 .collect(Collectors.toList());
+        return KeysetPage.fromRows(rows, pageSize, ServiceResponseDTO::getCreatedAt, ServiceResponseDTO::getId,
+                includeTotal ? serviceRepository.countVisibleServices() : null);
     }
 
-    // FIXED: This method was missing → now implemented
     @Override
-    public Optional<Map<String, Object>> getServiceWithDetailsById(Long id) {
-        Optional<Services> serviceOpt = serviceRepository.findById(id)
-                .filter(s -> s.getDeleteStatus() == 2 && s.isActive() && s.isDisplayStatus());
+    public Optional<ServiceResponseDTO> getServiceWithDetailsById(Long id) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findServiceById(id)
+                    .map(dto -> catalogMapper.withServiceDetails(dto, snapshot.get().getServiceDetails(id)));
+        }
+
+        Optional<Services> serviceOpt = serviceRepository.findVisibleById(id);
 
         if (serviceOpt.isEmpty()) {
             return Optional.empty();
         }
 
-        Services service = serviceOpt.get();
-
-        List<ServiceDetailResponseDTO> details = serviceDetailRepository.findByServiceId(id)
+        List<ServiceDetailResponseDTO> details = serviceDetailRepository.findVisibleByServiceId(id)
                 .stream()
-                .filter(d -> d.getDeleteStatus() == 2 && d.isActive() && d.isDisplayStatus())
-                .map(this::mapToServiceDetailResponseDTO)
+                .map(catalogMapper::toServiceDetailResponseDTO)
                 .collect(Collectors.toList());
 
-        ServiceResponseDTO dto = mapToServiceResponseDTO(service);
+        ServiceResponseDTO dto = catalogMapper.toServiceResponseDTO(serviceOpt.get());
         dto.setServiceDetails(details);
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", dto.getId());
-        response.put("uuid", dto.getUuid());
-        response.put("name", dto.getName());
-        response.put("description", dto.getDescription());
-        response.put("subCategoryId", dto.getSubCategoryId());
-        response.put("subCategoryName", dto.getSubCategoryName());
-        response.put("categoryId", dto.getCategoryId());
-        response.put("categoryName", dto.getCategoryName());
-        response.put("iconUrl", dto.getIconUrl());
-        response.put("image", dto.getImage());
-        response.put("metaTitle", dto.getMetaTitle());
-        response.put("metaKeyword", dto.getMetaKeyword());
-        response.put("metaDescription", dto.getMetaDescription());
-        response.put("slug", dto.getSlug());
-        response.put("active", dto.isActive());
-        response.put("displayStatus", dto.isDisplayStatus());
-        response.put("showOnHome", dto.isShowOnHome());
-        response.put("createdAt", dto.getCreatedAt());
-        response.put("updatedAt", dto.getUpdatedAt());
-        response.put("createdById", dto.getCreatedById());
-        response.put("serviceDetails", dto.getServiceDetails());
-
-        return Optional.of(response);
+        return Optional.of(dto);
     }
 
     @Override
     public Optional<ServiceFullResponseDTO> getFullServiceBySlug(String slug) {
-        Optional<Services> opt = serviceRepository.findBySlug(slug)
-                .filter(s -> s.getDeleteStatus() == 2 && s.isActive() && s.isDisplayStatus());
+        return slugLookupGuard.lookup(SlugType.SERVICE, slug, () -> loadFullServiceBySlug(slug));
+    }
+
+    private Optional<ServiceFullResponseDTO> loadFullServiceBySlug(String slug) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findServiceBySlug(slug).map(dto -> fullService(snapshot.get(), dto));
+        }
+
+        Optional<Services> opt = serviceRepository.findVisibleBySlug(slug);
         if (opt.isEmpty()) return Optional.empty();
 
         Services service = opt.get();
-        ServiceResponseDTO dto = mapToServiceResponseDTO(service);
+        ServiceResponseDTO dto = catalogMapper.toServiceResponseDTO(service);
 
-        List<ServiceDetailResponseDTO> details = serviceDetailRepository.findByServiceId(service.getId())
+        List<ServiceDetailResponseDTO> details = serviceDetailRepository.findVisibleByServiceId(service.getId())
                 .stream()
-                .filter(d -> d.getDeleteStatus() == 2 && d.isActive() && d.isDisplayStatus())
-                .sorted(Comparator.comparingInt(ServiceDetail::getDisplayOrder))
-                .map(this::mapToServiceDetailResponseDTO)
+                .map(catalogMapper::toServiceDetailResponseDTO)
                 .collect(Collectors.toList());
 
-        List<ServiceFAQResponseDTO> faqs = serviceFAQRepository.findByServiceId(service.getId())
+        List<ServiceFAQResponseDTO> faqs = serviceFAQRepository.findVisibleByServiceId(service.getId())
                 .stream()
-                .filter(f -> f.getDeleteStatus() == 2 && f.isActive() && f.isDisplayStatus())
-                .sorted(Comparator.comparingInt(ServiceFAQ::getDisplayOrder))
-                .map(this::mapToServiceFAQResponseDTO)
+                .map(catalogMapper::toServiceFAQResponseDTO)
                 .collect(Collectors.toList());
 
         dto.setServiceDetails(details);
@@ -209,6 +253,20 @@ public class ServiceServiceImpl implements ServiceService {
         return Optional.of(response);
     }
 
+    @Override
+    public Optional<PreparedResponse> getPreparedFullServiceBySlug(String slug) {
+        return slugLookupGuard.lookup(SlugType.SERVICE, slug, () -> {
+            Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+            if (snapshot.isPresent()) {
+                // Keyed by id: slugs resolve regardless of case, and every spelling shares one body
+                return snapshot.get().findServiceBySlug(slug).flatMap(service ->
+                        preparedResponseCache.get(snapshot.get(), "service-full:" + service.getId(),
+                                () -> Optional.of(fullService(snapshot.get(), service))));
+            }
+            return loadFullServiceBySlug(slug).map(preparedResponseCache::prepare);
+        });
+    }
+
     @Override
     public void softDeleteService(Long id, Long userId) {
         Services service = serviceRepository.findById(id)
@@ -220,112 +278,22 @@ public class ServiceServiceImpl implements ServiceService {
         service.setDisplayStatus(false);
         service.setShowOnHome(false);
         serviceRepository.save(service);
+        slugRegistry.remove(SlugType.SERVICE, id);
+        catalogSnapshotService.requestRefresh();
     }
 
     // ====================== HELPERS ======================
 
-    private User getAdminUser(Long userId) {
-        if (userId == null) return null;
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN can perform this action");
-        }
-        return user;
-    }
-
-    private void validateSlug(String slug, Long excludeId) {
-        serviceRepository.findBySlug(slug).ifPresent(existing -> {
-            if (existing.getDeleteStatus() == 2 && (excludeId == null || !existing.getId().equals(excludeId))) {
-                throw new IllegalArgumentException("Slug '" + slug + "' already exists");
-            }
-        });
-    }
-
-    // ====================== MAPPERS (FULL S3 URLS) ======================
-
-    private ServiceResponseDTO mapToServiceResponseDTO(Services service) {
-        ServiceResponseDTO dto = new ServiceResponseDTO();
-        dto.setId(service.getId());
-        dto.setUuid(service.getUuid());
-        dto.setName(service.getName());
-        dto.setDescription(service.getDescription());
-        dto.setSubCategoryId(service.getSubCategory().getId());
-        dto.setSubCategoryName(service.getSubCategory().getName());
-        dto.setCategoryId(service.getSubCategory().getCategory().getId());
-        dto.setCategoryName(service.getSubCategory().getCategory().getName());
-
-        dto.setIconUrl(s3Service.getFullUrl(service.getIconUrl()));
-        dto.setImage(s3Service.getFullUrl(service.getImage()));
-
-        dto.setMetaTitle(service.getMetaTitle());
-        dto.setMetaKeyword(service.getMetaKeyword());
-        dto.setMetaDescription(service.getMetaDescription());
-        dto.setSlug(service.getSlug());
-        dto.setActive(service.isActive());
-        dto.setDisplayStatus(service.isDisplayStatus());
-        dto.setShowOnHome(service.isShowOnHome());
-        dto.setCreatedAt(service.getCreatedAt());
-        dto.setUpdatedAt(service.getUpdatedAt());
-        dto.setCreatedById(service.getCreatedBy() != null ? service.getCreatedBy().getId() : null);
-        return dto;
+    private ServiceFullResponseDTO fullService(CatalogSnapshot snapshot, ServiceResponseDTO dto) {
+        List<ServiceDetailResponseDTO> details = snapshot.getServiceDetails(dto.getId());
+        return new ServiceFullResponseDTO(
+                catalogMapper.withServiceDetails(dto, details),
+                details,
+                snapshot.getServiceFAQs(dto.getId()));
     }
 
-    private Map<String, Object> mapToResponseMap(Services service) {
-        ServiceResponseDTO dto = mapToServiceResponseDTO(service);
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", dto.getId());
-        map.put("uuid", dto.getUuid());
-        map.put("name", dto.getName());
-        map.put("description", dto.getDescription());
-        map.put("subCategoryId", dto.getSubCategoryId());
-        map.put("subCategoryName", dto.getSubCategoryName());
-        map.put("categoryId", dto.getCategoryId());
-        map.put("categoryName", dto.getCategoryName());
-        map.put("iconUrl", dto.getIconUrl());
-        map.put("image", dto.getImage());
-        map.put("metaTitle", dto.getMetaTitle());
-        map.put("metaKeyword", dto.getMetaKeyword());
-        map.put("metaDescription", dto.getMetaDescription());
-        map.put("slug", dto.getSlug());
-        map.put("active", dto.isActive());
-        map.put("displayStatus", dto.isDisplayStatus());
-        map.put("showOnHome", dto.isShowOnHome());
-        map.put("createdAt", dto.getCreatedAt());
-        map.put("updatedAt", dto.getUpdatedAt());
-        map.put("createdById", dto.getCreatedById());
-        return map;
-    }
-
-    private ServiceDetailResponseDTO mapToServiceDetailResponseDTO(ServiceDetail detail) {
-        ServiceDetailResponseDTO dto = new ServiceDetailResponseDTO();
-        dto.setId(detail.getId());
-        dto.setUuid(detail.getUuid());
-        dto.setHeading(detail.getHeading());
-        dto.setDetails(detail.getDetails());
-        dto.setDisplayOrder(detail.getDisplayOrder());
-        dto.setServiceId(detail.getService().getId());
-        dto.setActive(detail.isActive());
-        dto.setCreatedAt(detail.getCreatedAt());
-        dto.setUpdatedAt(detail.getUpdatedAt());
-        dto.setCreatedById(detail.getCreatedBy() != null ? detail.getCreatedBy().getId() : null);
-        return dto;
-    }
-
-    private ServiceFAQResponseDTO mapToServiceFAQResponseDTO(ServiceFAQ faq) {
-        ServiceFAQResponseDTO dto = new ServiceFAQResponseDTO();
-        dto.setId(faq.getId());
-        dto.setUuid(faq.getUuid());
-        dto.setQuestion(faq.getQuestion());
-        dto.setAnswer(faq.getAnswer());
-        dto.setDisplayOrder(faq.getDisplayOrder());
-        dto.setServiceId(faq.getService().getId());
-        dto.setActive(faq.isActive());
-        dto.setDisplayStatus(faq.isDisplayStatus());
-        dto.setCreatedAt(faq.getCreatedAt());
-        dto.setUpdatedAt(faq.getUpdatedAt());
-        dto.setCreatedById(faq.getCreatedBy() != null ? faq.getCreatedBy().getId() : null);
-        return dto;
+    private User getAdminUser(Long userId) {
+        if (userId == null) return null;
+        return authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN can perform this action");
     }
-}
\ No newline at end of file
+}
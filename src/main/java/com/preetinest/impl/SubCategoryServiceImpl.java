@@ -1,20 +1,27 @@
 package com.preetinest.impl;
 
+import com.preetinest.catalog.CatalogSnapshot;
+import com.preetinest.catalog.SlugRegistry;
+import com.preetinest.catalog.SlugType;
 import com.preetinest.dto.SubCategoryRequestDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+import com.preetinest.dto.response.SubCategoryResponseDTO;
 import com.preetinest.entity.Category;
 import com.preetinest.entity.SubCategory;
 import com.preetinest.entity.User;
+import com.preetinest.paging.KeysetCursor;
+import com.preetinest.paging.KeysetPage;
 import com.preetinest.repository.CategoryRepository;
 import com.preetinest.repository.SubCategoryRepository;
-import com.preetinest.repository.UserRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
+import com.preetinest.service.CatalogSnapshotService;
 import com.preetinest.service.SubCategoryService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -24,32 +31,33 @@ public class SubCategoryServiceImpl implements SubCategoryService {
 
     private final SubCategoryRepository subCategoryRepository;
     private final CategoryRepository categoryRepository;
-    private final UserRepository userRepository;
+    private final AuthorizationService authorizationService;
+    private final CatalogMapper catalogMapper;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final SlugRegistry slugRegistry;
 
     @Autowired
     public SubCategoryServiceImpl(SubCategoryRepository subCategoryRepository,
                                   CategoryRepository categoryRepository,
-                                  UserRepository userRepository) {
+                                  AuthorizationService authorizationService,
+                                  CatalogMapper catalogMapper,
+                                  CatalogSnapshotService catalogSnapshotService,
+                                  SlugRegistry slugRegistry) {
         this.subCategoryRepository = subCategoryRepository;
         this.categoryRepository = categoryRepository;
-        this.userRepository = userRepository;
+        this.authorizationService = authorizationService;
+        this.catalogMapper = catalogMapper;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.slugRegistry = slugRegistry;
     }
 
     @Override
-    public Map<String, Object> createSubCategory(SubCategoryRequestDTO requestDTO, Long userId) {
-        Optional<SubCategory> existingSubCategory = subCategoryRepository.findBySlug(requestDTO.getSlug());
-        if (existingSubCategory.isPresent() && existingSubCategory.get().getDeleteStatus() == 2) {
-            throw new IllegalArgumentException("Subcategory with slug " + requestDTO.getSlug() + " already exists");
-        }
+    public SubCategoryResponseDTO createSubCategory(SubCategoryRequestDTO requestDTO, Long userId) {
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.SUBCATEGORY, null);
 
         User createdBy = null;
         if (userId != null) {
-            createdBy = userRepository.findById(userId)
-                    .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-            if (!"ADMIN".equalsIgnoreCase(createdBy.getRole().getName())) {
-                throw new IllegalArgumentException("Only ADMIN users can create subcategories");
-            }
+            createdBy = authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can create subcategories");
         }
 
         Category category = categoryRepository.findById(requestDTO.getCategoryId())
@@ -71,58 +79,72 @@ public class SubCategoryServiceImpl implements SubCategoryService {
         subCategory.setCategory(category);
 
         SubCategory savedSubCategory = subCategoryRepository.save(subCategory);
-        return mapToResponseDTO(savedSubCategory);
+        slugRegistry.register(SlugType.SUBCATEGORY, savedSubCategory.getId(), savedSubCategory.getSlug(),
+                savedSubCategory.getName(), savedSubCategory.isActive());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toSubCategoryResponseDTO(savedSubCategory);
     }
 
     @Override
-    public Optional<Map<String, Object>> getSubCategoryById(Long id) {
-        return subCategoryRepository.findById(id)
-                .filter(sc -> sc.getDeleteStatus() == 2)
-                .map(this::mapToResponseDTO);
+    public Optional<SubCategoryResponseDTO> getSubCategoryById(Long id) {
+        return subCategoryRepository.findLiveById(id)
+                .map(catalogMapper::toSubCategoryResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getSubCategoryByUuid(String uuid) {
-        return subCategoryRepository.findByUuid(uuid)
-                .filter(sc -> sc.getDeleteStatus() == 2)
-                .map(this::mapToResponseDTO);
+    public Optional<SubCategoryResponseDTO> getSubCategoryByUuid(String uuid) {
+        return subCategoryRepository.findLiveByUuid(uuid)
+                .map(catalogMapper::toSubCategoryResponseDTO);
     }
 
     @Override
-    public Optional<Map<String, Object>> getSubCategoryBySlug(String slug) {
-        return subCategoryRepository.findBySlug(slug)
-                .filter(sc -> sc.getDeleteStatus() == 2)
-                .map(this::mapToResponseDTO);
+    public Optional<SubCategoryResponseDTO> getSubCategoryBySlug(String slug) {
+        return subCategoryRepository.findLiveBySlug(slug)
+                .map(catalogMapper::toSubCategoryResponseDTO);
     }
 
     @Override
-    public List<Map<String, Object>> getAllActiveSubCategories() {
+    public List<SubCategoryResponseDTO> getAllActiveSubCategories() {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().getSubCategories();
+        }
         return subCategoryRepository.findAllActiveSubCategories()
                 .stream()
-                .map(this::mapToResponseDTO)
+                .map(catalogMapper::toSubCategoryResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Map<String, Object> updateSubCategory(Long id, SubCategoryRequestDTO requestDTO, Long userId) {
+    public PageResponseDTO<SubCategoryResponseDTO> getActiveSubCategoryPage(String cursor, Integer size, boolean includeTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetPage.size(size);
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return KeysetPage.slice(snapshot.get().getSubCategories(), after, pageSize,
+                    SubCategoryResponseDTO::getCreatedAt, SubCategoryResponseDTO::getId, includeTotal);
+        }
+        List<SubCategoryResponseDTO> rows = (after == null
+                ? subCategoryRepository.findActiveSubCategoriesNewestFirst(KeysetPage.limit(pageSize))
+                : subCategoryRepository.findActiveSubCategoriesBefore(after.getCreatedAt(), after.getId(), KeysetPage.limit(pageSize)))
+                .stream()
+                .map(catalogMapper::toSubCategoryResponseDTO)
+                .collect(Collectors.toList());
+        return KeysetPage.fromRows(rows, pageSize, SubCategoryResponseDTO::getCreatedAt, SubCategoryResponseDTO::getId,
+                includeTotal ? subCategoryRepository.countActiveSubCategories() : null);
+    }
+
+    @Override
+    public SubCategoryResponseDTO updateSubCategory(Long id, SubCategoryRequestDTO requestDTO, Long userId) {
         SubCategory subCategory = subCategoryRepository.findById(id)
                 .filter(sc -> sc.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Subcategory not found with id: " + id));
 
-        Optional<SubCategory> existingSubCategory = subCategoryRepository.findBySlug(requestDTO.getSlug());
-        if (existingSubCategory.isPresent() && existingSubCategory.get().getDeleteStatus() == 2 &&
-                !existingSubCategory.get().getId().equals(id)) {
-            throw new IllegalArgumentException("Slug " + requestDTO.getSlug() + " is already in use by another subcategory");
-        }
+        slugRegistry.checkAvailable(requestDTO.getSlug(), SlugType.SUBCATEGORY, id);
 
         User createdBy = null;
         if (userId != null) {
-            createdBy = userRepository.findById(userId)
-                    .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-            if (!"ADMIN".equalsIgnoreCase(createdBy.getRole().getName())) {
-                throw new IllegalArgumentException("Only ADMIN users can update subcategories");
-            }
+            createdBy = authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can update subcategories");
         }
 
         Category category = categoryRepository.findById(requestDTO.getCategoryId())
@@ -141,7 +163,10 @@ public class SubCategoryServiceImpl implements SubCategoryService {
         subCategory.setCategory(category);
 
         SubCategory updatedSubCategory = subCategoryRepository.save(subCategory);
-        return mapToResponseDTO(updatedSubCategory);
+        slugRegistry.register(SlugType.SUBCATEGORY, updatedSubCategory.getId(), updatedSubCategory.getSlug(),
+                updatedSubCategory.getName(), updatedSubCategory.isActive());
+        catalogSnapshotService.requestRefresh();
+        return catalogMapper.toSubCategoryResponseDTO(updatedSubCategory);
     }
 
     @Override
@@ -150,35 +175,13 @@ public class SubCategoryServiceImpl implements SubCategoryService {
                 .filter(sc -> sc.getDeleteStatus() == 2)
                 .orElseThrow(() -> new EntityNotFoundException("Subcategory not found with id: " + id));
 
-        User user = userRepository.findById(userId)
-                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-        if (!"ADMIN".equalsIgnoreCase(user.getRole().getName())) {
-            throw new IllegalArgumentException("Only ADMIN users can delete subcategories");
-        }
+        authorizationService.require(userId, Permission.MANAGE_CATALOG, "Only ADMIN users can delete subcategories");
 
         subCategory.setDeleteStatus(1);
         subCategory.setActive(false);
         subCategory.setDisplayStatus(false);
         subCategoryRepository.save(subCategory);
+        slugRegistry.remove(SlugType.SUBCATEGORY, id);
+        catalogSnapshotService.requestRefresh();
     }
-
-    private Map<String, Object> mapToResponseDTO(SubCategory subCategory) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", subCategory.getId());
-        response.put("uuid", subCategory.getUuid());
-        response.put("name", subCategory.getName());
-        response.put("description", subCategory.getDescription());
-        response.put("metaTitle", subCategory.getMetaTitle());
-        response.put("metaKeyword", subCategory.getMetaKeyword());
-        response.put("metaDescription", subCategory.getMetaDescription());
-        response.put("slug", subCategory.getSlug());
-        response.put("active", subCategory.isActive());
-        response.put("displayStatus", subCategory.isDisplayStatus());
-        response.put("createdAt", subCategory.getCreatedAt());
-        response.put("updatedAt", subCategory.getUpdatedAt());
-        response.put("createdById", subCategory.getCreatedBy() != null ? subCategory.getCreatedBy().getId() : null);
-        response.put("categoryId", subCategory.getCategory().getId());
-        return response;
-    }
-}
\ No newline at end of file
+}
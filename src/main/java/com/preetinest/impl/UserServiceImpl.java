@@ -1,39 +1,55 @@
 package com.preetinest.impl;
 
-import com.preetinest.dto.request.UserRequestDTO;
 import com.preetinest.dto.request.LoginRequestDTO;
+import com.preetinest.dto.request.UserRequestDTO;
+import com.preetinest.dto.response.LoginResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+import com.preetinest.dto.response.UserResponseDTO;
 import com.preetinest.entity.Role;
 import com.preetinest.entity.User;
+import com.preetinest.paging.KeysetCursor;
+import com.preetinest.paging.KeysetPage;
 import com.preetinest.repository.RoleRepository;
 import com.preetinest.repository.UserRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.PasswordHashingService;
+import com.preetinest.security.SessionToken;
+import com.preetinest.security.TokenService;
 import com.preetinest.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final AuthorizationService authorizationService;
+    private final TokenService tokenService;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordHashingService passwordHashingService,
+                           AuthorizationService authorizationService, TokenService tokenService) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.authorizationService = authorizationService;
+        this.tokenService = tokenService;
     }
 
     @Override
-    public Map<String, Object> createUser(UserRequestDTO requestDTO, Long userId) {
+    public UserResponseDTO createUser(UserRequestDTO requestDTO, Long userId) {
+        if (requestDTO.getPassword() == null || requestDTO.getPassword().isBlank()) {
+            throw new IllegalArgumentException("Password is required");
+        }
+
         Optional<User> existingUser = userRepository.findByEmail(requestDTO.getEmail());
         if (existingUser.isPresent() && existingUser.get().getDeleteStatus() == 2 && existingUser.get().isEnable()) {
             throw new IllegalArgumentException("User with email " + requestDTO.getEmail() + " already exists");
@@ -57,7 +73,7 @@ public class UserServiceImpl implements UserService {
         user.setUuid(UUID.randomUUID().toString());
         user.setName(requestDTO.getName());
         user.setEmail(requestDTO.getEmail());
-        user.setPassword(passwordEncoder.encode(requestDTO.getPassword()));
+        user.setPassword(passwordHashingService.encode(requestDTO.getPassword()));
         user.setMobile(requestDTO.getMobile());
         user.setFacebook(requestDTO.getFacebook());
         user.setLinkedin(requestDTO.getLinkedin());
@@ -75,21 +91,21 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Optional<Map<String, Object>> getUserById(Long id) {
+    public Optional<UserResponseDTO> getUserById(Long id) {
         return userRepository.findById(id)
                 .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
                 .map(this::mapToResponse);
     }
 
     @Override
-    public Optional<Map<String, Object>> getUserByUuid(String uuid) {
+    public Optional<UserResponseDTO> getUserByUuid(String uuid) {
         return userRepository.findByUuid(uuid)
                 .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
                 .map(this::mapToResponse);
     }
 
     @Override
-    public List<Map<String, Object>> getAllActiveUsers() {
+    public List<UserResponseDTO> getAllActiveUsers() {
         return userRepository.findAllActiveUsers()
                 .stream()
                 .map(this::mapToResponse)
@@ -97,7 +113,21 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Map<String, Object> updateUser(Long id, UserRequestDTO requestDTO) {
+    public PageResponseDTO<UserResponseDTO> getActiveUserPage(String cursor, Integer size, boolean includeTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetPage.size(size);
+        List<UserResponseDTO> rows = (after == null
+                ? userRepository.findActiveUsersNewestFirst(KeysetPage.limit(pageSize))
+                : userRepository.findActiveUsersBefore(after.getCreatedAt(), after.getId(), KeysetPage.limit(pageSize)))
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return KeysetPage.fromRows(rows, pageSize, UserResponseDTO::getCreatedAt, UserResponseDTO::getId,
+                includeTotal ? userRepository.countActiveUsers() : null);
+    }
+
+    @Override
+    public UserResponseDTO updateUser(Long id, UserRequestDTO requestDTO) {
         User existingUser = userRepository.findById(id)
                 .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
@@ -114,7 +144,6 @@ public class UserServiceImpl implements UserService {
 
         existingUser.setName(requestDTO.getName());
         existingUser.setEmail(requestDTO.getEmail());
-        existingUser.setPassword(passwordEncoder.encode(requestDTO.getPassword()));
         existingUser.setMobile(requestDTO.getMobile());
         existingUser.setFacebook(requestDTO.getFacebook());
         existingUser.setLinkedin(requestDTO.getLinkedin());
@@ -123,8 +152,13 @@ public class UserServiceImpl implements UserService {
         existingUser.setMetaKeyword(requestDTO.getMetaKeyword());
         existingUser.setMetaDescription(requestDTO.getMetaDescription());
         existingUser.setRole(role);
+        // An omitted password keeps the current hash instead of paying for a new one
+        if (requestDTO.getPassword() != null && !requestDTO.getPassword().isBlank()) {
+            existingUser.setPassword(passwordHashingService.encode(requestDTO.getPassword()));
+        }
 
         User updatedUser = userRepository.save(existingUser);
+        authorizationService.evictUser(id);
         return mapToResponse(updatedUser);
     }
 
@@ -136,41 +170,49 @@ public class UserServiceImpl implements UserService {
         user.setDeleteStatus(1);
         user.setEnable(false);
         userRepository.save(user);
+        authorizationService.evictUser(id);
         // Note: userId can be used for logging/auditing purposes
     }
 
     @Override
-    public Map<String, Object> login(LoginRequestDTO requestDTO) {
+    public LoginResponseDTO login(LoginRequestDTO requestDTO) {
         User user = userRepository.findByEmail(requestDTO.getEmail())
                 .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(requestDTO.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(requestDTO.getPassword(), user.getPassword())) {
             throw new IllegalArgumentException("Invalid email or password");
         }
 
-        return mapToResponse(user);
+        Role role = user.getRole();
+        SessionToken token = tokenService.issue(user.getId(), role != null ? role.getId() : null,
+                role != null ? role.getName() : null);
+        LoginResponseDTO response = new LoginResponseDTO();
+        response.setUser(mapToResponse(user));
+        response.setToken(token.getValue());
+        response.setTokenExpiresAt(token.getExpiresAt());
+        return response;
     }
 
-    private Map<String, Object> mapToResponse(User user) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", user.getId());
-        response.put("uuid", user.getUuid());
-        response.put("name", user.getName());
-        response.put("email", user.getEmail());
-        response.put("mobile", user.getMobile());
-        response.put("facebook", user.getFacebook());
-        response.put("linkedin", user.getLinkedin());
-        response.put("twitter", user.getTwitter());
-        response.put("metaTitle", user.getMetaTitle());
-        response.put("metaKeyword", user.getMetaKeyword());
-        response.put("metaDescription", user.getMetaDescription());
-        response.put("roleId", user.getRole() != null ? user.getRole().getId() : null);
-        response.put("isEnable", user.isEnable());
-        response.put("deleteStatus", user.getDeleteStatus());
-        response.put("createdAt", user.getCreatedAt());
-        response.put("updatedAt", user.getUpdatedAt());
-        response.put("createdById", user.getCreatedBy() != null ? user.getCreatedBy().getId() : null);
-        return response;
+    private UserResponseDTO mapToResponse(User user) {
+        UserResponseDTO dto = new UserResponseDTO();
+        dto.setId(user.getId());
+        dto.setUuid(user.getUuid());
+        dto.setName(user.getName());
+        dto.setEmail(user.getEmail());
+        dto.setMobile(user.getMobile());
+        dto.setFacebook(user.getFacebook());
+        dto.setLinkedin(user.getLinkedin());
+        dto.setTwitter(user.getTwitter());
+        dto.setMetaTitle(user.getMetaTitle());
+        dto.setMetaKeyword(user.getMetaKeyword());
+        dto.setMetaDescription(user.getMetaDescription());
+        dto.setRoleId(user.getRole() != null ? user.getRole().getId() : null);
+        dto.setEnable(user.isEnable());
+        dto.setDeleteStatus(user.getDeleteStatus());
+        dto.setCreatedAt(user.getCreatedAt());
+        dto.setUpdatedAt(user.getUpdatedAt());
+        dto.setCreatedById(user.getCreatedBy() != null ? user.getCreatedBy().getId() : null);
+        return dto;
     }
-}
\ No newline at end of file
+}
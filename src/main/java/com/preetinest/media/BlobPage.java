@@ -0,0 +1,29 @@
+package com.preetinest.media;
+
+import java.util.List;
+
+/**
+ * One page of a {@link BlobStore} listing, in key order. Pass the key of the last object as
+ * {@code startAfter} to fetch the next page.
+ */
+public final class BlobPage {
+
+    private final List<BlobSummary> objects;
+    private final boolean truncated;
+
+    public BlobPage(List<BlobSummary> objects, boolean truncated) {
+        this.objects = List.copyOf(objects);
+        this.truncated = truncated;
+    }
+
+    public List<BlobSummary> getObjects() { return objects; }
+
+    /**
+     * Whether more objects follow this page.
+     */
+    public boolean isTruncated() { return truncated; }
+
+    public String getLastKey() {
+        return objects.isEmpty() ? null : objects.get(objects.size() - 1).getKey();
+    }
+}
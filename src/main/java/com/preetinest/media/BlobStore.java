@@ -0,0 +1,69 @@
+package com.preetinest.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Where uploaded images end up. Selected with {@code app.storage.type}: {@code s3} (the default) or
+ * {@code local}, which keeps objects on disk so the whole upload path runs offline.
+ *
+ * Calls block until the object is stored; callers run them on their own worker threads.
+ */
+public interface BlobStore {
+
+    boolean exists(String key) throws IOException;
+
+    void put(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    default void put(String key, Path file, String contentType) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            put(key, in, Files.size(file), contentType);
+        }
+    }
+
+    /**
+     * Size and modification time of {@code key}, empty when there is no such object.
+     */
+    Optional<BlobSummary> stat(String key) throws IOException;
+
+    /**
+     * Resets the modification time of {@code key} to now, so an object that is used again is not
+     * collected as an old orphan.
+     *
+     * @return false when there is no such object
+     */
+    boolean touch(String key) throws IOException;
+
+    /**
+     * Content of {@code key}; throws {@link java.nio.file.NoSuchFileException} when there is no such
+     * object. Closing the stream before the end is fine.
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Lets a client upload {@code key} itself, without the bytes passing through this application.
+     * The upload must use {@code contentType} and start before {@code ttl} has passed.
+     */
+    PresignedUpload presignPut(String key, String contentType, Duration ttl);
+
+    /**
+     * Up to {@code maxKeys} objects in key order, starting after {@code startAfter} ({@code null}
+     * for the first page).
+     */
+    BlobPage list(String startAfter, int maxKeys) throws IOException;
+
+    /**
+     * Deletes the given objects; keys that no longer exist are ignored.
+     */
+    void delete(Collection<String> keys) throws IOException;
+
+    /**
+     * Public URL of {@code key}.
+     */
+    String getUrl(String key);
+}
@@ -0,0 +1,13 @@
+package com.preetinest.media;
+
+import java.io.IOException;
+
+/**
+ * A {@link BlobStore} call refused without being attempted, because the store has been failing.
+ */
+public class BlobStoreUnavailableException extends IOException {
+
+    public BlobStoreUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.preetinest.media;
+
+import java.time.Instant;
+
+/**
+ * One stored object as returned by {@link BlobStore#list}.
+ */
+public final class BlobSummary {
+
+    private final String key;
+    private final long size;
+    private final Instant lastModified;
+
+    public BlobSummary(String key, long size, Instant lastModified) {
+        this.key = key;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    public String getKey() { return key; }
+
+    public long getSize() { return size; }
+
+    public Instant getLastModified() { return lastModified; }
+}
@@ -0,0 +1,33 @@
+package com.preetinest.media;
+
+import java.nio.file.Path;
+
+/**
+ * A stored image copied to local disk by {@link ImageCache}, with a strong ETag computed from its bytes.
+ */
+public final class CachedImage {
+
+    private final String key;
+    private final Path file;
+    private final long size;
+    private final String etag;
+    private final String contentType;
+
+    public CachedImage(String key, Path file, long size, String etag, String contentType) {
+        this.key = key;
+        this.file = file;
+        this.size = size;
+        this.etag = etag;
+        this.contentType = contentType;
+    }
+
+    public String getKey() { return key; }
+
+    public Path getFile() { return file; }
+
+    public long getSize() { return size; }
+
+    public String getEtag() { return etag; }
+
+    public String getContentType() { return contentType; }
+}
@@ -0,0 +1,129 @@
+package com.preetinest.media;
+
+import com.preetinest.config.ImageFormat;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Uploads the {@link BlobStore} did not take, such as those refused while its circuit breaker is
+ * open. Their content is kept in a local directory, one file per object key, and retried every
+ * {@code app.s3.upload.deferred-retry-interval} until the store accepts them. The directory survives
+ * restarts, so it should sit on a persistent volume and must not be used for anything else.
+ *
+ * Metrics: {@code s3.uploads.deferred} (objects waiting).
+ */
+@Component
+public class DeferredUploads {
+
+    private static final Logger log = LoggerFactory.getLogger(DeferredUploads.class);
+
+    private final BlobStore blobStore;
+    private final Path directory;
+
+    // Guarded by this
+    private int pending;
+
+    public DeferredUploads(BlobStore blobStore,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.s3.upload.deferred-dir:${java.io.tmpdir}/preetinest-deferred-uploads}") Path directory) throws IOException {
+        this.blobStore = blobStore;
+        this.directory = directory.toAbsolutePath().normalize();
+        Files.createDirectories(this.directory);
+        this.pending = waiting().size();
+        if (pending > 0) {
+            log.info("{} deferred uploads left by an earlier run will be retried", pending);
+        }
+        Gauge.builder("s3.uploads.deferred", this, DeferredUploads::getPending)
+                .description("Image uploads kept on local disk until the store accepts them")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Keeps a copy of {@code key}'s content for a later retry, replacing any copy already waiting.
+     */
+    public void defer(String key, ImageDerivativeService.ImageSource source) throws IOException {
+        Path temp = Files.createTempFile(directory, ".defer-", ".tmp");
+        try {
+            try (InputStream in = source.open()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Path file = directory.resolve(key);
+            synchronized (this) {
+                boolean replacing = Files.exists(file);
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                if (!replacing) {
+                    pending++;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Uploads waiting objects in key order, stopping at the first failure; the store is most likely
+     * still unavailable and the rest would fail the same way.
+     */
+    @Scheduled(fixedDelayString = "${app.s3.upload.deferred-retry-interval:30s}",
+            initialDelayString = "${app.s3.upload.deferred-retry-interval:30s}")
+    public void retry() {
+        List<Path> files;
+        try {
+            files = waiting();
+        } catch (IOException e) {
+            log.error("Could not list deferred uploads in {}", directory, e);
+            return;
+        }
+        int stored = 0;
+        for (Path file : files) {
+            String key = file.getFileName().toString();
+            try {
+                blobStore.put(key, file, contentType(key));
+                synchronized (this) {
+                    Files.delete(file);
+                    pending--;
+                }
+                stored++;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Deferred upload of {} failed again; {} uploads wait for the next retry: {}", key, getPending(), e.toString());
+                break;
+            }
+        }
+        if (stored > 0) {
+            log.info("Stored {} deferred uploads", stored);
+        }
+    }
+
+    public synchronized int getPending() {
+        return pending;
+    }
+
+    private List<Path> waiting() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> !file.getFileName().toString().startsWith("."))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String contentType(String key) {
+        int dot = key.lastIndexOf('.');
+        return ImageFormat.fromExtension(dot < 0 ? "" : key.substring(dot + 1))
+                .map(ImageFormat::getContentType)
+                .orElse("application/octet-stream");
+    }
+}
@@ -0,0 +1,337 @@
+package com.preetinest.media;
+
+import com.preetinest.config.ImageFormat;
+import com.preetinest.entity.JobCheckpoint;
+import com.preetinest.repository.BlogDetailRepository;
+import com.preetinest.repository.BlogRepository;
+import com.preetinest.repository.ClientRepository;
+import com.preetinest.repository.ImageRowView;
+import com.preetinest.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-off job that renders the resized variants {@link ImageDerivativeService} would have made for
+ * images uploaded before it existed: blog thumbnails, client logos and blog-detail images of live
+ * rows. Enabled with {@code app.media.backfill.enabled=true}; it starts shortly after startup and
+ * does nothing more once it has finished.
+ *
+ * Rows are read in id order, {@code app.media.backfill.chunk-size} at a time, and a chunk's images are
+ * processed on {@code app.media.backfill.concurrency} threads. Images whose variants all exist are
+ * not rendered again. Once an image's variants are all stored, their widths are recorded on its rows
+ * through {@link ImageVariantRecorder}, so responses start advertising them. Database queries and
+ * store requests are paced to their own per-second budgets, so the job leaves room for regular
+ * traffic. After each chunk the position is saved in a {@link JobCheckpoint},
+ * so a crashed or paused run continues after the last finished chunk, on whichever instance holds the
+ * job's lease. When the store becomes unavailable the run stops without advancing past the chunk.
+ *
+ * Running it again after it has finished takes deleting its row from {@code job_checkpoints}; that
+ * also repairs rows whose variants were rendered but never recorded, for instance because the
+ * in-memory render retry queue was lost in a restart.
+ *
+ * Metrics: {@code media.backfill.images}, tagged by outcome: {@code generated}, {@code present},
+ * {@code missing} (no original in the store), {@code unsupported} or {@code failed}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.media.backfill.enabled", havingValue = "true")
+public class DerivativeBackfill {
+
+    public static final String JOB_NAME = "image-derivative-backfill";
+
+    private static final Logger log = LoggerFactory.getLogger(DerivativeBackfill.class);
+
+    // Renewed after every chunk
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private final BlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageVariantRecorder imageVariantRecorder;
+    private final JobCheckpointRepository checkpointRepository;
+    private final Map<String, ChunkQuery> sources = new LinkedHashMap<>();
+    private final int chunkSize;
+    private final RateLimiter dbLimiter;
+    private final RateLimiter storeLimiter;
+    private final Duration maxRunTime;
+    private final ThreadPoolExecutor executor;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Counter generated;
+    private final Counter present;
+    private final Counter missing;
+    private final Counter unsupported;
+    private final Counter failed;
+
+    public DerivativeBackfill(BlobStore blobStore,
+                              ImageDerivativeService imageDerivativeService,
+                              ImageVariantRecorder imageVariantRecorder,
+                              JobCheckpointRepository checkpointRepository,
+                              BlogRepository blogRepository,
+                              ClientRepository clientRepository,
+                              BlogDetailRepository blogDetailRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.media.backfill.chunk-size:100}") int chunkSize,
+                              @Value("${app.media.backfill.concurrency:2}") int concurrency,
+                              @Value("${app.media.backfill.db-queries-per-second:5}") double dbQueriesPerSecond,
+                              @Value("${app.media.backfill.store-requests-per-second:20}") double storeRequestsPerSecond,
+                              @Value("${app.media.backfill.max-run-time:1h}") Duration maxRunTime) {
+        this.blobStore = blobStore;
+        this.imageDerivativeService = imageDerivativeService;
+        this.imageVariantRecorder = imageVariantRecorder;
+        this.checkpointRepository = checkpointRepository;
+        this.sources.put("blog-thumbnails", blogRepository::findThumbnailsAfter);
+        this.sources.put("client-logos", clientRepository::findLogosAfter);
+        this.sources.put("blog-detail-images", blogDetailRepository::findImagesAfter);
+        this.chunkSize = chunkSize;
+        this.dbLimiter = new RateLimiter(dbQueriesPerSecond);
+        this.storeLimiter = new RateLimiter(storeRequestsPerSecond);
+        this.maxRunTime = maxRunTime;
+
+        // At most one chunk is queued at a time, so the queue needs no bound of its own
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-backfill-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.generated = counter(meterRegistry, "generated");
+        this.present = counter(meterRegistry, "present");
+        this.missing = counter(meterRegistry, "missing");
+        this.unsupported = counter(meterRegistry, "unsupported");
+        this.failed = counter(meterRegistry, "failed");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(initialDelayString = "${app.media.backfill.initial-delay:1m}",
+            fixedDelayString = "${app.media.backfill.interval:15m}")
+    public void scheduledRun() {
+        try {
+            run();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Image derivative backfill failed; the next run resumes from the last checkpoint", e);
+        }
+    }
+
+    /**
+     * Runs until every source has been read, the run time is used up or another instance holds the job.
+     *
+     * @return whether the backfill has finished
+     */
+    public synchronized boolean run() throws IOException {
+        dbLimiter.acquire(1);
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+        if (checkpoint != null && checkpoint.getLastCompletedAt() != null) {
+            return true;
+        }
+        if (checkpoint == null) {
+            createCheckpoint();
+        }
+        dbLimiter.acquire(1);
+        if (checkpointRepository.acquireLease(JOB_NAME, owner, LocalDateTime.now(), LocalDateTime.now().plus(LEASE)) == 0) {
+            log.info("Skipping image derivative backfill, another instance holds the job");
+            return false;
+        }
+        try {
+            List<String> names = new ArrayList<>(sources.keySet());
+            int startSource = 0;
+            long startAfterId = 0;
+            String lastKey = checkpointRepository.findById(JOB_NAME).map(JobCheckpoint::getLastKey).orElse(null);
+            if (lastKey != null) {
+                int colon = lastKey.lastIndexOf(':');
+                int index = names.indexOf(lastKey.substring(0, Math.max(colon, 0)));
+                if (index >= 0) {
+                    startSource = index;
+                    startAfterId = Long.parseLong(lastKey.substring(colon + 1));
+                }
+            }
+            long deadline = System.nanoTime() + maxRunTime.toNanos();
+            double generatedBefore = generated.count();
+
+            for (int i = startSource; i < names.size(); i++) {
+                String source = names.get(i);
+                long afterId = i == startSource ? startAfterId : 0;
+                while (true) {
+                    dbLimiter.acquire(1);
+                    List<ImageRowView> rows = sources.get(source).after(afterId, Limit.of(chunkSize));
+                    if (rows.isEmpty()) {
+                        break;
+                    }
+                    process(rows);
+                    afterId = rows.get(rows.size() - 1).getId();
+                    dbLimiter.acquire(1);
+                    if (checkpointRepository.saveProgress(JOB_NAME, owner, source + ":" + afterId,
+                            LocalDateTime.now(), LocalDateTime.now().plus(LEASE)) == 0) {
+                        log.warn("Lost the image derivative backfill lease after {}:{}", source, afterId);
+                        return false;
+                    }
+                    if (System.nanoTime() - deadline > 0) {
+                        log.info("Image derivative backfill paused after {}:{}, variants generated for {} images",
+                                source, afterId, (long) (generated.count() - generatedBefore));
+                        return false;
+                    }
+                    if (rows.size() < chunkSize) {
+                        break;
+                    }
+                }
+            }
+            dbLimiter.acquire(1);
+            checkpointRepository.markCompleted(JOB_NAME, owner, LocalDateTime.now());
+            log.info("Image derivative backfill finished, variants generated for {} images", (long) (generated.count() - generatedBefore));
+            return true;
+        } finally {
+            checkpointRepository.releaseLease(JOB_NAME, owner);
+        }
+    }
+
+    private void process(List<ImageRowView> rows) throws IOException {
+        // Column values by object key; older rows hold a full URL where newer ones hold the key
+        Map<String, Set<String>> valuesByKey = new LinkedHashMap<>();
+        for (ImageRowView row : rows) {
+            String key = ImageReferences.keyOf(row.getImageKey());
+            if (!key.isEmpty()) {
+                valuesByKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(row.getImageKey());
+            }
+        }
+        Map<String, Future<Boolean>> tasks = new LinkedHashMap<>();
+        for (String key : valuesByKey.keySet()) {
+            tasks.put(key, executor.submit(() -> backfill(key)));
+        }
+
+        IOException stop = null;
+        Map<String, List<Integer>> complete = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Boolean>> task : tasks.entrySet()) {
+            try {
+                if (task.getValue().get()) {
+                    for (String value : valuesByKey.get(task.getKey())) {
+                        complete.put(value, imageDerivativeService.getWidths());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                tasks.values().forEach(t -> t.cancel(true));
+                throw new InterruptedIOException("Interrupted while backfilling image derivatives");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io && stop == null) {
+                    stop = io;
+                }
+            }
+        }
+        // Only an unavailable store gets here; the chunk is retried from the start next run
+        if (stop != null) {
+            throw stop;
+        }
+        if (!complete.isEmpty()) {
+            // One update per image column for each value
+            dbLimiter.acquire(4 * complete.size());
+            imageVariantRecorder.recordAll(complete);
+        }
+    }
+
+    /**
+     * @return whether every variant of {@code key} is now stored
+     */
+    private boolean backfill(String key) throws IOException {
+        ImageFormat format = imageDerivativeService.formatOf(key).orElse(null);
+        if (format == null) {
+            unsupported.increment();
+            return false;
+        }
+        try {
+            Set<String> absent = new LinkedHashSet<>();
+            for (String variantKey : imageDerivativeService.variantKeys(key).values()) {
+                storeLimiter.acquire(1);
+                if (!blobStore.exists(variantKey)) {
+                    absent.add(variantKey);
+                }
+            }
+            if (absent.isEmpty()) {
+                present.increment();
+                return true;
+            }
+
+            storeLimiter.acquire(1);
+            List<ImageVariant> variants;
+            try (InputStream in = blobStore.open(key)) {
+                variants = imageDerivativeService.render(key, format, in);
+            }
+            for (ImageVariant variant : variants) {
+                if (absent.contains(variant.getKey())) {
+                    storeLimiter.acquire(1);
+                    blobStore.put(variant.getKey(), new ByteArrayInputStream(variant.getBytes()),
+                            variant.getBytes().length, variant.getContentType());
+                }
+            }
+            generated.increment();
+            return true;
+        } catch (NoSuchFileException e) {
+            missing.increment();
+            log.debug("Original image {} is not in the store", key);
+            return false;
+        } catch (BlobStoreUnavailableException | InterruptedIOException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Could not backfill variants of image {}", key, e);
+            return false;
+        }
+    }
+
+    private void createCheckpoint() {
+        JobCheckpoint checkpoint = new JobCheckpoint();
+        checkpoint.setName(JOB_NAME);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        try {
+            checkpointRepository.save(checkpoint);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("media.backfill.images")
+                .description("Images seen by the derivative backfill, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface ChunkQuery {
+        List<ImageRowView> after(Long afterId, Limit limit);
+    }
+}
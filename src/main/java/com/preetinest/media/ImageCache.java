@@ -0,0 +1,239 @@
+package com.preetinest.media;
+
+import com.preetinest.config.ImageFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded, least-recently-used copy of stored images on local disk, filled from the
+ * {@link BlobStore} on first request. Concurrent misses for the same key share a single download.
+ * Keys the store does not have are remembered for a short while, so repeated requests for them do
+ * not reach the store either.
+ *
+ * The index of what is cached lives only in memory, so files left in the directory by an earlier run
+ * are deleted at startup. The directory must not be used for anything else.
+ *
+ * Metrics: {@code media.proxy.cache} (lookups by result, {@code hit} or {@code miss}) and
+ * {@code media.proxy.cache.size}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.media.proxy.enabled", havingValue = "true")
+public class ImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageCache.class);
+
+    // Flat object keys only, as generated for uploads
+    private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]{0,254}");
+    private static final int MAX_MISSING_ENTRIES = 10_000;
+    private static final long MISSING_TTL_NANOS = Duration.ofMinutes(5).toNanos();
+
+    private final BlobStore blobStore;
+    private final Path directory;
+    private final long maxBytes;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Access-ordered, eldest first; guarded by this
+    private final LinkedHashMap<String, CachedImage> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<CachedImage>>> loading = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> missingUntil = new ConcurrentHashMap<>();
+
+    public ImageCache(BlobStore blobStore,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.media.proxy.cache-dir:${java.io.tmpdir}/preetinest-media-cache}") Path directory,
+                      @Value("${app.media.proxy.cache-size:1GB}") DataSize maxSize) throws IOException {
+        this.blobStore = blobStore;
+        this.directory = directory.toAbsolutePath().normalize();
+        this.maxBytes = maxSize.toBytes();
+        Files.createDirectories(this.directory);
+        clear();
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+        Gauge.builder("media.proxy.cache.size", this, ImageCache::getTotalBytes)
+                .description("Bytes of images held in the local media cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached copy of {@code key}, downloading it first on a miss. Empty when the store has no
+     * such object or the key is not a valid object key.
+     */
+    public Optional<CachedImage> get(String key) throws IOException {
+        if (key == null || !VALID_KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            CachedImage cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+        }
+        misses.increment();
+        Long until = missingUntil.get(key);
+        if (until != null && until - System.nanoTime() > 0) {
+            return Optional.empty();
+        }
+
+        CompletableFuture<Optional<CachedImage>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<CachedImage>> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            Optional<CachedImage> loaded = load(key);
+            load.complete(loaded);
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Forgets {@code image} if it is still the cached copy of its key, for a caller that found its
+     * file gone. The next {@link #get} downloads the key again.
+     */
+    public synchronized void invalidate(CachedImage image) {
+        if (entries.remove(image.getKey(), image)) {
+            totalBytes -= image.getSize();
+        }
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    private void clear() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private Optional<CachedImage> load(String key) throws IOException {
+        Path temp = Files.createTempFile(directory, ".fill-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(blobStore.open(key), digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                in.transferTo(out);
+            } catch (NoSuchFileException e) {
+                if (missingUntil.size() >= MAX_MISSING_ENTRIES) {
+                    missingUntil.clear();
+                }
+                missingUntil.put(key, System.nanoTime() + MISSING_TTL_NANOS);
+                return Optional.empty();
+            }
+            Path file = directory.resolve(key);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            missingUntil.remove(key);
+
+            CachedImage image = new CachedImage(key, file, Files.size(file),
+                    '"' + HexFormat.of().formatHex(digest.digest()) + '"', contentType(key));
+            add(image);
+            return Optional.of(image);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private synchronized void add(CachedImage image) {
+        CachedImage previous = entries.put(image.getKey(), image);
+        if (previous != null) {
+            totalBytes -= previous.getSize();
+        }
+        totalBytes += image.getSize();
+
+        Iterator<Map.Entry<String, CachedImage>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            CachedImage evicted = eldest.next().getValue();
+            if (evicted == image) {
+                break;
+            }
+            eldest.remove();
+            totalBytes -= evicted.getSize();
+            try {
+                // Responses open the file before writing headers and keep reading through that handle
+                Files.deleteIfExists(evicted.getFile());
+            } catch (IOException e) {
+                // The entry is already gone; a later fill of the same key replaces the file
+                log.warn("Could not delete {} evicted from the media cache", evicted.getFile(), e);
+            }
+        }
+    }
+
+    private static Optional<CachedImage> await(CompletableFuture<Optional<CachedImage>> load) throws IOException {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("media.proxy.cache")
+                .description("Media cache lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String contentType(String key) {
+        int dot = key.lastIndexOf('.');
+        return ImageFormat.fromExtension(dot < 0 ? "" : key.substring(dot + 1))
+                .map(ImageFormat::getContentType)
+                .orElse("application/octet-stream");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.preetinest.media;
+
+import com.preetinest.config.ImageFormat;
+import com.preetinest.entity.ImageMetadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Resized width variants of uploaded images, so listings can serve a card-sized file through
+ * {@code srcset} instead of the full original. Each variant is stored next to the original under a
+ * deterministic key ({@code abc123.png} → {@code abc123_w640.png}). Images narrower than a variant
+ * width are stored at their own size rather than upscaled. Which widths were actually stored is
+ * recorded on the rows by {@link ImageVariantRecorder}; only those are advertised.
+ *
+ * Only PNG and JPEG get variants, re-encoded in the same format: the JDK has no WebP codec, and
+ * resizing a GIF would drop its animation. Rendering runs on a small bounded pool; when the pool is
+ * saturated {@link #submit} turns the image away, counted, and the caller queues it for a retry
+ * rather than being held up.
+ *
+ * Metrics: {@code image.derivatives} (by outcome) and {@code image.derivatives.render}.
+ */
+@Component
+public class ImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    // Refuse to decode anything that would inflate into more than ~200 MB of pixels
+    private static final long MAX_PIXELS = 50_000_000L;
+
+    // Longest side, roughly, of the sample a placeholder is computed from
+    private static final int PLACEHOLDER_SAMPLE_SIZE = 32;
+
+    private final List<Integer> widths;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer renderTimer;
+    private final Counter generated;
+    private final Counter failed;
+    private final Counter rejected;
+
+    public ImageDerivativeService(MeterRegistry meterRegistry,
+                                  @Value("${app.images.variant-widths:320,640,1280}") List<Integer> widths,
+                                  @Value("${app.images.jpeg-quality:0.82}") float jpegQuality,
+                                  @Value("${app.images.threads:2}") int threads,
+                                  @Value("${app.images.queue-capacity:32}") int queueCapacity) {
+        this.widths = widths.stream().sorted().distinct().toList();
+        this.jpegQuality = jpegQuality;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.renderTimer = Timer.builder("image.derivatives.render")
+                .description("Time spent decoding, resizing and encoding one image's variants")
+                .register(meterRegistry);
+        this.generated = outcome(meterRegistry, "generated");
+        this.failed = outcome(meterRegistry, "failed");
+        this.rejected = outcome(meterRegistry, "rejected");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<Integer> getWidths() {
+        return widths;
+    }
+
+    /**
+     * Variant keys by width for an original key, empty when the format gets no variants.
+     */
+    public Map<Integer, String> variantKeys(String originalKey) {
+        if (originalKey == null || formatOf(originalKey).isEmpty()) {
+            return Map.of();
+        }
+        Map<Integer, String> keys = new LinkedHashMap<>();
+        for (int width : widths) {
+            keys.put(width, variantKey(originalKey, width));
+        }
+        return keys;
+    }
+
+    public boolean supports(ImageFormat format) {
+        return format == ImageFormat.PNG || format == ImageFormat.JPEG;
+    }
+
+    /**
+     * Renders the variants of {@code originalKey} in the background and hands them to {@code sink}.
+     * {@code done} always runs once the source is no longer needed, even if rendering fails or the
+     * pool turns the job away.
+     *
+     * @return false when the pool was saturated and nothing will be rendered
+     */
+    public boolean submit(String originalKey, ImageFormat format, ImageSource source,
+                          Consumer<List<ImageVariant>> sink, Runnable done) {
+        if (!supports(format)) {
+            done.run();
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try (InputStream in = source.open()) {
+                    sink.accept(renderTimer.recordCallable(() -> render(originalKey, format, in)));
+                    generated.increment();
+                } catch (Exception e) {
+                    failed.increment();
+                    log.warn("Could not generate variants for image {}", originalKey, e);
+                } finally {
+                    done.run();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Image derivative pool is saturated; turned away variants for {}", originalKey);
+            done.run();
+            return false;
+        }
+    }
+
+    public List<ImageVariant> render(String originalKey, ImageFormat format, InputStream source) throws IOException {
+        if (!supports(format)) {
+            return List.of();
+        }
+        BufferedImage original = decode(source);
+        List<ImageVariant> variants = new ArrayList<>(widths.size());
+        for (int width : widths) {
+            BufferedImage scaled = scale(original, Math.min(width, original.getWidth()), format);
+            variants.add(new ImageVariant(variantKey(originalKey, width), scaled.getWidth(),
+                    format.getContentType(), encode(scaled, format)));
+        }
+        return variants;
+    }
+
+    /**
+     * Width, height and BlurHash placeholder of an image in any format the JDK reads (PNG, JPEG and
+     * GIF, first frame). The placeholder is computed from every n-th pixel only, so describing a large
+     * photo does not decode it at full size. Empty for formats the JDK cannot read, such as WebP.
+     */
+    public Optional<ImageMetadata> describe(InputStream source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    return Optional.of(new ImageMetadata(width, height, null));
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / PLACEHOLDER_SAMPLE_SIZE);
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage sample = reader.read(0, param);
+                String placeholder = width >= height ? BlurHash.encode(sample, 4, 3) : BlurHash.encode(sample, 3, 4);
+                return Optional.of(new ImageMetadata(width, height, placeholder));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage decode(InputStream source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("No image reader for this format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IOException("Image is too large to resize: " + reader.getWidth(0) + "x" + reader.getHeight(0));
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halving steps keep bilinear downscaling from aliasing on large reductions
+    private static BufferedImage scale(BufferedImage source, int targetWidth, ImageFormat format) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int type = format == ImageFormat.PNG ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, ImageFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (format == ImageFormat.PNG) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    public static String variantKey(String originalKey, int width) {
+        int dot = originalKey.lastIndexOf('.');
+        return originalKey.substring(0, dot) + "_w" + width + originalKey.substring(dot);
+    }
+
+    /**
+     * Format of an original key by its extension, empty when the format gets no variants.
+     */
+    public Optional<ImageFormat> formatOf(String key) {
+        int dot = key.lastIndexOf('.');
+        if (dot < 0) {
+            return Optional.empty();
+        }
+        String extension = key.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return Arrays.stream(ImageFormat.values())
+                .filter(f -> f.getExtension().equals(extension) || (f == ImageFormat.JPEG && extension.equals("jpeg")))
+                .filter(this::supports)
+                .findFirst();
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("image.derivatives")
+                .description("Images whose resized variants were generated, failed or skipped")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Re-openable source of the original image bytes.
+     */
+    @FunctionalInterface
+    public interface ImageSource {
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,85 @@
+package com.preetinest.media;
+
+import com.preetinest.repository.BlogDetailRepository;
+import com.preetinest.repository.BlogRepository;
+import com.preetinest.repository.ClientRepository;
+import com.preetinest.repository.ServiceRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Object keys referenced by live rows: blog thumbnails and images, client logos, blog-detail images
+ * and service icons and images. Soft-deleted rows do not hold on to their images.
+ */
+@Component
+public class ImageReferences {
+
+    private final BlogRepository blogRepository;
+    private final ClientRepository clientRepository;
+    private final BlogDetailRepository blogDetailRepository;
+    private final ServiceRepository serviceRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ImageReferences(BlogRepository blogRepository,
+                           ClientRepository clientRepository,
+                           BlogDetailRepository blogDetailRepository,
+                           ServiceRepository serviceRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.blogRepository = blogRepository;
+        this.clientRepository = clientRepository;
+        this.blogDetailRepository = blogDetailRepository;
+        this.serviceRepository = serviceRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Every referenced key. The columns are streamed, so only the keys themselves are held in memory.
+     */
+    public Set<String> loadLiveKeys() {
+        return readOnlyTransaction.execute(status -> {
+            Set<String> keys = new HashSet<>();
+            addAll(keys, blogRepository.streamLiveImageKeys());
+            addAll(keys, clientRepository.streamLiveImageKeys());
+            addAll(keys, blogDetailRepository.streamLiveImageKeys());
+            addAll(keys, serviceRepository.streamLiveImageKeys());
+            return keys;
+        });
+    }
+
+    /**
+     * The subset of {@code keys} that live rows reference right now.
+     */
+    public Set<String> findLive(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> live = new HashSet<>();
+        live.addAll(blogRepository.findLiveImageKeysIn(keys));
+        live.addAll(clientRepository.findLiveImageKeysIn(keys));
+        live.addAll(blogDetailRepository.findLiveImageKeysIn(keys));
+        live.addAll(serviceRepository.findLiveImageKeysIn(keys));
+        return live;
+    }
+
+    /**
+     * The object key in an image column. Some older rows hold a full object URL rather than the bare key.
+     */
+    static String keyOf(String value) {
+        return value.substring(value.lastIndexOf('/') + 1);
+    }
+
+    private static void addAll(Set<String> keys, Stream<String> values) {
+        try (values) {
+            values.map(ImageReferences::keyOf)
+                    .filter(k -> !k.isEmpty())
+                    .forEach(keys::add);
+        }
+    }
+}
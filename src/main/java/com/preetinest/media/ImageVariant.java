@@ -0,0 +1,27 @@
+package com.preetinest.media;
+
+/**
+ * One resized rendition of an uploaded image, encoded and ready to store under {@link #getKey()}.
+ */
+public final class ImageVariant {
+
+    private final String key;
+    private final int width;
+    private final String contentType;
+    private final byte[] bytes;
+
+    public ImageVariant(String key, int width, String contentType, byte[] bytes) {
+        this.key = key;
+        this.width = width;
+        this.contentType = contentType;
+        this.bytes = bytes;
+    }
+
+    public String getKey() { return key; }
+
+    public int getWidth() { return width; }
+
+    public String getContentType() { return contentType; }
+
+    public byte[] getBytes() { return bytes; }
+}
@@ -0,0 +1,96 @@
+package com.preetinest.media;
+
+import com.preetinest.repository.BlogDetailRepository;
+import com.preetinest.repository.BlogRepository;
+import com.preetinest.repository.ClientRepository;
+import com.preetinest.repository.ServiceRepository;
+import com.preetinest.service.CatalogSnapshotService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Saves which resized variants of an image have been stored, in the {@code variantWidths} of every
+ * row that uses the image, so responses only advertise variants that exist. Rows are matched on the
+ * exact column value: the bare key for uploads, or whatever older rows hold, as read by
+ * {@link DerivativeBackfill}.
+ */
+@Component
+public class ImageVariantRecorder {
+
+    private final BlogRepository blogRepository;
+    private final ClientRepository clientRepository;
+    private final BlogDetailRepository blogDetailRepository;
+    private final ServiceRepository serviceRepository;
+
+    // Looked up lazily: the snapshot's mapper depends on S3Service, which depends on this
+    private final ObjectProvider<CatalogSnapshotService> catalogSnapshotService;
+
+    public ImageVariantRecorder(BlogRepository blogRepository,
+                                ClientRepository clientRepository,
+                                BlogDetailRepository blogDetailRepository,
+                                ServiceRepository serviceRepository,
+                                ObjectProvider<CatalogSnapshotService> catalogSnapshotService) {
+        this.blogRepository = blogRepository;
+        this.clientRepository = clientRepository;
+        this.blogDetailRepository = blogDetailRepository;
+        this.serviceRepository = serviceRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    /**
+     * @return the number of rows updated, 0 when no row uses the image (yet)
+     */
+    public int record(String image, Collection<Integer> widths) {
+        return recordAll(Map.of(image, widths));
+    }
+
+    /**
+     * Records the stored widths of several images and refreshes the catalog snapshot once if any row
+     * changed.
+     *
+     * @return the number of rows updated
+     */
+    public int recordAll(Map<String, ? extends Collection<Integer>> widthsByImage) {
+        int updated = 0;
+        for (Map.Entry<String, ? extends Collection<Integer>> entry : widthsByImage.entrySet()) {
+            String image = entry.getKey();
+            String widths = format(entry.getValue());
+            updated += blogRepository.updateThumbnailVariantWidths(image, widths);
+            updated += clientRepository.updateLogoVariantWidths(image, widths);
+            updated += blogDetailRepository.updateImageVariantWidths(image, widths);
+            updated += serviceRepository.updateImageVariantWidths(image, widths);
+        }
+        if (updated > 0) {
+            catalogSnapshotService.ifAvailable(CatalogSnapshotService::requestRefresh);
+        }
+        return updated;
+    }
+
+    /**
+     * Widths in a {@code variantWidths} column, empty when none are recorded.
+     */
+    public static List<Integer> parse(String widths) {
+        if (widths == null || widths.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(widths.split(","))
+                .map(String::trim)
+                .filter(width -> !width.isEmpty())
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+    // Null rather than an empty string when no variant is stored
+    static String format(Collection<Integer> widths) {
+        if (widths.isEmpty()) {
+            return null;
+        }
+        return widths.stream().sorted().distinct().map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
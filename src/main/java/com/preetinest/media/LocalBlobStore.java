@@ -0,0 +1,201 @@
+package com.preetinest.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Objects as plain files under {@code app.storage.local.root}, for tests, local development and load
+ * tests. Each write goes to a temporary file in the same directory, is forced to disk and then
+ * atomically renamed into place, so readers never see a partial object.
+ *
+ * Presigned uploads point at {@code <base-url>/upload/<key>}, signed with a key generated at startup,
+ * and are accepted by {@link com.preetinest.controller.LocalUploadController}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalBlobStore implements BlobStore {
+
+    private static final String TEMP_PREFIX = ".upload-";
+
+    private final Path root;
+    private final String baseUrl;
+    private final SecretKeySpec signingKey;
+
+    public LocalBlobStore(@Value("${app.storage.local.root:${java.io.tmpdir}/preetinest-blobs}") Path root,
+                          @Value("${app.storage.local.base-url:/media}") String baseUrl) throws IOException {
+        this.root = Files.createDirectories(root.toAbsolutePath().normalize());
+        this.baseUrl = baseUrl;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.signingKey = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        write(key, Channels.newChannel(content), contentLength);
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) throws IOException {
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            write(key, source, source.size());
+        }
+    }
+
+    @Override
+    public Optional<BlobSummary> stat(String key) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolve(key), BasicFileAttributes.class);
+            return Optional.of(new BlobSummary(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean touch(String key) throws IOException {
+        try {
+            Files.setLastModifiedTime(resolve(key), FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public PresignedUpload presignPut(String key, String contentType, Duration ttl) {
+        resolve(key);
+        long expires = Instant.now().plus(ttl).getEpochSecond();
+        String url = baseUrl + "/upload/" + key + "?expires=" + expires + "&signature=" + sign(key, contentType, expires);
+        return new PresignedUpload(key, url, Map.of("Content-Type", contentType), Instant.ofEpochSecond(expires));
+    }
+
+    /**
+     * Whether a PUT to a URL from {@link #presignPut} is genuine, unexpired and carries the signed
+     * content type.
+     */
+    public boolean verifyUpload(String key, String contentType, long expires, String signature) {
+        if (contentType == null || signature == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(key, contentType, expires).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public BlobPage list(String startAfter, int maxKeys) throws IOException {
+        List<BlobSummary> objects = new ArrayList<>();
+        try (Stream<Path> files = Files.list(root)) {
+            Iterator<String> sorted = files
+                    .map(p -> p.getFileName().toString())
+                    .filter(name -> !name.startsWith(TEMP_PREFIX))
+                    .filter(name -> startAfter == null || name.compareTo(startAfter) > 0)
+                    .sorted()
+                    .limit(maxKeys + 1L)
+                    .iterator();
+            while (sorted.hasNext() && objects.size() < maxKeys) {
+                String key = sorted.next();
+                Path file = root.resolve(key);
+                try {
+                    objects.add(new BlobSummary(key, Files.size(file),
+                            Files.getLastModifiedTime(file).toInstant()));
+                } catch (NoSuchFileException e) {
+                    // Deleted since the directory was read
+                }
+            }
+            return new BlobPage(objects, sorted.hasNext());
+        }
+    }
+
+    @Override
+    public void delete(Collection<String> keys) throws IOException {
+        for (String key : keys) {
+            Files.deleteIfExists(resolve(key));
+        }
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    private void write(String key, ReadableByteChannel source, long contentLength) throws IOException {
+        Path target = resolve(key);
+        Path temp = Files.createTempFile(target.getParent(), TEMP_PREFIX, ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long written = 0;
+                while (written < contentLength) {
+                    long n = out.transferFrom(source, written, contentLength - written);
+                    if (n <= 0) {
+                        throw new IOException("Content of " + key + " ended after " + written + " of " + contentLength + " bytes");
+                    }
+                    written += n;
+                }
+                out.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private String sign(String key, String contentType, long expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            byte[] signature = mac.doFinal((key + '\n' + contentType + '\n' + expires).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.getParent().equals(root)) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        return path;
+    }
+}
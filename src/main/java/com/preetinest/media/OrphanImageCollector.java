@@ -0,0 +1,222 @@
+package com.preetinest.media;
+
+import com.preetinest.entity.JobCheckpoint;
+import com.preetinest.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes stored images that no live row references any more: the old object after an image is
+ * replaced, and the images of soft-deleted rows. Enabled with {@code app.media.gc.enabled=true} and
+ * run on {@code app.media.gc.cron}.
+ *
+ * A run loads the referenced keys from {@link ImageReferences}, then walks the store page by page
+ * in key order. An object is deleted only when its key has the shape {@link com.preetinest.config.S3Service}
+ * generates, neither it nor (for a resized variant) its original is referenced, and it is older than
+ * the grace period. Each batch of candidates is checked against the database once more right before
+ * it is deleted, because content-addressed keys can be picked up again by a new row while the run is
+ * going. Uploads that turn out to be duplicates touch the stored object, so its age starts over.
+ *
+ * Deletes are paced to {@code app.media.gc.deletes-per-second}. A run stops after
+ * {@code app.media.gc.max-run-time}; the position is kept in a {@link JobCheckpoint}, so the next run
+ * continues where this one stopped, on whichever instance holds the job's lease.
+ *
+ * Metrics: {@code media.gc.objects}, tagged by outcome: {@code deleted}, {@code referenced},
+ * {@code recent} or {@code unmanaged}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.media.gc.enabled", havingValue = "true")
+public class OrphanImageCollector {
+
+    public static final String JOB_NAME = "orphan-image-gc";
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanImageCollector.class);
+
+    // A UUID (older uploads) or SHA-256 name, an optional _w<width> variant suffix and the extension
+    private static final Pattern MANAGED_KEY =
+            Pattern.compile("([0-9a-f]{8}(?:-[0-9a-f]{4}){3}-[0-9a-f]{12}|[0-9a-f]{64})(_w\\d+)?(\\.[A-Za-z0-9]+)");
+
+    // Renewed after every page, so it only has to outlast one page of listing and deletes
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private final BlobStore blobStore;
+    private final ImageReferences imageReferences;
+    private final JobCheckpointRepository checkpointRepository;
+    private final Duration gracePeriod;
+    private final int pageSize;
+    private final int deletesPerSecond;
+    private final RateLimiter deleteLimiter;
+    private final Duration maxRunTime;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Counter deleted;
+    private final Counter referenced;
+    private final Counter recent;
+    private final Counter unmanaged;
+
+    public OrphanImageCollector(BlobStore blobStore,
+                                ImageReferences imageReferences,
+                                JobCheckpointRepository checkpointRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.media.gc.grace-period:7d}") Duration gracePeriod,
+                                @Value("${app.media.gc.page-size:500}") int pageSize,
+                                @Value("${app.media.gc.deletes-per-second:20}") int deletesPerSecond,
+                                @Value("${app.media.gc.max-run-time:30m}") Duration maxRunTime) {
+        this.blobStore = blobStore;
+        this.imageReferences = imageReferences;
+        this.checkpointRepository = checkpointRepository;
+        this.gracePeriod = gracePeriod;
+        this.pageSize = pageSize;
+        this.deletesPerSecond = deletesPerSecond;
+        this.deleteLimiter = new RateLimiter(deletesPerSecond);
+        this.maxRunTime = maxRunTime;
+        this.deleted = counter(meterRegistry, "deleted");
+        this.referenced = counter(meterRegistry, "referenced");
+        this.recent = counter(meterRegistry, "recent");
+        this.unmanaged = counter(meterRegistry, "unmanaged");
+    }
+
+    @Scheduled(cron = "${app.media.gc.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        try {
+            run();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Orphaned image collection failed; the next run resumes from the last checkpoint", e);
+        }
+    }
+
+    /**
+     * Runs until the listing is finished, the run time is used up or another instance holds the job.
+     *
+     * @return whether the whole store has been walked
+     */
+    public synchronized boolean run() throws IOException {
+        createCheckpoint();
+        if (checkpointRepository.acquireLease(JOB_NAME, owner, LocalDateTime.now(), LocalDateTime.now().plus(LEASE)) == 0) {
+            log.info("Skipping orphaned image collection, another instance holds the job");
+            return false;
+        }
+        try {
+            String lastKey = checkpointRepository.findById(JOB_NAME).map(JobCheckpoint::getLastKey).orElse(null);
+            Set<String> liveKeys = imageReferences.loadLiveKeys();
+            Instant cutoff = Instant.now().minus(gracePeriod);
+            long deadline = System.nanoTime() + maxRunTime.toNanos();
+            double deletedBefore = deleted.count();
+
+            while (true) {
+                BlobPage page = blobStore.list(lastKey, pageSize);
+                deleteOrphans(page.getObjects(), liveKeys, cutoff);
+                if (!page.isTruncated()) {
+                    checkpointRepository.markCompleted(JOB_NAME, owner, LocalDateTime.now());
+                    log.info("Orphaned image collection finished, {} objects deleted", (long) (deleted.count() - deletedBefore));
+                    return true;
+                }
+                lastKey = page.getLastKey();
+                if (checkpointRepository.saveProgress(JOB_NAME, owner, lastKey, LocalDateTime.now(), LocalDateTime.now().plus(LEASE)) == 0) {
+                    log.warn("Lost the orphaned image collection lease after {}", lastKey);
+                    return false;
+                }
+                if (System.nanoTime() - deadline > 0) {
+                    log.info("Orphaned image collection paused after {}, {} objects deleted", lastKey, (long) (deleted.count() - deletedBefore));
+                    return false;
+                }
+            }
+        } finally {
+            checkpointRepository.releaseLease(JOB_NAME, owner);
+        }
+    }
+
+    private void deleteOrphans(List<BlobSummary> objects, Set<String> liveKeys, Instant cutoff) throws IOException {
+        List<String> candidates = new ArrayList<>();
+        for (BlobSummary object : objects) {
+            String original = originalKey(object.getKey());
+            if (original == null) {
+                unmanaged.increment();
+            } else if (liveKeys.contains(original)) {
+                referenced.increment();
+            } else if (object.getLastModified().isAfter(cutoff)) {
+                recent.increment();
+            } else {
+                candidates.add(object.getKey());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Re-checked per batch, right before it is deleted: pacing can stretch a page over many seconds
+        for (int from = 0; from < candidates.size(); from += deletesPerSecond) {
+            List<String> batch = candidates.subList(from, Math.min(from + deletesPerSecond, candidates.size()));
+            deleteLimiter.acquire(batch.size());
+            Set<String> nowLive = imageReferences.findLive(batch.stream()
+                    .map(OrphanImageCollector::originalKey)
+                    .collect(Collectors.toSet()));
+            List<String> orphans = new ArrayList<>();
+            for (String key : batch) {
+                if (nowLive.contains(originalKey(key))) {
+                    referenced.increment();
+                } else {
+                    orphans.add(key);
+                }
+            }
+            if (orphans.isEmpty()) {
+                continue;
+            }
+            blobStore.delete(orphans);
+            deleted.increment(orphans.size());
+            log.debug("Deleted orphaned images {}", orphans);
+        }
+    }
+
+    private void createCheckpoint() {
+        if (checkpointRepository.existsById(JOB_NAME)) {
+            return;
+        }
+        JobCheckpoint checkpoint = new JobCheckpoint();
+        checkpoint.setName(JOB_NAME);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        try {
+            checkpointRepository.save(checkpoint);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+    }
+
+    /**
+     * The key whose reference keeps {@code key} alive: itself, or the original of a resized variant.
+     * {@code null} for keys this application did not generate, which are never deleted.
+     */
+    static String originalKey(String key) {
+        Matcher matcher = MANAGED_KEY.matcher(key);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return matcher.group(2) == null ? key : matcher.group(1) + matcher.group(3);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("media.gc.objects")
+                .description("Stored objects seen by the orphaned image collector, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.preetinest.media;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A short-lived URL the client can PUT one object to directly, with the headers the request must
+ * carry exactly as given, since they are part of the signature.
+ */
+public final class PresignedUpload {
+
+    private final String key;
+    private final String url;
+    private final Map<String, String> headers;
+    private final Instant expiresAt;
+
+    public PresignedUpload(String key, String url, Map<String, String> headers, Instant expiresAt) {
+        this.key = key;
+        this.url = url;
+        this.headers = Map.copyOf(headers);
+        this.expiresAt = expiresAt;
+    }
+
+    public String getKey() { return key; }
+
+    public String getUrl() { return url; }
+
+    public Map<String, String> getHeaders() { return headers; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+}
@@ -0,0 +1,40 @@
+package com.preetinest.media;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces work out to a fixed rate. Callers reserve permits in turn and sleep until their slot comes
+ * up; time nobody used is not saved up, so there are no bursts after a quiet spell.
+ */
+public final class RateLimiter {
+
+    private final long nanosPerPermit;
+
+    // Guarded by this
+    private long nextFreeAt = System.nanoTime();
+
+    public RateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.nanosPerPermit = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    public void acquire(int permits) throws InterruptedIOException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            waitNanos = nextFreeAt - now;
+            nextFreeAt = Math.max(now, nextFreeAt) + permits * nanosPerPermit;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a rate limit");
+            }
+        }
+    }
+}
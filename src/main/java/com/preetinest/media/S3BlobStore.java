@@ -0,0 +1,392 @@
+package com.preetinest.media;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.HttpMethod;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.retry.PredefinedBackoffStrategies;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.retry.RetryPolicy;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public-read objects at the root of the configured bucket. Large objects go up as multipart uploads
+ * through a {@link TransferManager}; small ones as a single PUT.
+ *
+ * Every request has connect, socket and per-attempt timeouts, and failed attempts that are worth
+ * repeating (throttling, 5xx, I/O errors) are retried with full-jitter exponential backoff. Keys are
+ * content hashes or fresh UUIDs, so repeating a PUT can only write the same bytes again. Calls that
+ * still fail feed a {@link CircuitBreaker}; once it opens, calls fail fast with
+ * {@link BlobStoreUnavailableException} instead of waiting out the timeouts. 4xx answers such as a
+ * missing object do not count against the bucket.
+ *
+ * Metrics: {@code s3.requests} (latency histogram by operation and outcome),
+ * {@code s3.circuit.state} (1 for the current state) and {@code s3.circuit.rejected}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3BlobStore implements BlobStore {
+
+    // Limit of a single multi-object delete request
+    private static final int MAX_DELETE_KEYS = 1000;
+
+    @Value("${aws.bucket.name}")
+    private String bucketName;
+
+    @Value("${app.s3.base-url}")
+    private String baseUrl;
+
+    @Value("${aws.accessKey:}")
+    private String accessKey;
+
+    @Value("${aws.secretKey:}")
+    private String secretKey;
+
+    @Value("${aws.region.static:ca-central-1}")
+    private String region;
+
+    @Value("${app.s3.upload.multipart-threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${app.s3.upload.part-size:8MB}")
+    private DataSize partSize;
+
+    @Value("${app.s3.client.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${app.s3.client.socket-timeout:10s}")
+    private Duration socketTimeout;
+
+    @Value("${app.s3.client.request-timeout:30s}")
+    private Duration requestTimeout;
+
+    @Value("${app.s3.client.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${app.s3.client.retry-base-delay:100ms}")
+    private Duration retryBaseDelay;
+
+    @Value("${app.s3.client.retry-max-delay:2s}")
+    private Duration retryMaxDelay;
+
+    @Value("${app.s3.circuit-breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${app.s3.circuit-breaker.minimum-calls:10}")
+    private int breakerMinimumCalls;
+
+    @Value("${app.s3.circuit-breaker.failure-rate-threshold:0.5}")
+    private double breakerFailureRateThreshold;
+
+    @Value("${app.s3.circuit-breaker.open-duration:30s}")
+    private Duration breakerOpenDuration;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AmazonS3 s3Client;
+    private TransferManager transferManager;
+    private CircuitBreaker circuitBreaker;
+    private Counter rejectedCalls;
+
+    @PostConstruct
+    public void init() {
+        AWSCredentials credentials = new BasicAWSCredentials(accessKey, secretKey);
+        ClientConfiguration clientConfiguration = new ClientConfiguration()
+                .withConnectionTimeout((int) connectTimeout.toMillis())
+                .withSocketTimeout((int) socketTimeout.toMillis())
+                .withRequestTimeout((int) requestTimeout.toMillis())
+                .withRetryPolicy(new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION,
+                        new PredefinedBackoffStrategies.FullJitterBackoffStrategy(
+                                (int) retryBaseDelay.toMillis(), (int) retryMaxDelay.toMillis()),
+                        maxRetries, false));
+        s3Client = AmazonS3ClientBuilder.standard()
+                .withRegion(region)
+                .withCredentials(new AWSStaticCredentialsProvider(credentials))
+                .withClientConfiguration(clientConfiguration)
+                .build();
+        transferManager = TransferManagerBuilder.standard()
+                .withS3Client(s3Client)
+                .withMultipartUploadThreshold(multipartThreshold.toBytes())
+                .withMinimumUploadPartSize(partSize.toBytes())
+                .build();
+
+        circuitBreaker = new CircuitBreaker("s3", breakerWindowSize, breakerMinimumCalls,
+                breakerFailureRateThreshold, breakerOpenDuration);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("s3.circuit.state", circuitBreaker, b -> b.getState() == state ? 1 : 0)
+                    .description("1 for the current state of the S3 circuit breaker, 0 for the others")
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        rejectedCalls = Counter.builder("s3.circuit.rejected")
+                .description("S3 calls refused because the circuit breaker was open")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transferManager.shutdownNow(true);
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            return call("exists", () -> s3Client.doesObjectExist(bucketName, key));
+        } catch (AmazonClientException e) {
+            throw new IOException("Could not check " + key + " in S3", e);
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(contentLength);
+        metadata.setContentType(contentType);
+        PutObjectRequest request = new PutObjectRequest(bucketName, key, content, metadata);
+        // Lets the SDK rewind the stream to retry a PUT or part; callers pass in-memory or file content
+        request.getRequestClientOptions().setReadLimit((int) Math.min(contentLength, partSize.toBytes()) + 1);
+        upload(request);
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        upload(new PutObjectRequest(bucketName, key, file.toFile()).withMetadata(metadata));
+    }
+
+    @Override
+    public Optional<BlobSummary> stat(String key) throws IOException {
+        try {
+            ObjectMetadata metadata = call("stat", () -> s3Client.getObjectMetadata(bucketName, key));
+            return Optional.of(new BlobSummary(key, metadata.getContentLength(), metadata.getLastModified().toInstant()));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new IOException("Could not read metadata of " + key + " in S3", e);
+        } catch (AmazonClientException e) {
+            throw new IOException("Could not read metadata of " + key + " in S3", e);
+        }
+    }
+
+    // S3 only copies an object onto itself when its metadata is replaced, which also resets the ACL
+    @Override
+    public boolean touch(String key) throws IOException {
+        try {
+            ObjectMetadata current = call("stat", () -> s3Client.getObjectMetadata(bucketName, key));
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentType(current.getContentType());
+            metadata.setUserMetadata(current.getUserMetadata());
+            call("touch", () -> s3Client.copyObject(new CopyObjectRequest(bucketName, key, bucketName, key)
+                    .withNewObjectMetadata(metadata)
+                    .withCannedAccessControlList(CannedAccessControlList.PublicRead)));
+            return true;
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return false;
+            }
+            throw new IOException("Could not touch " + key + " in S3", e);
+        } catch (AmazonClientException e) {
+            throw new IOException("Could not touch " + key + " in S3", e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        S3ObjectInputStream content;
+        try {
+            content = call("open", () -> s3Client.getObject(bucketName, key).getObjectContent());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                throw new NoSuchFileException(key);
+            }
+            throw new IOException("Could not read " + key + " from S3", e);
+        } catch (AmazonClientException e) {
+            throw new IOException("Could not read " + key + " from S3", e);
+        }
+        return new FilterInputStream(content) {
+            private boolean drained;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                drained = b < 0;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                drained = n < 0;
+                return n;
+            }
+
+            // Closing mid-object would otherwise read the rest of it to keep the connection
+            @Override
+            public void close() throws IOException {
+                if (drained) {
+                    super.close();
+                } else {
+                    content.abort();
+                }
+            }
+        };
+    }
+
+    @Override
+    public PresignedUpload presignPut(String key, String contentType, Duration ttl) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(Date.from(expiresAt))
+                .withContentType(contentType);
+        request.putCustomRequestHeader(Headers.S3_CANNED_ACL, CannedAccessControlList.PublicRead.toString());
+        // Signed locally; the SDK's signer reuses its derived signing key for the day
+        String url = s3Client.generatePresignedUrl(request).toString();
+        return new PresignedUpload(key, url, Map.of(
+                Headers.CONTENT_TYPE, contentType,
+                Headers.S3_CANNED_ACL, CannedAccessControlList.PublicRead.toString()), expiresAt);
+    }
+
+    @Override
+    public BlobPage list(String startAfter, int maxKeys) throws IOException {
+        try {
+            ListObjectsV2Result result = call("list", () -> s3Client.listObjectsV2(new ListObjectsV2Request()
+                    .withBucketName(bucketName)
+                    .withStartAfter(startAfter)
+                    .withMaxKeys(maxKeys)));
+            List<BlobSummary> objects = result.getObjectSummaries().stream()
+                    .map(o -> new BlobSummary(o.getKey(), o.getSize(), o.getLastModified().toInstant()))
+                    .toList();
+            return new BlobPage(objects, result.isTruncated());
+        } catch (AmazonClientException e) {
+            throw new IOException("Could not list S3 objects after " + startAfter, e);
+        }
+    }
+
+    @Override
+    public void delete(Collection<String> keys) throws IOException {
+        List<String> remaining = new ArrayList<>(keys);
+        for (int from = 0; from < remaining.size(); from += MAX_DELETE_KEYS) {
+            List<String> batch = remaining.subList(from, Math.min(from + MAX_DELETE_KEYS, remaining.size()));
+            try {
+                call("delete", () -> s3Client.deleteObjects(new DeleteObjectsRequest(bucketName)
+                        .withKeys(batch.toArray(String[]::new))
+                        .withQuiet(true)));
+            } catch (AmazonClientException e) {
+                throw new IOException("Could not delete " + batch.size() + " objects from S3", e);
+            }
+        }
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return baseUrl + "/" + key; // → https://preetinest.s3.../abc123.png
+    }
+
+    private void upload(PutObjectRequest request) throws IOException {
+        try {
+            call("put", () -> {
+                try {
+                    return transferManager.upload(request.withCannedAcl(CannedAccessControlList.PublicRead)).waitForUploadResult();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while uploading " + request.getKey());
+                }
+            });
+        } catch (AmazonClientException e) {
+            throw new IOException("Could not upload " + request.getKey() + " to S3", e);
+        }
+    }
+
+    private <T> T call(String operation, S3Call<T> call) throws IOException {
+        if (!circuitBreaker.tryAcquire()) {
+            rejectedCalls.increment();
+            throw new BlobStoreUnavailableException("S3 circuit breaker is open; " + operation + " was not attempted");
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.run();
+            circuitBreaker.onSuccess();
+            record(operation, "success", start);
+            return result;
+        } catch (AmazonServiceException e) {
+            // Missing objects, denied access and bad requests are answers, not signs of an unhealthy bucket
+            if (e.getStatusCode() >= 400 && e.getStatusCode() < 500 && e.getStatusCode() != 429) {
+                circuitBreaker.onSuccess();
+                record(operation, "client_error", start);
+            } else {
+                circuitBreaker.onFailure();
+                record(operation, "failure", start);
+            }
+            throw e;
+        } catch (InterruptedIOException e) {
+            circuitBreaker.onIgnored();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onFailure();
+            record(operation, "failure", start);
+            throw e;
+        }
+    }
+
+    private void record(String operation, String outcome, long start) {
+        Timer.builder("s3.requests")
+                .description("S3 calls, including the SDK's retries, by operation and outcome")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @FunctionalInterface
+    private interface S3Call<T> {
+        T run() throws IOException;
+    }
+}
@@ -0,0 +1,22 @@
+package com.preetinest.media;
+
+import com.preetinest.entity.ImageMetadata;
+
+/**
+ * Key of an accepted image upload, with its size and placeholder when they could be read.
+ */
+public final class UploadedImage {
+
+    private final String key;
+    private final ImageMetadata metadata;
+
+    public UploadedImage(String key, ImageMetadata metadata) {
+        this.key = key;
+        this.metadata = metadata;
+    }
+
+    public String getKey() { return key; }
+
+    // Null for formats the server cannot decode, such as WebP
+    public ImageMetadata getMetadata() { return metadata; }
+}
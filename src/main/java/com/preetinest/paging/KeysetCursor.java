@@ -0,0 +1,70 @@
+package com.preetinest.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by {@code createdAt DESC, id DESC}: the key of the last row a client has seen.
+ * Clients only ever get the encoded form and hand it back untouched.
+ */
+public final class KeysetCursor {
+
+    private static final String VERSION = "1";
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    private KeysetCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(LocalDateTime createdAt, Long id) {
+        return new KeysetCursor(createdAt, id);
+    }
+
+    /**
+     * @return the decoded cursor, or null for a missing token (first page)
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException(token);
+            }
+            return new KeysetCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * True when a row with this key comes after the cursor in newest-first order.
+     */
+    boolean isAfter(LocalDateTime rowCreatedAt, Long rowId) {
+        if (rowCreatedAt == null) {
+            return true;
+        }
+        int byTime = rowCreatedAt.compareTo(createdAt);
+        return byTime < 0 || (byTime == 0 && rowId < id);
+    }
+}
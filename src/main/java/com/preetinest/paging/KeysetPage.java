@@ -0,0 +1,81 @@
+package com.preetinest.paging;
+
+import com.preetinest.dto.response.PageResponseDTO;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds newest-first keyset pages, either from rows a repository fetched with {@link #limit(int)}
+ * or by slicing an already sorted in-memory list.
+ */
+public final class KeysetPage {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private KeysetPage() {
+    }
+
+    public static int size(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    // One extra row tells us whether there is a next page without a COUNT
+    public static Limit limit(int size) {
+        return Limit.of(size + 1);
+    }
+
+    public static <T> Comparator<T> newestFirst(Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        return Comparator.comparing(createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(id, Comparator.reverseOrder());
+    }
+
+    /**
+     * @param rows  up to {@code size + 1} rows in newest-first order
+     * @param total row count when the caller asked for it, otherwise null
+     */
+    public static <T> PageResponseDTO<T> fromRows(List<T> rows, int size,
+                                                  Function<T, LocalDateTime> createdAt, Function<T, Long> id,
+                                                  Long total) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = List.copyOf(hasMore ? rows.subList(0, size) : rows);
+        String nextCursor = null;
+        if (hasMore) {
+            T last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.of(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return new PageResponseDTO<>(items, nextCursor, hasMore, total);
+    }
+
+    /**
+     * Pages through a list that is already sorted with {@link #newestFirst}; finds the cursor position by binary search.
+     */
+    public static <T> PageResponseDTO<T> slice(List<T> sorted, KeysetCursor cursor, int size,
+                                               Function<T, LocalDateTime> createdAt, Function<T, Long> id,
+                                               boolean includeTotal) {
+        int from = 0;
+        if (cursor != null) {
+            int low = 0;
+            int high = sorted.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                T row = sorted.get(mid);
+                if (cursor.isAfter(createdAt.apply(row), id.apply(row))) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            from = low;
+        }
+        List<T> rows = sorted.subList(from, Math.min(from + size + 1, sorted.size()));
+        return fromRows(rows, size, createdAt, id, includeTotal ? (long) sorted.size() : null);
+    }
+}
@@ -1,18 +1,51 @@
 package com.preetinest.repository;
 
 import com.preetinest.entity.BlogDetail;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BlogDetailRepository extends JpaRepository<BlogDetail, Long> {
     Optional<BlogDetail> findByUuid(String uuid);
 
-    @Query("SELECT bd FROM BlogDetail bd WHERE bd.blog.id = :blogId AND bd.deleteStatus = 2")
-    List<BlogDetail> findByBlogId(@Param("blogId") Long blogId);
-}
\ No newline at end of file
+    @Query("SELECT bd FROM BlogDetail bd WHERE bd.id = :id AND bd.deleteStatus = 2 AND bd.active = true AND bd.displayStatus = true")
+    Optional<BlogDetail> findVisibleById(@Param("id") Long id);
+
+    @Query("SELECT bd FROM BlogDetail bd WHERE bd.uuid = :uuid AND bd.deleteStatus = 2 AND bd.active = true AND bd.displayStatus = true")
+    Optional<BlogDetail> findVisibleByUuid(@Param("uuid") String uuid);
+
+    @Query("SELECT bd FROM BlogDetail bd WHERE bd.blog.id = :blogId AND bd.deleteStatus = 2 AND bd.active = true AND bd.displayStatus = true " +
+            "ORDER BY bd.displayOrder ASC, bd.id ASC")
+    List<BlogDetail> findVisibleByBlogId(@Param("blogId") Long blogId);
+
+    // Object keys still referenced by live rows, read by the orphaned image collector inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT bd.imageUrl FROM BlogDetail bd WHERE bd.deleteStatus = 2 AND bd.imageUrl IS NOT NULL")
+    Stream<String> streamLiveImageKeys();
+
+    @Query("SELECT bd.imageUrl FROM BlogDetail bd WHERE bd.deleteStatus = 2 AND bd.imageUrl IN :keys")
+    List<String> findLiveImageKeysIn(@Param("keys") Collection<String> keys);
+
+    @Query("SELECT bd.id AS id, bd.imageUrl AS imageKey FROM BlogDetail bd " +
+            "WHERE bd.deleteStatus = 2 AND bd.imageUrl IS NOT NULL AND bd.id > :afterId ORDER BY bd.id")
+    List<ImageRowView> findImagesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Widths of the stored variants of an image, on every row that uses it; 0 when none does
+    @Transactional
+    @Modifying
+    @Query("UPDATE BlogDetail bd SET bd.imageMetadata.variantWidths = :widths WHERE bd.imageUrl = :image")
+    int updateImageVariantWidths(@Param("image") String image, @Param("widths") String widths);
+}
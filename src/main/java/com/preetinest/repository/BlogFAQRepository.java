@@ -3,6 +3,7 @@ package com.preetinest.repository;
 import com.preetinest.entity.BlogFAQ;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +11,13 @@ import java.util.Optional;
 public interface BlogFAQRepository extends JpaRepository<BlogFAQ, Long> {
     Optional<BlogFAQ> findByUuid(String uuid);
 
-    @Query("SELECT bf FROM BlogFAQ bf WHERE bf.blog.id = :blogId")
-    List<BlogFAQ> findByBlogId(Long blogId);
+    @Query("SELECT bf FROM BlogFAQ bf WHERE bf.id = :id AND bf.deleteStatus = 2 AND bf.active = true AND bf.displayStatus = true")
+    Optional<BlogFAQ> findVisibleById(@Param("id") Long id);
+
+    @Query("SELECT bf FROM BlogFAQ bf WHERE bf.uuid = :uuid AND bf.deleteStatus = 2 AND bf.active = true AND bf.displayStatus = true")
+    Optional<BlogFAQ> findVisibleByUuid(@Param("uuid") String uuid);
+
+    @Query("SELECT bf FROM BlogFAQ bf WHERE bf.blog.id = :blogId AND bf.deleteStatus = 2 AND bf.active = true AND bf.displayStatus = true " +
+            "ORDER BY bf.displayOrder ASC, bf.id ASC")
+    List<BlogFAQ> findVisibleByBlogId(@Param("blogId") Long blogId);
 }
\ No newline at end of file
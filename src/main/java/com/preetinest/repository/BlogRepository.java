@@ -1,13 +1,22 @@
 package com.preetinest.repository;
 
 import com.preetinest.entity.Blog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BlogRepository extends JpaRepository<Blog, Long> {
@@ -15,9 +24,57 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
 
     Optional<Blog> findBySlug(String slug);
 
-    @Query("SELECT b FROM Blog b WHERE b.deleteStatus = 2 AND b.active = true AND b.displayStatus = true")
+    @Query("SELECT b.id AS id, b.slug AS slug, b.title AS name, " +
+            "CASE WHEN b.active = true AND b.displayStatus = true THEN true ELSE false END AS visible " +
+            "FROM Blog b WHERE b.deleteStatus = 2")
+    List<SlugView> findLiveSlugs();
+
+    @Query("SELECT b FROM Blog b WHERE b.id = :id AND b.deleteStatus = 2 AND b.active = true AND b.displayStatus = true")
+    Optional<Blog> findVisibleById(@Param("id") Long id);
+
+    @Query("SELECT b FROM Blog b WHERE b.uuid = :uuid AND b.deleteStatus = 2 AND b.active = true AND b.displayStatus = true")
+    Optional<Blog> findVisibleByUuid(@Param("uuid") String uuid);
+
+    @Query("SELECT b FROM Blog b WHERE b.slug = :slug AND b.deleteStatus = 2 AND b.active = true AND b.displayStatus = true")
+    Optional<Blog> findVisibleBySlug(@Param("slug") String slug);
+
+    @Query("SELECT b FROM Blog b WHERE b.deleteStatus = 2 AND b.active = true AND b.displayStatus = true ORDER BY b.createdAt DESC, b.id DESC")
     List<Blog> findAllActiveBlogs();
 
-    @Query("SELECT b FROM Blog b WHERE b.service.id = :serviceId AND b.deleteStatus = 2")
-    List<Blog> findByServiceId(@Param("serviceId") Long serviceId);
-}
\ No newline at end of file
+    @Query("SELECT b FROM Blog b WHERE b.service.id = :serviceId AND b.deleteStatus = 2 AND b.active = true AND b.displayStatus = true " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findVisibleByServiceId(@Param("serviceId") Long serviceId);
+
+    // Keyset pages, newest first; pass KeysetPage.limit(size) to fetch one row past the page
+    @Query("SELECT b FROM Blog b WHERE b.deleteStatus = 2 AND b.active = true AND b.displayStatus = true ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findActiveBlogsNewestFirst(Limit limit);
+
+    @Query("SELECT b FROM Blog b WHERE b.deleteStatus = 2 AND b.active = true AND b.displayStatus = true " +
+            "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findActiveBlogsBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT COUNT(b) FROM Blog b WHERE b.deleteStatus = 2 AND b.active = true AND b.displayStatus = true")
+    long countActiveBlogs();
+
+    // Object keys still referenced by live rows, read by the orphaned image collector inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b.thumbnailUrl FROM Blog b WHERE b.deleteStatus = 2 AND b.thumbnailUrl IS NOT NULL " +
+            "UNION ALL SELECT b.imageUrl FROM Blog b WHERE b.deleteStatus = 2 AND b.imageUrl IS NOT NULL")
+    Stream<String> streamLiveImageKeys();
+
+    @Query("SELECT b.thumbnailUrl FROM Blog b WHERE b.deleteStatus = 2 AND b.thumbnailUrl IN :keys " +
+            "UNION ALL SELECT b.imageUrl FROM Blog b WHERE b.deleteStatus = 2 AND b.imageUrl IN :keys")
+    List<String> findLiveImageKeysIn(@Param("keys") Collection<String> keys);
+
+    // Live rows with a thumbnail in id order, one chunk of the derivative backfill at a time
+    @Query("SELECT b.id AS id, b.thumbnailUrl AS imageKey FROM Blog b " +
+            "WHERE b.deleteStatus = 2 AND b.thumbnailUrl IS NOT NULL AND b.id > :afterId ORDER BY b.id")
+    List<ImageRowView> findThumbnailsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Widths of the stored variants of an image, on every row that uses it; 0 when none does
+    @Transactional
+    @Modifying
+    @Query("UPDATE Blog b SET b.thumbnailMetadata.variantWidths = :widths WHERE b.thumbnailUrl = :image")
+    int updateThumbnailVariantWidths(@Param("image") String image, @Param("widths") String widths);
+}
@@ -1,8 +1,12 @@
 package com.preetinest.repository;
 
 import com.preetinest.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +16,22 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Optional<Category> findBySlug(String slug);
 
-    @Query("SELECT c FROM Category c WHERE c.deleteStatus = 2 AND c.active = true")
+    @Query("SELECT c.id AS id, c.slug AS slug, c.name AS name, c.active AS visible FROM Category c WHERE c.deleteStatus = 2")
+    List<SlugView> findLiveSlugs();
+
+    @Query("SELECT c FROM Category c WHERE c.id = :id AND c.deleteStatus = 2")
+    Optional<Category> findLiveById(@Param("id") Long id);
+
+    @Query("SELECT c FROM Category c WHERE c.uuid = :uuid AND c.deleteStatus = 2")
+    Optional<Category> findLiveByUuid(@Param("uuid") String uuid);
+
+    @Query("SELECT c FROM Category c WHERE c.slug = :slug AND c.deleteStatus = 2")
+    Optional<Category> findLiveBySlug(@Param("slug") String slug);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference.queries")
+    })
+    @Query("SELECT c FROM Category c WHERE c.deleteStatus = 2 AND c.active = true ORDER BY c.id ASC")
     List<Category> findAllActiveCategories();
 }
\ No newline at end of file
@@ -1,17 +1,71 @@
 package com.preetinest.repository;
 
 import com.preetinest.entity.Clients;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ClientRepository extends JpaRepository<Clients, Long> {
     Optional<Clients> findByUuid(String uuid);
 
     Optional<Clients> findBySlug(String slug);
 
-    @Query("SELECT c FROM Clients c WHERE c.deleteStatus = 2 AND c.active = true AND c.displayStatus = true")
+    @Query("SELECT c.id AS id, c.slug AS slug, c.name AS name, " +
+            "CASE WHEN c.active = true AND c.displayStatus = true THEN true ELSE false END AS visible " +
+            "FROM Clients c WHERE c.deleteStatus = 2")
+    List<SlugView> findLiveSlugs();
+
+    @Query("SELECT c FROM Clients c WHERE c.id = :id AND c.deleteStatus = 2 AND c.active = true AND c.displayStatus = true")
+    Optional<Clients> findVisibleById(@Param("id") Long id);
+
+    @Query("SELECT c FROM Clients c WHERE c.uuid = :uuid AND c.deleteStatus = 2 AND c.active = true AND c.displayStatus = true")
+    Optional<Clients> findVisibleByUuid(@Param("uuid") String uuid);
+
+    @Query("SELECT c FROM Clients c WHERE c.slug = :slug AND c.deleteStatus = 2 AND c.active = true AND c.displayStatus = true")
+    Optional<Clients> findVisibleBySlug(@Param("slug") String slug);
+
+    @Query("SELECT c FROM Clients c WHERE c.deleteStatus = 2 AND c.active = true AND c.displayStatus = true ORDER BY c.createdAt DESC, c.id DESC")
     List<Clients> findAllActiveClients();
-}
\ No newline at end of file
+
+    // Keyset pages, newest first; pass KeysetPage.limit(size) to fetch one row past the page
+    @Query("SELECT c FROM Clients c WHERE c.deleteStatus = 2 AND c.active = true AND c.displayStatus = true ORDER BY c.createdAt DESC, c.id DESC")
+    List<Clients> findActiveClientsNewestFirst(Limit limit);
+
+    @Query("SELECT c FROM Clients c WHERE c.deleteStatus = 2 AND c.active = true AND c.displayStatus = true " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Clients> findActiveClientsBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT COUNT(c) FROM Clients c WHERE c.deleteStatus = 2 AND c.active = true AND c.displayStatus = true")
+    long countActiveClients();
+
+    // Object keys still referenced by live rows, read by the orphaned image collector inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.logoUrl FROM Clients c WHERE c.deleteStatus = 2 AND c.logoUrl IS NOT NULL")
+    Stream<String> streamLiveImageKeys();
+
+    @Query("SELECT c.logoUrl FROM Clients c WHERE c.deleteStatus = 2 AND c.logoUrl IN :keys")
+    List<String> findLiveImageKeysIn(@Param("keys") Collection<String> keys);
+
+    @Query("SELECT c.id AS id, c.logoUrl AS imageKey FROM Clients c " +
+            "WHERE c.deleteStatus = 2 AND c.logoUrl IS NOT NULL AND c.id > :afterId ORDER BY c.id")
+    List<ImageRowView> findLogosAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Widths of the stored variants of an image, on every row that uses it; 0 when none does
+    @Transactional
+    @Modifying
+    @Query("UPDATE Clients c SET c.logoMetadata.variantWidths = :widths WHERE c.logoUrl = :image")
+    int updateLogoVariantWidths(@Param("image") String image, @Param("widths") String widths);
+}
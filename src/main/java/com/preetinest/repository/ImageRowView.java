@@ -0,0 +1,10 @@
+package com.preetinest.repository;
+
+/**
+ * Id and image column of one row, read in id order by the derivative backfill.
+ */
+public interface ImageRowView {
+    Long getId();
+
+    String getImageKey();
+}
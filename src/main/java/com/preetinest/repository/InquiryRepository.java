@@ -1,11 +1,14 @@
 package com.preetinest.repository;
 
 import com.preetinest.entity.Inquiry;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,9 +16,27 @@ public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
 
     Optional<Inquiry> findByUuid(String uuid);
 
+    @Query("SELECT i FROM Inquiry i WHERE i.id = :id AND i.deleteStatus = 2 AND i.active = true AND i.displayStatus = true")
+    Optional<Inquiry> findVisibleById(@Param("id") Long id);
+
+    @Query("SELECT i FROM Inquiry i WHERE i.uuid = :uuid AND i.deleteStatus = 2 AND i.active = true AND i.displayStatus = true")
+    Optional<Inquiry> findVisibleByUuid(@Param("uuid") String uuid);
+
     @Query("SELECT i FROM Inquiry i WHERE i.deleteStatus = 2 AND i.active = true AND i.displayStatus = true")
     Page<Inquiry> findAllActiveInquiries(Pageable pageable);
 
-    @Query("SELECT i FROM Inquiry i WHERE i.deleteStatus = 2 AND i.active = true AND i.displayStatus = true")
+    @Query("SELECT i FROM Inquiry i WHERE i.deleteStatus = 2 AND i.active = true AND i.displayStatus = true ORDER BY i.createdAt DESC, i.id DESC")
     List<Inquiry> findAllActiveInquiries();
-}
\ No newline at end of file
+
+    // Keyset pages, newest first; pass KeysetPage.limit(size) to fetch one row past the page
+    @Query("SELECT i FROM Inquiry i WHERE i.deleteStatus = 2 AND i.active = true AND i.displayStatus = true ORDER BY i.createdAt DESC, i.id DESC")
+    List<Inquiry> findActiveInquiriesNewestFirst(Limit limit);
+
+    @Query("SELECT i FROM Inquiry i WHERE i.deleteStatus = 2 AND i.active = true AND i.displayStatus = true " +
+            "AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Inquiry> findActiveInquiriesBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT COUNT(i) FROM Inquiry i WHERE i.deleteStatus = 2 AND i.active = true AND i.displayStatus = true")
+    long countActiveInquiries();
+}
@@ -0,0 +1,40 @@
+package com.preetinest.repository;
+
+import com.preetinest.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    // 1 when owner now holds the lease: it was free, expired or already owner's
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobCheckpoint j SET j.leaseOwner = :owner, j.leaseUntil = :until, j.updatedAt = :now " +
+            "WHERE j.name = :name AND (j.leaseOwner IS NULL OR j.leaseOwner = :owner OR j.leaseUntil < :now)")
+    int acquireLease(@Param("name") String name, @Param("owner") String owner,
+                     @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // Records progress and renews the lease; 0 when owner has lost the lease
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobCheckpoint j SET j.lastKey = :lastKey, j.leaseUntil = :until, j.updatedAt = :now " +
+            "WHERE j.name = :name AND j.leaseOwner = :owner")
+    int saveProgress(@Param("name") String name, @Param("owner") String owner, @Param("lastKey") String lastKey,
+                     @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobCheckpoint j SET j.lastKey = NULL, j.lastCompletedAt = :now, j.updatedAt = :now " +
+            "WHERE j.name = :name AND j.leaseOwner = :owner")
+    int markCompleted(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobCheckpoint j SET j.leaseOwner = NULL, j.leaseUntil = NULL WHERE j.name = :name AND j.leaseOwner = :owner")
+    int releaseLease(@Param("name") String name, @Param("owner") String owner);
+}
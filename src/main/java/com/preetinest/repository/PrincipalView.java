@@ -0,0 +1,12 @@
+package com.preetinest.repository;
+
+/**
+ * What an authorization check needs to know about an active user, read in one query.
+ */
+public interface PrincipalView {
+    Long getId();
+
+    Long getRoleId();
+
+    String getRoleName();
+}
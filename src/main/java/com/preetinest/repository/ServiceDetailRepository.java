@@ -13,6 +13,20 @@ import java.util.Optional;
 public interface ServiceDetailRepository extends JpaRepository<ServiceDetail, Long> {
     Optional<ServiceDetail> findByUuid(String uuid);
 
-    @Query("SELECT sd FROM ServiceDetail sd WHERE sd.service.id = :serviceId AND sd.deleteStatus = 2")
-    List<ServiceDetail> findByServiceId(@Param("serviceId") Long serviceId);
+    @Query("SELECT sd FROM ServiceDetail sd WHERE sd.id = :id AND sd.deleteStatus = 2 AND sd.active = true AND sd.displayStatus = true")
+    Optional<ServiceDetail> findVisibleById(@Param("id") Long id);
+
+    @Query("SELECT sd FROM ServiceDetail sd WHERE sd.uuid = :uuid AND sd.deleteStatus = 2 AND sd.active = true AND sd.displayStatus = true")
+    Optional<ServiceDetail> findVisibleByUuid(@Param("uuid") String uuid);
+
+    @Query("SELECT sd FROM ServiceDetail sd WHERE sd.service.id = :serviceId AND sd.deleteStatus = 2 AND sd.active = true AND sd.displayStatus = true " +
+            "ORDER BY sd.displayOrder ASC, sd.id ASC")
+    List<ServiceDetail> findVisibleByServiceId(@Param("serviceId") Long serviceId);
+
+    // Only details of services that are themselves visible, grouped by service in display order
+    @Query("SELECT sd FROM ServiceDetail sd JOIN sd.service s " +
+            "WHERE sd.deleteStatus = 2 AND sd.active = true AND sd.displayStatus = true " +
+            "AND s.deleteStatus = 2 AND s.active = true AND s.displayStatus = true " +
+            "ORDER BY s.id ASC, sd.displayOrder ASC, sd.id ASC")
+    List<ServiceDetail> findAllVisibleDetails();
 }
\ No newline at end of file
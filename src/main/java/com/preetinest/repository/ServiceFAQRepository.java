@@ -13,6 +13,20 @@ import java.util.Optional;
 public interface ServiceFAQRepository extends JpaRepository<ServiceFAQ, Long> {
     Optional<ServiceFAQ> findByUuid(String uuid);
 
-    @Query("SELECT sf FROM ServiceFAQ sf WHERE sf.service.id = :serviceId AND sf.deleteStatus = 2 ORDER BY sf.displayOrder ASC")
-    List<ServiceFAQ> findByServiceId(@Param("serviceId") Long serviceId);
+    @Query("SELECT sf FROM ServiceFAQ sf WHERE sf.id = :id AND sf.deleteStatus = 2 AND sf.active = true AND sf.displayStatus = true")
+    Optional<ServiceFAQ> findVisibleById(@Param("id") Long id);
+
+    @Query("SELECT sf FROM ServiceFAQ sf WHERE sf.uuid = :uuid AND sf.deleteStatus = 2 AND sf.active = true AND sf.displayStatus = true")
+    Optional<ServiceFAQ> findVisibleByUuid(@Param("uuid") String uuid);
+
+    @Query("SELECT sf FROM ServiceFAQ sf WHERE sf.service.id = :serviceId AND sf.deleteStatus = 2 AND sf.active = true AND sf.displayStatus = true " +
+            "ORDER BY sf.displayOrder ASC, sf.id ASC")
+    List<ServiceFAQ> findVisibleByServiceId(@Param("serviceId") Long serviceId);
+
+    // Only FAQs of services that are themselves visible, grouped by service in display order
+    @Query("SELECT sf FROM ServiceFAQ sf JOIN sf.service s " +
+            "WHERE sf.deleteStatus = 2 AND sf.active = true AND sf.displayStatus = true " +
+            "AND s.deleteStatus = 2 AND s.active = true AND s.displayStatus = true " +
+            "ORDER BY s.id ASC, sf.displayOrder ASC, sf.id ASC")
+    List<ServiceFAQ> findAllVisibleFAQs();
 }
\ No newline at end of file
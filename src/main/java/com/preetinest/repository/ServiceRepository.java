@@ -1,19 +1,89 @@
 package com.preetinest.repository;
 
 import com.preetinest.entity.Services;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ServiceRepository extends JpaRepository<Services, Long> {
+    @Override
+    @EntityGraph(Services.WITH_CATEGORY)
+    Optional<Services> findById(Long id);
+
+    @EntityGraph(Services.WITH_CATEGORY)
     Optional<Services> findByUuid(String uuid);
 
+    @EntityGraph(Services.WITH_CATEGORY)
     Optional<Services> findBySlug(String slug);
 
-    @Query("SELECT s FROM Services s WHERE s.deleteStatus = 2 AND s.active = true")
+    @Query("SELECT s.id AS id, s.slug AS slug, s.name AS name, " +
+            "CASE WHEN s.active = true AND s.displayStatus = true THEN true ELSE false END AS visible " +
+            "FROM Services s WHERE s.deleteStatus = 2")
+    List<SlugView> findLiveSlugs();
+
+    @EntityGraph(Services.WITH_CATEGORY)
+    @Query("SELECT s FROM Services s WHERE s.id = :id AND s.deleteStatus = 2 AND s.active = true AND s.displayStatus = true")
+    Optional<Services> findVisibleById(@Param("id") Long id);
+
+    @EntityGraph(Services.WITH_CATEGORY)
+    @Query("SELECT s FROM Services s WHERE s.uuid = :uuid AND s.deleteStatus = 2 AND s.active = true AND s.displayStatus = true")
+    Optional<Services> findVisibleByUuid(@Param("uuid") String uuid);
+
+    @EntityGraph(Services.WITH_CATEGORY)
+    @Query("SELECT s FROM Services s WHERE s.slug = :slug AND s.deleteStatus = 2 AND s.active = true AND s.displayStatus = true")
+    Optional<Services> findVisibleBySlug(@Param("slug") String slug);
+
+    @EntityGraph(Services.WITH_CATEGORY)
+    @Query("SELECT s FROM Services s WHERE s.deleteStatus = 2 AND s.active = true AND s.displayStatus = true ORDER BY s.createdAt DESC, s.id DESC")
+    List<Services> findAllVisibleServices();
+
+    // The menu lists active services whether or not they are displayed, in id order
+    @EntityGraph(Services.WITH_CATEGORY)
+    @Query("SELECT s FROM Services s WHERE s.deleteStatus = 2 AND s.active = true ORDER BY s.id")
     List<Services> findAllActiveServices();
-}
\ No newline at end of file
+
+    // Keyset pages, newest first; pass KeysetPage.limit(size) to fetch one row past the page
+    @EntityGraph(Services.WITH_CATEGORY)
+    @Query("SELECT s FROM Services s WHERE s.deleteStatus = 2 AND s.active = true AND s.displayStatus = true ORDER BY s.createdAt DESC, s.id DESC")
+    List<Services> findVisibleServicesNewestFirst(Limit limit);
+
+    @EntityGraph(Services.WITH_CATEGORY)
+    @Query("SELECT s FROM Services s WHERE s.deleteStatus = 2 AND s.active = true AND s.displayStatus = true " +
+            "AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id)) " +
+            "ORDER BY s.createdAt DESC, s.id DESC")
+    List<Services> findVisibleServicesBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT COUNT(s) FROM Services s WHERE s.deleteStatus = 2 AND s.active = true AND s.displayStatus = true")
+    long countVisibleServices();
+
+    // Object keys still referenced by live rows, read by the orphaned image collector inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s.iconUrl FROM Services s WHERE s.deleteStatus = 2 AND s.iconUrl IS NOT NULL " +
+            "UNION ALL SELECT s.image FROM Services s WHERE s.deleteStatus = 2 AND s.image IS NOT NULL")
+    Stream<String> streamLiveImageKeys();
+
+    @Query("SELECT s.iconUrl FROM Services s WHERE s.deleteStatus = 2 AND s.iconUrl IN :keys " +
+            "UNION ALL SELECT s.image FROM Services s WHERE s.deleteStatus = 2 AND s.image IN :keys")
+    List<String> findLiveImageKeysIn(@Param("keys") Collection<String> keys);
+
+    // Widths of the stored variants of an image, on every row that uses it; 0 when none does
+    @Transactional
+    @Modifying
+    @Query("UPDATE Services s SET s.imageMetadata.variantWidths = :widths WHERE s.image = :image")
+    int updateImageVariantWidths(@Param("image") String image, @Param("widths") String widths);
+}
@@ -0,0 +1,14 @@
+package com.preetinest.repository;
+
+/**
+ * Slug projection used to build the slug registry without loading whole entities.
+ */
+public interface SlugView {
+    Long getId();
+
+    String getSlug();
+
+    String getName();
+
+    boolean isVisible();
+}
@@ -2,9 +2,15 @@ package com.preetinest.repository;
 
 
 import com.preetinest.entity.SubCategory;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +19,34 @@ public interface SubCategoryRepository extends JpaRepository<SubCategory, Long>
 
     Optional<SubCategory> findBySlug(String slug);
 
-    @Query("SELECT sc FROM SubCategory sc WHERE sc.deleteStatus = 2 AND sc.active = true")
+    @Query("SELECT sc.id AS id, sc.slug AS slug, sc.name AS name, sc.active AS visible FROM SubCategory sc WHERE sc.deleteStatus = 2")
+    List<SlugView> findLiveSlugs();
+
+    @Query("SELECT sc FROM SubCategory sc WHERE sc.id = :id AND sc.deleteStatus = 2")
+    Optional<SubCategory> findLiveById(@Param("id") Long id);
+
+    @Query("SELECT sc FROM SubCategory sc WHERE sc.uuid = :uuid AND sc.deleteStatus = 2")
+    Optional<SubCategory> findLiveByUuid(@Param("uuid") String uuid);
+
+    @Query("SELECT sc FROM SubCategory sc WHERE sc.slug = :slug AND sc.deleteStatus = 2")
+    Optional<SubCategory> findLiveBySlug(@Param("slug") String slug);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference.queries")
+    })
+    @Query("SELECT sc FROM SubCategory sc WHERE sc.deleteStatus = 2 AND sc.active = true ORDER BY sc.createdAt DESC, sc.id DESC")
     List<SubCategory> findAllActiveSubCategories();
-}
\ No newline at end of file
+
+    // Keyset pages, newest first; pass KeysetPage.limit(size) to fetch one row past the page
+    @Query("SELECT sc FROM SubCategory sc WHERE sc.deleteStatus = 2 AND sc.active = true ORDER BY sc.createdAt DESC, sc.id DESC")
+    List<SubCategory> findActiveSubCategoriesNewestFirst(Limit limit);
+
+    @Query("SELECT sc FROM SubCategory sc WHERE sc.deleteStatus = 2 AND sc.active = true " +
+            "AND (sc.createdAt < :createdAt OR (sc.createdAt = :createdAt AND sc.id < :id)) " +
+            "ORDER BY sc.createdAt DESC, sc.id DESC")
+    List<SubCategory> findActiveSubCategoriesBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT COUNT(sc) FROM SubCategory sc WHERE sc.deleteStatus = 2 AND sc.active = true")
+    long countActiveSubCategories();
+}
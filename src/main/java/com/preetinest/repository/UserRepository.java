@@ -1,10 +1,13 @@
 package com.preetinest.repository;
 
 import com.preetinest.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +17,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    @Query("SELECT u FROM User u WHERE u.deleteStatus = 2 AND u.isEnable = true")
+    @Query("SELECT u.id AS id, r.id AS roleId, r.name AS roleName FROM User u LEFT JOIN u.role r " +
+            "WHERE u.id = :id AND u.deleteStatus = 2 AND u.isEnable = true")
+    Optional<PrincipalView> findActivePrincipal(@Param("id") Long id);
+
+    @Query("SELECT u FROM User u WHERE u.deleteStatus = 2 AND u.isEnable = true ORDER BY u.createdAt DESC, u.id DESC")
     List<User> findAllActiveUsers();
-}
\ No newline at end of file
+
+    // Keyset pages, newest first; pass KeysetPage.limit(size) to fetch one row past the page
+    @Query("SELECT u FROM User u WHERE u.deleteStatus = 2 AND u.isEnable = true ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findActiveUsersNewestFirst(Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.deleteStatus = 2 AND u.isEnable = true " +
+            "AND (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findActiveUsersBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.deleteStatus = 2 AND u.isEnable = true")
+    long countActiveUsers();
+}
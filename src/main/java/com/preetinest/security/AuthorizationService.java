@@ -0,0 +1,102 @@
+package com.preetinest.security;
+
+import com.preetinest.entity.User;
+import com.preetinest.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves the user behind an admin write and checks their permissions. Resolved principals are
+ * cached by user id, so repeat writes by the same admin cost no queries at all; user and role writes
+ * evict the entries they affect, and entries also expire after {@code security.principal-cache.ttl}.
+ * A request authenticated with a session token for the same user skips the cache and the database.
+ */
+@Component
+public class AuthorizationService {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<Long, Entry> principals = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a load that raced with a user or role write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public AuthorizationService(UserRepository userRepository,
+                                @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * The active user {@code userId}, or {@link EntityNotFoundException} when there is none.
+     */
+    public AuthorizedUser principal(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthorizedUser current
+                && userId.equals(current.getId())) {
+            return current;
+        }
+        Entry cached = principals.get(userId);
+        if (cached != null && System.nanoTime() - cached.expiresAtNanos < 0) {
+            return cached.principal;
+        }
+
+        long loadedAt = generation.get();
+        AuthorizedUser principal = userRepository.findActivePrincipal(userId)
+                .map(p -> new AuthorizedUser(p.getId(), p.getRoleId(), Permission.grantedTo(p.getRoleName())))
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+        if (generation.get() == loadedAt) {
+            if (principals.size() >= MAX_ENTRIES) {
+                principals.clear();
+            }
+            principals.put(userId, new Entry(principal, System.nanoTime() + ttlNanos));
+        }
+        return principal;
+    }
+
+    /**
+     * Checks that {@code userId} is active and holds {@code permission}, and returns a reference to
+     * the user for audit columns such as {@code createdBy}. The reference is not loaded.
+     */
+    public User require(Long userId, Permission permission, String deniedMessage) {
+        if (!principal(userId).has(permission)) {
+            throw new IllegalArgumentException(deniedMessage);
+        }
+        return userRepository.getReferenceById(userId);
+    }
+
+    public void evictUser(Long userId) {
+        generation.incrementAndGet();
+        if (userId != null) {
+            principals.remove(userId);
+        }
+    }
+
+    public void evictRole(Long roleId) {
+        generation.incrementAndGet();
+        principals.values().removeIf(e -> Objects.equals(e.principal.getRoleId(), roleId));
+    }
+
+    private static final class Entry {
+        private final AuthorizedUser principal;
+        private final long expiresAtNanos;
+
+        private Entry(AuthorizedUser principal, long expiresAtNanos) {
+            this.principal = principal;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.preetinest.security;
+
+/**
+ * An active user as seen by authorization checks: who they are, which role they hold and what that
+ * role lets them do.
+ */
+public final class AuthorizedUser {
+
+    private final Long id;
+    private final Long roleId;
+    private final long permissions;
+
+    AuthorizedUser(Long id, Long roleId, long permissions) {
+        this.id = id;
+        this.roleId = roleId;
+        this.permissions = permissions;
+    }
+
+    public Long getId() { return id; }
+    public Long getRoleId() { return roleId; }
+
+    long getPermissions() { return permissions; }
+
+    public boolean has(Permission permission) {
+        return (permissions & permission.mask()) != 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.preetinest.security;
+
+/**
+ * Admin capabilities, held per principal as a bitset.
+ */
+public enum Permission {
+    MANAGE_CATALOG,   // categories, subcategories, services and their details and FAQs
+    MANAGE_CONTENT,   // blogs, blog details and FAQs, clients
+    MANAGE_INQUIRIES;
+
+    private static final long ALL = (1L << values().length) - 1;
+
+    long mask() {
+        return 1L << ordinal();
+    }
+
+    // Only the ADMIN role carries permissions today
+    static long grantedTo(String roleName) {
+        return "ADMIN".equalsIgnoreCase(roleName) ? ALL : 0L;
+    }
+}
@@ -0,0 +1,20 @@
+package com.preetinest.security;
+
+import java.time.Instant;
+
+/**
+ * A signed session token as handed to the client, with the moment it stops being accepted.
+ */
+public final class SessionToken {
+
+    private final String value;
+    private final Instant expiresAt;
+
+    SessionToken(String value, Instant expiresAt) {
+        this.value = value;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getValue() { return value; }
+    public Instant getExpiresAt() { return expiresAt; }
+}
@@ -0,0 +1,100 @@
+package com.preetinest.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Authenticates requests that carry {@code Authorization: Bearer <token>} from {@link TokenService}.
+ *
+ * The admin endpoints still take a {@code userId} parameter. With a token it may be left out and is
+ * filled in from the token; if it is sent it has to name the same user. Requests without a token are
+ * passed through unchanged.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String USER_ID_PARAM = "userId";
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<AuthorizedUser> principal = tokenService.verify(header.substring(BEARER.length()).trim());
+        if (principal.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired session token");
+            return;
+        }
+
+        AuthorizedUser user = principal.get();
+        String userId = request.getParameter(USER_ID_PARAM);
+        if (userId != null && !userId.equals(String.valueOf(user.getId()))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "userId does not match the session token");
+            return;
+        }
+
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        for (Permission permission : Permission.values()) {
+            if (user.has(permission)) {
+                authorities.add(new SimpleGrantedAuthority(permission.name()));
+            }
+        }
+        SecurityContextHolder.getContext()
+                .setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null, authorities));
+        chain.doFilter(userId != null ? request : new UserIdRequest(request, String.valueOf(user.getId())), response);
+    }
+
+    // Supplies the userId parameter from the token for endpoints that still read it
+    private static final class UserIdRequest extends HttpServletRequestWrapper {
+
+        private final String userId;
+
+        private UserIdRequest(HttpServletRequest request, String userId) {
+            super(request);
+            this.userId = userId;
+        }
+
+        @Override
+        public String getParameter(String name) {
+            return USER_ID_PARAM.equals(name) ? userId : super.getParameter(name);
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return USER_ID_PARAM.equals(name) ? new String[]{userId} : super.getParameterValues(name);
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            Map<String, String[]> parameters = new LinkedHashMap<>(super.getParameterMap());
+            parameters.put(USER_ID_PARAM, new String[]{userId});
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(getParameterMap().keySet());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.preetinest.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies stateless session tokens. A token is {@code payload.signature}, both base64url:
+ * the payload packs the user id, role id, permission bits and expiry into 33 bytes, and the signature
+ * is an HMAC-SHA256 over it. Verifying is one HMAC and a constant-time compare, with no database access.
+ *
+ * Tokens cannot be revoked before they expire, so {@code security.token.ttl} bounds how long a
+ * deleted user or a changed role keeps its old access.
+ */
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+    private static final int PAYLOAD_LENGTH = 1 + 4 * Long.BYTES;
+    private static final long NO_ROLE = -1L;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    // Mac instances are not thread-safe and cost more to create than to use
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.ttl:8h}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(keyBytes(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public SessionToken issue(Long userId, Long roleId, String roleName) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .put(VERSION)
+                .putLong(userId)
+                .putLong(roleId != null ? roleId : NO_ROLE)
+                .putLong(Permission.grantedTo(roleName))
+                .putLong(expiresAt.getEpochSecond());
+        byte[] bytes = payload.array();
+        return new SessionToken(ENCODER.encodeToString(bytes) + '.' + ENCODER.encodeToString(sign(bytes)), expiresAt);
+    }
+
+    /**
+     * The principal a token was issued for, or empty when it is malformed, forged or expired.
+     */
+    public Optional<AuthorizedUser> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (payload.length != PAYLOAD_LENGTH || !MessageDigest.isEqual(sign(payload), signature)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        if (buffer.get() != VERSION) {
+            return Optional.empty();
+        }
+        long userId = buffer.getLong();
+        long roleId = buffer.getLong();
+        long permissions = buffer.getLong();
+        long expiresAt = buffer.getLong();
+        if (clock.instant().getEpochSecond() >= expiresAt) {
+            return Optional.empty();
+        }
+        return Optional.of(new AuthorizedUser(userId, roleId == NO_ROLE ? null : roleId, permissions));
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static byte[] keyBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("security.token.secret is not set; using a random key, so session tokens will not survive a restart");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = Base64.getDecoder().decode(secret.trim());
+        if (bytes.length < 32) {
+            throw new IllegalStateException("security.token.secret must be at least 32 bytes, base64-encoded");
+        }
+        return bytes;
+    }
+}
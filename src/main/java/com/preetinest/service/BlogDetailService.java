@@ -1,16 +1,21 @@
 package com.preetinest.service;
 
 import com.preetinest.dto.request.BlogDetailRequestDTO;
+import com.preetinest.dto.response.BlogDetailResponseDTO;
+
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public interface BlogDetailService {
-    Optional<Map<String, Object>> getBlogDetailById(Long id);
-    Optional<Map<String, Object>> getBlogDetailByUuid(String uuid);
-    List<Map<String, Object>> getBlogDetailsByBlogId(Long blogId);
+    Optional<BlogDetailResponseDTO> getBlogDetailById(Long id);
+    Optional<BlogDetailResponseDTO> getBlogDetailByUuid(String uuid);
+    List<BlogDetailResponseDTO> getBlogDetailsByBlogId(Long blogId);
     void softDeleteBlogDetail(Long id, Long userId);
-    Map<String, Object> createBlogDetail(BlogDetailRequestDTO requestDTO, Long userId);
-    Map<String, Object> updateBlogDetail(Long id, BlogDetailRequestDTO requestDTO, Long userId);
+    BlogDetailResponseDTO createBlogDetail(BlogDetailRequestDTO requestDTO, Long userId);
+    BlogDetailResponseDTO createBlogDetail(BlogDetailRequestDTO requestDTO, MultipartFile image, Long userId);
+    BlogDetailResponseDTO updateBlogDetail(Long id, BlogDetailRequestDTO requestDTO, Long userId);
+    BlogDetailResponseDTO updateBlogDetail(Long id, BlogDetailRequestDTO requestDTO, MultipartFile image, Long userId);
+    BlogDetailResponseDTO attachImage(Long id, String key, Long userId);
 }
\ No newline at end of file
@@ -1,18 +1,27 @@
 package com.preetinest.service;
 
+import com.preetinest.catalog.PreparedResponse;
 import com.preetinest.dto.request.BlogRequestDTO;
+import com.preetinest.dto.response.BlogResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public interface BlogService {
-    Optional<Map<String, Object>> getBlogById(Long id);
-    Optional<Map<String, Object>> getBlogByUuid(String uuid);
-    Optional<Map<String, Object>> getBlogBySlug(String slug);
-    List<Map<String, Object>> getAllActiveBlogs();
-    List<Map<String, Object>> getBlogsByServiceId(Long serviceId);
+    Optional<BlogResponseDTO> getBlogById(Long id);
+    Optional<BlogResponseDTO> getBlogByUuid(String uuid);
+    Optional<BlogResponseDTO> getBlogBySlug(String slug);
+    Optional<PreparedResponse> getPreparedBlogBySlug(String slug);
+    List<BlogResponseDTO> getAllActiveBlogs();
+    PageResponseDTO<BlogResponseDTO> getActiveBlogPage(String cursor, Integer size, boolean includeTotal);
+    List<BlogResponseDTO> getBlogsByServiceId(Long serviceId);
     void softDeleteBlog(Long id, Long userId);
-    Map<String, Object> createBlog(BlogRequestDTO requestDTO, Long userId);
-    Map<String, Object> updateBlog(Long id, BlogRequestDTO requestDTO, Long userId);
+    BlogResponseDTO createBlog(BlogRequestDTO requestDTO, Long userId);
+    BlogResponseDTO createBlog(BlogRequestDTO requestDTO, MultipartFile thumbnail, Long userId);
+    BlogResponseDTO updateBlog(Long id, BlogRequestDTO requestDTO, Long userId);
+    BlogResponseDTO updateBlog(Long id, BlogRequestDTO requestDTO, MultipartFile thumbnail, Long userId);
+    BlogResponseDTO attachThumbnail(Long id, String key, Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.preetinest.service;
+
+import com.preetinest.catalog.CatalogSnapshot;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface CatalogSnapshotService {
+
+    /**
+     * The latest published snapshot, or empty until the first build has finished.
+     */
+    Optional<CatalogSnapshot> current();
+
+    /**
+     * Schedules a background rebuild. Calls made while a rebuild is already queued are coalesced.
+     */
+    void requestRefresh();
+
+    Map<String, Object> getStats();
+}
@@ -1,16 +1,23 @@
 package com.preetinest.service;
 
 import com.preetinest.dto.request.ClientRequestDTO;
+import com.preetinest.dto.response.ClientResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+import org.springframework.web.multipart.MultipartFile;
+
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public interface ClientService {
-    Optional<Map<String, Object>> getClientById(Long id);
-    Optional<Map<String, Object>> getClientByUuid(String uuid);
-    Optional<Map<String, Object>> getClientBySlug(String slug);
-    List<Map<String, Object>> getAllActiveClients();
+    Optional<ClientResponseDTO> getClientById(Long id);
+    Optional<ClientResponseDTO> getClientByUuid(String uuid);
+    Optional<ClientResponseDTO> getClientBySlug(String slug);
+    List<ClientResponseDTO> getAllActiveClients();
+    PageResponseDTO<ClientResponseDTO> getActiveClientPage(String cursor, Integer size, boolean includeTotal);
     void softDeleteClient(Long id, Long userId);
-    Map<String, Object> createClient(ClientRequestDTO requestDTO, Long userId);
-    Map<String, Object> updateClient(Long id, ClientRequestDTO requestDTO, Long userId);
+    ClientResponseDTO createClient(ClientRequestDTO requestDTO, Long userId);
+    ClientResponseDTO createClient(ClientRequestDTO requestDTO, MultipartFile logo, Long userId);
+    ClientResponseDTO updateClient(Long id, ClientRequestDTO requestDTO, Long userId);
+    ClientResponseDTO updateClient(Long id, ClientRequestDTO requestDTO, MultipartFile logo, Long userId);
+    ClientResponseDTO attachLogo(Long id, String key, Long userId);
 }
\ No newline at end of file
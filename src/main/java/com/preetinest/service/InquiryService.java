@@ -1,6 +1,8 @@
 package com.preetinest.service;
 
 import com.preetinest.dto.request.InquiryRequestDTO;
+import com.preetinest.dto.response.InquiryResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -9,15 +11,17 @@ import java.util.Optional;
 
 public interface InquiryService {
 
-    Map<String, Object> createInquiry(InquiryRequestDTO requestDTO);
+    InquiryResponseDTO createInquiry(InquiryRequestDTO requestDTO);
 
-    Optional<Map<String, Object>> getInquiryById(Long id);
+    Optional<InquiryResponseDTO> getInquiryById(Long id);
 
-    Optional<Map<String, Object>> getInquiryByUuid(String uuid);
+    Optional<InquiryResponseDTO> getInquiryByUuid(String uuid);
 
     Map<String, Object> getAllActiveInquiries(Long userId, Pageable pageable);
 
-    Map<String, Object> updateInquiry(Long id, InquiryRequestDTO requestDTO, Long userId);
+    PageResponseDTO<InquiryResponseDTO> getActiveInquiryPage(Long userId, String cursor, Integer size, boolean includeTotal);
+
+    InquiryResponseDTO updateInquiry(Long id, InquiryRequestDTO requestDTO, Long userId);
 
     void softDeleteInquiry(Long id, Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.preetinest.service;
+
+import com.preetinest.dto.request.ImageUploadRequestDTO;
+import com.preetinest.dto.response.ImageUploadResponseDTO;
+
+public interface MediaService {
+    ImageUploadResponseDTO createImageUpload(ImageUploadRequestDTO requestDTO, Long userId);
+}
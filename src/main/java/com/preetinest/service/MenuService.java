@@ -1,7 +1,11 @@
 package com.preetinest.service;
 
+import com.preetinest.catalog.PreparedResponse;
+
 import java.util.Map;
 
 public interface MenuService {
     Map<String, Object> fetchAllMenuItems();
+
+    PreparedResponse fetchPreparedMenuItems();
 }
\ No newline at end of file
@@ -1,18 +1,19 @@
 package com.preetinest.service;
 
+import com.preetinest.dto.response.RoleResponseDTO;
+
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public interface RoleService {
 
-    List<Map<String, Object>> getAllRoles();
+    List<RoleResponseDTO> getAllRoles();
 
-    Optional<Map<String, Object>> getRoleByUuid(String uuid);
+    Optional<RoleResponseDTO> getRoleByUuid(String uuid);
 
-    Map<String, Object> createRole(String name);
+    RoleResponseDTO createRole(String name);
 
-    Map<String, Object> updateRole(String uuid, String name);
+    RoleResponseDTO updateRole(String uuid, String name);
 
     void deleteRole(String uuid);
 }
\ No newline at end of file
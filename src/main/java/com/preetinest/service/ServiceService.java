@@ -1,24 +1,29 @@
 package com.preetinest.service;
 
 
+import com.preetinest.catalog.PreparedResponse;
 import com.preetinest.dto.ServiceFullResponseDTO;
 import com.preetinest.dto.ServiceRequestDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+import com.preetinest.dto.response.ServiceResponseDTO;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public interface ServiceService {
-    Optional<Map<String, Object>> getServiceById(Long id);
-    Optional<Map<String, Object>> getServiceByUuid(String uuid);
-    Optional<Map<String, Object>> getServiceBySlug(String slug);
-    List<Map<String, Object>> getAllActiveServices();
-    Optional<Map<String, Object>> getServiceWithDetailsById(Long id);
+    Optional<ServiceResponseDTO> getServiceById(Long id);
+    Optional<ServiceResponseDTO> getServiceByUuid(String uuid);
+    Optional<ServiceResponseDTO> getServiceBySlug(String slug);
+    List<ServiceResponseDTO> getAllActiveServices();
+    PageResponseDTO<ServiceResponseDTO> getActiveServicePage(String cursor, Integer size, boolean includeTotal);
+    Optional<ServiceResponseDTO> getServiceWithDetailsById(Long id);
     void softDeleteService(Long id, Long userId);
-    Map<String, Object> createService(ServiceRequestDTO requestDTO, Long userId);
-    Map<String, Object> updateService(Long id, ServiceRequestDTO requestDTO, Long userId);
+    ServiceResponseDTO createService(ServiceRequestDTO requestDTO, Long userId);
+    ServiceResponseDTO updateService(Long id, ServiceRequestDTO requestDTO, Long userId);
 
     Optional<ServiceFullResponseDTO> getFullServiceBySlug(String slug);
 
+    Optional<PreparedResponse> getPreparedFullServiceBySlug(String slug);
+
 
 }
\ No newline at end of file
@@ -3,17 +3,19 @@ package com.preetinest.service;
 
 
 import com.preetinest.dto.SubCategoryRequestDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+import com.preetinest.dto.response.SubCategoryResponseDTO;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public interface SubCategoryService {
-    Optional<Map<String, Object>> getSubCategoryById(Long id);
-    Optional<Map<String, Object>> getSubCategoryByUuid(String uuid);
-    Optional<Map<String, Object>> getSubCategoryBySlug(String slug);
-    List<Map<String, Object>> getAllActiveSubCategories();
+    Optional<SubCategoryResponseDTO> getSubCategoryById(Long id);
+    Optional<SubCategoryResponseDTO> getSubCategoryByUuid(String uuid);
+    Optional<SubCategoryResponseDTO> getSubCategoryBySlug(String slug);
+    List<SubCategoryResponseDTO> getAllActiveSubCategories();
+    PageResponseDTO<SubCategoryResponseDTO> getActiveSubCategoryPage(String cursor, Integer size, boolean includeTotal);
     void softDeleteSubCategory(Long id, Long userId);
-    Map<String, Object> createSubCategory(SubCategoryRequestDTO requestDTO, Long userId);
-    Map<String, Object> updateSubCategory(Long id, SubCategoryRequestDTO requestDTO, Long userId);
+    SubCategoryResponseDTO createSubCategory(SubCategoryRequestDTO requestDTO, Long userId);
+    SubCategoryResponseDTO updateSubCategory(Long id, SubCategoryRequestDTO requestDTO, Long userId);
 }
\ No newline at end of file
@@ -2,24 +2,28 @@ package com.preetinest.service;
 
 import com.preetinest.dto.request.LoginRequestDTO;
 import com.preetinest.dto.request.UserRequestDTO;
+import com.preetinest.dto.response.LoginResponseDTO;
+import com.preetinest.dto.response.PageResponseDTO;
+import com.preetinest.dto.response.UserResponseDTO;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public interface UserService {
 
-    Map<String, Object> createUser(UserRequestDTO requestDTO, Long userId);
+    UserResponseDTO createUser(UserRequestDTO requestDTO, Long userId);
 
-    Optional<Map<String, Object>> getUserById(Long id);
+    Optional<UserResponseDTO> getUserById(Long id);
 
-    Optional<Map<String, Object>> getUserByUuid(String uuid);
+    Optional<UserResponseDTO> getUserByUuid(String uuid);
 
-    List<Map<String, Object>> getAllActiveUsers();
+    List<UserResponseDTO> getAllActiveUsers();
 
-    Map<String, Object> updateUser(Long id, UserRequestDTO requestDTO);
+    PageResponseDTO<UserResponseDTO> getActiveUserPage(String cursor, Integer size, boolean includeTotal);
+
+    UserResponseDTO updateUser(Long id, UserRequestDTO requestDTO);
 
     void softDeleteUser(Long id, Long userId);
 
-    Map<String, Object> login(LoginRequestDTO requestDTO);
+    LoginResponseDTO login(LoginRequestDTO requestDTO);
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.preetinest;
+
+import com.preetinest.config.S3Service;
+import com.preetinest.entity.Role;
+import com.preetinest.entity.User;
+import com.preetinest.media.UploadedImage;
+import com.preetinest.repository.RoleRepository;
+import com.preetinest.repository.UserRepository;
+import com.preetinest.security.TokenService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mixed read/upload load against the running app: 80% {@code GET /api/users/{id}} (one JDBC read)
+ * and 20% {@code POST /api/clients} with a logo, where the S3 upload is stubbed to block for 50 ms
+ * like a real {@code putObject}. Reports throughput and p99 so the platform and virtual thread modes
+ * can be compared on the same machine.
+ *
+ * <pre>
+ * mvn test -Dtest=RequestThreadingBenchmark -Dbenchmark=true
+ * mvn test -Dtest=RequestThreadingBenchmark -Dbenchmark=true -Dspring.threads.virtual.enabled=true   # Java 21
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:threading;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RequestThreadingBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 200);
+    private static final int REQUESTS_PER_CLIENT = 40;
+    private static final int UPLOAD_EVERY = Integer.getInteger("benchmark.upload-every", 5);
+    private static final long UPLOAD_MILLIS = 50;
+    private static final String LOGO = "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNk+M9QDwADhgGAWjR9awAAAABJRU5ErkJggg==";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private Environment environment;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    @Test
+    void mixedReadAndUploadTraffic() throws Exception {
+        when(s3Service.uploadBase64Image(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(UPLOAD_MILLIS);
+            return new UploadedImage("logo.png", null);
+        });
+
+        Role role = new Role();
+        role.setName("ADMIN");
+        role.setCreatedAt(LocalDateTime.now());
+        role.setUpdatedAt(LocalDateTime.now());
+        roleRepository.save(role);
+        User admin = new User();
+        admin.setName("Admin");
+        admin.setEmail("admin@example.com");
+        admin.setPassword("x");
+        admin.setRole(role);
+        admin.setCreatedAt(LocalDateTime.now());
+        admin.setUpdatedAt(LocalDateTime.now());
+        Long adminId = userRepository.save(admin).getId();
+        String token = tokenService.issue(adminId, role.getId(), role.getName()).getValue();
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> results = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int c = 0; c < CLIENTS; c++) {
+            results.add(clients.submit(() -> {
+                start.await();
+                long[] latencies = new long[REQUESTS_PER_CLIENT];
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    int n = sequence.incrementAndGet();
+                    HttpRequest request = n % UPLOAD_EVERY == 0 ? upload(token, n) : read(adminId);
+                    long begin = System.nanoTime();
+                    HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                    latencies[i] = System.nanoTime() - begin;
+                    assertThat(response.statusCode()).isEqualTo(200);
+                }
+                return latencies;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        List<Long> all = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            Arrays.stream(result.get(10, TimeUnit.MINUTES)).forEach(all::add);
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        clients.shutdown();
+
+        long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("threads=%s requests=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms%n",
+                environment.getProperty("spring.threads.virtual.enabled", "false").equals("true") ? "virtual" : "platform",
+                sorted.length, sorted.length / seconds,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6);
+    }
+
+    private HttpRequest read(Long userId) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/" + userId)).GET().build();
+    }
+
+    private HttpRequest upload(String token, int n) {
+        String body = """
+                {"name":"Client %1$d","clientType":"Partner","description":"d","metaTitle":"t","metaKeyword":"k",
+                 "metaDescription":"m","slug":"client-%1$d","active":true,"displayStatus":true,"showOnHome":false,
+                 "logoBase64":"%2$s"}""".formatted(n, LOGO);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/clients"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
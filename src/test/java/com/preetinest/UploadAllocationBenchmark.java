@@ -0,0 +1,154 @@
+package com.preetinest;
+
+import com.preetinest.config.DataUrlImage;
+import com.preetinest.config.S3Service;
+import com.preetinest.media.UploadedImage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Heap allocated by the server per client upload, base64-in-JSON against multipart, for a 4 MB logo.
+ * Only Tomcat worker threads are counted, so the load generator's own buffers are left out. S3 is
+ * stubbed, but each path still reads the whole image the way the real upload would.
+ *
+ * <pre>
+ * mvn test -Dtest=UploadAllocationBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:uploads;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UploadAllocationBenchmark {
+
+    private static final int IMAGE_BYTES = 4 * 1024 * 1024;
+    private static final int WARMUP = 5;
+    private static final int MEASURED = 20;
+    private static final String BOUNDARY = "----upload-benchmark";
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Test
+    void allocationPerUpload() throws Exception {
+        when(s3Service.uploadBase64Image(anyString())).thenAnswer(invocation -> {
+            drain(DataUrlImage.parse(invocation.getArgument(0)).openStream());
+            return new UploadedImage("logo.png", null);
+        });
+        when(s3Service.uploadImage(any(MultipartFile.class))).thenAnswer(invocation -> {
+            drain(invocation.<MultipartFile>getArgument(0).getInputStream());
+            return new UploadedImage("logo.png", null);
+        });
+
+        byte[] image = new byte[IMAGE_BYTES];
+        new Random(42).nextBytes(image);
+        System.arraycopy(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, 0, image, 0, 8);
+
+        long base64 = measure(() -> json(image));
+        long multipart = measure(() -> multipart(image));
+        System.out.printf("image=%d KB base64=%d KB/upload multipart=%d KB/upload%n",
+                IMAGE_BYTES / 1024, base64 / 1024, multipart / 1024);
+    }
+
+    private long measure(RequestFactory factory) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            send(factory.create());
+        }
+        long before = tomcatAllocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            send(factory.create());
+        }
+        return (tomcatAllocatedBytes() - before) / MEASURED;
+    }
+
+    private void send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+    }
+
+    private HttpRequest json(byte[] image) {
+        String body = "{" + fields() + ",\"logoBase64\":\"data:image/png;base64,"
+                + Base64.getEncoder().encodeToString(image) + "\"}";
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/clients"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest multipart(byte[] image) {
+        String head = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"data\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + "{" + fields() + "}\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"logo\"; filename=\"logo.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n";
+        String tail = "\r\n--" + BOUNDARY + "--\r\n";
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/clients"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(
+                        head.getBytes(StandardCharsets.UTF_8), image, tail.getBytes(StandardCharsets.UTF_8))))
+                .build();
+    }
+
+    private String fields() {
+        int n = sequence.incrementAndGet();
+        return """
+                "name":"Client %1$d","clientType":"Partner","description":"d","metaTitle":"t","metaKeyword":"k",\
+                "metaDescription":"m","slug":"upload-client-%1$d","active":true,"displayStatus":true,"showOnHome":false"""
+                .formatted(n);
+    }
+
+    private static long tomcatAllocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().startsWith("http-nio-"))
+                .mapToLong(t -> Math.max(0, threads.getThreadAllocatedBytes(t.getId())))
+                .sum();
+    }
+
+    private static void drain(InputStream in) throws Exception {
+        try (in) {
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) >= 0) {
+                // discard
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest create();
+    }
+}
@@ -0,0 +1,228 @@
+package com.preetinest.catalog;
+
+import com.preetinest.config.S3Service;
+import com.preetinest.dto.response.ServiceDetailResponseDTO;
+import com.preetinest.entity.*;
+import com.preetinest.impl.CatalogMapper;
+import com.preetinest.impl.CatalogSnapshotServiceImpl;
+import com.preetinest.media.DeferredUploads;
+import com.preetinest.media.ImageDerivativeService;
+import com.preetinest.media.ImageVariantRecorder;
+import com.preetinest.media.LocalBlobStore;
+import com.preetinest.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the public catalog reads served from the {@link CatalogSnapshot} with the repository and
+ * mapping path they replace, for a catalog of a few hundred services and blogs. H2 runs in process,
+ * so the repository numbers leave out the network round trips a real database adds.
+ *
+ * Run with {@code mvn test -Dtest=CatalogReadBenchmark -Dbenchmark=true}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.storage.type=local"
+})
+@Import({CatalogMapper.class, CatalogSnapshotServiceImpl.class, S3Service.class, LocalBlobStore.class,
+        ImageDerivativeService.class, ImageVariantRecorder.class, DeferredUploads.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CatalogReadBenchmark {
+
+    private static final int SERVICES = 200;
+    private static final int BLOGS = 500;
+    private static final int DETAILS_PER_SERVICE = 5;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceDetailRepository serviceDetailRepository;
+
+    @Autowired
+    private ServiceFAQRepository serviceFAQRepository;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private CatalogMapper catalogMapper;
+
+    @Autowired
+    private CatalogSnapshotServiceImpl catalogSnapshotService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void snapshotAgainstRepositoryReads() throws InterruptedException {
+        seed();
+        long seededAfter = catalogSnapshotService.current().map(CatalogSnapshot::getVersion).orElse(0L);
+        catalogSnapshotService.requestRefresh();
+        CatalogSnapshot snapshot = awaitSnapshotAfter(seededAfter);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String serviceSlug = "service-" + (SERVICES / 2);
+        String blogSlug = "blog-" + (BLOGS / 2);
+
+        report("service list", nanosPerOp(() -> snapshot.getServices().size()),
+                nanosPerOp(() -> readOnly.execute(status -> serviceRepository.findAllVisibleServices().stream()
+                        .map(catalogMapper::toServiceResponseDTO)
+                        .toList()
+                        .size())));
+        report("full service by slug", nanosPerOp(() -> snapshot.findServiceBySlug(serviceSlug)
+                        .map(dto -> {
+                            List<ServiceDetailResponseDTO> details = snapshot.getServiceDetails(dto.getId());
+                            return details.size() + snapshot.getServiceFAQs(dto.getId()).size();
+                        })
+                        .orElseThrow()),
+                nanosPerOp(() -> readOnly.execute(status -> serviceRepository.findVisibleBySlug(serviceSlug)
+                        .map(service -> {
+                            catalogMapper.toServiceResponseDTO(service);
+                            return serviceDetailRepository.findVisibleByServiceId(service.getId()).stream()
+                                    .map(catalogMapper::toServiceDetailResponseDTO).count()
+                                    + serviceFAQRepository.findVisibleByServiceId(service.getId()).stream()
+                                    .map(catalogMapper::toServiceFAQResponseDTO).count();
+                        })
+                        .orElseThrow())));
+        report("blog by slug", nanosPerOp(() -> snapshot.findBlogBySlug(blogSlug).orElseThrow().getId()),
+                nanosPerOp(() -> readOnly.execute(status -> blogRepository.findVisibleBySlug(blogSlug)
+                        .map(catalogMapper::toBlogResponseDTO)
+                        .orElseThrow()
+                        .getId())));
+    }
+
+    // The startup load may already have published an empty snapshot, so wait for one built after seeding
+    private CatalogSnapshot awaitSnapshotAfter(long version) throws InterruptedException {
+        long deadline = System.nanoTime() + 60_000_000_000L;
+        while (System.nanoTime() - deadline < 0) {
+            Optional<CatalogSnapshot> current = catalogSnapshotService.current();
+            if (current.isPresent() && current.get().getVersion() > version) {
+                return current.get();
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No catalog snapshot was built after version " + version);
+    }
+
+    private static void report(String read, double snapshotNanos, double repositoryNanos) {
+        System.out.printf("%s: snapshot %.0f ns/op, repository %.0f ns/op (%.0fx)%n",
+                read, snapshotNanos, repositoryNanos, repositoryNanos / snapshotNanos);
+        assertThat(snapshotNanos).isLessThan(repositoryNanos);
+    }
+
+    private static double nanosPerOp(LongSupplier operation) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += operation.getAsLong();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.getAsLong();
+        }
+        double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+        assertThat(sink).isPositive();
+        return nanos;
+    }
+
+    private void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        Category category = new Category();
+        category.setName("Category");
+        category.setDescription("description");
+        category.setMetaTitle("title");
+        category.setMetaKeyword("keyword");
+        category.setMetaDescription("description");
+        category.setSlug("category");
+        category.setCreatedAt(now);
+        category.setUpdatedAt(now);
+        categoryRepository.save(category);
+
+        SubCategory subCategory = new SubCategory();
+        subCategory.setName("Sub");
+        subCategory.setDescription("description");
+        subCategory.setMetaTitle("title");
+        subCategory.setMetaKeyword("keyword");
+        subCategory.setMetaDescription("description");
+        subCategory.setSlug("sub");
+        subCategory.setCategory(category);
+        subCategory.setCreatedAt(now);
+        subCategory.setUpdatedAt(now);
+        subCategoryRepository.save(subCategory);
+
+        for (int i = 0; i < SERVICES; i++) {
+            Services service = new Services();
+            service.setName("Service " + i);
+            service.setDescription("description");
+            service.setMetaTitle("title");
+            service.setMetaKeyword("keyword");
+            service.setMetaDescription("description");
+            service.setSlug("service-" + i);
+            service.setImage("service-" + i + ".png");
+            service.setSubCategory(subCategory);
+            service.setCreatedAt(now);
+            service.setUpdatedAt(now);
+            serviceRepository.save(service);
+            for (int d = 0; d < DETAILS_PER_SERVICE; d++) {
+                ServiceDetail detail = new ServiceDetail();
+                detail.setHeading("Heading " + d);
+                detail.setDetails("details");
+                detail.setDisplayOrder(d);
+                detail.setService(service);
+                detail.setCreatedAt(now);
+                detail.setUpdatedAt(now);
+                serviceDetailRepository.save(detail);
+
+                ServiceFAQ faq = new ServiceFAQ();
+                faq.setQuestion("Question " + d);
+                faq.setAnswer("answer");
+                faq.setDisplayOrder(d);
+                faq.setService(service);
+                faq.setCreatedAt(now);
+                faq.setUpdatedAt(now);
+                serviceFAQRepository.save(faq);
+            }
+        }
+
+        for (int i = 0; i < BLOGS; i++) {
+            Blog blog = new Blog();
+            blog.setTitle("Blog " + i);
+            blog.setExcerpt("excerpt");
+            blog.setMetaTitle("title");
+            blog.setMetaKeyword("keyword");
+            blog.setMetaDescription("description");
+            blog.setSlug("blog-" + i);
+            blog.setThumbnailUrl("blog-" + i + ".png");
+            blog.setCategory(category);
+            blog.setCreatedAt(now);
+            blog.setUpdatedAt(now);
+            blogRepository.save(blog);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.preetinest.catalog;
+
+import com.preetinest.dto.response.BlogResponseDTO;
+import com.preetinest.dto.response.ClientResponseDTO;
+import com.preetinest.dto.response.ServiceResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotTest {
+
+    @Test
+    void findsSlugsRegardlessOfCase() {
+        ServiceResponseDTO service = new ServiceResponseDTO();
+        service.setId(1L);
+        service.setSlug("web-design");
+        BlogResponseDTO blog = new BlogResponseDTO();
+        blog.setId(2L);
+        blog.setSlug("Launch-Notes");
+        ClientResponseDTO client = new ClientResponseDTO();
+        client.setId(3L);
+        client.setSlug("acme");
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(1, Instant.now(), 0, List.of(), List.of(),
+                List.of(service), List.of(service), Map.of(), Map.of(), List.of(blog), List.of(client));
+
+        assertThat(snapshot.findServiceBySlug("Web-Design")).containsSame(service);
+        assertThat(snapshot.findBlogBySlug("launch-notes")).containsSame(blog);
+        assertThat(snapshot.findBlogBySlug("Launch-Notes")).containsSame(blog);
+        assertThat(snapshot.findClientBySlug("ACME")).containsSame(client);
+        assertThat(snapshot.findClientBySlug("acme-corp")).isEmpty();
+    }
+}
@@ -0,0 +1,26 @@
+package com.preetinest.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import static com.preetinest.catalog.PreparedResponse.acceptsGzip;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreparedResponseTest {
+
+    @Test
+    void honoursAcceptEncodingQualities() {
+        assertThat(acceptsGzip("gzip")).isTrue();
+        assertThat(acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(acceptsGzip("br, *")).isTrue();
+        assertThat(acceptsGzip("x-gzip")).isTrue();
+
+        assertThat(acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(acceptsGzip("gzip; q=0.000, deflate")).isFalse();
+        assertThat(acceptsGzip("*;q=0")).isFalse();
+        assertThat(acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(acceptsGzip("*;q=0, gzip;q=1")).isTrue();
+        assertThat(acceptsGzip("identity")).isFalse();
+        assertThat(acceptsGzip("gzip;q=oops")).isFalse();
+        assertThat(acceptsGzip("")).isFalse();
+    }
+}
@@ -0,0 +1,90 @@
+package com.preetinest.catalog;
+
+import com.preetinest.repository.*;
+import com.preetinest.service.CatalogSnapshotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlugLookupGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlugRegistry slugRegistry;
+    private SlugLookupGuard guard;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ServiceRepository serviceRepository = mock(ServiceRepository.class);
+        when(serviceRepository.findLiveSlugs()).thenReturn(List.of(new SlugView() {
+            @Override
+            public Long getId() { return 1L; }
+
+            @Override
+            public String getSlug() { return "web-design"; }
+
+            @Override
+            public String getName() { return "Web Design"; }
+
+            @Override
+            public boolean isVisible() { return true; }
+        }));
+        slugRegistry = new SlugRegistry(serviceRepository, mock(BlogRepository.class), mock(ClientRepository.class),
+                mock(CategoryRepository.class), mock(SubCategoryRepository.class));
+
+        CatalogSnapshotService snapshotService = mock(CatalogSnapshotService.class);
+        when(snapshotService.current()).thenReturn(Optional.empty());
+
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new SlugLookupGuard(slugRegistry, snapshotService, meterRegistry, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void unknownSlugNeverReachesTheLoader() {
+        assertThat(guard.lookup(SlugType.SERVICE, "no-such-service", this::load)).isEmpty();
+        assertThat(guard.lookup(SlugType.BLOG, "web-design", this::load)).isEmpty();
+
+        assertThat(loads).hasValue(0);
+        assertThat(count("service", "miss")).isEqualTo(1);
+        assertThat(count("blog", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void knownSlugIsLoaded() {
+        assertThat(guard.lookup(SlugType.SERVICE, "web-design", () -> Optional.of("found"))).contains("found");
+        assertThat(count("service", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void emptyLoadIsRememberedUntilTheRegistryChanges() {
+        guard.lookup(SlugType.SERVICE, "web-design", this::load);
+        guard.lookup(SlugType.SERVICE, "WEB-DESIGN", this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(count("service", "false_positive")).isEqualTo(1);
+        assertThat(count("service", "negative_cached")).isEqualTo(1);
+
+        slugRegistry.register(SlugType.SERVICE, 1L, "web-design", "Web Design", true);
+        guard.lookup(SlugType.SERVICE, "web-design", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Optional<String> load() {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+
+    private double count(String type, String outcome) {
+        return meterRegistry.get("catalog.slug.lookups").tag("type", type).tag("outcome", outcome).counter().count();
+    }
+}
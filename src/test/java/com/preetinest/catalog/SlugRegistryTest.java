@@ -0,0 +1,101 @@
+package com.preetinest.catalog;
+
+import com.preetinest.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class SlugRegistryTest {
+
+    private static final Set<SlugType> ALL = EnumSet.allOf(SlugType.class);
+
+    private ServiceRepository serviceRepository;
+    private BlogRepository blogRepository;
+    private SlugRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        serviceRepository = mock(ServiceRepository.class);
+        blogRepository = mock(BlogRepository.class);
+        ClientRepository clientRepository = mock(ClientRepository.class);
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        SubCategoryRepository subCategoryRepository = mock(SubCategoryRepository.class);
+
+        when(serviceRepository.findLiveSlugs()).thenReturn(List.of(
+                row(1L, "web-design", "Web Design", true),
+                row(2L, "draft-service", "Draft", false)));
+        when(blogRepository.findLiveSlugs()).thenReturn(List.of(
+                row(10L, "web-design", "Why web design matters", true),
+                row(11L, "Launch-Notes", "Launch notes", true)));
+
+        registry = new SlugRegistry(serviceRepository, blogRepository, clientRepository,
+                categoryRepository, subCategoryRepository);
+    }
+
+    @Test
+    void resolvesToFirstVisibleOwnerInTypeOrder() {
+        assertThat(registry.resolve("web-design", ALL)).get()
+                .extracting(SlugEntry::getType, SlugEntry::getId)
+                .containsExactly(SlugType.SERVICE, 1L);
+        assertThat(registry.resolve("web-design", EnumSet.of(SlugType.BLOG))).get()
+                .extracting(SlugEntry::getName)
+                .isEqualTo("Why web design matters");
+        assertThat(registry.resolve("launch-notes", ALL)).isPresent();
+        assertThat(registry.resolve("draft-service", ALL)).isEmpty();
+        assertThat(registry.resolve("missing", ALL)).isEmpty();
+    }
+
+    @Test
+    void rejectsSlugOwnedByAnyOtherRow() {
+        assertThatThrownBy(() -> registry.checkAvailable("draft-service", SlugType.CLIENT, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("service");
+        assertThatThrownBy(() -> registry.checkAvailable("web-design", SlugType.SERVICE, 3L))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Rows keep their own slug even when another type shares it
+        registry.checkAvailable("web-design", SlugType.BLOG, 10L);
+        registry.checkAvailable("fresh-slug", SlugType.CLIENT, null);
+    }
+
+    @Test
+    void writesKeepTheIndexCurrentWithoutReloading() {
+        assertThat(registry.size()).isEqualTo(3);
+
+        registry.register(SlugType.SERVICE, 2L, "published-service", "Published", true);
+        registry.remove(SlugType.BLOG, 11L);
+
+        assertThat(registry.resolve("published-service", ALL)).get()
+                .extracting(SlugEntry::getId)
+                .isEqualTo(2L);
+        assertThat(registry.resolve("draft-service", ALL)).isEmpty();
+        registry.checkAvailable("draft-service", SlugType.CLIENT, null);
+        assertThat(registry.resolve("launch-notes", ALL)).isEmpty();
+
+        verify(serviceRepository, times(1)).findLiveSlugs();
+        verify(blogRepository, times(1)).findLiveSlugs();
+    }
+
+    private static SlugView row(Long id, String slug, String name, boolean visible) {
+        return new SlugView() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public String getSlug() { return slug; }
+
+            @Override
+            public String getName() { return name; }
+
+            @Override
+            public boolean isVisible() { return visible; }
+        };
+    }
+}
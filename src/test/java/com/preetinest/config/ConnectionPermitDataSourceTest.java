@@ -0,0 +1,50 @@
+package com.preetinest.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ConnectionPermitDataSourceTest {
+
+    private DataSource target;
+    private ConnectionPermitDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionPermitDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void closingAConnectionReturnsItsPermit() throws SQLException {
+        Connection first = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+
+        Connection second = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void failedCheckoutReturnsThePermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"))
+                .thenAnswer(invocation -> mock(Connection.class));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+}
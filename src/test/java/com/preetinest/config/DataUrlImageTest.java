@@ -0,0 +1,81 @@
+package com.preetinest.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataUrlImageTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+    private static final byte[] WEBP = {'R', 'I', 'F', 'F', 4, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', ' '};
+
+    @Test
+    void formatComesFromMagicBytesNotThePrefix() {
+        DataUrlImage image = DataUrlImage.parse("data:image/png;base64," + Base64.getEncoder().encodeToString(WEBP));
+
+        assertThat(image.getFormat()).isEqualTo(ImageFormat.WEBP);
+        assertThat(image.getContentLength()).isEqualTo(WEBP.length);
+    }
+
+    @Test
+    void streamsTheDecodedBytesForEveryPaddingLength() throws IOException {
+        for (int extra = 0; extra < 3; extra++) {
+            byte[] bytes = Arrays.copyOf(PNG, PNG.length + extra);
+            for (String encoded : new String[]{
+                    Base64.getEncoder().encodeToString(bytes),
+                    Base64.getEncoder().withoutPadding().encodeToString(bytes)}) {
+                DataUrlImage image = DataUrlImage.parse("data:image/png;base64," + encoded + "\n");
+
+                assertThat(image.getFormat()).isEqualTo(ImageFormat.PNG);
+                assertThat(image.getContentLength()).isEqualTo(bytes.length);
+                try (InputStream in = image.openStream()) {
+                    assertThat(in.readAllBytes()).isEqualTo(bytes);
+                }
+            }
+        }
+    }
+
+    @Test
+    void hashesTheDecodedBytes() throws Exception {
+        String png = Base64.getEncoder().encodeToString(PNG);
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(PNG));
+
+        assertThat(DataUrlImage.parse("data:image/png;base64," + png).getSha256()).isEqualTo(expected);
+        assertThat(DataUrlImage.parse(png).getSha256()).isEqualTo(expected);
+        assertThat(DataUrlImage.parse("data:image/png;base64," + Base64.getEncoder().encodeToString(WEBP)).getSha256())
+                .isNotEqualTo(expected);
+    }
+
+    @Test
+    void rejectsUnknownFormatsAndBrokenBase64() {
+        String text = Base64.getEncoder().encodeToString("just some text".getBytes());
+        assertThatThrownBy(() -> DataUrlImage.parse("data:image/png;base64," + text))
+                .isInstanceOf(InvalidImageException.class)
+                .hasMessageContaining("Unsupported image format");
+
+        String png = Base64.getEncoder().encodeToString(PNG);
+        assertThatThrownBy(() -> DataUrlImage.parse("data:image/png;base64," + png.substring(0, 8) + "*" + png.substring(9)))
+                .isInstanceOf(InvalidImageException.class);
+        assertThatThrownBy(() -> DataUrlImage.parse("data:image/png;base64," + png + "A"))
+                .isInstanceOf(InvalidImageException.class);
+    }
+
+    @Test
+    void rejectsImagesThatDecodeToMoreThanTheLimit() {
+        String png = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+
+        assertThat(DataUrlImage.parse(png, DataSize.ofBytes(PNG.length)).getContentLength()).isEqualTo(PNG.length);
+        assertThatThrownBy(() -> DataUrlImage.parse(png, DataSize.ofBytes(PNG.length - 1)))
+                .isInstanceOf(InvalidImageException.class)
+                .hasMessageContaining("larger than");
+    }
+}
@@ -0,0 +1,288 @@
+package com.preetinest.config;
+
+import com.preetinest.controller.LocalUploadController;
+import com.preetinest.entity.ImageMetadata;
+import com.preetinest.media.BlobStore;
+import com.preetinest.media.BlobStoreUnavailableException;
+import com.preetinest.media.DeferredUploads;
+import com.preetinest.media.ImageDerivativeService;
+import com.preetinest.media.ImageVariant;
+import com.preetinest.media.ImageVariantRecorder;
+import com.preetinest.media.LocalBlobStore;
+import com.preetinest.media.PresignedUpload;
+import com.preetinest.media.UploadedImage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The whole upload path, validation to stored original and variants, against the local blob store.
+ */
+class S3ServiceLocalStoreTest {
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path deferred;
+
+    private final ImageVariantRecorder recorder = mock(ImageVariantRecorder.class);
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withBean(SimpleMeterRegistry.class)
+            .withBean(ImageVariantRecorder.class, () -> recorder)
+            .withUserConfiguration(S3Service.class, LocalBlobStore.class, ImageDerivativeService.class, DeferredUploads.class);
+
+    @Test
+    void storesOriginalAndVariantsThenDeduplicates() {
+        contextRunner.withPropertyValues("app.storage.type=local", "app.storage.local.root=" + root,
+                        "app.s3.upload.deferred-dir=" + deferred, "app.images.variant-widths=100,200")
+                .run(context -> {
+                    S3Service s3Service = context.getBean(S3Service.class);
+                    String dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(png(400, 200));
+
+                    UploadedImage uploaded = s3Service.uploadBase64Image(dataUrl);
+                    String key = uploaded.getKey();
+                    assertThat(uploaded.getMetadata().getWidth()).isEqualTo(400);
+                    assertThat(uploaded.getMetadata().getHeight()).isEqualTo(200);
+                    assertThat(uploaded.getMetadata().getPlaceholder()).hasSize(28);
+                    String base = key.substring(0, key.length() - ".png".length());
+                    awaitFile(root.resolve(key));
+                    awaitFile(root.resolve(base + "_w100.png"));
+                    awaitFile(root.resolve(base + "_w200.png"));
+                    assertThat(s3Service.getFullUrl(key)).isEqualTo("/media/" + key);
+                    verify(recorder, timeout(10_000)).record(key, List.of(100, 200));
+
+                    // No row used the key yet, so recording is tried again on the retry schedule
+                    when(recorder.record(key, List.of(100, 200))).thenReturn(1);
+                    s3Service.retryQueuedRenders();
+                    s3Service.retryQueuedRenders();
+                    verify(recorder, times(2)).record(key, List.of(100, 200));
+
+                    // Only recorded widths are advertised
+                    assertThat(s3Service.getVariantUrls(key, new ImageMetadata(400, 200, null, "100,200")))
+                            .containsValues("/media/" + base + "_w100.png", "/media/" + base + "_w200.png");
+                    assertThat(s3Service.getVariantUrls(key, new ImageMetadata(400, 200, null, "200")))
+                            .containsOnlyKeys(200);
+                    assertThat(s3Service.getVariantUrls(key, uploaded.getMetadata())).isEmpty();
+
+                    // A deduplicated upload renders the variants that went missing, and only those,
+                    // and touches the original so the orphan collector sees it as recent
+                    Files.delete(root.resolve(base + "_w200.png"));
+                    Instant old = Instant.now().minus(Duration.ofDays(30));
+                    Files.setLastModifiedTime(root.resolve(key), FileTime.from(old));
+                    assertThat(s3Service.uploadBase64Image(dataUrl).getKey()).isEqualTo(key);
+                    MeterRegistry registry = context.getBean(MeterRegistry.class);
+                    awaitCount(registry, "deduplicated", 1);
+                    awaitFile(root.resolve(base + "_w200.png"));
+                    awaitCount(registry, "completed", 4);
+                    verify(recorder, timeout(10_000).times(3)).record(key, List.of(100, 200));
+                    assertThat(Files.getLastModifiedTime(root.resolve(key)).toInstant()).isAfter(old);
+                });
+    }
+
+    @Test
+    void presignedUploadIsCheckedBeforeItCanBeAttached() {
+        contextRunner.withUserConfiguration(LocalUploadController.class)
+                .withPropertyValues("app.storage.type=local", "app.storage.local.root=" + root,
+                        "app.s3.upload.deferred-dir=" + deferred, "app.images.variant-widths=100")
+                .run(context -> {
+                    S3Service s3Service = context.getBean(S3Service.class);
+                    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(context.getBean(LocalUploadController.class)).build();
+
+                    PresignedUpload upload = s3Service.presignImageUpload("image/png");
+                    assertThat(upload.getKey()).endsWith(".png");
+                    assertThat(upload.getHeaders()).containsEntry("Content-Type", "image/png");
+                    assertThatThrownBy(() -> s3Service.attachUploadedImage(upload.getKey()))
+                            .isInstanceOf(InvalidImageException.class);
+
+                    mockMvc.perform(put(upload.getUrl()).contentType("image/jpeg").content(png(400, 200)))
+                            .andExpect(status().isForbidden());
+                    mockMvc.perform(put(upload.getUrl().replace("signature=", "signature=0")).contentType("image/png").content(png(400, 200)))
+                            .andExpect(status().isForbidden());
+                    mockMvc.perform(put(upload.getUrl()).contentType("image/png").content(png(400, 200)))
+                            .andExpect(status().isOk());
+
+                    UploadedImage attached = s3Service.attachUploadedImage(upload.getKey());
+                    assertThat(attached.getKey()).isEqualTo(upload.getKey());
+                    assertThat(attached.getMetadata().getWidth()).isEqualTo(400);
+                    awaitFile(root.resolve(upload.getKey().replace(".png", "_w100.png")));
+
+                    PresignedUpload notAnImage = s3Service.presignImageUpload("image/png");
+                    mockMvc.perform(put(notAnImage.getUrl()).contentType("image/png").content("<svg/>".getBytes()))
+                            .andExpect(status().isOk());
+                    assertThatThrownBy(() -> s3Service.attachUploadedImage(notAnImage.getKey()))
+                            .isInstanceOf(InvalidImageException.class);
+                    assertThatThrownBy(() -> s3Service.attachUploadedImage("../" + upload.getKey()))
+                            .isInstanceOf(InvalidImageException.class);
+                    assertThatThrownBy(() -> s3Service.presignImageUpload("image/svg+xml"))
+                            .isInstanceOf(InvalidImageException.class);
+                });
+    }
+
+    @Test
+    void rejectsAnOversizedBase64ImageBeforeStoringAnything() throws IOException {
+        byte[] png = png(400, 200);
+        contextRunner.withPropertyValues("app.storage.type=local", "app.storage.local.root=" + root,
+                        "app.s3.upload.deferred-dir=" + deferred, "spring.servlet.multipart.max-file-size=" + (png.length - 1) + "B")
+                .run(context -> {
+                    S3Service s3Service = context.getBean(S3Service.class);
+
+                    assertThatThrownBy(() -> s3Service.uploadBase64Image(
+                            "data:image/png;base64," + Base64.getEncoder().encodeToString(png)))
+                            .isInstanceOf(InvalidImageException.class)
+                            .hasMessageContaining("larger than " + (png.length - 1) + "B");
+                    assertThat(root).isEmptyDirectory();
+                    verifyNoInteractions(recorder);
+                });
+    }
+
+    @Test
+    void uploadsTheStoreRefusesAreDeferredAndRetried() throws IOException {
+        UnavailableBlobStore store = new UnavailableBlobStore(root);
+        contextRunner.withBean(BlobStore.class, () -> store)
+                .withPropertyValues("app.s3.upload.deferred-dir=" + deferred, "app.images.variant-widths=100")
+                .run(context -> {
+                    S3Service s3Service = context.getBean(S3Service.class);
+                    DeferredUploads deferredUploads = context.getBean(DeferredUploads.class);
+
+                    String key = s3Service.uploadBase64Image("data:image/png;base64," + Base64.getEncoder().encodeToString(png(400, 200))).getKey();
+                    String variant = key.replace(".png", "_w100.png");
+                    awaitCount(context.getBean(MeterRegistry.class), "deferred", 2);
+                    assertThat(root.resolve(key)).doesNotExist();
+                    assertThat(deferredUploads.getPending()).isEqualTo(2);
+
+                    deferredUploads.retry();
+                    assertThat(deferredUploads.getPending()).isEqualTo(2);
+
+                    store.available.set(true);
+                    deferredUploads.retry();
+                    assertThat(root.resolve(key)).exists();
+                    assertThat(root.resolve(variant)).exists();
+                    assertThat(deferredUploads.getPending()).isZero();
+                    assertThat(deferred).isEmptyDirectory();
+                });
+    }
+
+    @Test
+    void rendersTurnedAwayByTheRenderPoolAreRetriedFromTheStore() {
+        RejectingDerivativeService derivatives = new RejectingDerivativeService();
+        new ApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+                .withBean(SimpleMeterRegistry.class)
+                .withBean(ImageVariantRecorder.class, () -> recorder)
+                .withBean(ImageDerivativeService.class, () -> derivatives)
+                .withUserConfiguration(S3Service.class, LocalBlobStore.class, DeferredUploads.class)
+                .withPropertyValues("app.storage.type=local", "app.storage.local.root=" + root,
+                        "app.s3.upload.deferred-dir=" + deferred)
+                .run(context -> {
+                    S3Service s3Service = context.getBean(S3Service.class);
+                    String key = s3Service.uploadBase64Image("data:image/png;base64," + Base64.getEncoder().encodeToString(png(400, 200))).getKey();
+                    String variant = key.replace(".png", "_w100.png");
+                    awaitFile(root.resolve(key));
+                    assertThat(root.resolve(variant)).doesNotExist();
+                    assertThat(context.getBean(MeterRegistry.class).get("image.derivatives.queued").gauge().value()).isEqualTo(1);
+
+                    s3Service.retryQueuedRenders();
+                    awaitFile(root.resolve(variant));
+                    verify(recorder, timeout(10_000)).record(key, List.of(100));
+                    assertThat(context.getBean(MeterRegistry.class).get("image.derivatives.queued").gauge().value()).isZero();
+                });
+    }
+
+    private static void awaitFile(Path path) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!Files.exists(path) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(path).exists();
+    }
+
+    private static void awaitCount(MeterRegistry registry, String outcome, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (registry.get("s3.uploads").tag("outcome", outcome).counter().count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(registry.get("s3.uploads").tag("outcome", outcome).counter().count()).isEqualTo(expected);
+    }
+
+    private static class UnavailableBlobStore extends LocalBlobStore {
+
+        final AtomicBoolean available = new AtomicBoolean();
+
+        UnavailableBlobStore(Path root) throws IOException {
+            super(root, "/media");
+        }
+
+        @Override
+        public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+            check();
+            super.put(key, content, contentLength, contentType);
+        }
+
+        @Override
+        public void put(String key, Path file, String contentType) throws IOException {
+            check();
+            super.put(key, file, contentType);
+        }
+
+        private void check() throws BlobStoreUnavailableException {
+            if (!available.get()) {
+                throw new BlobStoreUnavailableException("store is down");
+            }
+        }
+    }
+
+    // Turns the first image away, as a saturated pool would
+    private static class RejectingDerivativeService extends ImageDerivativeService {
+
+        final AtomicBoolean rejected = new AtomicBoolean();
+
+        RejectingDerivativeService() {
+            super(new SimpleMeterRegistry(), List.of(100), 0.8f, 1, 4);
+        }
+
+        @Override
+        public boolean submit(String originalKey, ImageFormat format, ImageSource source,
+                              Consumer<List<ImageVariant>> sink, Runnable done) {
+            if (rejected.compareAndSet(false, true)) {
+                done.run();
+                return false;
+            }
+            return super.submit(originalKey, format, source, sink, done);
+        }
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,47 @@
+package com.preetinest.controller;
+
+import com.preetinest.catalog.SlugRegistry;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.security.Permission;
+import com.preetinest.service.CatalogSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CatalogControllerTest {
+
+    private CatalogSnapshotService catalogSnapshotService;
+    private AuthorizationService authorizationService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        catalogSnapshotService = mock(CatalogSnapshotService.class);
+        authorizationService = mock(AuthorizationService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new CatalogController(catalogSnapshotService, mock(SlugRegistry.class), authorizationService)).build();
+    }
+
+    @Test
+    void refreshRequiresACatalogAdmin() throws Exception {
+        mockMvc.perform(post("/api/catalog/refresh")).andExpect(status().isBadRequest());
+
+        when(authorizationService.require(eq(2L), eq(Permission.MANAGE_CATALOG), anyString()))
+                .thenThrow(new IllegalArgumentException("Only ADMIN users can rebuild the catalog"));
+        assertThatThrownBy(() -> mockMvc.perform(post("/api/catalog/refresh").param("userId", "2")))
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+        verify(catalogSnapshotService, never()).requestRefresh();
+
+        mockMvc.perform(post("/api/catalog/refresh").param("userId", "1")).andExpect(status().isAccepted());
+        verify(authorizationService).require(eq(1L), eq(Permission.MANAGE_CATALOG), anyString());
+        verify(catalogSnapshotService).requestRefresh();
+    }
+}
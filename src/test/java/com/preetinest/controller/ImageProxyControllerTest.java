@@ -0,0 +1,143 @@
+package com.preetinest.controller;
+
+import com.preetinest.media.CachedImage;
+import com.preetinest.media.ImageCache;
+import com.preetinest.media.LocalBlobStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ImageProxyControllerTest {
+
+    private static final byte[] PNG = bytes(1000, 1);
+    private static final byte[] WEBP = bytes(400, 2);
+
+    @TempDir
+    Path dir;
+
+    private LocalBlobStore store;
+    private MockMvc mockMvc;
+    private MockMvc negotiating;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new LocalBlobStore(dir.resolve("store"), "/media");
+        store.put("abc.png", new ByteArrayInputStream(PNG), PNG.length, "image/png");
+        store.put("abc.webp", new ByteArrayInputStream(WEBP), WEBP.length, "image/webp");
+        store.put("def.png", new ByteArrayInputStream(PNG), PNG.length, "image/png");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ImageCache cache = new ImageCache(store, registry, dir.resolve("cache"), DataSize.ofMegabytes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImageProxyController(cache, registry, false)).build();
+        negotiating = MockMvcBuilders.standaloneSetup(new ImageProxyController(cache, registry, true)).build();
+    }
+
+    @Test
+    void servesTheWholeImageWithCacheHeaders() throws Exception {
+        MvcResult result = mockMvc.perform(get("/media/def.png"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(PNG))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().doesNotExist("Vary"))
+                .andReturn();
+        String etag = result.getResponse().getHeader("ETag");
+        assertThat(etag).matches("\"[0-9a-f]{64}\"");
+
+        mockMvc.perform(get("/media/def.png").header("If-None-Match", "\"other\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(head("/media/def.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", PNG.length))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/media/nothing.png")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void servesSingleByteRanges() throws Exception {
+        mockMvc.perform(get("/media/def.png").header("Range", "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 10-19/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(PNG, 10, 20)));
+        mockMvc.perform(get("/media/def.png").header("Range", "bytes=-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(PNG, 995, 1000)));
+        mockMvc.perform(get("/media/def.png").header("Range", "bytes=990-5000"))
+                .andExpect(header().string("Content-Range", "bytes 990-999/1000"));
+        mockMvc.perform(get("/media/def.png").header("Range", "bytes=1000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */1000"));
+        mockMvc.perform(get("/media/def.png").header("Range", "bytes=0-1,5-6"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(PNG));
+        mockMvc.perform(get("/media/def.png").header("Range", "bytes=0-1").header("If-Range", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void reloadsAnImageEvictedBetweenLookupAndOpen() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AtomicBoolean evicted = new AtomicBoolean();
+        ImageCache cache = new ImageCache(store, registry, dir.resolve("racing-cache"), DataSize.ofMegabytes(1)) {
+            @Override
+            public Optional<CachedImage> get(String key) throws IOException {
+                Optional<CachedImage> image = super.get(key);
+                if (image.isPresent() && evicted.compareAndSet(false, true)) {
+                    Files.delete(image.get().getFile());
+                }
+                return image;
+            }
+        };
+        MockMvc racing = MockMvcBuilders.standaloneSetup(new ImageProxyController(cache, registry, false)).build();
+
+        racing.perform(get("/media/def.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", PNG.length))
+                .andExpect(content().bytes(PNG));
+    }
+
+    @Test
+    void swapsInTheWebpRenditionOnlyWhenNegotiationIsOn() throws Exception {
+        negotiating.perform(get("/media/abc.png").header("Accept", "image/avif,image/webp,*/*"))
+                .andExpect(content().contentType("image/webp"))
+                .andExpect(content().bytes(WEBP))
+                .andExpect(header().string("Vary", "Accept"));
+        negotiating.perform(get("/media/abc.png").header("Accept", "image/png,*/*"))
+                .andExpect(content().contentType("image/png"));
+        negotiating.perform(get("/media/def.png").header("Accept", "image/webp"))
+                .andExpect(content().contentType("image/png"));
+        mockMvc.perform(get("/media/abc.png").header("Accept", "image/avif,image/webp,*/*"))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(header().doesNotExist("Vary"));
+
+        assertThat(ImageProxyController.acceptsWebp("image/webp;q=0,*/*")).isFalse();
+        assertThat(ImageProxyController.acceptsWebp("not a media type")).isFalse();
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * seed);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,42 @@
+package com.preetinest.controller;
+
+import com.preetinest.dto.request.UserRequestDTO;
+import com.preetinest.dto.response.UserResponseDTO;
+import com.preetinest.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+
+    private static final String WITHOUT_PASSWORD = "{\"name\":\"Asha\",\"email\":\"asha@example.com\",\"roleId\":1}";
+
+    private UserService userService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService)).build();
+    }
+
+    @Test
+    void createRequiresPasswordButUpdateDoesNot() throws Exception {
+        mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON).content(WITHOUT_PASSWORD))
+                .andExpect(status().isBadRequest());
+        verify(userService, never()).createUser(any(), any());
+
+        when(userService.updateUser(eq(5L), any(UserRequestDTO.class))).thenReturn(new UserResponseDTO());
+        mockMvc.perform(put("/api/users/5").contentType(MediaType.APPLICATION_JSON).content(WITHOUT_PASSWORD))
+                .andExpect(status().isOk());
+    }
+}
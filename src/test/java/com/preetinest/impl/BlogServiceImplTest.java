@@ -0,0 +1,64 @@
+package com.preetinest.impl;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.preetinest.catalog.CatalogSnapshot;
+import com.preetinest.catalog.PreparedResponse;
+import com.preetinest.catalog.PreparedResponseCache;
+import com.preetinest.catalog.SlugLookupGuard;
+import com.preetinest.catalog.SlugRegistry;
+import com.preetinest.catalog.SlugType;
+import com.preetinest.dto.response.BlogResponseDTO;
+import com.preetinest.repository.BlogRepository;
+import com.preetinest.repository.CategoryRepository;
+import com.preetinest.repository.ServiceRepository;
+import com.preetinest.repository.SubCategoryRepository;
+import com.preetinest.security.AuthorizationService;
+import com.preetinest.service.CatalogSnapshotService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BlogServiceImplTest {
+
+    @Test
+    void caseVariantsOfASlugShareOnePreparedBody() {
+        BlogResponseDTO blog = new BlogResponseDTO();
+        blog.setId(7L);
+        blog.setSlug("my-post");
+        CatalogSnapshot snapshot = new CatalogSnapshot(1, Instant.now(), 0, List.of(), List.of(),
+                List.of(), List.of(), Map.of(), Map.of(), List.of(blog), List.of());
+        CatalogSnapshotService catalogSnapshotService = mock(CatalogSnapshotService.class);
+        when(catalogSnapshotService.current()).thenReturn(Optional.of(snapshot));
+
+        SlugLookupGuard slugLookupGuard = mock(SlugLookupGuard.class);
+        when(slugLookupGuard.lookup(eq(SlugType.BLOG), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Optional<?>>>getArgument(2).get());
+        PreparedResponseCache preparedResponseCache = new PreparedResponseCache(JsonMapper.builder().findAndAddModules().build());
+
+        BlogServiceImpl blogService = new BlogServiceImpl(mock(BlogRepository.class), mock(AuthorizationService.class),
+                mock(CategoryRepository.class), mock(SubCategoryRepository.class), mock(ServiceRepository.class),
+                mock(CatalogMapper.class), catalogSnapshotService, preparedResponseCache, mock(SlugRegistry.class),
+                slugLookupGuard);
+
+        Optional<PreparedResponse> lower = blogService.getPreparedBlogBySlug("my-post");
+        Optional<PreparedResponse> mixed = blogService.getPreparedBlogBySlug("My-Post");
+        Optional<PreparedResponse> odd = blogService.getPreparedBlogBySlug("mY-pOsT");
+
+        assertThat(lower).isPresent();
+        assertThat(mixed.get()).isSameAs(lower.get());
+        assertThat(odd.get()).isSameAs(lower.get());
+        assertThat(preparedResponseCache.size()).isEqualTo(1);
+        assertThat(blogService.getPreparedBlogBySlug("other-post")).isEmpty();
+        assertThat(preparedResponseCache.size()).isEqualTo(1);
+    }
+}
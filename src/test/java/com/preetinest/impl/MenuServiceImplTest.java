@@ -0,0 +1,60 @@
+package com.preetinest.impl;
+
+import com.preetinest.catalog.PreparedResponseCache;
+import com.preetinest.entity.Blog;
+import com.preetinest.entity.Clients;
+import com.preetinest.entity.Services;
+import com.preetinest.repository.BlogRepository;
+import com.preetinest.repository.ClientRepository;
+import com.preetinest.repository.ServiceRepository;
+import com.preetinest.service.CatalogSnapshotService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class MenuServiceImplTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listsActiveServicesAndEverythingElseInIdOrder() {
+        ServiceRepository serviceRepository = mock(ServiceRepository.class);
+        BlogRepository blogRepository = mock(BlogRepository.class);
+        ClientRepository clientRepository = mock(ClientRepository.class);
+        CatalogSnapshotService catalogSnapshotService = mock(CatalogSnapshotService.class);
+        when(catalogSnapshotService.current()).thenReturn(Optional.empty());
+
+        Services hidden = new Services();
+        hidden.setId(1L);
+        hidden.setName("Hidden from listings");
+        hidden.setDisplayStatus(false);
+        Services shown = new Services();
+        shown.setId(2L);
+        shown.setName("Shown");
+        when(serviceRepository.findAllActiveServices()).thenReturn(List.of(hidden, shown));
+
+        // Listings come newest first
+        Blog older = new Blog();
+        older.setId(10L);
+        Blog newer = new Blog();
+        newer.setId(11L);
+        when(blogRepository.findAllActiveBlogs()).thenReturn(List.of(newer, older));
+        when(clientRepository.findAllActiveClients()).thenReturn(List.of());
+
+        MenuServiceImpl menuService = new MenuServiceImpl(serviceRepository, blogRepository, clientRepository,
+                catalogSnapshotService, mock(PreparedResponseCache.class));
+        Map<String, Object> menu = menuService.fetchAllMenuItems();
+
+        assertThat((List<Map<String, Object>>) menu.get("services"))
+                .extracting(item -> item.get("id"))
+                .containsExactly(1L, 2L);
+        assertThat((List<Map<String, Object>>) menu.get("blogs"))
+                .extracting(item -> item.get("id"))
+                .containsExactly(10L, 11L);
+        verify(serviceRepository, never()).findAllVisibleServices();
+    }
+}
@@ -0,0 +1,84 @@
+package com.preetinest.media;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 0.5, Duration.ofSeconds(30), now::get);
+
+    @Test
+    void opensOnceEnoughCallsInTheWindowFail() {
+        call(true);
+        call(false);
+        call(true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        call(false);
+        for (int i = 0; i < 6; i++) {
+            call(true);
+        }
+        call(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void letsOneProbeThroughAfterTheOpenDuration() {
+        open();
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onIgnored();
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // The failures that opened it are forgotten
+        call(false);
+        call(false);
+        call(false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void call(boolean succeeds) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        if (succeeds) {
+            breaker.onSuccess();
+        } else {
+            breaker.onFailure();
+        }
+    }
+}
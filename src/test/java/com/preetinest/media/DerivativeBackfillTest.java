@@ -0,0 +1,186 @@
+package com.preetinest.media;
+
+import com.preetinest.config.S3Service;
+import com.preetinest.entity.Clients;
+import com.preetinest.entity.ImageMetadata;
+import com.preetinest.entity.JobCheckpoint;
+import com.preetinest.repository.BlogDetailRepository;
+import com.preetinest.repository.BlogRepository;
+import com.preetinest.repository.ClientRepository;
+import com.preetinest.repository.JobCheckpointRepository;
+import com.preetinest.repository.ServiceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DerivativeBackfillTest {
+
+    @TempDir
+    Path root;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private BlogDetailRepository blogDetailRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    private LocalBlobStore blobStore;
+    private SimpleMeterRegistry meterRegistry;
+    private ImageDerivativeService imageDerivativeService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new LocalBlobStore(root, "/media");
+        meterRegistry = new SimpleMeterRegistry();
+        imageDerivativeService = new ImageDerivativeService(meterRegistry, List.of(100), 0.8f, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageDerivativeService.shutdown();
+        clientRepository.deleteAll();
+        checkpointRepository.deleteAll();
+    }
+
+    @Test
+    void rendersMissingVariantsAndSkipsTheRest() throws IOException {
+        Clients plain = clientRepository.save(client("plain", "old.png", 2));
+        Clients url = clientRepository.save(client("url", "https://bucket.example/done.png", 2));
+        Clients lost = clientRepository.save(client("lost", "lost.png", 2));
+        Clients gif = clientRepository.save(client("gif", "anim.gif", 2));
+        clientRepository.save(client("deleted", "deleted.png", 1));
+        store("old.png", png(300, 150));
+        store("done.png", png(300, 150));
+        store("done_w100.png", png(100, 50));
+        store("deleted.png", png(300, 150));
+
+        DerivativeBackfill backfill = backfill(100, Duration.ofMinutes(5));
+        assertThat(backfill.run()).isTrue();
+
+        assertThat(ImageIO.read(root.resolve("old_w100.png").toFile()).getWidth()).isEqualTo(100);
+        assertThat(root.resolve("deleted_w100.png")).doesNotExist();
+        assertThat(count("generated")).isEqualTo(1);
+        assertThat(count("present")).isEqualTo(1);
+        assertThat(count("missing")).isEqualTo(1);
+        assertThat(count("unsupported")).isEqualTo(1);
+        assertThat(variantWidths(plain)).isEqualTo("100");
+        assertThat(variantWidths(url)).isEqualTo("100");
+        assertThat(variantWidths(lost)).isNull();
+        assertThat(variantWidths(gif)).isNull();
+        assertThat(checkpointRepository.findById(DerivativeBackfill.JOB_NAME)).get()
+                .satisfies(c -> {
+                    assertThat(c.getLastCompletedAt()).isNotNull();
+                    assertThat(c.getLeaseOwner()).isNull();
+                });
+
+        // A finished backfill stays finished
+        store("late.png", png(300, 150));
+        clientRepository.save(client("late", "late.png", 2));
+        assertThat(backfill.run()).isTrue();
+        assertThat(root.resolve("late_w100.png")).doesNotExist();
+    }
+
+    @Test
+    void resumesAfterTheLastFinishedChunk() throws IOException {
+        Clients first = clientRepository.save(client("first", "first.png", 2));
+        clientRepository.save(client("second", "second.png", 2));
+        store("first.png", png(300, 150));
+        store("second.png", png(300, 150));
+        DerivativeBackfill backfill = backfill(1, Duration.ZERO);
+
+        assertThat(backfill.run()).isFalse();
+        assertThat(checkpointRepository.findById(DerivativeBackfill.JOB_NAME)).get()
+                .extracting(JobCheckpoint::getLastKey)
+                .isEqualTo("client-logos:" + first.getId());
+        assertThat(root.resolve("first_w100.png")).exists();
+        assertThat(root.resolve("second_w100.png")).doesNotExist();
+
+        assertThat(backfill.run()).isFalse();
+        assertThat(root.resolve("second_w100.png")).exists();
+        assertThat(backfill.run()).isTrue();
+        assertThat(count("generated")).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DerivativeBackfill backfill(int chunkSize, Duration maxRunTime) {
+        ImageVariantRecorder recorder = new ImageVariantRecorder(blogRepository, clientRepository, blogDetailRepository,
+                serviceRepository, mock(ObjectProvider.class));
+        return new DerivativeBackfill(blobStore, imageDerivativeService, recorder, checkpointRepository, blogRepository,
+                clientRepository, blogDetailRepository, meterRegistry, chunkSize, 2, 1000, 1000, maxRunTime);
+    }
+
+    private String variantWidths(Clients client) {
+        return clientRepository.findById(client.getId())
+                .map(Clients::getLogoMetadata)
+                .map(ImageMetadata::getVariantWidths)
+                .orElse(null);
+    }
+
+    private void store(String key, byte[] content) throws IOException {
+        blobStore.put(key, new ByteArrayInputStream(content), content.length, "image/png");
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("media.backfill.images").tag("outcome", outcome).counter().count();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static Clients client(String slug, String logoKey, int deleteStatus) {
+        Clients client = new Clients();
+        client.setName("Client");
+        client.setClientType("Agency");
+        client.setDescription("description");
+        client.setLogoUrl(logoKey);
+        client.setMetaTitle("title");
+        client.setMetaKeyword("keyword");
+        client.setMetaDescription("description");
+        client.setSlug(slug);
+        client.setDeleteStatus(deleteStatus);
+        client.setCreatedAt(LocalDateTime.now());
+        client.setUpdatedAt(LocalDateTime.now());
+        return client;
+    }
+}
@@ -0,0 +1,103 @@
+package com.preetinest.media;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void evictsTheLeastRecentlyUsedImageOverTheSizeLimit() throws IOException {
+        LocalBlobStore store = store("a.png", "b.png", "c.png");
+        ImageCache cache = new ImageCache(store, new SimpleMeterRegistry(), dir.resolve("cache"), DataSize.ofBytes(250));
+
+        CachedImage a = cache.get("a.png").orElseThrow();
+        cache.get("b.png");
+        cache.get("a.png");
+        cache.get("c.png");
+
+        assertThat(cache.contains("a.png")).isTrue();
+        assertThat(cache.contains("b.png")).isFalse();
+        assertThat(cache.contains("c.png")).isTrue();
+        assertThat(cache.getTotalBytes()).isEqualTo(200);
+        assertThat(dir.resolve("cache").resolve("b.png")).doesNotExist();
+        assertThat(a.getFile()).hasBinaryContent(bytes("a.png"));
+        assertThat(a.getEtag()).matches("\"[0-9a-f]{64}\"");
+        assertThat(a.getContentType()).isEqualTo("image/png");
+    }
+
+    @Test
+    void aFailedEvictionDoesNotFailTheRequestThatCausedIt() throws IOException {
+        LocalBlobStore store = store("a.png", "b.png", "c.png");
+        ImageCache cache = new ImageCache(store, new SimpleMeterRegistry(), dir.resolve("cache"), DataSize.ofBytes(250));
+
+        CachedImage a = cache.get("a.png").orElseThrow();
+        // A non-empty directory where the file was cannot be deleted
+        Files.delete(a.getFile());
+        Files.createDirectories(a.getFile()).resolve("pinned").toFile().createNewFile();
+        cache.get("b.png");
+
+        assertThat(cache.get("c.png")).isPresent();
+        assertThat(cache.contains("a.png")).isFalse();
+        assertThat(cache.getTotalBytes()).isEqualTo(200);
+    }
+
+    @Test
+    void remembersMissingKeysAndRejectsInvalidOnes() throws IOException {
+        AtomicInteger opens = new AtomicInteger();
+        LocalBlobStore store = new LocalBlobStore(dir.resolve("store"), "/media") {
+            @Override
+            public InputStream open(String key) throws IOException {
+                opens.incrementAndGet();
+                return super.open(key);
+            }
+        };
+        ImageCache cache = new ImageCache(store, new SimpleMeterRegistry(), dir.resolve("cache"), DataSize.ofMegabytes(1));
+
+        assertThat(cache.get("missing.png")).isEmpty();
+        assertThat(cache.get("missing.png")).isEmpty();
+        assertThat(cache.get("../escape.png")).isEmpty();
+        assertThat(cache.get(".fill-1.tmp")).isEmpty();
+
+        assertThat(opens).hasValue(1);
+    }
+
+    @Test
+    void startsEmptyEvenWhenTheDirectoryHoldsOldFiles() throws IOException {
+        Files.createDirectories(dir.resolve("cache"));
+        Files.write(dir.resolve("cache").resolve("stale.png"), new byte[]{1});
+
+        ImageCache cache = new ImageCache(store(), new SimpleMeterRegistry(), dir.resolve("cache"), DataSize.ofMegabytes(1));
+
+        assertThat(dir.resolve("cache").resolve("stale.png")).doesNotExist();
+        assertThat(cache.getTotalBytes()).isZero();
+    }
+
+    private LocalBlobStore store(String... keys) throws IOException {
+        LocalBlobStore store = new LocalBlobStore(dir.resolve("store"), "/media");
+        for (String key : keys) {
+            byte[] content = bytes(key);
+            store.put(key, new ByteArrayInputStream(content), content.length, "image/png");
+        }
+        return store;
+    }
+
+    private static byte[] bytes(String key) {
+        byte[] content = new byte[100];
+        content[0] = (byte) key.charAt(0);
+        return content;
+    }
+}
@@ -0,0 +1,98 @@
+package com.preetinest.media;
+
+import com.preetinest.config.ImageFormat;
+import com.preetinest.entity.ImageMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDerivativeServiceTest {
+
+    private final ImageDerivativeService service =
+            new ImageDerivativeService(new SimpleMeterRegistry(), List.of(1280, 320, 640), 0.8f, 1, 4);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void rendersEachWidthUnderADeterministicKey() throws IOException {
+        List<ImageVariant> variants = service.render("abc.png", ImageFormat.PNG, encode(2000, 1000, "png"));
+
+        assertThat(variants).extracting(ImageVariant::getKey).containsExactly("abc_w320.png", "abc_w640.png", "abc_w1280.png");
+        assertThat(variants).extracting(ImageVariant::getContentType).containsOnly("image/png");
+        for (ImageVariant variant : variants) {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(variant.getBytes()));
+            assertThat(image.getWidth()).isEqualTo(variant.getWidth());
+            assertThat(image.getHeight()).isEqualTo(variant.getWidth() / 2);
+        }
+        assertThat(service.variantKeys("abc.png")).containsValues("abc_w320.png", "abc_w640.png", "abc_w1280.png");
+    }
+
+    @Test
+    void neverUpscalesSmallImages() throws IOException {
+        List<ImageVariant> variants = service.render("small.jpg", ImageFormat.JPEG, encode(500, 250, "jpeg"));
+
+        assertThat(variants).extracting(ImageVariant::getWidth).containsExactly(320, 500, 500);
+        assertThat(variants).extracting(ImageVariant::getKey).containsExactly("small_w320.jpg", "small_w640.jpg", "small_w1280.jpg");
+    }
+
+    @Test
+    void unsupportedFormatsGetNoVariants() throws InterruptedException {
+        assertThat(service.variantKeys("anim.gif")).isEmpty();
+        assertThat(service.variantKeys("photo.webp")).isEmpty();
+
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<List<ImageVariant>> rendered = new AtomicReference<>();
+        service.submit("photo.webp", ImageFormat.WEBP, () -> { throw new IOException("must not be read"); },
+                rendered::set, done::countDown);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(rendered.get()).isNull();
+    }
+
+    @Test
+    void describesSizeAndPlaceholder() throws IOException {
+        ImageMetadata landscape = service.describe(encode(2000, 1000, "jpeg")).orElseThrow();
+        assertThat(landscape.getWidth()).isEqualTo(2000);
+        assertThat(landscape.getHeight()).isEqualTo(1000);
+        assertThat(landscape.getPlaceholder()).hasSize(28).startsWith("L");
+
+        // Portrait images get 3x4 components; plain white encodes its average colour as TSUA
+        BufferedImage white = new BufferedImage(30, 60, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = white.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 30, 60);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(white, "png", out);
+        ImageMetadata portrait = service.describe(new ByteArrayInputStream(out.toByteArray())).orElseThrow();
+        assertThat(portrait.getPlaceholder()).hasSize(28).startsWith("T");
+        assertThat(portrait.getPlaceholder().substring(2, 6)).isEqualTo("TSUA");
+
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes();
+        assertThat(service.describe(new ByteArrayInputStream(webp))).isEmpty();
+    }
+
+    private static ByteArrayInputStream encode(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
@@ -0,0 +1,98 @@
+package com.preetinest.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void writesStreamsAndFilesIntoPlace() throws IOException {
+        LocalBlobStore store = new LocalBlobStore(root, "/media");
+        byte[] bytes = "image bytes".getBytes();
+        Path source = Files.write(root.resolveSibling(root.getFileName() + "-source"), bytes);
+
+        store.put("a.png", new ByteArrayInputStream(bytes), bytes.length, "image/png");
+        store.put("b.png", source, "image/png");
+
+        assertThat(store.exists("a.png")).isTrue();
+        assertThat(root.resolve("a.png")).hasBinaryContent(bytes);
+        assertThat(root.resolve("b.png")).hasBinaryContent(bytes);
+        assertThat(store.getUrl("a.png")).isEqualTo("/media/a.png");
+        try (var files = Files.list(root)) {
+            assertThat(files).extracting(p -> p.getFileName().toString()).containsExactlyInAnyOrder("a.png", "b.png");
+        }
+        Files.delete(source);
+    }
+
+    @Test
+    void truncatedContentNeverReplacesTheObject() throws IOException {
+        LocalBlobStore store = new LocalBlobStore(root, "/media");
+        store.put("a.png", new ByteArrayInputStream(new byte[]{1, 2, 3}), 3, "image/png");
+
+        assertThatThrownBy(() -> store.put("a.png", new ByteArrayInputStream(new byte[]{9}), 3, "image/png"))
+                .isInstanceOf(IOException.class);
+
+        assertThat(root.resolve("a.png")).hasBinaryContent(new byte[]{1, 2, 3});
+        try (var files = Files.list(root)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void touchResetsTheModificationTime() throws IOException {
+        LocalBlobStore store = new LocalBlobStore(root, "/media");
+        store.put("a.png", new ByteArrayInputStream(new byte[]{1}), 1, "image/png");
+        Files.setLastModifiedTime(root.resolve("a.png"), FileTime.from(Instant.now().minus(Duration.ofDays(30))));
+
+        assertThat(store.touch("a.png")).isTrue();
+        assertThat(store.touch("missing.png")).isFalse();
+
+        assertThat(store.stat("a.png")).get()
+                .extracting(BlobSummary::getLastModified)
+                .satisfies(modified -> assertThat(modified).isAfter(Instant.now().minus(Duration.ofMinutes(1))));
+    }
+
+    @Test
+    void rejectsKeysOutsideTheRoot() throws IOException {
+        LocalBlobStore store = new LocalBlobStore(root, "/media");
+
+        assertThatThrownBy(() -> store.exists("../escape.png")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.exists("nested/a.png")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void listsPagesInKeyOrderAndDeletes() throws IOException {
+        LocalBlobStore store = new LocalBlobStore(root, "/media");
+        for (String key : new String[]{"c.png", "a.png", "b.png"}) {
+            store.put(key, new ByteArrayInputStream(new byte[]{1}), 1, "image/png");
+        }
+        Files.createFile(root.resolve(".upload-123.tmp"));
+
+        BlobPage first = store.list(null, 2);
+        assertThat(first.getObjects()).extracting(BlobSummary::getKey).containsExactly("a.png", "b.png");
+        assertThat(first.isTruncated()).isTrue();
+        BlobPage second = store.list(first.getLastKey(), 2);
+        assertThat(second.getObjects()).extracting(BlobSummary::getKey).containsExactly("c.png");
+        assertThat(second.isTruncated()).isFalse();
+
+        store.delete(List.of("a.png", "missing.png"));
+
+        assertThat(store.exists("a.png")).isFalse();
+        assertThat(store.list(null, 10).getObjects()).extracting(BlobSummary::getKey).containsExactly("b.png", "c.png");
+    }
+}
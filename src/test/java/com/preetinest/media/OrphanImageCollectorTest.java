@@ -0,0 +1,199 @@
+package com.preetinest.media;
+
+import com.preetinest.config.S3Service;
+import com.preetinest.entity.Clients;
+import com.preetinest.entity.JobCheckpoint;
+import com.preetinest.repository.ClientRepository;
+import com.preetinest.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(ImageReferences.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrphanImageCollectorTest {
+
+    private static final String LIVE = "a".repeat(64);
+    private static final String REPLACED = "b".repeat(64);
+    private static final String DELETED_ROW = "c".repeat(64);
+    private static final String FRESH = "d".repeat(64);
+
+    @TempDir
+    Path root;
+
+    @Autowired
+    private ImageReferences imageReferences;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    private LocalBlobStore blobStore;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new LocalBlobStore(root, "/media");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientRepository.deleteAll();
+        checkpointRepository.deleteAll();
+    }
+
+    @Test
+    void deletesOldUnreferencedImagesAndTheirVariants() throws IOException {
+        clientRepository.save(client("live", LIVE + ".png", 2));
+        clientRepository.save(client("gone", DELETED_ROW + ".png", 1));
+        store(LIVE + ".png", LIVE + "_w320.png", REPLACED + ".png", REPLACED + "_w320.png",
+                DELETED_ROW + ".jpg", DELETED_ROW + ".png", "favicon.ico");
+        store(Instant.now(), FRESH + ".png");
+
+        assertThat(collector(100, Duration.ofMinutes(5)).run()).isTrue();
+
+        assertThat(storedKeys()).containsExactly(LIVE + ".png", LIVE + "_w320.png", FRESH + ".png", "favicon.ico");
+        assertThat(count("deleted")).isEqualTo(4);
+        assertThat(count("referenced")).isEqualTo(2);
+        assertThat(count("recent")).isEqualTo(1);
+        assertThat(count("unmanaged")).isEqualTo(1);
+        assertThat(checkpointRepository.findById(OrphanImageCollector.JOB_NAME)).get()
+                .satisfies(c -> {
+                    assertThat(c.getLastKey()).isNull();
+                    assertThat(c.getLastCompletedAt()).isNotNull();
+                    assertThat(c.getLeaseOwner()).isNull();
+                });
+    }
+
+    @Test
+    void resumesFromTheCheckpointAcrossRuns() throws IOException {
+        store(LIVE + ".png", REPLACED + ".png", DELETED_ROW + ".png", FRESH + ".png");
+        OrphanImageCollector collector = collector(1, Duration.ZERO);
+
+        assertThat(collector.run()).isFalse();
+        assertThat(checkpointRepository.findById(OrphanImageCollector.JOB_NAME)).get()
+                .extracting(JobCheckpoint::getLastKey)
+                .isEqualTo(LIVE + ".png");
+        assertThat(storedKeys()).hasSize(3);
+
+        assertThat(collector.run()).isFalse();
+        assertThat(collector.run()).isFalse();
+        assertThat(collector.run()).isTrue();
+        assertThat(storedKeys()).isEmpty();
+        assertThat(count("deleted")).isEqualTo(4);
+    }
+
+    @Test
+    void leavesTheJobToTheInstanceHoldingTheLease() throws IOException {
+        store(REPLACED + ".png");
+        OrphanImageCollector collector = collector(100, Duration.ofMinutes(5));
+        collector.run();
+        store(REPLACED + ".png");
+        checkpointRepository.acquireLease(OrphanImageCollector.JOB_NAME, "other", LocalDateTime.now(), LocalDateTime.now().plusMinutes(5));
+
+        assertThat(collector.run()).isFalse();
+        assertThat(storedKeys()).containsExactly(REPLACED + ".png");
+    }
+
+    @Test
+    void rechecksEachBatchRightBeforeDeletingIt() throws IOException {
+        store(REPLACED + ".png", DELETED_ROW + ".png");
+        blobStore = new LocalBlobStore(root, "/media") {
+            @Override
+            public void delete(Collection<String> keys) throws IOException {
+                // A deduplicated upload saves a row using the next candidate mid-run
+                if (keys.contains(REPLACED + ".png")) {
+                    clientRepository.save(client("reused", DELETED_ROW + ".png", 2));
+                }
+                super.delete(keys);
+            }
+        };
+
+        assertThat(new OrphanImageCollector(blobStore, imageReferences, checkpointRepository, meterRegistry,
+                Duration.ofDays(7), 100, 1, Duration.ofMinutes(5)).run()).isTrue();
+
+        assertThat(storedKeys()).containsExactly(DELETED_ROW + ".png");
+        assertThat(count("deleted")).isEqualTo(1);
+        assertThat(count("referenced")).isEqualTo(1);
+    }
+
+    @Test
+    void mapsVariantsBackToTheirOriginal() {
+        assertThat(OrphanImageCollector.originalKey(LIVE + "_w1280.jpg")).isEqualTo(LIVE + ".jpg");
+        assertThat(OrphanImageCollector.originalKey("0b7e4a4e-1c2d-4f5a-9b8c-7d6e5f4a3b2c.png"))
+                .isEqualTo("0b7e4a4e-1c2d-4f5a-9b8c-7d6e5f4a3b2c.png");
+        assertThat(OrphanImageCollector.originalKey("logo.png")).isNull();
+        assertThat(OrphanImageCollector.originalKey(LIVE + "_w640")).isNull();
+    }
+
+    private OrphanImageCollector collector(int pageSize, Duration maxRunTime) {
+        return new OrphanImageCollector(blobStore, imageReferences, checkpointRepository, meterRegistry,
+                Duration.ofDays(7), pageSize, 1000, maxRunTime);
+    }
+
+    private void store(String... keys) throws IOException {
+        store(Instant.now().minus(Duration.ofDays(30)), keys);
+    }
+
+    private void store(Instant lastModified, String... keys) throws IOException {
+        for (String key : keys) {
+            blobStore.put(key, new ByteArrayInputStream(new byte[]{1}), 1, "image/png");
+            Files.setLastModifiedTime(root.resolve(key), FileTime.from(lastModified));
+        }
+    }
+
+    private Stream<String> storedKeys() throws IOException {
+        return blobStore.list(null, 100).getObjects().stream().map(BlobSummary::getKey);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("media.gc.objects").tag("outcome", outcome).counter().count();
+    }
+
+    private static Clients client(String slug, String logoKey, int deleteStatus) {
+        Clients client = new Clients();
+        client.setName("Client");
+        client.setClientType("Agency");
+        client.setDescription("description");
+        client.setLogoUrl(logoKey);
+        client.setMetaTitle("title");
+        client.setMetaKeyword("keyword");
+        client.setMetaDescription("description");
+        client.setSlug(slug);
+        client.setDeleteStatus(deleteStatus);
+        client.setCreatedAt(LocalDateTime.now());
+        client.setUpdatedAt(LocalDateTime.now());
+        return client;
+    }
+}
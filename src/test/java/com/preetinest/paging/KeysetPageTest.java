@@ -0,0 +1,63 @@
+package com.preetinest.paging;
+
+import com.preetinest.dto.response.PageResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPageTest {
+
+    private record Row(Long id, LocalDateTime createdAt) {
+    }
+
+    @Test
+    void walksEveryRowExactlyOnceIncludingTimestampTies() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Row> rows = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            // Groups of three rows share a timestamp so the id tie-breaker matters
+            rows.add(new Row(id, base.plusSeconds(id / 3)));
+        }
+        rows.sort(KeysetPage.newestFirst(Row::createdAt, Row::id));
+
+        List<Row> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponseDTO<Row> page = KeysetPage.slice(rows, KeysetCursor.decode(cursor), 4,
+                    Row::createdAt, Row::id, false);
+            assertThat(page.getTotalItems()).isNull();
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    void countsOnlyWhenAsked() {
+        List<Row> rows = List.of(new Row(2L, LocalDateTime.now()), new Row(1L, LocalDateTime.now().minusDays(1)));
+        PageResponseDTO<Row> page = KeysetPage.slice(rows, null, 5, Row::createdAt, Row::id, true);
+
+        assertThat(page.getTotalItems()).isEqualTo(2L);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void clampsPageSize() {
+        assertThat(KeysetPage.size(null)).isEqualTo(KeysetPage.DEFAULT_SIZE);
+        assertThat(KeysetPage.size(0)).isEqualTo(KeysetPage.DEFAULT_SIZE);
+        assertThat(KeysetPage.size(10_000)).isEqualTo(KeysetPage.MAX_SIZE);
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor")).isInstanceOf(InvalidCursorException.class);
+    }
+}
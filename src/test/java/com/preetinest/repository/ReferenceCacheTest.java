@@ -0,0 +1,128 @@
+package com.preetinest.repository;
+
+import com.preetinest.config.HibernateCacheConfig;
+import com.preetinest.config.S3Service;
+import com.preetinest.entity.Category;
+import com.preetinest.entity.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reference rows and the queries listing them are served from the second-level cache, and the
+ * write paths (plain repository saves, each in its own transaction) keep both up to date.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void findByIdIsServedFromTheCache() {
+        Category category = categoryRepository.save(category("cached"));
+        // Identity inserts skip the cache, so the first read loads the row
+        categoryRepository.findById(category.getId()).orElseThrow();
+        statistics.clear();
+
+        categoryRepository.findById(category.getId()).orElseThrow();
+        categoryRepository.findById(category.getId()).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.CATEGORY_REGION).getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void activeListIsCachedUntilASoftDelete() {
+        Category category = categoryRepository.save(category("listed"));
+        assertThat(categoryRepository.findAllActiveCategories()).extracting(Category::getId).contains(category.getId());
+        statistics.clear();
+
+        assertThat(categoryRepository.findAllActiveCategories()).extracting(Category::getId).contains(category.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        Category loaded = categoryRepository.findById(category.getId()).orElseThrow();
+        loaded.setDeleteStatus(1);
+        categoryRepository.save(loaded);
+
+        assertThat(categoryRepository.findAllActiveCategories()).extracting(Category::getId).doesNotContain(category.getId());
+        assertThat(categoryRepository.findById(category.getId())).get()
+                .extracting(Category::getDeleteStatus)
+                .isEqualTo(1);
+    }
+
+    @Test
+    void roleByNameIsCachedAndFollowsRenames() {
+        Role role = new Role();
+        role.setName("Editor");
+        role.setCreatedAt(LocalDateTime.now());
+        role.setUpdatedAt(LocalDateTime.now());
+        roleRepository.save(role);
+
+        assertThat(roleRepository.findByName("Editor")).isPresent();
+        statistics.clear();
+        assertThat(roleRepository.findByName("Editor")).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        Role loaded = roleRepository.findByName("Editor").orElseThrow();
+        loaded.setName("Reviewer");
+        roleRepository.save(loaded);
+
+        assertThat(roleRepository.findByName("Editor")).isEmpty();
+        assertThat(roleRepository.findByName("Reviewer")).isPresent();
+    }
+
+    private static Category category(String slug) {
+        Category category = new Category();
+        category.setName("Category");
+        category.setDescription("description");
+        category.setMetaTitle("title");
+        category.setMetaKeyword("keyword");
+        category.setMetaDescription("description");
+        category.setSlug(slug);
+        category.setCreatedAt(LocalDateTime.now());
+        category.setUpdatedAt(LocalDateTime.now());
+        return category;
+    }
+}
@@ -0,0 +1,223 @@
+package com.preetinest.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL behind every hot repository query and fails when the plan scans a whole
+ * table. H2 in MySQL mode stands in for MySQL; it builds the same schema (including the declared
+ * indexes) and reports a table scan as {@code tableScan} in its plan.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.preetinest.repository.RepositoryQueryPlanTest$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryQueryPlanTest {
+
+    private static final LocalDateTime CURSOR_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceDetailRepository serviceDetailRepository;
+
+    @Autowired
+    private ServiceFAQRepository serviceFAQRepository;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private BlogDetailRepository blogDetailRepository;
+
+    @Autowired
+    private BlogFAQRepository blogFAQRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private InquiryRepository inquiryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void serviceQueriesUseIndexes() {
+        assertIndexed(() -> serviceRepository.findById(1L));
+        assertIndexed(() -> serviceRepository.findByUuid("uuid"));
+        assertIndexed(() -> serviceRepository.findBySlug("slug"));
+        assertIndexed(() -> serviceRepository.findVisibleById(1L));
+        assertIndexed(() -> serviceRepository.findVisibleByUuid("uuid"));
+        assertIndexed(() -> serviceRepository.findVisibleBySlug("slug"));
+        assertIndexed(() -> serviceRepository.findAllVisibleServices());
+        assertIndexed(() -> serviceRepository.findVisibleServicesNewestFirst(Limit.of(21)));
+        assertIndexed(() -> serviceRepository.findVisibleServicesBefore(CURSOR_TIME, 1L, Limit.of(21)));
+        assertIndexed(() -> serviceRepository.countVisibleServices());
+    }
+
+    @Test
+    void serviceDetailAndFaqQueriesUseIndexes() {
+        assertIndexed(() -> serviceDetailRepository.findByUuid("uuid"));
+        assertIndexed(() -> serviceDetailRepository.findVisibleById(1L));
+        assertIndexed(() -> serviceDetailRepository.findVisibleByUuid("uuid"));
+        assertIndexed(() -> serviceDetailRepository.findVisibleByServiceId(1L));
+        assertIndexed(() -> serviceDetailRepository.findAllVisibleDetails());
+        assertIndexed(() -> serviceFAQRepository.findByUuid("uuid"));
+        assertIndexed(() -> serviceFAQRepository.findVisibleById(1L));
+        assertIndexed(() -> serviceFAQRepository.findVisibleByUuid("uuid"));
+        assertIndexed(() -> serviceFAQRepository.findVisibleByServiceId(1L));
+        assertIndexed(() -> serviceFAQRepository.findAllVisibleFAQs());
+    }
+
+    @Test
+    void blogQueriesUseIndexes() {
+        assertIndexed(() -> blogRepository.findByUuid("uuid"));
+        assertIndexed(() -> blogRepository.findBySlug("slug"));
+        assertIndexed(() -> blogRepository.findVisibleById(1L));
+        assertIndexed(() -> blogRepository.findVisibleByUuid("uuid"));
+        assertIndexed(() -> blogRepository.findVisibleBySlug("slug"));
+        assertIndexed(() -> blogRepository.findAllActiveBlogs());
+        assertIndexed(() -> blogRepository.findVisibleByServiceId(1L));
+        assertIndexed(() -> blogRepository.findActiveBlogsNewestFirst(Limit.of(21)));
+        assertIndexed(() -> blogRepository.findActiveBlogsBefore(CURSOR_TIME, 1L, Limit.of(21)));
+        assertIndexed(() -> blogRepository.countActiveBlogs());
+        assertIndexed(() -> blogDetailRepository.findByUuid("uuid"));
+        assertIndexed(() -> blogDetailRepository.findVisibleById(1L));
+        assertIndexed(() -> blogDetailRepository.findVisibleByUuid("uuid"));
+        assertIndexed(() -> blogDetailRepository.findVisibleByBlogId(1L));
+        assertIndexed(() -> blogFAQRepository.findByUuid("uuid"));
+        assertIndexed(() -> blogFAQRepository.findVisibleById(1L));
+        assertIndexed(() -> blogFAQRepository.findVisibleByUuid("uuid"));
+        assertIndexed(() -> blogFAQRepository.findVisibleByBlogId(1L));
+    }
+
+    @Test
+    void clientQueriesUseIndexes() {
+        assertIndexed(() -> clientRepository.findByUuid("uuid"));
+        assertIndexed(() -> clientRepository.findBySlug("slug"));
+        assertIndexed(() -> clientRepository.findVisibleById(1L));
+        assertIndexed(() -> clientRepository.findVisibleByUuid("uuid"));
+        assertIndexed(() -> clientRepository.findVisibleBySlug("slug"));
+        assertIndexed(() -> clientRepository.findAllActiveClients());
+        assertIndexed(() -> clientRepository.findActiveClientsNewestFirst(Limit.of(21)));
+        assertIndexed(() -> clientRepository.findActiveClientsBefore(CURSOR_TIME, 1L, Limit.of(21)));
+        assertIndexed(() -> clientRepository.countActiveClients());
+    }
+
+    @Test
+    void categoryQueriesUseIndexes() {
+        assertIndexed(() -> categoryRepository.findByUuid("uuid"));
+        assertIndexed(() -> categoryRepository.findBySlug("slug"));
+        assertIndexed(() -> categoryRepository.findLiveById(1L));
+        assertIndexed(() -> categoryRepository.findLiveByUuid("uuid"));
+        assertIndexed(() -> categoryRepository.findLiveBySlug("slug"));
+        assertIndexed(() -> categoryRepository.findAllActiveCategories());
+        assertIndexed(() -> subCategoryRepository.findByUuid("uuid"));
+        assertIndexed(() -> subCategoryRepository.findBySlug("slug"));
+        assertIndexed(() -> subCategoryRepository.findLiveById(1L));
+        assertIndexed(() -> subCategoryRepository.findLiveByUuid("uuid"));
+        assertIndexed(() -> subCategoryRepository.findLiveBySlug("slug"));
+        assertIndexed(() -> subCategoryRepository.findAllActiveSubCategories());
+        assertIndexed(() -> subCategoryRepository.findActiveSubCategoriesNewestFirst(Limit.of(21)));
+        assertIndexed(() -> subCategoryRepository.findActiveSubCategoriesBefore(CURSOR_TIME, 1L, Limit.of(21)));
+        assertIndexed(() -> subCategoryRepository.countActiveSubCategories());
+    }
+
+    @Test
+    void inquiryUserAndRoleQueriesUseIndexes() {
+        assertIndexed(() -> inquiryRepository.findByUuid("uuid"));
+        assertIndexed(() -> inquiryRepository.findVisibleById(1L));
+        assertIndexed(() -> inquiryRepository.findVisibleByUuid("uuid"));
+        assertIndexed(() -> inquiryRepository.findAllActiveInquiries(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt", "id"))));
+        assertIndexed(() -> inquiryRepository.findActiveInquiriesNewestFirst(Limit.of(21)));
+        assertIndexed(() -> inquiryRepository.findActiveInquiriesBefore(CURSOR_TIME, 1L, Limit.of(21)));
+        assertIndexed(() -> inquiryRepository.countActiveInquiries());
+        assertIndexed(() -> userRepository.findByUuid("uuid"));
+        assertIndexed(() -> userRepository.findByEmail("someone@example.com"));
+        assertIndexed(() -> userRepository.findActivePrincipal(1L));
+        assertIndexed(() -> userRepository.findAllActiveUsers());
+        assertIndexed(() -> userRepository.findActiveUsersNewestFirst(Limit.of(21)));
+        assertIndexed(() -> userRepository.findActiveUsersBefore(CURSOR_TIME, 1L, Limit.of(21)));
+        assertIndexed(() -> userRepository.countActiveUsers());
+        assertIndexed(() -> roleRepository.findByUuid("uuid"));
+        assertIndexed(() -> roleRepository.findByName("Admin"));
+    }
+
+    private void assertIndexed(Runnable query) {
+        CapturingInspector.STATEMENTS.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(CapturingInspector.STATEMENTS);
+        assertThat(statements).as("captured SQL").isNotEmpty();
+        for (String sql : statements) {
+            assertThat(explain(sql)).as("plan for %s", sql).doesNotContain("tableScan");
+        }
+    }
+
+    private String explain(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // H2 fixes the plan at prepare time, so the bound values do not matter
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            throw new IllegalStateException("EXPLAIN failed for " + sql, e);
+        }
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
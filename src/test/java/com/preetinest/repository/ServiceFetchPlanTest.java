@@ -0,0 +1,176 @@
+package com.preetinest.repository;
+
+import com.preetinest.config.S3Service;
+import com.preetinest.dto.response.ServiceResponseDTO;
+import com.preetinest.entity.*;
+import com.preetinest.impl.CatalogMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Service read paths must run a fixed number of statements however many rows they return:
+ * mapping a service touches subCategory and category, which the Services.withCategory graph fetches
+ * in the same query.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(CatalogMapper.class)
+class ServiceFetchPlanTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceDetailRepository serviceDetailRepository;
+
+    @Autowired
+    private ServiceFAQRepository serviceFAQRepository;
+
+    @Autowired
+    private CatalogMapper catalogMapper;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listingActiveServicesIsOneStatementRegardlessOfRowCount() {
+        seed(3);
+        assertThat(statementsToListServices()).isEqualTo(1);
+
+        seed(12);
+        assertThat(statementsToListServices()).isEqualTo(1);
+    }
+
+    @Test
+    void fullServiceBySlugIsThreeStatements() {
+        List<Services> services = seed(4);
+        Services service = services.get(0);
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(detail(service, i));
+            entityManager.persist(faq(service, i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Services found = serviceRepository.findVisibleBySlug(service.getSlug()).orElseThrow();
+        ServiceResponseDTO dto = catalogMapper.toServiceResponseDTO(found);
+        serviceDetailRepository.findVisibleByServiceId(found.getId()).forEach(catalogMapper::toServiceDetailResponseDTO);
+        serviceFAQRepository.findVisibleByServiceId(found.getId()).forEach(catalogMapper::toServiceFAQResponseDTO);
+
+        assertThat(dto.getCategoryName()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private long statementsToListServices() {
+        entityManager.clear();
+        statistics.clear();
+        List<ServiceResponseDTO> dtos = serviceRepository.findAllVisibleServices()
+                .stream()
+                .map(catalogMapper::toServiceResponseDTO)
+                .toList();
+        assertThat(dtos).allSatisfy(dto -> assertThat(dto.getCategoryName()).isNotNull());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // One category and subcategory per service so a lazy walk would cost 2 extra queries per row
+    private List<Services> seed(int count) {
+        List<Services> services = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String key = "n" + System.nanoTime() + i;
+
+            Category category = new Category();
+            category.setName("Category " + i);
+            category.setDescription("description");
+            category.setMetaTitle("title");
+            category.setMetaKeyword("keyword");
+            category.setMetaDescription("description");
+            category.setSlug("category-" + key);
+            stamp(category::setCreatedAt, category::setUpdatedAt);
+            entityManager.persist(category);
+
+            SubCategory subCategory = new SubCategory();
+            subCategory.setName("Sub " + i);
+            subCategory.setDescription("description");
+            subCategory.setMetaTitle("title");
+            subCategory.setMetaKeyword("keyword");
+            subCategory.setMetaDescription("description");
+            subCategory.setSlug("sub-" + key);
+            subCategory.setCategory(category);
+            stamp(subCategory::setCreatedAt, subCategory::setUpdatedAt);
+            entityManager.persist(subCategory);
+
+            Services service = new Services();
+            service.setName("Service " + i);
+            service.setDescription("description");
+            service.setMetaTitle("title");
+            service.setMetaKeyword("keyword");
+            service.setMetaDescription("description");
+            service.setSlug("service-" + key);
+            service.setSubCategory(subCategory);
+            stamp(service::setCreatedAt, service::setUpdatedAt);
+            entityManager.persist(service);
+            services.add(service);
+        }
+        entityManager.flush();
+        return services;
+    }
+
+    private ServiceDetail detail(Services service, int order) {
+        ServiceDetail detail = new ServiceDetail();
+        detail.setHeading("Heading " + order);
+        detail.setDetails("details");
+        detail.setDisplayOrder(order);
+        detail.setService(service);
+        stamp(detail::setCreatedAt, detail::setUpdatedAt);
+        return detail;
+    }
+
+    private ServiceFAQ faq(Services service, int order) {
+        ServiceFAQ faq = new ServiceFAQ();
+        faq.setQuestion("Question " + order);
+        faq.setAnswer("answer");
+        faq.setDisplayOrder(order);
+        faq.setService(service);
+        stamp(faq::setCreatedAt, faq::setUpdatedAt);
+        return faq;
+    }
+
+    private static void stamp(Consumer<LocalDateTime> createdAt,
+                              Consumer<LocalDateTime> updatedAt) {
+        LocalDateTime now = LocalDateTime.now();
+        createdAt.accept(now);
+        updatedAt.accept(now);
+    }
+}
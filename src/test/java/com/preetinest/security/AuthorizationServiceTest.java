@@ -0,0 +1,87 @@
+package com.preetinest.security;
+
+import com.preetinest.entity.User;
+import com.preetinest.repository.PrincipalView;
+import com.preetinest.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class AuthorizationServiceTest {
+
+    private UserRepository userRepository;
+    private AuthorizationService authorizationService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findActivePrincipal(1L)).thenReturn(Optional.of(principal(1L, 10L, "Admin")));
+        when(userRepository.findActivePrincipal(2L)).thenReturn(Optional.of(principal(2L, 20L, "Client")));
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setId(invocation.getArgument(0));
+            return user;
+        });
+        authorizationService = new AuthorizationService(userRepository, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void repeatChecksReuseTheCachedPrincipal() {
+        for (int i = 0; i < 3; i++) {
+            User user = authorizationService.require(1L, Permission.MANAGE_CATALOG, "denied");
+            assertThat(user.getId()).isEqualTo(1L);
+        }
+        assertThat(authorizationService.principal(1L).has(Permission.MANAGE_INQUIRIES)).isTrue();
+
+        verify(userRepository, times(1)).findActivePrincipal(1L);
+    }
+
+    @Test
+    void rejectsUsersWithoutThePermissionOrWithoutAnActiveAccount() {
+        assertThatThrownBy(() -> authorizationService.require(2L, Permission.MANAGE_CONTENT, "Only ADMIN users can create blogs"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Only ADMIN users can create blogs");
+        assertThatThrownBy(() -> authorizationService.require(3L, Permission.MANAGE_CONTENT, "denied"))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> authorizationService.require(null, Permission.MANAGE_CONTENT, "denied"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void userAndRoleWritesEvictCachedPrincipals() {
+        authorizationService.principal(1L);
+        authorizationService.principal(2L);
+
+        authorizationService.evictUser(1L);
+        authorizationService.principal(1L);
+        authorizationService.principal(2L);
+        verify(userRepository, times(2)).findActivePrincipal(1L);
+        verify(userRepository, times(1)).findActivePrincipal(2L);
+
+        authorizationService.evictRole(20L);
+        authorizationService.principal(1L);
+        authorizationService.principal(2L);
+        verify(userRepository, times(2)).findActivePrincipal(1L);
+        verify(userRepository, times(2)).findActivePrincipal(2L);
+    }
+
+    private static PrincipalView principal(Long id, Long roleId, String roleName) {
+        return new PrincipalView() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public Long getRoleId() { return roleId; }
+
+            @Override
+            public String getRoleName() { return roleName; }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.preetinest.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void hashesAndMatchesOnThePool() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry,
+                1, 4, Duration.ofSeconds(5));
+        try {
+            String hash = service.encode("secret-password");
+
+            assertThat(service.matches("secret-password", hash)).isTrue();
+            assertThat(service.matches("wrong-password", hash)).isFalse();
+            assertThat(meterRegistry.get("security.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsWhenThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(blockingEncoder(started, release), meterRegistry,
+                1, 1, Duration.ofSeconds(5));
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("second"));
+            waitForQueueDepth(meterRegistry, 1);
+
+            assertThatThrownBy(() -> service.encode("third")).isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(meterRegistry.get("security.password.hash.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void callersStopWaitingAfterTheTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHashingService service = new PasswordHashingService(blockingEncoder(new CountDownLatch(1), release),
+                new SimpleMeterRegistry(), 1, 1, Duration.ofMillis(50));
+        try {
+            assertThatThrownBy(() -> service.encode("slow")).isInstanceOf(PasswordHashingBusyException.class);
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    private static void waitForQueueDepth(SimpleMeterRegistry meterRegistry, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("security.password.hash.queue").gauge().value() < depth) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.preetinest.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void issuedTokenVerifiesToTheSamePrincipal() {
+        SessionToken token = tokenService.issue(7L, 1L, "Admin");
+
+        assertThat(token.getExpiresAt()).isEqualTo(NOW.plus(Duration.ofHours(1)));
+        AuthorizedUser user = tokenService.verify(token.getValue()).orElseThrow();
+        assertThat(user.getId()).isEqualTo(7L);
+        assertThat(user.getRoleId()).isEqualTo(1L);
+        assertThat(user.has(Permission.MANAGE_CATALOG)).isTrue();
+
+        AuthorizedUser client = tokenService.verify(tokenService.issue(8L, null, "Client").getValue()).orElseThrow();
+        assertThat(client.getRoleId()).isNull();
+        assertThat(client.has(Permission.MANAGE_CATALOG)).isFalse();
+    }
+
+    @Test
+    void rejectsTamperedForeignAndExpiredTokens() {
+        String token = tokenService.issue(7L, 1L, "Client").getValue();
+        char flipped = token.charAt(3) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, 3) + flipped + token.substring(4);
+
+        assertThat(tokenService.verify(tampered)).isEmpty();
+        assertThat(tokenService.verify(token + "x")).isEmpty();
+        assertThat(tokenService.verify("not-a-token")).isEmpty();
+
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        TokenService other = new TokenService(Base64.getEncoder().encodeToString(otherKey), Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        assertThat(other.verify(token)).isEmpty();
+
+        TokenService later = new TokenService(SECRET, Duration.ofHours(1), Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+        assertThat(later.verify(token)).isEmpty();
+    }
+
+    @Test
+    void filterAuthenticatesAndFillsInTheUserId() throws Exception {
+        TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokenService);
+        String token = tokenService.issue(7L, 1L, "Admin").getValue();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/blogs/3");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertThat(chain.getRequest().getParameter("userId")).isEqualTo("7");
+            assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                    .isInstanceOf(AuthorizedUser.class);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        MockHttpServletRequest mismatched = new MockHttpServletRequest("DELETE", "/api/blogs/3");
+        mismatched.addHeader("Authorization", "Bearer " + token);
+        mismatched.setParameter("userId", "8");
+        MockHttpServletResponse forbidden = new MockHttpServletResponse();
+        filter.doFilter(mismatched, forbidden, new MockFilterChain());
+        assertThat(forbidden.getStatus()).isEqualTo(403);
+
+        MockHttpServletRequest forged = new MockHttpServletRequest("DELETE", "/api/blogs/3");
+        forged.addHeader("Authorization", "Bearer " + token + "x");
+        MockHttpServletResponse unauthorized = new MockHttpServletResponse();
+        filter.doFilter(forged, unauthorized, new MockFilterChain());
+        assertThat(unauthorized.getStatus()).isEqualTo(401);
+    }
+}
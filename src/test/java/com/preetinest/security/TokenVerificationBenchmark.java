@@ -0,0 +1,102 @@
+package com.preetinest.security;
+
+import com.preetinest.config.S3Service;
+import com.preetinest.entity.Role;
+import com.preetinest.entity.User;
+import com.preetinest.repository.RoleRepository;
+import com.preetinest.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares verifying a session token with the per-request user and role lookup it replaces. H2 runs
+ * in process and the second-level cache is off here, so the lookup numbers are the two queries
+ * without the network round trips a real database adds.
+ *
+ * Run with {@code mvn test -Dtest=TokenVerificationBenchmark -Dbenchmark=true}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TokenVerificationBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    @Test
+    void tokenVerificationAgainstUserLookup() {
+        Role role = new Role();
+        role.setName("ADMIN");
+        role.setCreatedAt(LocalDateTime.now());
+        role.setUpdatedAt(LocalDateTime.now());
+        roleRepository.save(role);
+
+        User user = new User();
+        user.setName("Admin");
+        user.setEmail("admin@example.com");
+        user.setPassword("x");
+        user.setRole(role);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        Long userId = userRepository.save(user).getId();
+
+        TokenService tokenService = new TokenService(Base64.getEncoder().encodeToString(new byte[32]), Duration.ofHours(1));
+        String token = tokenService.issue(userId, role.getId(), role.getName()).getValue();
+
+        double tokenNanos = nanosPerOp(() -> tokenService.verify(token).orElseThrow().getId());
+        // One session per lookup, as open-in-view gives each request
+        TransactionTemplate perRequest = new TransactionTemplate(transactionManager);
+        double lookupNanos = nanosPerOp(() -> perRequest.execute(status -> userRepository.findById(userId)
+                .filter(u -> u.getDeleteStatus() == 2 && u.isEnable())
+                .filter(u -> "ADMIN".equalsIgnoreCase(u.getRole().getName()))
+                .orElseThrow()
+                .getId()));
+
+        System.out.printf("token verify: %.0f ns/op, user+role lookup: %.0f ns/op (%.0fx)%n",
+                tokenNanos, lookupNanos, lookupNanos / tokenNanos);
+        assertThat(tokenNanos).isLessThan(lookupNanos);
+    }
+
+    private static double nanosPerOp(LongSupplier operation) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += operation.getAsLong();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.getAsLong();
+        }
+        double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+        assertThat(sink).isPositive();
+        return nanos;
+    }
+}